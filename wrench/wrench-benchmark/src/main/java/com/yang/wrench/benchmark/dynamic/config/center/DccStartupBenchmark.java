@@ -0,0 +1,66 @@
+package com.yang.wrench.benchmark.dynamic.config.center;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DCC 启动耗时基准测试
+ * 每次调用启动一个含 N 个Bean、每个Bean M 个 @DCCValue 字段的Spring容器，对比：
+ * 1. dcc：启用配置中心，存储后端为按 rttMicros 模拟往返时延的进程内替身
+ * 2. baseline：只含相同Bean的容器，两者之差即为 DCC 给启动增加的耗时
+ *
+ * 各阶段（scan / fetch / inject）耗时与往返次数见 DccStartupProfileRunner。
+ *
+ * 运行方式：
+ * java -jar wrench-benchmark/target/benchmarks.jar DccStartupBenchmark -p beans=1000 -p fields=10
+ *
+ * @author yang
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 30)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DccStartupBenchmark {
+
+    @Param({"100", "1000"})
+    public int beans;
+
+    @Param({"0", "1", "10"})
+    public int fields;
+
+    @Param({"500"})
+    public long rttMicros;
+
+    private List<Class<?>> beanClasses;
+    private DccStartupContext context;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        beanClasses = DccStartupContext.generateBeanClasses(beans, fields);
+    }
+
+    @TearDown(Level.Invocation)
+    public void close() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    @Benchmark
+    public DccStartupProfile dcc() {
+        context = DccStartupContext.boot(beanClasses, true, rttMicros);
+        return context.getProfile();
+    }
+
+    @Benchmark
+    public DccStartupProfile baseline() {
+        context = DccStartupContext.boot(beanClasses, false, rttMicros);
+        return context.getProfile();
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.yang.wrench.benchmark.dynamic.config.center;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterRegisterAutoConfig;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.IDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCValue;
+import org.springframework.asm.AnnotationVisitor;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.FieldVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DCC 启动基准的被测容器
+ *
+ * 功能说明：
+ * 1. 运行期生成 N 个Bean类，每个类含 M 个 @DCCValue 字段（String 与 int 交替，配置键互不相同）及 4 个普通字段，
+ *    类与字段数量可任意组合，扫描阶段走与业务Bean相同的反射路径
+ * 2. 以真实的 DynamicConfigCenterRegisterAutoConfig 启动配置中心（服务、合并器、发布器、客户端、节点上报、摘要对齐），
+ *    存储后端替换为进程内的 RoundTripCountingBackend，Bean后处理器替换为计时的 ProfiledDynamicConfigCenterAutoConfig
+ * 3. 关闭编译期索引（运行期生成的类不在索引中）与本地配置缓存，每次启动都同步从存储后端批量加载
+ *
+ * @author yang
+ */
+public class DccStartupContext implements AutoCloseable {
+
+    public static final String SYSTEM = "dcc-benchmark";
+
+    private static final String GENERATED_PACKAGE = DccStartupContext.class.getPackage().getName() + ".generated";
+    private static final int PLAIN_FIELDS = 4;
+
+    private final AnnotationConfigApplicationContext context;
+    private final DccStartupProfile profile;
+
+    private DccStartupContext(AnnotationConfigApplicationContext context, DccStartupProfile profile) {
+        this.context = context;
+        this.profile = profile;
+    }
+
+    /**
+     * 启动容器
+     *
+     * @param beanClasses 被测Bean类，见 generateBeanClasses
+     * @param dccEnabled 是否启用配置中心；不启用时作为只含被测Bean的基线
+     * @param rttMicros 存储后端的模拟往返时延（单位：微秒）
+     * @return 已刷新的容器与各阶段统计
+     */
+    public static DccStartupContext boot(List<Class<?>> beanClasses, boolean dccEnabled, long rttMicros) {
+        DccStartupProfile profile = new DccStartupProfile();
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        if (dccEnabled) {
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("wrench.config.system", SYSTEM);
+            properties.put("wrench.config.backend", "benchmark");
+            properties.put("wrench.config.index-enabled", "false");
+            properties.put("wrench.config.cache-enabled", "false");
+            properties.put("benchmark.rtt-micros", String.valueOf(rttMicros));
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("dcc-benchmark", properties));
+            context.registerBean(DccStartupProfile.class, () -> profile);
+            context.register(BenchmarkBackendConfig.class, ProfiledDynamicConfigCenterAutoConfig.class);
+        }
+        for (int i = 0; i < beanClasses.size(); i++) {
+            context.registerBean("dccBean" + i, beanClasses.get(i));
+        }
+        long start = System.nanoTime();
+        context.refresh();
+        profile.refreshNanos = System.nanoTime() - start;
+        return new DccStartupContext(context, profile);
+    }
+
+    /**
+     * 生成被测Bean类
+     * 第 i 个类的第 j 个 @DCCValue 字段绑定配置键 b{i}.f{j}
+     *
+     * @param beans Bean类数量
+     * @param fields 每个类的 @DCCValue 字段数量
+     * @return 生成的类
+     */
+    public static List<Class<?>> generateBeanClasses(int beans, int fields) {
+        GeneratedClassLoader classLoader = new GeneratedClassLoader(DccStartupContext.class.getClassLoader());
+        List<Class<?>> classes = new ArrayList<>(beans);
+        for (int i = 0; i < beans; i++) {
+            String className = GENERATED_PACKAGE + ".DccBean" + i;
+            classes.add(classLoader.define(className, generateBeanClass(className, i, fields)));
+        }
+        return classes;
+    }
+
+    private static byte[] generateBeanClass(String className, int bean, int fields) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, className.replace('.', '/'), null,
+                "java/lang/Object", null);
+        String dccValue = Type.getDescriptor(DCCValue.class);
+        for (int j = 0; j < fields; j++) {
+            boolean text = j % 2 == 0;
+            FieldVisitor field = writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_VOLATILE, "f" + j,
+                    text ? "Ljava/lang/String;" : "I", null, null);
+            AnnotationVisitor annotation = field.visitAnnotation(dccValue, true);
+            annotation.visit("value", "b" + bean + ".f" + j + ":" + (text ? "v" + j : String.valueOf(j)));
+            annotation.visitEnd();
+            field.visitEnd();
+        }
+        for (int j = 0; j < PLAIN_FIELDS; j++) {
+            writer.visitField(Opcodes.ACC_PRIVATE, "p" + j, "Ljava/lang/Object;", null, null).visitEnd();
+        }
+        MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    public DccStartupProfile getProfile() {
+        return profile;
+    }
+
+    public AnnotationConfigApplicationContext getContext() {
+        return context;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    @Configuration
+    @Import(DynamicConfigCenterRegisterAutoConfig.class)
+    public static class BenchmarkBackendConfig {
+
+        @Bean
+        public IDynamicConfigCenterBackend roundTripCountingBackend(DynamicConfigCenterAutoProperties dynamicConfigCenterAutoProperties,
+                                                                    DccStartupProfile profile,
+                                                                    Environment environment) {
+            return new RoundTripCountingBackend(dynamicConfigCenterAutoProperties, profile,
+                    environment.getProperty("benchmark.rtt-micros", Long.class, 0L));
+        }
+
+    }
+
+    private static final class GeneratedClassLoader extends ClassLoader {
+
+        GeneratedClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String className, byte[] bytes) {
+            return defineClass(className, bytes, 0, bytes.length);
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.yang.wrench.benchmark.dynamic.config.center;
+
+/**
+ * 单次容器启动中 DCC 各阶段的耗时与往返次数
+ * 只在启动线程上累计，后台线程（节点上报、摘要对齐）的往返不阻塞启动，不计入
+ *
+ * @author yang
+ */
+public class DccStartupProfile {
+
+    /** 启动线程 */
+    private final Thread bootThread = Thread.currentThread();
+
+    /** 容器刷新总耗时 */
+    long refreshNanos;
+
+    /** Bean后处理（扫描@DCCValue/@DCCListener、注册绑定、注入默认值）累计耗时 */
+    long scanNanos;
+
+    /** 经过Bean后处理的Bean数量 */
+    int scannedBeans;
+
+    /** 批量加载中等待存储后端的耗时 */
+    long fetchNanos;
+
+    /** 批量加载中除等待存储后端外的耗时（类型转换、字段写入、快照与提交回调） */
+    long injectNanos;
+
+    /** 启动线程上对存储后端的调用次数，每次调用对应 Redis 后端的一次网络往返 */
+    int roundTrips;
+
+    /** 批量加载的配置键数量 */
+    int fetchedKeys;
+
+    boolean isBootThread() {
+        return Thread.currentThread() == bootThread;
+    }
+
+    public long getRefreshNanos() {
+        return refreshNanos;
+    }
+
+    public long getScanNanos() {
+        return scanNanos;
+    }
+
+    public int getScannedBeans() {
+        return scannedBeans;
+    }
+
+    public long getFetchNanos() {
+        return fetchNanos;
+    }
+
+    public long getInjectNanos() {
+        return injectNanos;
+    }
+
+    public int getRoundTrips() {
+        return roundTrips;
+    }
+
+    public int getFetchedKeys() {
+        return fetchedKeys;
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.yang.wrench.benchmark.dynamic.config.center;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * DCC 启动分阶段剖析
+ * 对每组（Bean数量, 每个Bean的 @DCCValue 字段数量）先预热再重复启动容器，输出各项的中位数：
+ * - baseline：不启用配置中心的容器刷新耗时
+ * - refresh：启用配置中心的容器刷新耗时
+ * - scan / fetch / inject：Bean后处理、等待存储后端、类型转换与字段写入的耗时
+ * - roundTrips：启动线程上对存储后端的调用次数（Redis 后端每次调用为一次网络往返），keys：批量加载的配置键数量
+ * 结果同时写入 dcc-startup-profile.csv，便于在评审中对比各项启动优化前后的数据
+ *
+ * 运行方式（参数均可省略）：
+ * java -cp wrench-benchmark/target/benchmarks.jar com.yang.wrench.benchmark.dynamic.config.center.DccStartupProfileRunner \
+ *   beans=100,1000 fields=0,1,10 rtt=500 warmup=10 runs=30
+ *
+ * @author yang
+ */
+public class DccStartupProfileRunner {
+
+    private static final String RESULT_FILE = "dcc-startup-profile.csv";
+    private static final String HEADER = "beans,fields,rttMicros,baselineMs,refreshMs,scanMs,fetchMs,injectMs,roundTrips,keys";
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        options.put("beans", "100,1000");
+        options.put("fields", "0,1,10");
+        options.put("rtt", "500");
+        options.put("warmup", "10");
+        options.put("runs", "30");
+        for (String arg : args) {
+            String[] split = arg.split("=", 2);
+            options.put(split[0], split[1]);
+        }
+        long rttMicros = Long.parseLong(options.get("rtt"));
+        int warmup = Integer.parseInt(options.get("warmup"));
+        int runs = Integer.parseInt(options.get("runs"));
+
+        List<String> rows = new ArrayList<>();
+        rows.add(HEADER);
+        PrintStream out = System.out;
+        out.printf("%6s %6s %8s %11s %10s %8s %8s %9s %10s %6s%n",
+                "beans", "fields", "rtt(us)", "baseline", "refresh", "scan", "fetch", "inject", "roundTrips", "keys");
+        for (int beans : parse(options.get("beans"))) {
+            for (int fields : parse(options.get("fields"))) {
+                List<Class<?>> beanClasses = DccStartupContext.generateBeanClasses(beans, fields);
+                for (int i = 0; i < warmup; i++) {
+                    boot(beanClasses, false, rttMicros);
+                    boot(beanClasses, true, rttMicros);
+                }
+                List<DccStartupProfile> baselines = new ArrayList<>(runs);
+                List<DccStartupProfile> profiles = new ArrayList<>(runs);
+                for (int i = 0; i < runs; i++) {
+                    baselines.add(boot(beanClasses, false, rttMicros));
+                    profiles.add(boot(beanClasses, true, rttMicros));
+                }
+                double baselineMs = medianMillis(baselines, DccStartupProfile::getRefreshNanos);
+                double refreshMs = medianMillis(profiles, DccStartupProfile::getRefreshNanos);
+                double scanMs = medianMillis(profiles, DccStartupProfile::getScanNanos);
+                double fetchMs = medianMillis(profiles, DccStartupProfile::getFetchNanos);
+                double injectMs = medianMillis(profiles, DccStartupProfile::getInjectNanos);
+                // 往返次数与配置键数量每次启动相同
+                DccStartupProfile last = profiles.get(profiles.size() - 1);
+                out.printf("%6d %6d %8d %9.2fms %8.2fms %6.2fms %6.2fms %7.2fms %10d %6d%n",
+                        beans, fields, rttMicros, baselineMs, refreshMs, scanMs, fetchMs, injectMs, last.getRoundTrips(), last.getFetchedKeys());
+                rows.add(String.format("%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%d",
+                        beans, fields, rttMicros, baselineMs, refreshMs, scanMs, fetchMs, injectMs, last.getRoundTrips(), last.getFetchedKeys()));
+            }
+        }
+        Files.write(Paths.get(RESULT_FILE), rows, StandardCharsets.UTF_8);
+        out.println("结果已写入 " + Paths.get(RESULT_FILE).toAbsolutePath());
+    }
+
+    private static DccStartupProfile boot(List<Class<?>> beanClasses, boolean dccEnabled, long rttMicros) {
+        try (DccStartupContext context = DccStartupContext.boot(beanClasses, dccEnabled, rttMicros)) {
+            return context.getProfile();
+        }
+    }
+
+    private static double medianMillis(List<DccStartupProfile> profiles, ToLongFunction<DccStartupProfile> metric) {
+        long[] values = profiles.stream().mapToLong(metric).sorted().toArray();
+        return values[values.length / 2] / 1_000_000d;
+    }
+
+    private static int[] parse(String values) {
+        return Arrays.stream(values.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.yang.wrench.benchmark.dynamic.config.center;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoConfig;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.IDynamicConfigCenterService;
+import org.springframework.beans.BeansException;
+
+/**
+ * 计时的 DCC Bean后处理器
+ * 直接继承被测的 DynamicConfigCenterAutoConfig，在其两个启动回调外计时，被测逻辑不做任何改动：
+ * 1. postProcessAfterInitialization 累计为扫描阶段（scan）
+ * 2. afterSingletonsInstantiated 中等待存储后端的部分为加载阶段（fetch），其余为注入阶段（inject）
+ *
+ * @author yang
+ */
+public class ProfiledDynamicConfigCenterAutoConfig extends DynamicConfigCenterAutoConfig {
+
+    private final DccStartupProfile profile;
+
+    public ProfiledDynamicConfigCenterAutoConfig(IDynamicConfigCenterService dynamicConfigCenterService, DccStartupProfile profile) {
+        super(dynamicConfigCenterService);
+        this.profile = profile;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        long start = System.nanoTime();
+        try {
+            return super.postProcessAfterInitialization(bean, beanName);
+        } finally {
+            profile.scanNanos += System.nanoTime() - start;
+            profile.scannedBeans++;
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        long fetchBefore = profile.fetchNanos;
+        super.afterSingletonsInstantiated();
+        profile.injectNanos += System.nanoTime() - start - (profile.fetchNanos - fetchBefore);
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.yang.wrench.benchmark.dynamic.config.center;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.IDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.IDynamicConfigCenterBackendListener;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.MemoryDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.NodeVersionVO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 进程内的 Redis 替身
+ * 以 MemoryDynamicConfigCenterBackend 保存配置，每次调用按设定的往返时延阻塞，模拟一次网络往返，
+ * 并统计启动线程上的往返次数与批量加载耗时；不依赖外部 Redis，结果可重复
+ *
+ * @author yang
+ */
+public class RoundTripCountingBackend implements IDynamicConfigCenterBackend {
+
+    private final IDynamicConfigCenterBackend delegate;
+    private final DccStartupProfile profile;
+    private final long rttNanos;
+
+    /**
+     * @param properties 配置属性
+     * @param profile 启动阶段统计
+     * @param rttMicros 模拟的单次往返时延（单位：微秒）
+     */
+    public RoundTripCountingBackend(DynamicConfigCenterAutoProperties properties, DccStartupProfile profile, long rttMicros) {
+        this.delegate = new MemoryDynamicConfigCenterBackend(properties);
+        this.profile = profile;
+        this.rttNanos = rttMicros * 1000L;
+    }
+
+    private void roundTrip() {
+        if (profile.isBootThread()) {
+            profile.roundTrips++;
+        }
+        if (rttNanos > 0) {
+            long deadline = System.nanoTime() + rttNanos;
+            for (long remaining = rttNanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+    }
+
+    @Override
+    public Map<String, String> load(Map<String, String> defaultValues) {
+        long start = System.nanoTime();
+        roundTrip();
+        Map<String, String> values = delegate.load(defaultValues);
+        if (profile.isBootThread()) {
+            profile.fetchNanos += System.nanoTime() - start;
+            profile.fetchedKeys += defaultValues.size();
+        }
+        return values;
+    }
+
+    @Override
+    public Map<String, String> read(Collection<String> keys) {
+        roundTrip();
+        return delegate.read(keys);
+    }
+
+    @Override
+    public Set<String> setIfExists(Map<String, String> values) {
+        roundTrip();
+        return delegate.setIfExists(values);
+    }
+
+    @Override
+    public long publish(List<AttributeVO> attributeVOList) {
+        roundTrip();
+        return delegate.publish(attributeVOList);
+    }
+
+    @Override
+    public void subscribe(IDynamicConfigCenterBackendListener listener) {
+        roundTrip();
+        delegate.subscribe(listener);
+    }
+
+    @Override
+    public long getVersion() {
+        roundTrip();
+        return delegate.getVersion();
+    }
+
+    @Override
+    public void reportNodeVersion(NodeVersionVO nodeVersion) {
+        roundTrip();
+        delegate.reportNodeVersion(nodeVersion);
+    }
+
+    @Override
+    public void removeNodeVersion(String node) {
+        roundTrip();
+        delegate.removeNodeVersion(node);
+    }
+
+    @Override
+    public List<NodeVersionVO> readNodeVersions() {
+        roundTrip();
+        return delegate.readNodeVersions();
+    }
+
+    @Override
+    public Integer readDigest() {
+        roundTrip();
+        return delegate.readDigest();
+    }
+
+    @Override
+    public int[] readBucketDigests() {
+        roundTrip();
+        return delegate.readBucketDigests();
+    }
+
+    @Override
+    public Map<String, Integer> readBucketEntries(Collection<Integer> buckets) {
+        roundTrip();
+        return delegate.readBucketEntries(buckets);
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.yang.wrench.benchmark.rate.limiter;
+
+import com.yang.wrench.rate.limiter.types.annotations.RateLimiterAccessInterceptor;
+
+/**
+ * 基准测试被测服务
+ * 每个方法对应一种限流场景，均经由 RateLimiterAOP 的 Spring AOP 代理调用
+ *
+ * @author yang
+ */
+public class RateLimitedService {
+
+    /**
+     * 单一 all 维度：所有请求共用同一个 RateLimiter，速率足够大保证始终放行
+     */
+    @RateLimiterAccessInterceptor(permitsPerSecond = 1_000_000_000d, fallbackMethod = "fallback")
+    public String all(String userId) {
+        return userId;
+    }
+
+    /**
+     * 按用户维度限流：配合百万级不同 userId 度量 RateLimiter 创建与缓存开销
+     */
+    @RateLimiterAccessInterceptor(key = "userId", permitsPerSecond = 1_000_000_000d, fallbackMethod = "fallback")
+    public String distinct(String userId) {
+        return userId;
+    }
+
+    /**
+     * 黑名单命中：被拉黑的 userId 直接走降级方法
+     */
+    @RateLimiterAccessInterceptor(key = "userId", permitsPerSecond = 0.001d, blacklistCount = 1, fallbackMethod = "fallback")
+    public String blacklist(String userId) {
+        return userId;
+    }
+
+    /**
+     * 超频降级：速率极低且未开启黑名单，除每秒首个请求外均走降级方法
+     */
+    @RateLimiterAccessInterceptor(key = "userId", permitsPerSecond = 0.001d, fallbackMethod = "fallback")
+    public String fallbackOnly(String userId) {
+        return userId;
+    }
+
+    public String fallback(String userId) {
+        return "rateLimiter";
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.yang.wrench.benchmark.rate.limiter;
+
+import com.yang.wrench.rate.limiter.aop.RateLimiterAOP;
+import com.yang.wrench.rate.limiter.config.RateLimiterAutoConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流切面热点路径基准测试
+ * 通过真实的 Spring AOP 代理调用 RateLimiterAOP.doRouter，覆盖以下场景：
+ * 1. all：单一限流键
+ * 2. distinctKeys：百万级不同限流键
+ * 3. blacklistHit：黑名单命中后降级
+ * 4. fallback：超频后降级
+ *
+ * 运行方式（线程数 1/8/32 与 -prof gc 见 RateLimiterBenchmarkRunner）：
+ * java -jar wrench-benchmark/target/benchmarks.jar RateLimiterBenchmark -t 8 -prof gc
+ *
+ * @author yang
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    /** 不同限流键的数量 */
+    public static final int DISTINCT_KEY_COUNT = 1_000_000;
+
+    /** 黑名单场景使用的限流键 */
+    private static final String BLACKLIST_KEY = "blacklist-user";
+
+    @State(Scope.Benchmark)
+    public static class SpringState {
+
+        AnnotationConfigApplicationContext context;
+        RateLimitedService service;
+        String[] keys;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            context = new AnnotationConfigApplicationContext(BenchmarkConfig.class);
+            service = context.getBean(RateLimitedService.class);
+
+            // 未接入配置中心时开关默认为false即直接放行，这里显式打开限流开关
+            RateLimiterAOP rateLimiterAOP = context.getBean(RateLimiterAOP.class);
+            Field field = ReflectionUtils.findField(RateLimiterAOP.class, "rateLimiterSwitch");
+            ReflectionUtils.makeAccessible(field);
+            ReflectionUtils.setField(field, rateLimiterAOP, true);
+
+            keys = new String[DISTINCT_KEY_COUNT];
+            for (int i = 0; i < DISTINCT_KEY_COUNT; i++) {
+                keys[i] = "user_" + i;
+            }
+
+            // 预热黑名单：首次放行，之后连续超频直至计数超过阈值
+            for (int i = 0; i < 3; i++) {
+                service.blacklist(BLACKLIST_KEY);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class KeyCursor {
+
+        int next;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            // 各线程从不同位置开始遍历，避免多线程场景下集中命中同一批键
+            next = (int) (Thread.currentThread().getId() * 7919 % DISTINCT_KEY_COUNT);
+        }
+
+        String next(String[] keys) {
+            if (++next == keys.length) {
+                next = 0;
+            }
+            return keys[next];
+        }
+    }
+
+    @Benchmark
+    public String all(SpringState state) {
+        return state.service.all("all");
+    }
+
+    @Benchmark
+    public String distinctKeys(SpringState state, KeyCursor cursor) {
+        return state.service.distinct(cursor.next(state.keys));
+    }
+
+    @Benchmark
+    public String blacklistHit(SpringState state) {
+        return state.service.blacklist(BLACKLIST_KEY);
+    }
+
+    @Benchmark
+    public String fallback(SpringState state) {
+        return state.service.fallbackOnly("fallback-user");
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    @Import(RateLimiterAutoConfig.class)
+    public static class BenchmarkConfig {
+
+        @Bean
+        public RateLimitedService rateLimitedService() {
+            return new RateLimitedService();
+        }
+
+    }
+
+}
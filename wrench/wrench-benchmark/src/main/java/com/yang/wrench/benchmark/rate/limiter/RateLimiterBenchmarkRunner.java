@@ -0,0 +1,34 @@
+package com.yang.wrench.benchmark.rate.limiter;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.results.format.ResultFormatType;
+
+/**
+ * 限流切面基准测试启动类
+ * 依次以 1/8/32 线程运行 RateLimiterBenchmark 全部场景，并开启 GC 分配统计（等价于 -prof gc），
+ * 结果输出为 JSON 便于在评审中对比单次调用耗时（ns/op）与分配字节数（gc.alloc.rate.norm）
+ *
+ * @author yang
+ */
+public class RateLimiterBenchmarkRunner {
+
+    private static final int[] THREADS = {1, 8, 32};
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(RateLimiterBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("rate-limiter-benchmark-t" + threads + ".json")
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+}
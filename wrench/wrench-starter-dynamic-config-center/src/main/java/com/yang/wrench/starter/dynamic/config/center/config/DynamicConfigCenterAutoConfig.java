@@ -2,7 +2,11 @@ package com.yang.wrench.starter.dynamic.config.center.config;
 
 import com.yang.wrench.starter.dynamic.config.center.domain.service.IDynamicConfigCenterService;
 import org.springframework.beans.BeansException;
-import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
 import org.springframework.context.annotation.Configuration;
 
 /**
@@ -14,19 +18,24 @@ import org.springframework.context.annotation.Configuration;
  * 3. 提供运行时配置热更新能力，支持配置变更时的动态生效
  *
  * 工作原理：
- * - 在Spring容器初始化每个Bean后，通过IDynamicConfigCenterService对Bean进行代理
+ * - 在Spring容器初始化每个Bean后，通过IDynamicConfigCenterService对Bean进行代理，收集@DCCValue字段
+ * - 所有单例初始化完成后，一次管道往返批量加载收集到的配置，避免逐字段访问Redis拖慢启动
  * - 代理后的Bean能够监听配置中心的变更并实时更新自身配置
+ * - 只为单例Bean注册绑定，单例销毁时注销；原型、请求等作用域的Bean只注入创建时的配置值，不在注册表中累积
  *
  * @Author: yang
  * @Date: 2025/09/20/15:01
  * @Description: 动态配置中心自动配置类，负责配置的动态代理和热更新
  */
 @Configuration
-public class DynamicConfigCenterAutoConfig implements BeanPostProcessor {
+public class DynamicConfigCenterAutoConfig implements DestructionAwareBeanPostProcessor, BeanFactoryAware, SmartInitializingSingleton {
 
     // 动态配置中心服务接口，提供配置代理能力
     private final IDynamicConfigCenterService dynamicConfigCenterService;
 
+    // 用于判断Bean的作用域
+    private ConfigurableListableBeanFactory beanFactory;
+
     /**
      * 构造函数，通过Spring依赖注入配置中心服务
      * @param dynamicConfigCenterService 动态配置中心服务实现
@@ -44,10 +53,53 @@ public class DynamicConfigCenterAutoConfig implements BeanPostProcessor {
      * @return 代理后的Bean实例（如果该Bean需要动态配置）或原始Bean实例
      * @throws BeansException 如果代理过程中发生异常
      */
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        if (beanFactory instanceof ConfigurableListableBeanFactory) {
+            this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+        }
+    }
+
     @Override
     public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
         // 使用动态配置中心服务对Bean进行代理
         // 代理后的Bean能够响应配置变更并自动更新
-        return dynamicConfigCenterService.proxyObject(bean);
+        if (isSingleton(beanName)) {
+            return dynamicConfigCenterService.proxyObject(bean);
+        }
+        // 非单例Bean每次创建都会经过这里，且容器不回调其销毁，不注册绑定
+        return dynamicConfigCenterService.injectObject(bean);
+    }
+
+    /**
+     * Bean销毁前的回调，注销该Bean的绑定
+     */
+    @Override
+    public void postProcessBeforeDestruction(Object bean, String beanName) throws BeansException {
+        dynamicConfigCenterService.releaseObject(bean);
+    }
+
+    @Override
+    public boolean requiresDestruction(Object bean) {
+        return dynamicConfigCenterService.isBound(bean);
+    }
+
+    /**
+     * 没有Bean定义的（手动注册的单例、内部Bean等）按单例处理
+     */
+    private boolean isSingleton(String beanName) {
+        if (beanFactory == null || beanName == null || !beanFactory.containsBeanDefinition(beanName)) {
+            return true;
+        }
+        return beanFactory.getMergedBeanDefinition(beanName).isSingleton();
+    }
+
+    /**
+     * 所有单例Bean初始化完成后的回调
+     * 批量加载Bean后处理阶段收集到的全部@DCCValue配置
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        dynamicConfigCenterService.loadAttributeValues();
     }
 }
\ No newline at end of file
@@ -1,8 +1,14 @@
 package com.yang.wrench.starter.dynamic.config.center.config;
 
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.DebounceRuleVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.RolloutRuleVO;
 import com.yang.wrench.starter.dynamic.config.center.types.common.Constant;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * 动态配置中心属性配置类
  *
@@ -15,6 +21,20 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * wrench:
  *   config:
  *     system: user-service  # 系统标识，用于配置键的前缀
+ *     index-enabled: true   # 是否使用编译期@DCCValue索引
+ *     cache-enabled: true   # 是否启用本地配置缓存
+ *     cache-dir: /data/wrench/dcc  # 本地配置缓存目录
+ *     coalesce-window-millis: 50   # 配置变更合并窗口
+ *     feed-mode: topic      # 配置变更通道：topic（发布订阅）或 stream（Redis Streams 变更流）
+ *     stream-max-length: 10000  # 变更流保留的最大消息数
+ *     node-report-interval-millis: 10000  # 节点上报已应用配置版本的间隔
+ *     digest-interval-millis: 30000  # 配置摘要比对间隔
+ *     apply-debounce:         # 按属性的生效防抖，属性名含 . 时用 [] 包裹，以 * 结尾表示前缀
+ *       "[threadPool.*]": { quiet-millis: 2000, min-interval-millis: 10000 }
+ *     publish-debounce:       # 按属性的发布防抖
+ *       rateLimiterSwitch: { quiet-millis: 1000 }
+ *     rollout:                # 按属性的分批生效：每批 20% 节点，批间隔 1 分钟，批内抖动 5 秒
+ *       "[threadPool.*]": { wave-percent: 20, wave-interval-millis: 60000, jitter-millis: 5000 }
  *
  * @Author: yang
  * @Date: 2025/09/20/15:01
@@ -31,6 +51,141 @@ public class DynamicConfigCenterAutoProperties {
      */
     private String system;
 
+    /**
+     * 是否使用编译期生成的@DCCValue索引（META-INF/wrench/dcc-value.index）
+     * 默认值：true，类所在的 jar 或目录中有索引时，Bean后处理只对被索引的类做反射，同一位置的其余Bean直接跳过；
+     * 所在位置没有索引的类（未经注解处理器编译）照常反射扫描。设置为false时全部反射扫描
+     */
+    private boolean indexEnabled = true;
+
+    /**
+     * 是否启用本地配置缓存（每个system一个文件：cacheDir/system.dcc）
+     * 默认值：false，启动期同步从Redis加载，Redis不可用则启动失败
+     * 设置为true时启动先用本地缓存填充字段，再异步与Redis对齐，Redis不可用时应用仍可启动；
+     * 缓存在配置变更后由后台线程合并写入，需确认 cacheDir 可写（容器部署时建议指向持久化卷）
+     */
+    private boolean cacheEnabled = false;
+
+    /**
+     * 本地配置缓存目录
+     * 默认值：${user.home}/.wrench/dcc，容器部署时建议指向持久化卷
+     */
+    private String cacheDir = System.getProperty("user.home") + "/.wrench/dcc";
+
+    /**
+     * 配置变更合并窗口（单位：毫秒）
+     * 默认值：50，窗口内收到的配置消息合并为一次批量应用，同一属性只保留最后一个值
+     * 设置为0时不合并，收到消息立即应用
+     */
+    private long coalesceWindowMillis = 50;
+
+    /**
+     * 配置变更通道
+     * topic（默认）：Redis发布订阅，断线期间的消息会丢失，依赖重连后整体对齐
+     * stream：Redis Streams 变更流，每次变更带单调递增序号，节点记录已应用的消息ID，断线重连后增量补齐
+     */
+    private String feedMode = Constant.FEED_MODE_TOPIC;
+
+    /**
+     * 变更流保留的最大消息数（XADD MAXLEN ~）
+     * 默认值：10000，节点断线期间的变更超过该数量时退化为整体对齐
+     */
+    private long streamMaxLength = 10000;
+
+    /**
+     * redis 后端配置值与变更消息的编解码
+     * json（默认）：JsonJacksonCodec，与旧版本一致，新旧版本节点可以混合部署
+     * compact：配置值存储为原始字符串，变更消息为二进制格式，兼容读取 json 格式写入的旧数据；
+     *          旧版本节点无法解码 compact 格式，需在同一 system 的全部节点（含发布方）升级完成后再切换
+     */
+    private String codec = Constant.CODEC_JSON;
+
+    /**
+     * 配置存储后端
+     * redis（默认）：Redis存储，发布订阅或变更流通知
+     * memory：进程内存储，无外部依赖，用于单元测试
+     * file：本地properties文件，监听文件变更热更新，用于无网络依赖的批处理任务
+     */
+    private String backend = Constant.BACKEND_REDIS;
+
+    /**
+     * file 后端的配置文件路径
+     * 默认值：${user.dir}/config/{system}.properties，属性名不含 system 前缀
+     */
+    private String filePath;
+
+    /**
+     * file 后端的文件变更防抖时间（单位：毫秒）
+     * 默认值：200，编辑器保存常产生多次写入事件，静默该时长后才重新加载
+     */
+    private long fileDebounceMillis = 200;
+
+    /**
+     * @DCCListener 回调线程数
+     * 默认值：2，回调不在接收配置消息的线程中执行，同一配置键的回调串行
+     */
+    private int listenerThreads = 2;
+
+    /**
+     * @DCCListener 回调队列容量
+     * 默认值：1024，每个配置键最多占用一个位置，队列满时延迟重试
+     */
+    private int listenerQueueCapacity = 1024;
+
+    /**
+     * @DCCListener 回调防抖时间（单位：毫秒）
+     * 默认值：0，大于0时同一配置键在该时长内的多次变更合并为一次回调
+     */
+    private long listenerDebounceMillis = 0;
+
+    /**
+     * DynamicConfigCenterClient 本地缓存的最大配置键数
+     * 默认值：10000，超出后按近似LRU（CLOCK）淘汰
+     */
+    private int nearCacheMaxSize = 10000;
+
+    /**
+     * DynamicConfigCenterClient 对不存在的配置键的缓存时间（单位：毫秒）
+     * 默认值：5000，配置键由其他节点新建时不会经过变更通知，过期后重新查询
+     */
+    private long nearCacheNegativeTtlMillis = 5000;
+
+    /**
+     * 节点标识，用于上报已应用的配置版本
+     * 默认值：JVM 运行时名称（pid@hostname），同一主机多实例时自动区分
+     */
+    private String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+    /**
+     * 节点上报已应用配置版本的间隔（单位：毫秒）
+     * 默认值：10000，各节点写入配置中心的节点版本表，据此列出落后或失联的节点；设置为0时不上报
+     */
+    private long nodeReportIntervalMillis = 10000;
+
+    /**
+     * 与配置中心比对配置摘要的间隔（单位：毫秒）
+     * 默认值：30000，摘要不一致时只读取摘要不同的配置键，补齐发布订阅丢失的变更；设置为0时不比对
+     */
+    private long digestIntervalMillis = 30000;
+
+    /**
+     * 按属性的生效防抖规则（节点侧）
+     * 属性名（或以 * 结尾的前缀） -> 静默窗口与最小生效间隔；频繁切换的单个配置只在静默后应用最终值
+     */
+    private Map<String, DebounceRuleVO> applyDebounce = new LinkedHashMap<>();
+
+    /**
+     * 按属性的发布防抖规则（发布侧）
+     * 属性名（或以 * 结尾的前缀） -> 静默窗口与最小发布间隔；频繁切换的单个配置只在静默后写入配置中心并下发最终值
+     */
+    private Map<String, DebounceRuleVO> publishDebounce = new LinkedHashMap<>();
+
+    /**
+     * 按属性的分批生效规则（节点侧）
+     * 属性名（或以 * 结尾的前缀） -> 抖动、每批节点百分比与批间隔；触发缓存重建、线程池重建等代价高的配置在集群内错峰生效
+     */
+    private Map<String, RolloutRuleVO> rollout = new LinkedHashMap<>();
+
     /**
      * 生成完整的配置键
      * 格式：system:attributeName
@@ -53,4 +208,183 @@ public class DynamicConfigCenterAutoProperties {
     public void setSystem(String system) {
         this.system = system;
     }
-}
\ No newline at end of file
+
+    public boolean isIndexEnabled() {
+        return indexEnabled;
+    }
+
+    public void setIndexEnabled(boolean indexEnabled) {
+        this.indexEnabled = indexEnabled;
+    }
+
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    public String getCacheDir() {
+        return cacheDir;
+    }
+
+    public void setCacheDir(String cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    public long getCoalesceWindowMillis() {
+        return coalesceWindowMillis;
+    }
+
+    public void setCoalesceWindowMillis(long coalesceWindowMillis) {
+        this.coalesceWindowMillis = coalesceWindowMillis;
+    }
+
+    public boolean isStreamFeed() {
+        return Constant.FEED_MODE_STREAM.equalsIgnoreCase(feedMode);
+    }
+
+    public boolean isCompactCodec() {
+        return Constant.CODEC_COMPACT.equalsIgnoreCase(codec);
+    }
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
+    public String getFeedMode() {
+        return feedMode;
+    }
+
+    public void setFeedMode(String feedMode) {
+        this.feedMode = feedMode;
+    }
+
+    public long getStreamMaxLength() {
+        return streamMaxLength;
+    }
+
+    public void setStreamMaxLength(long streamMaxLength) {
+        this.streamMaxLength = streamMaxLength;
+    }
+
+    public String getBackend() {
+        return backend;
+    }
+
+    public void setBackend(String backend) {
+        this.backend = backend;
+    }
+
+    public String getFilePath() {
+        if (filePath == null || filePath.isEmpty()) {
+            return System.getProperty("user.dir") + "/config/" + system + ".properties";
+        }
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public long getFileDebounceMillis() {
+        return fileDebounceMillis;
+    }
+
+    public void setFileDebounceMillis(long fileDebounceMillis) {
+        this.fileDebounceMillis = fileDebounceMillis;
+    }
+
+    public int getListenerThreads() {
+        return listenerThreads;
+    }
+
+    public void setListenerThreads(int listenerThreads) {
+        this.listenerThreads = listenerThreads;
+    }
+
+    public int getListenerQueueCapacity() {
+        return listenerQueueCapacity;
+    }
+
+    public void setListenerQueueCapacity(int listenerQueueCapacity) {
+        this.listenerQueueCapacity = listenerQueueCapacity;
+    }
+
+    public long getListenerDebounceMillis() {
+        return listenerDebounceMillis;
+    }
+
+    public void setListenerDebounceMillis(long listenerDebounceMillis) {
+        this.listenerDebounceMillis = listenerDebounceMillis;
+    }
+
+    public int getNearCacheMaxSize() {
+        return nearCacheMaxSize;
+    }
+
+    public void setNearCacheMaxSize(int nearCacheMaxSize) {
+        this.nearCacheMaxSize = nearCacheMaxSize;
+    }
+
+    public long getNearCacheNegativeTtlMillis() {
+        return nearCacheNegativeTtlMillis;
+    }
+
+    public void setNearCacheNegativeTtlMillis(long nearCacheNegativeTtlMillis) {
+        this.nearCacheNegativeTtlMillis = nearCacheNegativeTtlMillis;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public long getNodeReportIntervalMillis() {
+        return nodeReportIntervalMillis;
+    }
+
+    public void setNodeReportIntervalMillis(long nodeReportIntervalMillis) {
+        this.nodeReportIntervalMillis = nodeReportIntervalMillis;
+    }
+
+    public long getDigestIntervalMillis() {
+        return digestIntervalMillis;
+    }
+
+    public void setDigestIntervalMillis(long digestIntervalMillis) {
+        this.digestIntervalMillis = digestIntervalMillis;
+    }
+
+    public Map<String, DebounceRuleVO> getApplyDebounce() {
+        return applyDebounce;
+    }
+
+    public void setApplyDebounce(Map<String, DebounceRuleVO> applyDebounce) {
+        this.applyDebounce = applyDebounce;
+    }
+
+    public Map<String, DebounceRuleVO> getPublishDebounce() {
+        return publishDebounce;
+    }
+
+    public void setPublishDebounce(Map<String, DebounceRuleVO> publishDebounce) {
+        this.publishDebounce = publishDebounce;
+    }
+
+    public Map<String, RolloutRuleVO> getRollout() {
+        return rollout;
+    }
+
+    public void setRollout(Map<String, RolloutRuleVO> rollout) {
+        this.rollout = rollout;
+    }
+}
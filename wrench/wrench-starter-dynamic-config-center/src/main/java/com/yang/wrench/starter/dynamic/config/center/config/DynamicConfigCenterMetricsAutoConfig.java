@@ -0,0 +1,45 @@
+package com.yang.wrench.starter.dynamic.config.center.config;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterClient;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterNodeReporter;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.IDynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.config.center.metrics.DynamicConfigCenterApplyMetrics;
+import com.yang.wrench.starter.dynamic.config.center.metrics.DynamicConfigCenterClientMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 动态配置中心指标自动配置类
+ * 类路径上存在 Micrometer 时启用，容器中有 MeterRegistry（如引入 actuator）时发布配置中心指标
+ *
+ * @Author: yang
+ * @Description: 动态配置中心指标自动配置类
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@AutoConfigureAfter(DynamicConfigCenterRegisterAutoConfig.class)
+public class DynamicConfigCenterMetricsAutoConfig {
+
+    @Bean
+    @ConditionalOnBean(DynamicConfigCenterClient.class)
+    public DynamicConfigCenterClientMetrics dynamicConfigCenterClientMetrics(DynamicConfigCenterClient dynamicConfigCenterClient,
+                                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DynamicConfigCenterClientMetrics(dynamicConfigCenterClient, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnBean(DynamicConfigCenterNodeReporter.class)
+    public DynamicConfigCenterApplyMetrics dynamicConfigCenterApplyMetrics(DynamicConfigCenterAutoProperties dynamicConfigCenterAutoProperties,
+                                                                           IDynamicConfigCenterService dynamicConfigCenterService,
+                                                                           DynamicConfigCenterNodeReporter dynamicConfigCenterNodeReporter,
+                                                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DynamicConfigCenterApplyMetrics(dynamicConfigCenterService, dynamicConfigCenterNodeReporter,
+                dynamicConfigCenterAutoProperties.getSystem(), meterRegistry);
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.yang.wrench.starter.dynamic.config.center.config;
+
+import com.yang.wrench.starter.dynamic.config.center.types.common.Constant;
+import org.redisson.config.BaseConfig;
+import org.redisson.config.BaseMasterSlaveServersConfig;
+import org.redisson.config.ClusterServersConfig;
+import org.redisson.config.Config;
+import org.redisson.config.MasterSlaveServersConfig;
+import org.redisson.config.SentinelServersConfig;
+import org.redisson.config.SingleServerConfig;
+
+import java.util.List;
+
+/**
+ * 配置中心Redisson连接拓扑
+ *
+ * 功能说明：
+ * 1. 按 wrench.config.register.topology 选择单节点、主从、哨兵或集群连接，公共的超时、重试、心跳参数对各拓扑一致
+ * 2. 多节点拓扑按 readMode / subscriptionMode 把读取与订阅分散到副本，写入与Lua脚本始终在主节点执行
+ * 3. 集群拓扑下配置中心的Lua脚本同时操作多个键，要求 system 含哈希标签，使全部键落在同一槽位
+ *
+ * 只组装 Config，不建立连接，可脱离Redis校验各拓扑的参数。
+ *
+ * @Author: yang
+ * @Description: 按部署拓扑组装配置中心的Redisson连接参数
+ */
+public class DynamicConfigCenterRedissonConfigFactory {
+
+    private static final String REDIS_SCHEME = "redis://";
+    private static final String REDISS_SCHEME = "rediss://";
+
+    private DynamicConfigCenterRedissonConfigFactory() {
+    }
+
+    /**
+     * 按拓扑设置连接
+     *
+     * @param config Redisson配置
+     * @param properties Redis连接配置属性
+     * @param poolSize 每个节点的连接池大小
+     * @param minIdleSize 每个节点的最小空闲连接数
+     * @param subscriptionPoolSize 订阅连接池大小，0 表示使用Redisson默认值
+     * @return 拓扑对应的服务端配置（SingleServerConfig、MasterSlaveServersConfig、SentinelServersConfig 或 ClusterServersConfig）
+     */
+    public static BaseConfig<?> useServers(Config config, DynamicConfigCenterRegisterAutoConfigProperties properties,
+                                           int poolSize, int minIdleSize, int subscriptionPoolSize) {
+        String topology = properties.getTopology() == null ? Constant.REGISTER_TOPOLOGY_SINGLE : properties.getTopology();
+        switch (topology) {
+            case Constant.REGISTER_TOPOLOGY_SINGLE: {
+                SingleServerConfig server = common(config.useSingleServer(), properties)
+                        .setAddress(address(properties.getHost() + ":" + properties.getPort()))  // Redis服务器地址
+                        .setDatabase(properties.getDatabase())
+                        .setConnectionPoolSize(poolSize)  // 连接池大小
+                        .setConnectionMinimumIdleSize(minIdleSize);  // 最小空闲连接数
+                if (subscriptionPoolSize > 0) {
+                    server.setSubscriptionConnectionPoolSize(subscriptionPoolSize)
+                            .setSubscriptionConnectionMinimumIdleSize(1);
+                }
+                return server;
+            }
+            case Constant.REGISTER_TOPOLOGY_MASTER_SLAVE: {
+                MasterSlaveServersConfig server = replicated(config.useMasterSlaveServers(), properties, poolSize, minIdleSize, subscriptionPoolSize)
+                        .setMasterAddress(address(properties.getHost() + ":" + properties.getPort()))
+                        .setDatabase(properties.getDatabase());
+                for (String node : properties.getNodes()) {
+                    server.addSlaveAddress(address(node));
+                }
+                return server;
+            }
+            case Constant.REGISTER_TOPOLOGY_SENTINEL: {
+                List<String> nodes = requireNodes(properties);
+                if (properties.getMasterName() == null || properties.getMasterName().isEmpty()) {
+                    throw new IllegalArgumentException("wrench dcc 哨兵拓扑需要配置 wrench.config.register.master-name");
+                }
+                SentinelServersConfig server = replicated(config.useSentinelServers(), properties, poolSize, minIdleSize, subscriptionPoolSize)
+                        .setMasterName(properties.getMasterName())
+                        .setDatabase(properties.getDatabase())
+                        // 只配置一个哨兵时（如本地替身环境）不要求哨兵列表至少两个节点
+                        .setCheckSentinelsList(nodes.size() > 1);
+                for (String node : nodes) {
+                    server.addSentinelAddress(address(node));
+                }
+                return server;
+            }
+            case Constant.REGISTER_TOPOLOGY_CLUSTER: {
+                List<String> nodes = requireNodes(properties);
+                ClusterServersConfig server = replicated(config.useClusterServers(), properties, poolSize, minIdleSize, subscriptionPoolSize);
+                for (String node : nodes) {
+                    server.addNodeAddress(address(node));
+                }
+                return server;
+            }
+            default:
+                throw new IllegalArgumentException("wrench dcc 不支持的Redis拓扑 wrench.config.register.topology=" + topology);
+        }
+    }
+
+    /**
+     * 集群拓扑下校验配置键落在同一槽位
+     * 配置键、摘要、序号、变更流的键都包含 system，system 含哈希标签时全部键的槽位相同，Lua脚本不会跨槽位
+     *
+     * @param system 系统标识
+     */
+    public static void checkClusterSlot(String system) {
+        int open = system == null ? -1 : system.indexOf('{');
+        int close = open < 0 ? -1 : system.indexOf('}', open + 1);
+        if (close <= open + 1) {
+            throw new IllegalArgumentException("wrench dcc 集群拓扑下 wrench.config.system 需包含哈希标签，如 {" + system
+                    + "}，使同一系统的配置键落在同一槽位");
+        }
+    }
+
+    private static <T extends BaseConfig<T>> T common(T server, DynamicConfigCenterRegisterAutoConfigProperties properties) {
+        return server.setPassword(properties.getPassword())  // Redis密码
+                .setIdleConnectionTimeout(properties.getIdleTimeout())  // 空闲连接超时时间
+                .setConnectTimeout(properties.getConnectTimeout())  // 连接超时时间
+                .setRetryAttempts(properties.getRetryAttempts())  // 重试次数
+                .setRetryInterval(properties.getRetryInterval())  // 重试间隔
+                .setPingConnectionInterval(properties.getPingInterval())  // 心跳检测间隔
+                .setKeepAlive(properties.isKeepAlive());  // 是否保持长连接
+    }
+
+    private static <T extends BaseMasterSlaveServersConfig<T>> T replicated(T server, DynamicConfigCenterRegisterAutoConfigProperties properties,
+                                                                            int poolSize, int minIdleSize, int subscriptionPoolSize) {
+        common(server, properties)
+                .setMasterConnectionPoolSize(poolSize)
+                .setMasterConnectionMinimumIdleSize(minIdleSize)
+                .setSlaveConnectionPoolSize(poolSize)
+                .setSlaveConnectionMinimumIdleSize(minIdleSize)
+                .setReadMode(properties.getReadMode())
+                .setSubscriptionMode(properties.getSubscriptionMode());
+        if (subscriptionPoolSize > 0) {
+            server.setSubscriptionConnectionPoolSize(subscriptionPoolSize)
+                    .setSubscriptionConnectionMinimumIdleSize(1);
+        }
+        return server;
+    }
+
+    private static List<String> requireNodes(DynamicConfigCenterRegisterAutoConfigProperties properties) {
+        if (properties.getNodes() == null || properties.getNodes().isEmpty()) {
+            throw new IllegalArgumentException("wrench dcc " + properties.getTopology() + " 拓扑需要配置 wrench.config.register.nodes");
+        }
+        return properties.getNodes();
+    }
+
+    private static String address(String node) {
+        return node.startsWith(REDIS_SCHEME) || node.startsWith(REDISS_SCHEME) ? node : REDIS_SCHEME + node;
+    }
+
+}
@@ -1,79 +1,235 @@
 package com.yang.wrench.starter.dynamic.config.center.config;
 
-import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.FileDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.IDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.MemoryDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.RedisDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterClient;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterDigestReconciler;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterRollout;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterNodeReporter;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterPublisher;
 import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterService;
 import com.yang.wrench.starter.dynamic.config.center.domain.service.IDynamicConfigCenterService;
-import com.yang.wrench.starter.dynamic.config.center.listener.DynamicConfigCenterAdjustListener;
+import com.yang.wrench.starter.dynamic.config.center.listener.DynamicConfigCenterAdjustCoalescer;
+import com.yang.wrench.starter.dynamic.config.center.types.codec.DynamicConfigCenterCodec;
 import com.yang.wrench.starter.dynamic.config.center.types.common.Constant;
 import org.redisson.Redisson;
 import org.redisson.api.RTopic;
 import org.redisson.api.RedissonClient;
 import org.redisson.codec.JsonJacksonCodec;
 import org.redisson.config.Config;
+import org.redisson.spring.starter.RedissonAutoConfiguration;
+import org.redisson.spring.starter.RedissonAutoConfigurationV2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Arrays;
+
 /**
  * 动态配置中心注册自动配置类
  *
  * 功能说明：
  * 1. 动态配置中心的Spring Boot自动配置入口
- * 2. 初始化Redisson客户端连接Redis，作为配置中心的存储和消息总线
- * 3. 注册配置监听器，实现配置变更的实时通知和动态更新
+ * 2. 按 wrench.config.backend 创建配置存储后端：redis（默认，初始化或复用Redisson客户端）、memory、file
+ * 3. 合并器订阅存储后端，实现配置变更的实时通知和动态更新
  * 4. 创建配置服务Bean，提供配置的读写和管理能力
  *
  * 核心组件：
- * - RedissonClient: Redis客户端，用于配置存储和发布订阅
+ * - RedissonClient: Redis客户端，用于配置存储和发布订阅（redis 后端）
+ * - RTopic: Redis消息主题，用于配置变更通知（redis 后端）
+ * - IDynamicConfigCenterBackend: 配置存储后端
  * - IDynamicConfigCenterService: 配置中心核心服务接口
- * - DynamicConfigCenterAdjustListener: 配置变更监听器
- * - RTopic: Redis消息主题，用于配置变更通知
+ * - DynamicConfigCenterRollout: 按属性的配置变更分批生效
+ * - DynamicConfigCenterAdjustCoalescer: 配置变更合并器，订阅存储后端，窗口内的消息合并为一次批量应用
+ * - DynamicConfigCenterPublisher: 配置发布器
+ * - DynamicConfigCenterClient: 带本地缓存的配置编程读取入口
+ * - DynamicConfigCenterNodeReporter: 节点已应用配置版本的上报与落后节点查询
+ * - DynamicConfigCenterDigestReconciler: 基于分桶摘要的增量配置对齐
  *
  * @Author: yang
  * @Date: 2025/09/20/15:01
  * @Description: 动态配置中心自动配置类，负责核心组件的初始化和注册
  */
 @Configuration  // 标识为Spring配置类
+@AutoConfigureAfter({RedissonAutoConfiguration.class, RedissonAutoConfigurationV2.class})  // 应用的RedissonClient先注册，共享模式据此判断是否复用
 @EnableConfigurationProperties({DynamicConfigCenterAutoProperties.class, DynamicConfigCenterRegisterAutoConfigProperties.class})  // 启用配置属性绑定
 public class DynamicConfigCenterRegisterAutoConfig {
 
     private final Logger log = LoggerFactory.getLogger(DynamicConfigCenterRegisterAutoConfig.class);
 
     /**
-     * 创建Redisson客户端Bean
-     * 用于连接Redis服务器，作为配置中心的存储和消息总线
+     * 配置中心使用的Redisson客户端（wrench.config.backend=redis，默认）
+     *
+     * 连接模式 wrench.config.register.mode：
+     * - dedicated（默认）：按 wrench.config.register 的连接池参数创建独立客户端
+     * - shared：容器中已有应用的 RedissonClient 时直接复用，不再建立任何连接；
+     *   没有时创建最小客户端：延迟连接、4个普通连接（其中1个供变更流阻塞读取）、1个订阅连接、2个工作线程
+     *
+     * 两种模式创建的客户端都按 wrench.config.register.topology 连接单节点、主从、哨兵或集群，
+     * 多节点拓扑的连接池参数作用于每个节点，见 DynamicConfigCenterRedissonConfigFactory。
+     * 配置中心自己的客户端不作为 RedissonClient 的自动注入候选，应用按类型注入时只会拿到应用自己的客户端；
+     * 配置中心内部按Bean名称 WrenchRedissonClient 获取
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "wrench.config", name = "backend", havingValue = Constant.BACKEND_REDIS, matchIfMissing = true)
+    static class RedissonClientConfiguration {
+
+        private static final int SHARED_POOL_SIZE = 4;
+        private static final int SHARED_MIN_IDLE_SIZE = 1;
+        private static final int SHARED_THREADS = 2;
+
+        private final Logger log = LoggerFactory.getLogger(RedissonClientConfiguration.class);
+
+        /**
+         * 创建独立的Redisson客户端Bean
+         * 用于连接Redis服务器，作为配置中心的存储和消息总线
+         *
+         * @param properties Redis连接配置属性
+         * @param dynamicConfigCenterAutoProperties 配置属性
+         * @return RedissonClient实例
+         */
+        @Bean(name = Constant.WRENCH_REDISSON_CLIENT, autowireCandidate = false)
+        @ConditionalOnProperty(prefix = "wrench.config.register", name = "mode", havingValue = Constant.REGISTER_MODE_DEDICATED, matchIfMissing = true)
+        public RedissonClient redissonClient(DynamicConfigCenterRegisterAutoConfigProperties properties,
+                                             DynamicConfigCenterAutoProperties dynamicConfigCenterAutoProperties) {
+            Config config = new Config();
+            // 使用Jackson JSON编解码器，支持复杂对象的序列化
+            config.setCodec(JsonJacksonCodec.INSTANCE);
+            // 启用本地配置缓存时延迟建立连接，Redis不可用不阻断应用启动
+            config.setLazyInitialization(dynamicConfigCenterAutoProperties.isCacheEnabled());
+
+            // 按部署拓扑配置Redis服务器连接
+            DynamicConfigCenterRedissonConfigFactory.useServers(config, properties, properties.getPoolSize(), properties.getMinIdleSize(), 0);
+
+            RedissonClient redissonClient = Redisson.create(config);
+
+            log.info("wrench，注册器（redis）链接初始化完成。topology: {}, host: {}, nodes: {}, readMode: {}, poolSize: {}, isShutdown: {}",
+                    properties.getTopology(), properties.getHost(), properties.getNodes(), properties.getReadMode(),
+                    properties.getPoolSize(), !redissonClient.isShutdown());
+
+            return redissonClient;
+        }
+
+        /**
+         * 共享模式下容器中没有应用的 RedissonClient 时，创建最小的Redisson客户端Bean
+         * 始终延迟连接；本配置在 RedissonAutoConfiguration 之后处理，应用的客户端（自定义或由 redisson-spring-boot-starter 创建）优先。
+         * 该Bean不作为 RedissonClient 的自动注入候选，不会被应用代码当作自己的客户端注入
+         *
+         * @param properties Redis连接配置属性
+         * @return RedissonClient实例
+         */
+        @Bean(name = Constant.WRENCH_REDISSON_CLIENT, autowireCandidate = false)
+        @ConditionalOnProperty(prefix = "wrench.config.register", name = "mode", havingValue = Constant.REGISTER_MODE_SHARED)
+        @ConditionalOnMissingBean(RedissonClient.class)
+        public RedissonClient sharedRedissonClient(DynamicConfigCenterRegisterAutoConfigProperties properties) {
+            Config config = new Config();
+            config.setCodec(JsonJacksonCodec.INSTANCE);
+            config.setLazyInitialization(true);
+            config.setThreads(SHARED_THREADS);
+            config.setNettyThreads(SHARED_THREADS);
+
+            DynamicConfigCenterRedissonConfigFactory.useServers(config, properties, SHARED_POOL_SIZE, SHARED_MIN_IDLE_SIZE, 1);
+
+            RedissonClient redissonClient = Redisson.create(config);
+
+            log.info("wrench，注册器（redis）共享模式未找到应用的RedissonClient，创建最小客户端。topology: {}, host: {}, nodes: {}, poolSize: {}",
+                    properties.getTopology(), properties.getHost(), properties.getNodes(), SHARED_POOL_SIZE);
+
+            return redissonClient;
+        }
+
+    }
+
+    /**
+     * 创建Redis消息主题Bean
+     * 用于发布和订阅配置变更消息
+     *
+     * @param dynamicConfigCenterAutoProperties 配置属性
+     * @param beanFactory 用于获取配置中心使用的Redisson客户端
+     * @return Redis消息主题实例
+     */
+    @Bean(name = "dynamicConfigCenterRedisTopic")
+    @ConditionalOnProperty(prefix = "wrench.config", name = "backend", havingValue = Constant.BACKEND_REDIS, matchIfMissing = true)
+    public RTopic dynamicConfigCenterRedisTopic(DynamicConfigCenterAutoProperties dynamicConfigCenterAutoProperties,
+                                                ListableBeanFactory beanFactory) {
+        // 获取系统对应的消息主题，格式为：system:config:topic；编解码只作用于配置中心自己的主题，不依赖客户端的全局编解码
+        return resolveRedissonClient(beanFactory).getTopic(Constant.getTopic(dynamicConfigCenterAutoProperties.getSystem()),
+                dynamicConfigCenterAutoProperties.isCompactCodec() ? DynamicConfigCenterCodec.INSTANCE : JsonJacksonCodec.INSTANCE);
+    }
+
+    /**
+     * 创建Redis存储后端Bean（wrench.config.backend=redis，默认）
+     * 配置中心自己的客户端按多节点拓扑读取副本时，批量加载先读副本，只有缺失的配置键回到主节点写入默认值
+     * 复用的应用客户端拓扑未知，批量加载始终在主节点执行
+     *
+     * @param dynamicConfigCenterAutoProperties 配置属性
+     * @param registerProperties Redis连接配置属性
+     * @param beanFactory 用于获取配置中心使用的Redisson客户端
+     * @param dynamicConfigCenterRedisTopic Redis消息主题
+     * @return Redis存储后端实例
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "wrench.config", name = "backend", havingValue = Constant.BACKEND_REDIS, matchIfMissing = true)
+    public IDynamicConfigCenterBackend redisDynamicConfigCenterBackend(DynamicConfigCenterAutoProperties dynamicConfigCenterAutoProperties,
+                                                                       DynamicConfigCenterRegisterAutoConfigProperties registerProperties,
+                                                                       ListableBeanFactory beanFactory,
+                                                                       RTopic dynamicConfigCenterRedisTopic) {
+        RedissonClient redissonClient = resolveRedissonClient(beanFactory);
+        if (redissonClient.getConfig().isClusterConfig()) {
+            DynamicConfigCenterRedissonConfigFactory.checkClusterSlot(dynamicConfigCenterAutoProperties.getSystem());
+        }
+        boolean replicaRead = beanFactory.containsBean(Constant.WRENCH_REDISSON_CLIENT) && registerProperties.isReplicaRead();
+        return new RedisDynamicConfigCenterBackend(dynamicConfigCenterAutoProperties, redissonClient,
+                dynamicConfigCenterRedisTopic, replicaRead);
+    }
+
+    /**
+     * 选择配置中心使用的Redisson客户端：优先配置中心自己的客户端（按名称，不是自动注入候选），
+     * 其次容器中唯一（或 @Primary）的应用客户端（共享模式）
+     */
+    private static RedissonClient resolveRedissonClient(ListableBeanFactory beanFactory) {
+        if (beanFactory.containsBean(Constant.WRENCH_REDISSON_CLIENT)) {
+            return beanFactory.getBean(Constant.WRENCH_REDISSON_CLIENT, RedissonClient.class);
+        }
+        RedissonClient redissonClient = beanFactory.getBeanProvider(RedissonClient.class).getIfUnique();
+        if (redissonClient != null) {
+            return redissonClient;
+        }
+        throw new RuntimeException("wrench dcc 共享模式下容器中有多个RedissonClient，无法确定复用的客户端 "
+                + Arrays.toString(beanFactory.getBeanNamesForType(RedissonClient.class))
+                + "，请使用 wrench.config.register.mode=dedicated");
+    }
+
+    /**
+     * 创建进程内存储后端Bean（wrench.config.backend=memory）
+     *
+     * @param dynamicConfigCenterAutoProperties 配置属性
+     * @return 进程内存储后端实例
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "wrench.config", name = "backend", havingValue = Constant.BACKEND_MEMORY)
+    public IDynamicConfigCenterBackend memoryDynamicConfigCenterBackend(DynamicConfigCenterAutoProperties dynamicConfigCenterAutoProperties) {
+        return new MemoryDynamicConfigCenterBackend(dynamicConfigCenterAutoProperties);
+    }
+
+    /**
+     * 创建本地文件存储后端Bean（wrench.config.backend=file）
      *
-     * @param properties Redis连接配置属性
-     * @return RedissonClient实例
+     * @param dynamicConfigCenterAutoProperties 配置属性
+     * @return 本地文件存储后端实例
      */
-    @Bean("WrenchRedissonClient")
-    public RedissonClient redissonClient(DynamicConfigCenterRegisterAutoConfigProperties properties) {
-        Config config = new Config();
-        // 使用Jackson JSON编解码器，支持复杂对象的序列化
-        config.setCodec(JsonJacksonCodec.INSTANCE);
-
-        // 配置单节点Redis服务器连接
-        config.useSingleServer()
-                .setAddress("redis://" + properties.getHost() + ":" + properties.getPort())  // Redis服务器地址
-                .setPassword(properties.getPassword())  // Redis密码
-                .setConnectionPoolSize(properties.getPoolSize())  // 连接池大小
-                .setConnectionMinimumIdleSize(properties.getMinIdleSize())  // 最小空闲连接数
-                .setIdleConnectionTimeout(properties.getIdleTimeout())  // 空闲连接超时时间
-                .setConnectTimeout(properties.getConnectTimeout())  // 连接超时时间
-                .setRetryAttempts(properties.getRetryAttempts())  // 重试次数
-                .setRetryInterval(properties.getRetryInterval())  // 重试间隔
-                .setPingConnectionInterval(properties.getPingInterval())  // 心跳检测间隔
-                .setKeepAlive(properties.isKeepAlive())  // 是否保持长连接
-        ;
-
-        RedissonClient redissonClient = Redisson.create(config);
-
-        log.info("wrench，注册器（redis）链接初始化完成。host: {}, poolSize: {}, isShutdown: {}",
-                properties.getHost(), properties.getPoolSize(), !redissonClient.isShutdown());
-
-        return redissonClient;
+    @Bean
+    @ConditionalOnProperty(prefix = "wrench.config", name = "backend", havingValue = Constant.BACKEND_FILE)
+    public IDynamicConfigCenterBackend fileDynamicConfigCenterBackend(DynamicConfigCenterAutoProperties dynamicConfigCenterAutoProperties) {
+        return new FileDynamicConfigCenterBackend(dynamicConfigCenterAutoProperties);
     }
 
     /**
@@ -81,47 +237,129 @@ public class DynamicConfigCenterRegisterAutoConfig {
      * 提供配置的读取、写入、更新等核心功能
      *
      * @param dynamicConfigCenterAutoProperties 配置属性
-     * @param WrenchRedissonClient Redisson客户端
+     * @param dynamicConfigCenterBackend 配置存储后端
      * @return 配置中心服务实例
      */
     @Bean
     public IDynamicConfigCenterService dynamicConfigCenterService(
             DynamicConfigCenterAutoProperties dynamicConfigCenterAutoProperties,
-            RedissonClient WrenchRedissonClient) {
-        return new DynamicConfigCenterService(dynamicConfigCenterAutoProperties, WrenchRedissonClient);
+            IDynamicConfigCenterBackend dynamicConfigCenterBackend) {
+        return new DynamicConfigCenterService(dynamicConfigCenterAutoProperties, dynamicConfigCenterBackend);
     }
 
     /**
-     * 创建配置变更监听器Bean
-     * 负责处理配置变更消息并执行相应的更新操作
+     * 创建配置分批生效Bean
+     * 按 rollout 规则把配置变更按节点所在批次与抖动延迟生效，并在存储后端记录各节点的生效进度
      *
-     * @param dynamicConfigCenterService 配置中心服务
-     * @return 配置变更监听器实例
+     * @param dynamicConfigCenterAutoProperties 配置属性
+     * @param dynamicConfigCenterBackend 配置存储后端
+     * @return 配置分批生效实例
      */
     @Bean
-    public DynamicConfigCenterAdjustListener dynamicConfigCenterAdjustListener(
-            IDynamicConfigCenterService dynamicConfigCenterService) {
-        return new DynamicConfigCenterAdjustListener(dynamicConfigCenterService);
+    public DynamicConfigCenterRollout dynamicConfigCenterRollout(DynamicConfigCenterAutoProperties dynamicConfigCenterAutoProperties,
+                                                                 IDynamicConfigCenterBackend dynamicConfigCenterBackend) {
+        return new DynamicConfigCenterRollout(dynamicConfigCenterAutoProperties, dynamicConfigCenterBackend,
+                dynamicConfigCenterAutoProperties.getRollout());
     }
 
     /**
-     * 创建Redis消息主题Bean并注册监听器
-     * 用于发布和订阅配置变更消息
+     * 创建配置变更合并器Bean并订阅存储后端
+     * 合并窗口内的配置消息，同一属性只保留最后一个值，一次批量应用；按 apply-debounce 对单个属性防抖，按 rollout 分批生效
+     * 订阅在配置批量加载之前完成，变更流模式下加载期间的变更会被补读
      *
      * @param dynamicConfigCenterAutoProperties 配置属性
-     * @param redissonClient Redisson客户端
-     * @param dynamicConfigCenterAdjustListener 配置变更监听器
-     * @return Redis消息主题实例
+     * @param dynamicConfigCenterService 配置中心服务
+     * @param dynamicConfigCenterBackend 配置存储后端
+     * @param dynamicConfigCenterRollout 配置分批生效
+     * @return 配置变更合并器实例
      */
-    @Bean(name = "dynamicConfigCenterRedisTopic")
-    public RTopic threadPoolConfigAdjustListener(
+    @Bean
+    public DynamicConfigCenterAdjustCoalescer dynamicConfigCenterAdjustCoalescer(
             DynamicConfigCenterAutoProperties dynamicConfigCenterAutoProperties,
-            RedissonClient redissonClient,
-            DynamicConfigCenterAdjustListener dynamicConfigCenterAdjustListener) {
-        // 获取系统对应的消息主题，格式为：system:config:topic
-        RTopic topic = redissonClient.getTopic(Constant.getTopic(dynamicConfigCenterAutoProperties.getSystem()));
-        // 注册消息监听器，监听AttributeVO类型的消息
-        topic.addListener(AttributeVO.class, dynamicConfigCenterAdjustListener);
-        return topic;
+            IDynamicConfigCenterService dynamicConfigCenterService,
+            IDynamicConfigCenterBackend dynamicConfigCenterBackend,
+            DynamicConfigCenterRollout dynamicConfigCenterRollout) {
+        DynamicConfigCenterAdjustCoalescer coalescer = new DynamicConfigCenterAdjustCoalescer(dynamicConfigCenterService,
+                dynamicConfigCenterAutoProperties.getCoalesceWindowMillis(), dynamicConfigCenterAutoProperties.getApplyDebounce(),
+                dynamicConfigCenterRollout);
+        dynamicConfigCenterBackend.subscribe(coalescer);
+        return coalescer;
+    }
+
+    /**
+     * 创建配置发布器Bean
+     * 提供单个配置发布与多键事务发布，经由存储后端下发；按 publish-debounce 对单个属性防抖
+     *
+     * @param dynamicConfigCenterAutoProperties 配置属性
+     * @param dynamicConfigCenterBackend 配置存储后端
+     * @return 配置发布器实例
+     */
+    @Bean
+    public DynamicConfigCenterPublisher dynamicConfigCenterPublisher(DynamicConfigCenterAutoProperties dynamicConfigCenterAutoProperties,
+                                                                     IDynamicConfigCenterBackend dynamicConfigCenterBackend) {
+        return new DynamicConfigCenterPublisher(dynamicConfigCenterBackend, dynamicConfigCenterAutoProperties.getPublishDebounce());
+    }
+
+    /**
+     * 创建配置客户端Bean
+     * 按属性名编程读取配置，本地缓存随配置提交同步更新
+     *
+     * @param dynamicConfigCenterAutoProperties 配置属性
+     * @param dynamicConfigCenterService 配置中心服务
+     * @param dynamicConfigCenterBackend 配置存储后端
+     * @return 配置客户端实例
+     */
+    @Bean
+    public DynamicConfigCenterClient dynamicConfigCenterClient(DynamicConfigCenterAutoProperties dynamicConfigCenterAutoProperties,
+                                                               IDynamicConfigCenterService dynamicConfigCenterService,
+                                                               IDynamicConfigCenterBackend dynamicConfigCenterBackend) {
+        DynamicConfigCenterClient client = new DynamicConfigCenterClient(dynamicConfigCenterAutoProperties, dynamicConfigCenterBackend);
+        dynamicConfigCenterService.addCommitListener(client);
+        return client;
+    }
+
+    /**
+     * 创建节点配置版本上报Bean
+     * 记录本节点已应用的配置版本并定期写入配置中心，用于列出落后或失联的节点
+     *
+     * @param dynamicConfigCenterAutoProperties 配置属性
+     * @param dynamicConfigCenterService 配置中心服务
+     * @param dynamicConfigCenterBackend 配置存储后端
+     * @param dynamicConfigCenterAdjustCoalescer 配置变更合并器，收到的消息按序号登记
+     * @return 节点配置版本上报实例
+     */
+    @Bean
+    public DynamicConfigCenterNodeReporter dynamicConfigCenterNodeReporter(DynamicConfigCenterAutoProperties dynamicConfigCenterAutoProperties,
+                                                                           IDynamicConfigCenterService dynamicConfigCenterService,
+                                                                           IDynamicConfigCenterBackend dynamicConfigCenterBackend,
+                                                                           DynamicConfigCenterAdjustCoalescer dynamicConfigCenterAdjustCoalescer) {
+        DynamicConfigCenterNodeReporter reporter = new DynamicConfigCenterNodeReporter(dynamicConfigCenterAutoProperties, dynamicConfigCenterBackend);
+        dynamicConfigCenterService.addCommitListener(reporter);
+        dynamicConfigCenterAdjustCoalescer.setNodeReporter(reporter);
+        reporter.start();
+        return reporter;
     }
-}
\ No newline at end of file
+
+    /**
+     * 创建配置摘要对齐Bean
+     * 定期比对本地与配置中心的分桶摘要，只补齐摘要不同的配置键
+     *
+     * @param dynamicConfigCenterAutoProperties 配置属性
+     * @param dynamicConfigCenterService 配置中心服务
+     * @param dynamicConfigCenterBackend 配置存储后端
+     * @param dynamicConfigCenterRollout 配置分批生效，尚未轮到本节点的配置键不补齐
+     * @return 配置摘要对齐实例
+     */
+    @Bean
+    public DynamicConfigCenterDigestReconciler dynamicConfigCenterDigestReconciler(DynamicConfigCenterAutoProperties dynamicConfigCenterAutoProperties,
+                                                                                   IDynamicConfigCenterService dynamicConfigCenterService,
+                                                                                   IDynamicConfigCenterBackend dynamicConfigCenterBackend,
+                                                                                   DynamicConfigCenterRollout dynamicConfigCenterRollout) {
+        DynamicConfigCenterDigestReconciler reconciler = new DynamicConfigCenterDigestReconciler(dynamicConfigCenterAutoProperties,
+                dynamicConfigCenterService, dynamicConfigCenterBackend, dynamicConfigCenterRollout);
+        dynamicConfigCenterService.addCommitListener(reconciler);
+        reconciler.start();
+        return reconciler;
+    }
+
+}
@@ -1,7 +1,13 @@
 package com.yang.wrench.starter.dynamic.config.center.config;
 
+import com.yang.wrench.starter.dynamic.config.center.types.common.Constant;
+import org.redisson.config.ReadMode;
+import org.redisson.config.SubscriptionMode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 动态配置中心Redis连接配置属性类
  *
@@ -14,6 +20,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * wrench:
  *   config:
  *     register:
+ *       mode: dedicated           # 连接模式：dedicated 独立客户端，shared 复用应用的客户端
  *       host: 127.0.0.1           # Redis服务器地址
  *       port: 6379                # Redis服务器端口
  *       password: 1234            # Redis访问密码
@@ -25,10 +32,66 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  *       retryInterval: 1000       # 重试间隔时间(毫秒)
  *       pingInterval: 0           # 心跳检测间隔(毫秒)
  *       keepAlive: true           # 是否保持长连接
+ *
+ * 多节点拓扑示例（读取走副本，写入与Lua脚本走主节点）：
+ * wrench:
+ *   config:
+ *     register:
+ *       topology: sentinel        # single（默认）、master-slave、sentinel、cluster
+ *       masterName: mymaster      # 哨兵监控的主节点名
+ *       nodes:                    # sentinel 为哨兵地址，cluster 为种子节点地址，master-slave 为副本地址（主节点为 host:port）
+ *         - 10.0.0.1:26379
+ *         - 10.0.0.2:26379
+ *       readMode: SLAVE           # 读取节点：SLAVE（默认，副本）、MASTER、MASTER_SLAVE
+ *       subscriptionMode: SLAVE   # 订阅节点：SLAVE（默认，副本）、MASTER
  */
 @ConfigurationProperties(prefix = "wrench.config.register", ignoreInvalidFields = true)  // 读取wrench.config.register前缀的配置，忽略无效字段
 public class DynamicConfigCenterRegisterAutoConfigProperties {
 
+    /**
+     * 连接模式
+     * dedicated（默认）：按以下连接池参数创建配置中心独立的Redisson客户端
+     * shared：复用应用容器中的 RedissonClient；没有时创建最小客户端（延迟连接、4个连接、1个订阅连接），忽略 poolSize / minIdleSize
+     */
+    private String mode = Constant.REGISTER_MODE_DEDICATED;
+
+    /**
+     * Redis部署拓扑
+     * single（默认）：单节点，地址为 host:port
+     * master-slave：主从，主节点为 host:port，副本为 nodes
+     * sentinel：哨兵，哨兵地址为 nodes，主节点名为 masterName，主从切换由哨兵发现
+     * cluster：集群，种子节点为 nodes；wrench.config.system 需包含哈希标签（如 {user-service}），使同一系统的配置键落在同一槽位
+     */
+    private String topology = Constant.REGISTER_TOPOLOGY_SINGLE;
+
+    /**
+     * 多节点拓扑的节点地址（host:port），含义见 topology
+     */
+    private List<String> nodes = new ArrayList<>();
+
+    /**
+     * 哨兵监控的主节点名（topology=sentinel）
+     */
+    private String masterName;
+
+    /**
+     * 多节点拓扑的读取节点
+     * 默认值：SLAVE，配置的批量读取由副本承担，写入与Lua脚本始终在主节点执行；副本不可用时读取回到主节点
+     * 副本读取有复制延迟，落后的配置由变更通知与摘要对齐补齐
+     */
+    private ReadMode readMode = ReadMode.SLAVE;
+
+    /**
+     * 多节点拓扑的订阅节点
+     * 默认值：SLAVE，主节点的发布会复制到副本，订阅连接分散到副本
+     */
+    private SubscriptionMode subscriptionMode = SubscriptionMode.SLAVE;
+
+    /**
+     * Redis数据库序号（cluster 不支持，始终为0）
+     */
+    private int database = 0;
+
     /**
      * Redis服务器主机地址
      * 示例：127.0.0.1 或 redis.example.com
@@ -96,6 +159,69 @@ public class DynamicConfigCenterRegisterAutoConfigProperties {
     private boolean keepAlive = true;
 
     // Getter和Setter方法
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public String getTopology() {
+        return topology;
+    }
+
+    public void setTopology(String topology) {
+        this.topology = topology;
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<String> nodes) {
+        this.nodes = nodes;
+    }
+
+    public String getMasterName() {
+        return masterName;
+    }
+
+    public void setMasterName(String masterName) {
+        this.masterName = masterName;
+    }
+
+    public ReadMode getReadMode() {
+        return readMode;
+    }
+
+    public void setReadMode(ReadMode readMode) {
+        this.readMode = readMode;
+    }
+
+    public SubscriptionMode getSubscriptionMode() {
+        return subscriptionMode;
+    }
+
+    public void setSubscriptionMode(SubscriptionMode subscriptionMode) {
+        this.subscriptionMode = subscriptionMode;
+    }
+
+    public int getDatabase() {
+        return database;
+    }
+
+    public void setDatabase(int database) {
+        this.database = database;
+    }
+
+    /**
+     * 配置读取是否由副本承担（多节点拓扑且读取节点不为 MASTER）
+     */
+    public boolean isReplicaRead() {
+        return !Constant.REGISTER_TOPOLOGY_SINGLE.equals(topology) && readMode != ReadMode.MASTER;
+    }
+
     public String getHost() {
         return host;
     }
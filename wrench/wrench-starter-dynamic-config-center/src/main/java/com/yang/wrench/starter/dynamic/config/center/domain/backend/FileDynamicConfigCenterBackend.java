@@ -0,0 +1,295 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.backend;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地文件存储后端
+ *
+ * 功能说明：
+ * 1. 每个系统一个 properties 文件（UTF-8），键为不含 system 前缀的属性名，适合没有Redis的批处理任务与本地调试
+ * 2. WatchService 监听文件所在目录，文件变更后静默 fileDebounceMillis 再重新加载，编辑器多次写入只触发一次
+ * 3. 重新加载时与上次内容比较，只通知值发生变化的属性；删除的属性保持当前值
+ * 4. 发布与条件更新写临时文件后原子替换，监听线程读到的总是完整文件
+ *
+ * 与 Redis 后端的差异：默认值不回写文件，文件只保存显式配置过的属性；
+ * 已通过 load 注册过的属性视为存在，可以被发布。
+ *
+ * @Author: yang
+ * @Description: 基于本地文件与 WatchService 的配置存储与变更通知
+ */
+public class FileDynamicConfigCenterBackend implements IDynamicConfigCenterBackend, DisposableBean {
+
+    private final Logger log = LoggerFactory.getLogger(FileDynamicConfigCenterBackend.class);
+
+    private final DynamicConfigCenterAutoProperties properties;
+    private final Path path;
+    private final long debounceMillis;
+    private final List<IDynamicConfigCenterBackendListener> listeners = new CopyOnWriteArrayList<>();
+
+    // 文件的最近一次内容：属性名 -> 配置值，由 this 保护
+    private Map<String, String> values;
+    // 通过 load 注册过的属性名，视为存在
+    private final Set<String> registered = new HashSet<>();
+    private long version = 0L;
+
+    private WatchService watchService;
+    private Thread watcher;
+
+    public FileDynamicConfigCenterBackend(DynamicConfigCenterAutoProperties properties) {
+        this.properties = properties;
+        this.path = Paths.get(properties.getFilePath()).toAbsolutePath();
+        this.debounceMillis = properties.getFileDebounceMillis();
+        this.values = read();
+    }
+
+    @Override
+    public synchronized Map<String, String> load(Map<String, String> defaultValues) {
+        Map<String, String> result = new LinkedHashMap<>(defaultValues.size() * 2);
+        for (Map.Entry<String, String> entry : defaultValues.entrySet()) {
+            String attribute = attributeOf(entry.getKey());
+            registered.add(attribute);
+            String value = values.get(attribute);
+            result.put(entry.getKey(), value == null ? entry.getValue() : value);
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized Map<String, String> read(Collection<String> keys) {
+        Map<String, String> result = new LinkedHashMap<>(keys.size() * 2);
+        for (String key : keys) {
+            String value = values.get(attributeOf(key));
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized Set<String> setIfExists(Map<String, String> keyValues) {
+        Map<String, String> next = new LinkedHashMap<>(values);
+        Set<String> updated = new LinkedHashSet<>();
+        for (Map.Entry<String, String> entry : keyValues.entrySet()) {
+            String attribute = attributeOf(entry.getKey());
+            if (!next.containsKey(attribute) && !registered.contains(attribute)) {
+                // 任一配置键不存在时整体放弃
+                return new LinkedHashSet<>();
+            }
+            next.put(attribute, entry.getValue());
+            updated.add(entry.getKey());
+        }
+        if (updated.isEmpty()) {
+            return updated;
+        }
+        write(next);
+        values = next;
+        return updated;
+    }
+
+    @Override
+    public long publish(List<AttributeVO> attributeVOList) {
+        Map<String, String> keyValues = new LinkedHashMap<>(attributeVOList.size() * 2);
+        for (AttributeVO attributeVO : attributeVOList) {
+            keyValues.put(properties.getKey(attributeVO.getAttribute()), attributeVO.getValue());
+        }
+        long sequence;
+        List<AttributeVO> changes = new ArrayList<>(keyValues.size());
+        synchronized (this) {
+            Set<String> updated = setIfExists(keyValues);
+            if (updated.isEmpty()) {
+                return 0L;
+            }
+            sequence = ++version;
+            for (AttributeVO attributeVO : attributeVOList) {
+                if (updated.contains(properties.getKey(attributeVO.getAttribute()))) {
+                    changes.add(new AttributeVO(attributeVO.getAttribute(), attributeVO.getValue(), sequence, attributeVO.getPublishTime()));
+                }
+            }
+        }
+        notifyListeners(changes);
+        return sequence;
+    }
+
+    @Override
+    public synchronized void subscribe(IDynamicConfigCenterBackendListener listener) {
+        listeners.add(listener);
+        if (watcher != null) {
+            return;
+        }
+        try {
+            Files.createDirectories(path.getParent());
+            watchService = path.getFileSystem().newWatchService();
+            path.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            throw new RuntimeException("监听配置文件失败 " + path + " " + e);
+        }
+        watcher = new Thread(this::watch, "wrench-dcc-file-watch");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @Override
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * 监听线程：收到配置文件的事件后持续等待，直到静默 debounceMillis 再重新加载
+     */
+    private void watch() {
+        try {
+            while (true) {
+                if (!drain(watchService.take())) {
+                    continue;
+                }
+                WatchKey next;
+                while ((next = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    drain(next);
+                }
+                reload();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ignored) {
+            // 容器关闭
+        }
+    }
+
+    /**
+     * 消费一组事件
+     *
+     * @return 是否包含配置文件的事件（临时文件等同目录文件的事件忽略）
+     */
+    private boolean drain(WatchKey key) {
+        boolean matched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || (context instanceof Path && path.getFileName().equals(context))) {
+                matched = true;
+            }
+        }
+        key.reset();
+        return matched;
+    }
+
+    /**
+     * 重新加载配置文件，通知值发生变化的属性
+     */
+    private void reload() {
+        List<AttributeVO> changes = new ArrayList<>();
+        synchronized (this) {
+            Map<String, String> next = read();
+            if (next.isEmpty() && !Files.exists(path)) {
+                // 文件被删除或正在被替换，保持当前值
+                return;
+            }
+            long sequence = version + 1;
+            for (Map.Entry<String, String> entry : next.entrySet()) {
+                if (!Objects.equals(values.get(entry.getKey()), entry.getValue())) {
+                    changes.add(new AttributeVO(entry.getKey(), entry.getValue(), sequence));
+                }
+            }
+            values = next;
+            if (changes.isEmpty()) {
+                return;
+            }
+            version = sequence;
+        }
+        log.info("wrench dcc 配置文件变更 path: {} attributes: {}", path, changes.size());
+        notifyListeners(changes);
+    }
+
+    private void notifyListeners(List<AttributeVO> changes) {
+        for (IDynamicConfigCenterBackendListener listener : listeners) {
+            try {
+                listener.onChange(changes, true);
+            } catch (Exception e) {
+                log.error("wrench dcc 通知配置变更失败 attributes: {}", changes.size(), e);
+            }
+        }
+    }
+
+    private Map<String, String> read() {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (!Files.exists(path)) {
+            return result;
+        }
+        Properties file = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            file.load(reader);
+        } catch (IOException e) {
+            log.warn("wrench dcc 读取配置文件失败 path: {} {}", path, e.getMessage());
+            return new LinkedHashMap<>(values == null ? result : values);
+        }
+        for (String name : file.stringPropertyNames()) {
+            result.put(name, file.getProperty(name));
+        }
+        return result;
+    }
+
+    /**
+     * 写临时文件后原子替换
+     */
+    private void write(Map<String, String> next) {
+        Properties file = new Properties();
+        file.putAll(next);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.getParent());
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                file.store(writer, "wrench dcc " + properties.getSystem());
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("写入配置文件失败 " + path + " " + e);
+        }
+    }
+
+    private String attributeOf(String key) {
+        return key.substring(properties.getKey("").length());
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.backend;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.NodeVersionVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.RolloutRecordVO;
+import com.yang.wrench.starter.dynamic.config.center.types.common.ConfigDigest;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 动态配置中心存储后端（SPI）
+ *
+ * 功能说明：
+ * 1. 抽象配置的存储与变更通知，DynamicConfigCenterService 只依赖本接口，不再直接依赖 RedissonClient
+ * 2. 通过 wrench.config.backend 选择实现：
+ *    - redis（默认）：RedisDynamicConfigCenterBackend，Redis存储 + 发布订阅/变更流
+ *    - memory：MemoryDynamicConfigCenterBackend，进程内存储，用于单元测试
+ *    - file：FileDynamicConfigCenterBackend，本地配置文件 + WatchService，用于无网络依赖的批处理任务
+ *
+ * 配置键格式为 system:attribute（见 DynamicConfigCenterAutoProperties#getKey），
+ * 发布与变更通知中的 AttributeVO 使用不含 system 前缀的属性名。
+ *
+ * @Author: yang
+ * @Description: 配置存储与变更通知的扩展点
+ */
+public interface IDynamicConfigCenterBackend {
+
+    /**
+     * 批量读取配置
+     * 不存在的键以默认值初始化（是否持久化由实现决定），返回最终值
+     *
+     * @param defaultValues 配置键 -> 默认值
+     * @return 配置键 -> 配置值，包含全部请求的键
+     */
+    Map<String, String> load(Map<String, String> defaultValues);
+
+    /**
+     * 批量只读查询
+     * 不写入默认值，用于编程方式按动态配置键读取（见 DynamicConfigCenterClient）
+     *
+     * @param keys 配置键
+     * @return 配置键 -> 配置值，只包含存在的键
+     */
+    Map<String, String> read(Collection<String> keys);
+
+    /**
+     * 批量条件更新
+     * 全部配置键都已存在时原子地整体更新，任一不存在则不更新任何键
+     *
+     * @param values 配置键 -> 新配置值
+     * @return 实际更新的配置键：全部配置键，或整体放弃时为空
+     */
+    Set<String> setIfExists(Map<String, String> values);
+
+    /**
+     * 发布配置变更
+     * 更新已存在的配置键并通知所有订阅者，多个属性作为一次变更整体生效；任一配置键不存在时整体放弃
+     *
+     * @param attributeVOList 属性值对象列表（属性名不含 system 前缀）
+     * @return 发布后的配置版本；发布订阅模式下为收到消息的订阅者数量
+     */
+    long publish(List<AttributeVO> attributeVOList);
+
+    /**
+     * 订阅配置变更
+     *
+     * @param listener 变更监听器
+     */
+    void subscribe(IDynamicConfigCenterBackendListener listener);
+
+    /**
+     * 查询当前配置版本
+     * 每次发布单调递增，可用于比较节点与配置中心是否一致
+     *
+     * @return 配置版本；未发布过任何变更时为0
+     */
+    long getVersion();
+
+    /**
+     * 上报本节点已应用的配置版本，写入节点版本表
+     * 默认不保存，单进程的后端无需比较节点
+     *
+     * @param nodeVersion 节点版本
+     */
+    default void reportNodeVersion(NodeVersionVO nodeVersion) {
+    }
+
+    /**
+     * 从节点版本表中移除节点，节点正常下线时调用
+     *
+     * @param node 节点标识
+     */
+    default void removeNodeVersion(String node) {
+    }
+
+    /**
+     * 查询节点版本表
+     *
+     * @return 全部已上报的节点版本
+     */
+    default List<NodeVersionVO> readNodeVersions() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * 记录本节点对一个配置键的分批生效，写入该配置键的分批进度表
+     * 默认不保存，单进程的后端没有集群进度
+     *
+     * @param key 配置键
+     * @param record 生效记录
+     */
+    default void reportRollout(String key, RolloutRecordVO record) {
+    }
+
+    /**
+     * 查询配置键的分批进度表
+     *
+     * @param key 配置键
+     * @return 各节点最近一次的生效记录
+     */
+    default List<RolloutRecordVO> readRollout(String key) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * 查询配置中心的总摘要（见 ConfigDigest），由每次写入原子维护
+     * 与本地摘要一致时说明本节点没有错过任何变更
+     *
+     * @return 总摘要；为 null 表示后端不维护摘要
+     */
+    default Integer readDigest() {
+        return null;
+    }
+
+    /**
+     * 查询全部桶摘要
+     *
+     * @return 桶序号 -> 桶摘要，长度为 ConfigDigest.DIGEST_BUCKETS
+     */
+    default int[] readBucketDigests() {
+        return new int[ConfigDigest.DIGEST_BUCKETS];
+    }
+
+    /**
+     * 查询指定桶内全部配置键的摘要
+     *
+     * @param buckets 桶序号
+     * @return 配置键 -> 摘要
+     */
+    default Map<String, Integer> readBucketEntries(Collection<Integer> buckets) {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * 计算配置值的摘要，与后端存储时维护的摘要一致（按后端的编码计算）
+     *
+     * @param key 配置键
+     * @param value 配置值
+     * @return 摘要
+     */
+    default int digest(String key, String value) {
+        return ConfigDigest.hash(key, value);
+    }
+
+}
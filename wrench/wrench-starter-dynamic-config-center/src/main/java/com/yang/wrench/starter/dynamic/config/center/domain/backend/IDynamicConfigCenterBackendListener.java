@@ -0,0 +1,29 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.backend;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+
+import java.util.List;
+
+/**
+ * 存储后端变更监听器
+ *
+ * @Author: yang
+ * @Description: 接收存储后端推送的配置变更
+ */
+public interface IDynamicConfigCenterBackendListener {
+
+    /**
+     * 配置变更
+     *
+     * @param attributeVOList 变更的属性列表（属性名不含 system 前缀）
+     * @param persisted 是否已写入存储；为false时（如发布订阅模式下的外部发布者）由接收方按条件更新存储
+     */
+    void onChange(List<AttributeVO> attributeVOList, boolean persisted);
+
+    /**
+     * 需要整体对齐
+     * 订阅中断恢复、变更流已裁剪等无法增量补齐的情况
+     */
+    void onResync();
+
+}
@@ -0,0 +1,185 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.backend;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.NodeVersionVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.RolloutRecordVO;
+import com.yang.wrench.starter.dynamic.config.center.types.common.ConfigDigest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 进程内存储后端
+ *
+ * 功能说明：
+ * 1. 配置存放在进程内的 ConcurrentHashMap，无任何外部依赖，用于单元测试与本地调试
+ * 2. 发布即在调用线程内同步通知订阅者，发布返回时本进程的字段与快照已生效
+ * 3. 每次发布生成一个单调递增的版本，并作为变更序号下发
+ * 4. 节点版本表同样保存在进程内，同一进程内的多个服务实例可模拟多个节点
+ * 5. 随写入维护各配置键的摘要（见 ConfigDigest），桶摘要与总摘要在查询时计算
+ *
+ * @Author: yang
+ * @Description: 基于内存的配置存储与变更通知
+ */
+public class MemoryDynamicConfigCenterBackend implements IDynamicConfigCenterBackend {
+
+    private final DynamicConfigCenterAutoProperties properties;
+    private final Map<String, String> store = new ConcurrentHashMap<>();
+    private final List<IDynamicConfigCenterBackendListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, NodeVersionVO> nodeVersions = new ConcurrentHashMap<>();
+    // 配置键 -> (节点标识 -> 分批生效记录)
+    private final Map<String, Map<String, RolloutRecordVO>> rollouts = new ConcurrentHashMap<>();
+    // 配置键 -> 摘要，与存储在同一把锁内更新
+    private final Map<String, Integer> digests = new HashMap<>();
+    // 版本与存储的更新在同一把锁内完成；通知在锁外进行，乱序到达的变更由订阅方按序号丢弃
+    private long version = 0L;
+
+    public MemoryDynamicConfigCenterBackend(DynamicConfigCenterAutoProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public synchronized Map<String, String> load(Map<String, String> defaultValues) {
+        Map<String, String> values = new LinkedHashMap<>(defaultValues.size() * 2);
+        for (Map.Entry<String, String> entry : defaultValues.entrySet()) {
+            String value = store.computeIfAbsent(entry.getKey(), key -> entry.getValue());
+            digests.put(entry.getKey(), ConfigDigest.hash(entry.getKey(), value));
+            values.put(entry.getKey(), value);
+        }
+        return values;
+    }
+
+    @Override
+    public Map<String, String> read(Collection<String> keys) {
+        Map<String, String> values = new LinkedHashMap<>(keys.size() * 2);
+        for (String key : keys) {
+            String value = store.get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public synchronized Set<String> setIfExists(Map<String, String> values) {
+        Set<String> updated = new LinkedHashSet<>();
+        if (!store.keySet().containsAll(values.keySet())) {
+            return updated;
+        }
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            store.put(entry.getKey(), entry.getValue());
+            digests.put(entry.getKey(), ConfigDigest.hash(entry.getKey(), entry.getValue()));
+            updated.add(entry.getKey());
+        }
+        return updated;
+    }
+
+    @Override
+    public long publish(List<AttributeVO> attributeVOList) {
+        Map<String, String> values = new LinkedHashMap<>(attributeVOList.size() * 2);
+        for (AttributeVO attributeVO : attributeVOList) {
+            values.put(properties.getKey(attributeVO.getAttribute()), attributeVO.getValue());
+        }
+        long sequence;
+        List<AttributeVO> changes = new ArrayList<>(values.size());
+        synchronized (this) {
+            Set<String> updated = setIfExists(values);
+            if (updated.isEmpty()) {
+                return 0L;
+            }
+            sequence = ++version;
+            for (AttributeVO attributeVO : attributeVOList) {
+                if (updated.contains(properties.getKey(attributeVO.getAttribute()))) {
+                    changes.add(new AttributeVO(attributeVO.getAttribute(), attributeVO.getValue(), sequence, attributeVO.getPublishTime()));
+                }
+            }
+        }
+        for (IDynamicConfigCenterBackendListener listener : listeners) {
+            listener.onChange(changes, true);
+        }
+        return sequence;
+    }
+
+    @Override
+    public void subscribe(IDynamicConfigCenterBackendListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    @Override
+    public synchronized Integer readDigest() {
+        int top = 0;
+        for (int hash : digests.values()) {
+            top ^= hash;
+        }
+        return top;
+    }
+
+    @Override
+    public synchronized int[] readBucketDigests() {
+        int[] bucketDigests = new int[ConfigDigest.DIGEST_BUCKETS];
+        digests.forEach((key, hash) -> bucketDigests[ConfigDigest.bucket(key)] ^= hash);
+        return bucketDigests;
+    }
+
+    @Override
+    public synchronized Map<String, Integer> readBucketEntries(Collection<Integer> buckets) {
+        Map<String, Integer> entries = new HashMap<>();
+        digests.forEach((key, hash) -> {
+            if (buckets.contains(ConfigDigest.bucket(key))) {
+                entries.put(key, hash);
+            }
+        });
+        return entries;
+    }
+
+    @Override
+    public void reportNodeVersion(NodeVersionVO nodeVersion) {
+        nodeVersions.put(nodeVersion.getNode(), nodeVersion);
+    }
+
+    @Override
+    public void removeNodeVersion(String node) {
+        nodeVersions.remove(node);
+    }
+
+    @Override
+    public List<NodeVersionVO> readNodeVersions() {
+        return new ArrayList<>(nodeVersions.values());
+    }
+
+    @Override
+    public void reportRollout(String key, RolloutRecordVO record) {
+        rollouts.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(record.getNode(), record);
+    }
+
+    @Override
+    public List<RolloutRecordVO> readRollout(String key) {
+        return new ArrayList<>(rollouts.getOrDefault(key, Collections.emptyMap()).values());
+    }
+
+    /**
+     * 当前存储的全部配置，用于测试断言
+     *
+     * @return 配置键 -> 配置值
+     */
+    public Map<String, String> getValues() {
+        return Collections.unmodifiableMap(store);
+    }
+
+}
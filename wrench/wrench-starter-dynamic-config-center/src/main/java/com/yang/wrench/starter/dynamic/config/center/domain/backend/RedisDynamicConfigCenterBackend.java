@@ -0,0 +1,674 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.backend;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeBatchVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.NodeVersionVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.RolloutRecordVO;
+import com.yang.wrench.starter.dynamic.config.center.listener.DynamicConfigCenterAdjustBatchListener;
+import com.yang.wrench.starter.dynamic.config.center.listener.DynamicConfigCenterAdjustListener;
+import com.yang.wrench.starter.dynamic.config.center.listener.DynamicConfigCenterStreamConsumer;
+import com.yang.wrench.starter.dynamic.config.center.types.codec.DynamicConfigCenterCodec;
+import com.yang.wrench.starter.dynamic.config.center.types.common.Constant;
+import com.yang.wrench.starter.dynamic.config.center.types.common.ConfigDigest;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RMap;
+import org.redisson.api.RMapAsync;
+import org.redisson.api.RScript;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.MessageListener;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.JsonJacksonCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 存储后端
+ *
+ * 功能说明：
+ * 1. 配置以 RBucket 存储，批量加载与条件更新各为一个Lua脚本、批量读取为一次 RBatch 管道，均只有一次网络往返
+ * 2. 发布订阅模式（wrench.config.feed-mode=topic）：变更经 RTopic 广播，外部发布者的消息由接收方按条件写回 Redis
+ * 3. 变更流模式（wrench.config.feed-mode=stream）：一个Lua脚本内原子完成 更新已存在的配置键、生成单调递增序号、
+ *    追加变更流消息，各节点由 DynamicConfigCenterStreamConsumer 增量消费
+ * 4. 配置键与变更消息默认使用 JsonJacksonCodec（wrench.config.codec=json），compact 时使用 DynamicConfigCenterCodec，均不依赖客户端的全局编解码（共享模式下客户端可能由应用配置）
+ * 5. 启用本地配置缓存时异步订阅，Redis不可用不阻断启动，恢复后补订阅并整体对齐
+ * 6. 每次写入在同一个Lua脚本内维护配置摘要（见 ConfigDigest）：桶表 {摘要表}:{桶序号} 保存 配置键 -> 摘要，
+ *    摘要表保存各桶摘要与总摘要，供 DynamicConfigCenterDigestReconciler 比对
+ * 7. 多节点拓扑读取副本时（replicaRead），批量加载先在副本上以一次 RBatch 管道读取配置值与摘要登记，
+ *    副本的总摘要与主节点一致时才采用副本的值，只有缺失配置或缺失摘要的键回到主节点执行加载脚本；
+ *    常态下启动的批量读取由副本承担，摘要对齐与按键读取仍在主节点执行
+ *
+ * @Author: yang
+ * @Description: 基于 Redisson 的配置存储与变更通知
+ */
+public class RedisDynamicConfigCenterBackend implements IDynamicConfigCenterBackend, DisposableBean {
+
+    /**
+     * 摘要维护函数（见 ConfigDigest）：配置键的新摘要与旧摘要不同时，更新 桶内配置键摘要、桶摘要与总摘要
+     * digest(摘要表, 桶表, 桶序号, 配置键, 存储的配置值)
+     */
+    private static final String DIGEST_FUNCTION =
+            "local function digest(digestKey, bucketKey, bucket, key, value) " +
+            "  local h = bit.tobit(tonumber(string.sub(redis.sha1hex(key .. '\\n' .. value), 1, 8), 16)) " +
+            "  local old = tonumber(redis.call('HGET', bucketKey, key) or 0) " +
+            "  if old == h then return end " +
+            "  redis.call('HSET', bucketKey, key, h) " +
+            "  local delta = bit.bxor(old, h) " +
+            "  redis.call('HSET', digestKey, bucket, bit.bxor(tonumber(redis.call('HGET', digestKey, bucket) or 0), delta)) " +
+            "  redis.call('HSET', digestKey, '" + Constant.DIGEST_FIELD_TOP + "', " +
+            "    bit.bxor(tonumber(redis.call('HGET', digestKey, '" + Constant.DIGEST_FIELD_TOP + "') or 0), delta)) " +
+            "end ";
+
+    /**
+     * KEYS: [摘要表, 配置键1, 桶表1, 配置键2, 桶表2, ...]
+     * ARGV: [默认值1, 桶序号1, 默认值2, 桶序号2, ...]
+     * 配置不存在时写入默认值（SET NX），读取最终值并补齐摘要（兼容摘要维护之前写入的配置）
+     */
+    private static final String LOAD_SCRIPT = DIGEST_FUNCTION +
+            "local values = {} " +
+            "for i = 2, #KEYS, 2 do " +
+            "  redis.call('SET', KEYS[i], ARGV[i - 1], 'NX') " +
+            "  local value = redis.call('GET', KEYS[i]) " +
+            "  if value then digest(KEYS[1], KEYS[i + 1], ARGV[i], KEYS[i], value) end " +
+            "  table.insert(values, value) " +
+            "end " +
+            "return values";
+
+    /**
+     * KEYS: [摘要表, 配置键1, 桶表1, 配置键2, 桶表2, ...]
+     * ARGV: [配置值1, 桶序号1, 配置值2, 桶序号2, ...]
+     * 全部配置键都存在时才整体更新，任一不存在则不更新任何键；返回每个键是否更新（1/0）
+     */
+    private static final String SET_IF_EXISTS_SCRIPT = DIGEST_FUNCTION +
+            "local updated = {} " +
+            "for i = 2, #KEYS, 2 do " +
+            "  if redis.call('EXISTS', KEYS[i]) == 0 then return {} end " +
+            "end " +
+            "for i = 2, #KEYS, 2 do " +
+            "  redis.call('SET', KEYS[i], ARGV[i - 1]) " +
+            "  digest(KEYS[1], KEYS[i + 1], ARGV[i], KEYS[i], ARGV[i - 1]) " +
+            "  table.insert(updated, 1) " +
+            "end " +
+            "return updated";
+
+    /**
+     * KEYS: [序号, 摘要表, 配置键1, 桶表1, 配置键2, 桶表2, ...]
+     * ARGV: [编码值1, 桶序号1, 编码值2, 桶序号2, ...]
+     * 发布订阅模式的发布：全部配置键都存在时整体更新并生成序号，任一不存在则不更新任何键，返回0
+     * 配置值、摘要与序号在同一脚本内写入，配置中心中的值始终对应最大的序号；接收方不再回写
+     */
+    private static final String TOPIC_PUBLISH_SCRIPT = DIGEST_FUNCTION +
+            "for i = 3, #KEYS, 2 do " +
+            "  if redis.call('EXISTS', KEYS[i]) == 0 then return 0 end " +
+            "end " +
+            "for i = 3, #KEYS, 2 do " +
+            "  redis.call('SET', KEYS[i], ARGV[i - 2]) " +
+            "  digest(KEYS[2], KEYS[i + 1], ARGV[i - 1], KEYS[i], ARGV[i - 2]) " +
+            "end " +
+            "return redis.call('INCR', KEYS[1])";
+
+    /**
+     * 读取副本时在主节点上执行的只读脚本：客户端的读取命令由副本承担，脚本固定由主节点执行
+     * 摘要对齐与单键读取以主节点为准，避免副本的复制延迟把旧值当作配置中心的当前值
+     */
+    private static final String PRIMARY_GET_SCRIPT =
+            "local values = {} " +
+            "for i = 1, #KEYS do table.insert(values, redis.call('GET', KEYS[i])) end " +
+            "return values";
+
+    private static final String PRIMARY_HGET_SCRIPT = "return redis.call('HGET', KEYS[1], ARGV[1])";
+
+    // 多个哈希表的字段与值依次拼接返回（各桶表的配置键互不重复）
+    private static final String PRIMARY_HGETALL_SCRIPT =
+            "local entries = {} " +
+            "for i = 1, #KEYS do " +
+            "  for _, v in ipairs(redis.call('HGETALL', KEYS[i])) do table.insert(entries, v) end " +
+            "end " +
+            "return entries";
+
+    /**
+     * KEYS: [变更流, 序号, 摘要表, 配置键1, 桶表1, 配置键2, 桶表2, ...]
+     * ARGV: [maxLength, 发布时间, 属性名1, 原始值1, 编码值1, 桶序号1, 属性名2, 原始值2, 编码值2, 桶序号2, ...]
+     * 全部配置键都存在时才整体更新并追加消息；任一不存在则不更新任何键、不生成序号，返回0
+     */
+    private static final String STREAM_PUBLISH_SCRIPT = DIGEST_FUNCTION +
+            "local fields = {} " +
+            "for i = 4, #KEYS, 2 do " +
+            "  if redis.call('EXISTS', KEYS[i]) == 0 then return 0 end " +
+            "end " +
+            "for i = 4, #KEYS, 2 do " +
+            "  local base = 2 + (i - 4) * 2 " +
+            "  redis.call('SET', KEYS[i], ARGV[base + 3]) " +
+            "  digest(KEYS[3], KEYS[i + 1], ARGV[base + 4], KEYS[i], ARGV[base + 3]) " +
+            "  table.insert(fields, ARGV[base + 1]) " +
+            "  table.insert(fields, ARGV[base + 2]) " +
+            "end " +
+            "if #fields == 0 then return 0 end " +
+            "local seq = redis.call('INCR', KEYS[2]) " +
+            "redis.call('XADD', KEYS[1], 'MAXLEN', '~', ARGV[1], '*', '" + Constant.STREAM_FIELD_SEQUENCE + "', seq, " +
+            "'" + Constant.STREAM_FIELD_PUBLISH_TIME + "', ARGV[2], unpack(fields)) " +
+            "return seq";
+
+    // 订阅配置变更主题失败后的重试间隔
+    private static final long SUBSCRIBE_RETRY_MILLIS = 5000L;
+
+    private final Logger log = LoggerFactory.getLogger(RedisDynamicConfigCenterBackend.class);
+
+    private final DynamicConfigCenterAutoProperties properties;
+    private final RedissonClient redissonClient;
+    private final RTopic topic;
+    // 批量加载是否先读副本
+    private final boolean replicaRead;
+    // 配置键的编解码：json（默认）为 JsonJacksonCodec，compact 为 DynamicConfigCenterCodec
+    private final Codec codec;
+
+    private DynamicConfigCenterStreamConsumer streamConsumer;
+    // 容器关闭后停止订阅重试
+    private volatile boolean closed = false;
+
+    public RedisDynamicConfigCenterBackend(DynamicConfigCenterAutoProperties properties, RedissonClient redissonClient, RTopic topic) {
+        this(properties, redissonClient, topic, false);
+    }
+
+    /**
+     * @param replicaRead 客户端的读取命令是否由副本承担，是则批量加载先读副本
+     */
+    public RedisDynamicConfigCenterBackend(DynamicConfigCenterAutoProperties properties, RedissonClient redissonClient, RTopic topic,
+                                           boolean replicaRead) {
+        this.properties = properties;
+        this.redissonClient = redissonClient;
+        this.topic = topic;
+        this.replicaRead = replicaRead;
+        this.codec = properties.isCompactCodec() ? DynamicConfigCenterCodec.INSTANCE : JsonJacksonCodec.INSTANCE;
+    }
+
+    /**
+     * 一个Lua脚本内对每个键依次执行 SET NX（默认值回写）与 GET，并维护摘要，整体只有一次网络往返
+     * 读取副本时先在副本上读取，只有需要回写的键执行脚本
+     */
+    @Override
+    public Map<String, String> load(Map<String, String> defaultValues) {
+        if (replicaRead && !defaultValues.isEmpty()) {
+            return loadFromReplica(defaultValues);
+        }
+        return loadWithScript(defaultValues);
+    }
+
+    private Map<String, String> loadWithScript(Map<String, String> defaultValues) {
+        String system = properties.getSystem();
+        List<Object> keys = new ArrayList<>(defaultValues.size() * 2 + 1);
+        List<Object> args = new ArrayList<>(defaultValues.size() * 2);
+        keys.add(Constant.getDigest(system));
+        for (Map.Entry<String, String> entry : defaultValues.entrySet()) {
+            int bucket = ConfigDigest.bucket(entry.getKey());
+            keys.add(entry.getKey());
+            keys.add(Constant.getDigestBucket(system, bucket));
+            args.add(encode(codec, entry.getValue()));
+            args.add(String.valueOf(bucket));
+        }
+        List<Object> responses = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                LOAD_SCRIPT, RScript.ReturnType.MULTI, keys, args.toArray());
+
+        // 响应按配置键顺序排列
+        Map<String, String> values = new LinkedHashMap<>(defaultValues.size() * 2);
+        int index = 0;
+        for (Map.Entry<String, String> entry : defaultValues.entrySet()) {
+            Object value = index < responses.size() ? responses.get(index) : null;
+            values.put(entry.getKey(), value == null ? entry.getValue() : decode(codec, value.toString()));
+            index++;
+        }
+        return values;
+    }
+
+    /**
+     * 一次 RBatch 管道内读取副本的总摘要，并对每个键执行 GET 与 HEXISTS（桶表中的摘要登记），均为只读命令，由副本承担
+     * 副本可能落后于主节点，落后时读到的是已被覆盖的旧值：读取后在主节点取一次总摘要，与副本不同则整体交给加载脚本
+     * 摘要一致时，配置存在且已登记摘要的键直接采用副本的值；配置缺失（需回写默认值）或摘要缺失（摘要维护之前写入）的键交给加载脚本在主节点处理
+     */
+    private Map<String, String> loadFromReplica(Map<String, String> defaultValues) {
+        String system = properties.getSystem();
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        batch.<String, String>getMap(Constant.getDigest(system), StringCodec.INSTANCE).getAsync(Constant.DIGEST_FIELD_TOP);
+        for (String key : defaultValues.keySet()) {
+            batch.getBucket(key, StringCodec.INSTANCE).getAsync();
+            batch.getMap(Constant.getDigestBucket(system, ConfigDigest.bucket(key)), StringCodec.INSTANCE).containsKeyAsync(key);
+        }
+        List<?> responses = batch.execute().getResponses();
+        Object replicaTop = responses.get(0);
+        Object primaryTop = primaryDigest();
+        if (!Objects.equals(replicaTop, primaryTop)) {
+            log.info("wrench dcc 副本摘要落后于主节点 replica: {} primary: {}，批量加载改由主节点执行", replicaTop, primaryTop);
+            return loadWithScript(defaultValues);
+        }
+
+        Map<String, String> values = new LinkedHashMap<>(defaultValues.size() * 2);
+        Map<String, String> pending = new LinkedHashMap<>();
+        int index = 1;
+        for (Map.Entry<String, String> entry : defaultValues.entrySet()) {
+            Object value = responses.get(index++);
+            Object digested = responses.get(index++);
+            if (value != null && Boolean.TRUE.equals(digested)) {
+                values.put(entry.getKey(), decode(codec, value.toString()));
+            } else {
+                values.put(entry.getKey(), null);
+                pending.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (!pending.isEmpty()) {
+            values.putAll(loadWithScript(pending));
+        }
+        return values;
+    }
+
+    /**
+     * 单个键直接 GET，多个键在同一个RBatch管道内 GET，一次网络往返
+     * 读取副本时改为在主节点执行只读脚本，摘要对齐补齐的值不会是副本上的旧值
+     */
+    @Override
+    public Map<String, String> read(Collection<String> keys) {
+        Map<String, String> values = new LinkedHashMap<>(keys.size() * 2);
+        if (keys.isEmpty()) {
+            return values;
+        }
+        if (replicaRead) {
+            List<Object> responses = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                    PRIMARY_GET_SCRIPT, RScript.ReturnType.MULTI, new ArrayList<>(keys));
+            int index = 0;
+            for (String key : keys) {
+                Object value = index < responses.size() ? responses.get(index) : null;
+                if (value != null) {
+                    values.put(key, decode(codec, value.toString()));
+                }
+                index++;
+            }
+            return values;
+        }
+        if (keys.size() == 1) {
+            String key = keys.iterator().next();
+            Object value = redissonClient.getBucket(key, codec).get();
+            if (value != null) {
+                values.put(key, value.toString());
+            }
+            return values;
+        }
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        for (String key : keys) {
+            batch.getBucket(key, codec).getAsync();
+        }
+        List<?> responses = batch.execute().getResponses();
+        int index = 0;
+        for (String key : keys) {
+            Object value = responses.get(index++);
+            if (value != null) {
+                values.put(key, value.toString());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 一个Lua脚本内先检查全部键都存在，再原子地整体更新并维护摘要，一次网络往返
+     */
+    @Override
+    public Set<String> setIfExists(Map<String, String> values) {
+        String system = properties.getSystem();
+        List<Object> keys = new ArrayList<>(values.size() * 2 + 1);
+        List<Object> args = new ArrayList<>(values.size() * 2);
+        keys.add(Constant.getDigest(system));
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            int bucket = ConfigDigest.bucket(entry.getKey());
+            keys.add(entry.getKey());
+            keys.add(Constant.getDigestBucket(system, bucket));
+            args.add(encode(codec, entry.getValue()));
+            args.add(String.valueOf(bucket));
+        }
+        List<Object> responses = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                SET_IF_EXISTS_SCRIPT, RScript.ReturnType.MULTI, keys, args.toArray());
+
+        Set<String> updated = new LinkedHashSet<>();
+        Iterator<String> iterator = values.keySet().iterator();
+        for (Object response : responses) {
+            String key = iterator.next();
+            if (response instanceof Number && ((Number) response).longValue() == 1L) {
+                updated.add(key);
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * 变更流模式：由发布脚本更新配置并生成序号
+     * 发布订阅模式：发布脚本原子更新配置键、摘要并递增同一个序号键，再以带序号的消息广播；
+     * 订阅方只应用到本地，据此丢弃乱序到达的旧变更并上报已应用版本，不再回写配置中心，
+     * 避免慢节点晚到的旧变更覆盖配置中心中的新值
+     */
+    @Override
+    public long publish(List<AttributeVO> attributeVOList) {
+        if (properties.isStreamFeed()) {
+            return publishToStream(attributeVOList);
+        }
+        String system = properties.getSystem();
+        List<Object> keys = new ArrayList<>(attributeVOList.size() * 2 + 2);
+        List<Object> args = new ArrayList<>(attributeVOList.size() * 2);
+        keys.add(Constant.getSequence(system));
+        keys.add(Constant.getDigest(system));
+        for (AttributeVO attributeVO : attributeVOList) {
+            String key = properties.getKey(attributeVO.getAttribute());
+            int bucket = ConfigDigest.bucket(key);
+            keys.add(key);
+            keys.add(Constant.getDigestBucket(system, bucket));
+            args.add(encode(codec, attributeVO.getValue()));
+            args.add(String.valueOf(bucket));
+        }
+        Long published = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                TOPIC_PUBLISH_SCRIPT, RScript.ReturnType.INTEGER, keys, args.toArray());
+        if (published == null || published == 0L) {
+            return 0L;
+        }
+        long sequence = published;
+        List<AttributeVO> sequenced = new ArrayList<>(attributeVOList.size());
+        for (AttributeVO attributeVO : attributeVOList) {
+            sequenced.add(new AttributeVO(attributeVO.getAttribute(), attributeVO.getValue(), sequence, attributeVO.getPublishTime()));
+        }
+        if (sequenced.size() == 1) {
+            return topic.publish(sequenced.get(0));
+        }
+        return topic.publish(new AttributeBatchVO(sequenced));
+    }
+
+    /**
+     * 发布订阅模式：注册 AttributeVO 与 AttributeBatchVO 两类消息的监听器
+     * 变更流模式：另外启动变更流消费者；发布订阅的监听器保留，兼容仍通过 RTopic 发布的外部发布者
+     */
+    @Override
+    public void subscribe(IDynamicConfigCenterBackendListener listener) {
+        DynamicConfigCenterAdjustListener adjustListener = new DynamicConfigCenterAdjustListener(listener);
+        DynamicConfigCenterAdjustBatchListener adjustBatchListener = new DynamicConfigCenterAdjustBatchListener(listener);
+        if (!properties.isCacheEnabled()) {
+            // 注册消息监听器，监听AttributeVO类型的消息
+            topic.addListener(AttributeVO.class, adjustListener);
+            // 注册事务发布监听器，监听AttributeBatchVO类型的消息
+            topic.addListener(AttributeBatchVO.class, adjustBatchListener);
+        } else {
+            // 启用本地配置缓存时异步订阅，Redis不可用不阻断启动，恢复后补订阅并重新对齐配置
+            addListener(AttributeVO.class, adjustListener, listener, false);
+            addListener(AttributeBatchVO.class, adjustBatchListener, listener, false);
+        }
+
+        if (properties.isStreamFeed()) {
+            // 在配置批量加载之前记录变更流的起始位置并开始增量消费
+            streamConsumer = new DynamicConfigCenterStreamConsumer(listener, redissonClient, properties.getSystem());
+            streamConsumer.start();
+        }
+    }
+
+    /**
+     * 当前配置版本：每次发布递增的序号
+     */
+    @Override
+    public long getVersion() {
+        Object sequence = redissonClient.getBucket(Constant.getSequence(properties.getSystem()), StringCodec.INSTANCE).get();
+        return sequence == null ? 0L : Long.parseLong(sequence.toString());
+    }
+
+    /**
+     * 节点版本表：Hash 字段为节点标识，值为 版本:上报时间
+     */
+    @Override
+    public void reportNodeVersion(NodeVersionVO nodeVersion) {
+        nodeVersions().fastPut(nodeVersion.getNode(), nodeVersion.format());
+    }
+
+    @Override
+    public void removeNodeVersion(String node) {
+        nodeVersions().fastRemove(node);
+    }
+
+    @Override
+    public List<NodeVersionVO> readNodeVersions() {
+        List<NodeVersionVO> nodeVersionList = new ArrayList<>();
+        for (Map.Entry<String, String> entry : nodeVersions().readAllMap().entrySet()) {
+            NodeVersionVO nodeVersion = NodeVersionVO.parse(entry.getKey(), entry.getValue());
+            if (nodeVersion != null) {
+                nodeVersionList.add(nodeVersion);
+            }
+        }
+        return nodeVersionList;
+    }
+
+    /**
+     * 一次 RBatch 管道内写入生效记录并续期分批进度表，进度表在最后一次写入后保留 7 天
+     */
+    @Override
+    public void reportRollout(String key, RolloutRecordVO record) {
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        RMapAsync<String, String> rollout = batch.getMap(Constant.getRollout(key), StringCodec.INSTANCE);
+        rollout.fastPutAsync(record.getNode(), record.format());
+        rollout.expireAsync(Duration.ofMillis(Constant.ROLLOUT_RECORD_TTL_MILLIS));
+        batch.execute();
+    }
+
+    @Override
+    public List<RolloutRecordVO> readRollout(String key) {
+        List<RolloutRecordVO> records = new ArrayList<>();
+        RMap<String, String> rollout = redissonClient.getMap(Constant.getRollout(key), StringCodec.INSTANCE);
+        for (Map.Entry<String, String> entry : rollout.readAllMap().entrySet()) {
+            RolloutRecordVO record = RolloutRecordVO.parse(entry.getKey(), entry.getValue());
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private RMap<String, String> nodeVersions() {
+        return redissonClient.getMap(Constant.getNodes(properties.getSystem()), StringCodec.INSTANCE);
+    }
+
+    /**
+     * 异步注册监听器，失败后延迟重试
+     * 重试成功时重新对齐全部配置，补齐订阅中断期间错过的变更
+     */
+    private <M> void addListener(Class<M> type, MessageListener<M> messageListener,
+                                 IDynamicConfigCenterBackendListener listener, boolean retried) {
+        if (closed) {
+            return;
+        }
+        try {
+            topic.addListenerAsync(type, messageListener).whenComplete((listenerId, throwable) -> {
+                if (throwable != null) {
+                    retryAddListener(type, messageListener, listener, throwable);
+                    return;
+                }
+                if (retried) {
+                    log.info("wrench dcc 订阅配置变更主题恢复 type: {}", type.getSimpleName());
+                    listener.onResync();
+                }
+            });
+        } catch (Exception e) {
+            // 延迟初始化的连接在首次订阅时建立，连接失败会直接抛出
+            retryAddListener(type, messageListener, listener, e);
+        }
+    }
+
+    private <M> void retryAddListener(Class<M> type, MessageListener<M> messageListener,
+                                      IDynamicConfigCenterBackendListener listener, Throwable throwable) {
+        log.warn("wrench dcc 订阅配置变更主题失败 type: {}，{}ms后重试 {}", type.getSimpleName(), SUBSCRIBE_RETRY_MILLIS, throwable.getMessage());
+        CompletableFuture.delayedExecutor(SUBSCRIBE_RETRY_MILLIS, TimeUnit.MILLISECONDS)
+                .execute(() -> addListener(type, messageListener, listener, true));
+    }
+
+    /**
+     * 原子更新配置键并追加变更流消息
+     */
+    private long publishToStream(List<AttributeVO> attributeVOList) {
+        String system = properties.getSystem();
+        // 配置键的值与 RBucket 读取使用同一编解码器
+
+        List<Object> keys = new ArrayList<>(attributeVOList.size() * 2 + 3);
+        List<Object> args = new ArrayList<>(attributeVOList.size() * 4 + 2);
+        keys.add(Constant.getStream(system));
+        keys.add(Constant.getSequence(system));
+        keys.add(Constant.getDigest(system));
+        args.add(String.valueOf(properties.getStreamMaxLength()));
+        Long publishTime = attributeVOList.isEmpty() ? null : attributeVOList.get(0).getPublishTime();
+        args.add(String.valueOf(publishTime == null ? System.currentTimeMillis() : publishTime));
+        for (AttributeVO attributeVO : attributeVOList) {
+            String key = properties.getKey(attributeVO.getAttribute());
+            int bucket = ConfigDigest.bucket(key);
+            keys.add(key);
+            keys.add(Constant.getDigestBucket(system, bucket));
+            args.add(attributeVO.getAttribute());
+            args.add(attributeVO.getValue());
+            args.add(encode(codec, attributeVO.getValue()));
+            args.add(String.valueOf(bucket));
+        }
+
+        Long sequence = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                STREAM_PUBLISH_SCRIPT, RScript.ReturnType.INTEGER, keys, args.toArray());
+        return sequence == null ? 0L : sequence;
+    }
+
+    /**
+     * 摘要对齐的读取在读取副本时均由主节点执行，与主节点比对而不是与落后的副本比对
+     */
+    @Override
+    public Integer readDigest() {
+        Object top = replicaRead ? primaryDigest() : digests().get(Constant.DIGEST_FIELD_TOP);
+        return top == null ? 0 : Integer.parseInt(top.toString());
+    }
+
+    @Override
+    public int[] readBucketDigests() {
+        int[] bucketDigests = new int[ConfigDigest.DIGEST_BUCKETS];
+        Map<String, String> digests = replicaRead ? primaryEntries(List.of(Constant.getDigest(properties.getSystem())))
+                : digests().readAllMap();
+        for (Map.Entry<String, String> entry : digests.entrySet()) {
+            if (Constant.DIGEST_FIELD_TOP.equals(entry.getKey())) {
+                continue;
+            }
+            int bucket = Integer.parseInt(entry.getKey());
+            if (bucket >= 0 && bucket < bucketDigests.length) {
+                bucketDigests[bucket] = Integer.parseInt(entry.getValue());
+            }
+        }
+        return bucketDigests;
+    }
+
+    /**
+     * 同一个RBatch管道内读取各个桶表，一次网络往返
+     */
+    @Override
+    public Map<String, Integer> readBucketEntries(Collection<Integer> buckets) {
+        Map<String, Integer> entries = new HashMap<>();
+        if (buckets.isEmpty()) {
+            return entries;
+        }
+        if (replicaRead) {
+            List<Object> keys = new ArrayList<>(buckets.size());
+            buckets.forEach(bucket -> keys.add(Constant.getDigestBucket(properties.getSystem(), bucket)));
+            primaryEntries(keys).forEach((key, hash) -> entries.put(key, Integer.parseInt(hash)));
+            return entries;
+        }
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        for (Integer bucket : buckets) {
+            batch.<String, String>getMap(Constant.getDigestBucket(properties.getSystem(), bucket), StringCodec.INSTANCE).readAllMapAsync();
+        }
+        for (Object response : batch.execute().getResponses()) {
+            @SuppressWarnings("unchecked")
+            Map<String, String> bucketEntries = (Map<String, String>) response;
+            bucketEntries.forEach((key, hash) -> entries.put(key, Integer.parseInt(hash)));
+        }
+        return entries;
+    }
+
+    /**
+     * 按存储的编码计算摘要，与Lua脚本维护的摘要一致
+     */
+    @Override
+    public int digest(String key, String value) {
+        return ConfigDigest.hash(key, encode(codec, value));
+    }
+
+    private RMap<String, String> digests() {
+        return redissonClient.getMap(Constant.getDigest(properties.getSystem()), StringCodec.INSTANCE);
+    }
+
+    /**
+     * 主节点上的总摘要
+     */
+    private Object primaryDigest() {
+        return redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, PRIMARY_HGET_SCRIPT,
+                RScript.ReturnType.VALUE, List.of(Constant.getDigest(properties.getSystem())), Constant.DIGEST_FIELD_TOP);
+    }
+
+    /**
+     * 主节点上一个或多个哈希表的全部字段
+     */
+    private Map<String, String> primaryEntries(List<Object> keys) {
+        List<Object> responses = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                PRIMARY_HGETALL_SCRIPT, RScript.ReturnType.MULTI, keys);
+        Map<String, String> entries = new HashMap<>(responses.size());
+        for (int i = 0; i + 1 < responses.size(); i += 2) {
+            entries.put(responses.get(i).toString(), responses.get(i + 1).toString());
+        }
+        return entries;
+    }
+
+    private static String encode(Codec codec, String value) {
+        ByteBuf buf = null;
+        try {
+            buf = codec.getValueEncoder().encode(value);
+            return buf.toString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("配置值编码失败 " + value + " " + e);
+        } finally {
+            if (buf != null) {
+                buf.release();
+            }
+        }
+    }
+
+    private static String decode(Codec codec, String value) {
+        ByteBuf buf = Unpooled.wrappedBuffer(value.getBytes(StandardCharsets.UTF_8));
+        try {
+            Object decoded = codec.getValueDecoder().decode(buf, null);
+            return decoded == null ? null : decoded.toString();
+        } catch (IOException e) {
+            throw new RuntimeException("配置值解码失败 " + value + " " + e);
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        if (streamConsumer != null) {
+            streamConsumer.destroy();
+        }
+    }
+
+}
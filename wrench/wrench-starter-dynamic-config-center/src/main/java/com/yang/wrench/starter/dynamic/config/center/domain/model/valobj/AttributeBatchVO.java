@@ -0,0 +1,41 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.model.valobj;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量属性值调整值对象（Value Object）
+ *
+ * 功能说明：
+ * 1. 多个相关配置的事务发布消息，例如同时调整线程池的核心数与最大数
+ * 2. 接收方整体校验、整体写入，并作为配置快照的一个版本生效，不会出现只生效一部分的中间状态
+ *
+ * @author yang
+ * @Description: 配置事务发布的消息载体
+ */
+public class AttributeBatchVO {
+
+    /**
+     * 本次发布的全部属性；同一属性出现多次时以最后一个为准
+     */
+    private List<AttributeVO> attributes = new ArrayList<>();
+
+    /**
+     * 默认构造函数
+     * 用于序列化框架的反序列化操作
+     */
+    public AttributeBatchVO() {
+    }
+
+    public AttributeBatchVO(List<AttributeVO> attributes) {
+        this.attributes = attributes;
+    }
+
+    public List<AttributeVO> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(List<AttributeVO> attributes) {
+        this.attributes = attributes;
+    }
+}
@@ -0,0 +1,141 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.model.valobj;
+
+import com.yang.wrench.starter.dynamic.config.center.types.common.AttributeValueConverter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 配置绑定值对象（Value Object）
+ *
+ * 功能说明：
+ * 1. 描述一个配置键与一个 (Bean, 字段) 目标的绑定关系；也可以绑定到编程注册的回调（见 bindAttribute）
+ * 2. 创建时预编译字段的 VarHandle 与类型转换函数，配置推送时直接写入，不再做反射查找
+ * 3. 配置值在加载或推送时只转换一次，以 volatile 语义写入，读线程直接读取字段即可
+ *
+ * @author yang
+ * @Description: 配置键到Bean字段的绑定，持有预编译的字段写入器
+ */
+public class AttributeBindingVO {
+
+    /** 配置键，格式：system:attribute */
+    private final String key;
+
+    /** 目标Bean（已解除AOP代理的原始对象） */
+    private final Object bean;
+
+    /** 目标字段 */
+    private final Field field;
+
+    /** 预编译的字段句柄 */
+    private final VarHandle setter;
+
+    /** 预编译的类型转换函数：配置字符串 -> 字段类型 */
+    private final Function<String, Object> converter;
+
+    /** 是否为静态字段，静态字段的句柄没有实例坐标 */
+    private final boolean staticField;
+
+    /** 编程注册的写入回调；为空表示写入字段 */
+    private final Consumer<Object> consumer;
+
+    private AttributeBindingVO(String key, Object bean, Field field, VarHandle setter) {
+        this.key = key;
+        this.bean = bean;
+        this.field = field;
+        this.setter = setter;
+        this.converter = AttributeValueConverter.of(field);
+        this.staticField = Modifier.isStatic(field.getModifiers());
+        this.consumer = null;
+    }
+
+    private AttributeBindingVO(String key, Function<String, Object> converter, Consumer<Object> consumer) {
+        this.key = key;
+        this.bean = null;
+        this.field = null;
+        this.setter = null;
+        this.converter = converter;
+        this.staticField = false;
+        this.consumer = consumer;
+    }
+
+    /**
+     * 创建绑定并预编译字段句柄
+     *
+     * @param key 配置键
+     * @param bean 目标Bean
+     * @param field 目标字段
+     * @return 绑定值对象
+     */
+    public static AttributeBindingVO of(String key, Object bean, Field field) {
+        if (Modifier.isFinal(field.getModifiers())) {
+            throw new RuntimeException("DCCValue注解的字段不能为final " + field);
+        }
+        try {
+            VarHandle setter = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectVarHandle(field);
+            return new AttributeBindingVO(key, bean, field, setter);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("创建属性写入器失败 " + field + " " + e);
+        }
+    }
+
+    /**
+     * 创建绑定到回调的配置绑定
+     * 配置加载与每次变更时，在提交线程中以转换后的值同步调用回调
+     *
+     * @param key 配置键
+     * @param type 配置值类型
+     * @param consumer 写入回调
+     * @return 绑定值对象
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> AttributeBindingVO of(String key, Class<T> type, Consumer<T> consumer) {
+        return new AttributeBindingVO(key, AttributeValueConverter.of(type, type), value -> consumer.accept((T) value));
+    }
+
+    /**
+     * 将配置字符串转换为字段类型
+     *
+     * @param value 配置字符串
+     * @return 字段类型的值
+     */
+    public Object convert(String value) {
+        try {
+            return converter.apply(value);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("配置值类型转换失败 key: " + key + " field: " + field + " value: " + value + " " + e);
+        }
+    }
+
+    /**
+     * 以 volatile 语义写入字段值
+     *
+     * @param value 已转换为字段类型的值
+     */
+    public void apply(Object value) {
+        if (consumer != null) {
+            consumer.accept(value);
+        } else if (staticField) {
+            setter.setVolatile(value);
+        } else {
+            setter.setVolatile(bean, value);
+        }
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Object getBean() {
+        return bean;
+    }
+
+    public Field getField() {
+        return field;
+    }
+}
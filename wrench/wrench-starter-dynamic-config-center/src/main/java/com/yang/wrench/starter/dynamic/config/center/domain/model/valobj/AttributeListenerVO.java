@@ -0,0 +1,152 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.model.valobj;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.service.IDynamicConfigCenterDiffListener;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.IDynamicConfigCenterListener;
+import com.yang.wrench.starter.dynamic.config.center.types.common.AttributeValueConverter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.function.Function;
+
+/**
+ * 配置变更回调值对象（Value Object）
+ *
+ * 功能说明：
+ * 1. 描述一个配置键与一个回调（@DCCListener 方法或编程注册的 IDynamicConfigCenterListener）的绑定关系
+ * 2. 创建时预编译方法句柄与参数类型转换函数，回调时只做类型转换与调用
+ * 3. 回调可接收本次变更的结构化差异（ConfigDiffVO），按变化的子路径做增量处理
+ *
+ * @author yang
+ * @Description: 配置键到变更回调的绑定
+ */
+public class AttributeListenerVO {
+
+    /** 配置键，格式：system:attribute */
+    private final String key;
+
+    /** 回调描述，用于日志 */
+    private final String name;
+
+    /** @DCCListener 方法所在的Bean，用于Bean销毁时注销；编程注册的回调为空 */
+    private final Object bean;
+
+    /** 预编译的类型转换函数：配置字符串 -> 参数类型；只接收差异时为空 */
+    private final Function<String, Object> converter;
+
+    /** 以 旧值、新值 调用回调 */
+    private final Invoker invoker;
+
+    private AttributeListenerVO(String key, String name, Object bean, Function<String, Object> converter, Invoker invoker) {
+        this.key = key;
+        this.name = name;
+        this.bean = bean;
+        this.converter = converter;
+        this.invoker = invoker;
+    }
+
+    /**
+     * 由 @DCCListener 方法创建回调绑定
+     *
+     * @param key 配置键
+     * @param bean 目标Bean
+     * @param method 回调方法，参数为 新值、旧值+新值，末尾可追加一个 ConfigDiffVO 参数，也可只有 ConfigDiffVO
+     * @return 回调值对象
+     */
+    public static AttributeListenerVO of(String key, Object bean, Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Type[] genericTypes = method.getGenericParameterTypes();
+        boolean withDiff = parameterTypes.length > 0 && parameterTypes[parameterTypes.length - 1].equals(ConfigDiffVO.class);
+        int valueCount = withDiff ? parameterTypes.length - 1 : parameterTypes.length;
+        if (valueCount > 2 || (valueCount == 0 && !withDiff) || (valueCount == 2 && !parameterTypes[0].equals(parameterTypes[1]))) {
+            throw new RuntimeException("DCCListener注解的方法只能有一个参数（新值）或两个同类型参数（旧值、新值），末尾可追加 ConfigDiffVO 参数 " + method);
+        }
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup()).unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("创建回调方法句柄失败 " + method + " " + e);
+        }
+        if (!Modifier.isStatic(method.getModifiers())) {
+            handle = handle.bindTo(bean);
+        }
+        MethodHandle target = handle;
+        Invoker invoker;
+        if (valueCount == 0) {
+            invoker = (oldValue, newValue, diff) -> target.invoke(diff);
+        } else if (valueCount == 1) {
+            invoker = withDiff
+                    ? (oldValue, newValue, diff) -> target.invoke(newValue, diff)
+                    : (oldValue, newValue, diff) -> target.invoke(newValue);
+        } else {
+            invoker = withDiff
+                    ? (oldValue, newValue, diff) -> target.invoke(oldValue, newValue, diff)
+                    : (oldValue, newValue, diff) -> target.invoke(oldValue, newValue);
+        }
+        Function<String, Object> converter = valueCount == 0
+                ? null
+                : AttributeValueConverter.of(parameterTypes[valueCount - 1], genericTypes[valueCount - 1]);
+        return new AttributeListenerVO(key, method.toString(), bean, converter, invoker);
+    }
+
+    /**
+     * 由编程注册的回调创建回调绑定
+     *
+     * @param key 配置键
+     * @param type 配置值类型
+     * @param listener 回调
+     * @return 回调值对象
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> AttributeListenerVO of(String key, Class<T> type, IDynamicConfigCenterListener<T> listener) {
+        return new AttributeListenerVO(key, listener.toString(), null, AttributeValueConverter.of(type, type),
+                (oldValue, newValue, diff) -> listener.onChange((T) oldValue, (T) newValue));
+    }
+
+    /**
+     * 由编程注册的差异回调创建回调绑定
+     *
+     * @param key 配置键
+     * @param type 配置值类型
+     * @param listener 差异回调
+     * @return 回调值对象
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> AttributeListenerVO of(String key, Class<T> type, IDynamicConfigCenterDiffListener<T> listener) {
+        return new AttributeListenerVO(key, listener.toString(), null, AttributeValueConverter.of(type, type),
+                (oldValue, newValue, diff) -> listener.onChange((T) oldValue, (T) newValue, diff));
+    }
+
+    /**
+     * 转换旧值、新值并调用回调
+     *
+     * @param oldValue 变更前的配置字符串
+     * @param newValue 变更后的配置字符串
+     * @param diff 本次变更的差异，同一次变更的全部回调共享
+     */
+    public void invoke(String oldValue, String newValue, ConfigDiffVO diff) throws Throwable {
+        Object oldConverted = oldValue == null || converter == null ? null : converter.apply(oldValue);
+        Object newConverted = newValue == null || converter == null ? null : converter.apply(newValue);
+        invoker.invoke(oldConverted, newConverted, diff);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Object getBean() {
+        return bean;
+    }
+
+    @FunctionalInterface
+    private interface Invoker {
+        void invoke(Object oldValue, Object newValue, ConfigDiffVO diff) throws Throwable;
+    }
+
+}
@@ -32,6 +32,19 @@ public class AttributeVO {
      */
     private String value;
 
+    /**
+     * 变更序号（Sequence） - 每次发布由配置中心单调递增生成，即发布后的配置版本
+     * 同一属性只应用序号更大的变更，重复或过期的消息直接丢弃
+     * 旧版本发布者的消息为 null，不做序号校验
+     */
+    private Long sequence;
+
+    /**
+     * 发布时间（毫秒时间戳） - 由发布方在发布时记录
+     * 订阅方据此统计从发布到本地生效的延迟；旧版本发布者的消息为 null
+     */
+    private Long publishTime;
+
     /**
      * 默认构造函数
      * 用于序列化框架的反序列化操作
@@ -51,6 +64,36 @@ public class AttributeVO {
         this.value = value;
     }
 
+    /**
+     * 带变更序号的构造函数
+     * 用于变更流消息的解析
+     *
+     * @param attribute 属性键
+     * @param value 属性值
+     * @param sequence 变更序号
+     */
+    public AttributeVO(String attribute, String value, Long sequence) {
+        this.attribute = attribute;
+        this.value = value;
+        this.sequence = sequence;
+    }
+
+    /**
+     * 带变更序号与发布时间的构造函数
+     * 用于存储后端下发已持久化的变更
+     *
+     * @param attribute 属性键
+     * @param value 属性值
+     * @param sequence 变更序号
+     * @param publishTime 发布时间
+     */
+    public AttributeVO(String attribute, String value, Long sequence, Long publishTime) {
+        this.attribute = attribute;
+        this.value = value;
+        this.sequence = sequence;
+        this.publishTime = publishTime;
+    }
+
     public String getAttribute() {
         return attribute;
     }
@@ -66,4 +109,20 @@ public class AttributeVO {
     public void setValue(String value) {
         this.value = value;
     }
-}
\ No newline at end of file
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Long getPublishTime() {
+        return publishTime;
+    }
+
+    public void setPublishTime(Long publishTime) {
+        this.publishTime = publishTime;
+    }
+}
@@ -0,0 +1,187 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.model.valobj;
+
+import com.yang.wrench.starter.dynamic.config.center.types.common.StructuredValue;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 配置变更的结构化差异（Value Object）
+ *
+ * 功能说明：
+ * 1. 将变更前后的配置值按 JSON/YAML 解析为树（见 StructuredValue）后逐层比较，得到发生变化的子路径
+ * 2. 路径格式：对象属性以 . 连接，数组元素为 [下标]，例如 routes[3].target；根路径为空字符串
+ * 3. 整个子树新增或删除时只记录子树的路径，不展开其中的叶子
+ * 4. 无法解析为对象或数组的配置值，值不同即记录根路径变化
+ * 5. 差异在首次读取时计算，同一次变更的全部回调共享同一结果；不读取差异的回调不产生解析开销
+ *
+ * 用法：
+ * @DCCListener("routes")
+ * public void onRoutesChange(RouteTable routes, ConfigDiffVO diff) {
+ *     if (diff.isChanged("routes")) { ... 只重建路由部分 ... }
+ * }
+ *
+ * @Author: yang
+ * @Description: 配置值变更的子路径差异
+ */
+public class ConfigDiffVO {
+
+    public enum ChangeType {
+        ADDED, REMOVED, MODIFIED
+    }
+
+    private final String oldValue;
+    private final String newValue;
+    private volatile Map<String, ChangeType> changes;
+
+    private ConfigDiffVO(String oldValue, String newValue) {
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    /**
+     * 创建差异，差异在首次读取时计算
+     *
+     * @param oldValue 变更前的配置字符串
+     * @param newValue 变更后的配置字符串
+     * @return 差异值对象
+     */
+    public static ConfigDiffVO of(String oldValue, String newValue) {
+        return new ConfigDiffVO(oldValue, newValue);
+    }
+
+    /**
+     * 发生变化的路径 -> 变化类型，按比较顺序排列
+     */
+    public Map<String, ChangeType> getChanges() {
+        Map<String, ChangeType> result = changes;
+        if (result == null) {
+            synchronized (this) {
+                result = changes;
+                if (result == null) {
+                    result = Collections.unmodifiableMap(compute());
+                    changes = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public Set<String> getChangedPaths() {
+        return getChanges().keySet();
+    }
+
+    public boolean isEmpty() {
+        return getChanges().isEmpty();
+    }
+
+    /**
+     * 路径本身、其下的子路径或其所在的上级路径是否发生变化
+     *
+     * @param path 路径，空字符串表示根路径
+     * @return 是否变化
+     */
+    public boolean isChanged(String path) {
+        for (String changed : getChanges().keySet()) {
+            if (contains(path, changed) || contains(changed, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String getOldValue() {
+        return oldValue;
+    }
+
+    public String getNewValue() {
+        return newValue;
+    }
+
+    private Map<String, ChangeType> compute() {
+        Map<String, ChangeType> result = new LinkedHashMap<>();
+        if (Objects.equals(oldValue, newValue)) {
+            return result;
+        }
+        if (oldValue == null || newValue == null) {
+            result.put("", oldValue == null ? ChangeType.ADDED : ChangeType.REMOVED);
+            return result;
+        }
+        Object oldTree;
+        Object newTree;
+        try {
+            oldTree = StructuredValue.parse(oldValue);
+            newTree = StructuredValue.parse(newValue);
+        } catch (RuntimeException e) {
+            // 非结构化的配置值
+            result.put("", ChangeType.MODIFIED);
+            return result;
+        }
+        diff("", oldTree, newTree, result);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void diff(String path, Object oldNode, Object newNode, Map<String, ChangeType> result) {
+        if (oldNode instanceof Map && newNode instanceof Map) {
+            Map<String, Object> oldMap = (Map<String, Object>) oldNode;
+            Map<String, Object> newMap = (Map<String, Object>) newNode;
+            for (Map.Entry<String, Object> entry : oldMap.entrySet()) {
+                String child = path.isEmpty() ? entry.getKey() : path + "." + entry.getKey();
+                if (!newMap.containsKey(entry.getKey())) {
+                    result.put(child, ChangeType.REMOVED);
+                } else {
+                    diff(child, entry.getValue(), newMap.get(entry.getKey()), result);
+                }
+            }
+            for (String key : newMap.keySet()) {
+                if (!oldMap.containsKey(key)) {
+                    result.put(path.isEmpty() ? key : path + "." + key, ChangeType.ADDED);
+                }
+            }
+            return;
+        }
+        if (oldNode instanceof List && newNode instanceof List) {
+            List<Object> oldList = (List<Object>) oldNode;
+            List<Object> newList = (List<Object>) newNode;
+            int common = Math.min(oldList.size(), newList.size());
+            for (int i = 0; i < common; i++) {
+                diff(path + "[" + i + "]", oldList.get(i), newList.get(i), result);
+            }
+            for (int i = common; i < oldList.size(); i++) {
+                result.put(path + "[" + i + "]", ChangeType.REMOVED);
+            }
+            for (int i = common; i < newList.size(); i++) {
+                result.put(path + "[" + i + "]", ChangeType.ADDED);
+            }
+            return;
+        }
+        if (!Objects.equals(oldNode, newNode)) {
+            result.put(path, ChangeType.MODIFIED);
+        }
+    }
+
+    /**
+     * descendant 是否为 ancestor 本身或其下的路径
+     */
+    private static boolean contains(String ancestor, String descendant) {
+        if (ancestor.isEmpty() || ancestor.equals(descendant)) {
+            return true;
+        }
+        if (!descendant.startsWith(ancestor) || descendant.length() == ancestor.length()) {
+            return false;
+        }
+        char next = descendant.charAt(ancestor.length());
+        return next == '.' || next == '[';
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigDiffVO" + getChanges();
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.model.valobj;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 配置快照值对象（Value Object）
+ *
+ * 功能说明：
+ * 1. 某个 system 下全部配置的不可变视图：属性名 -> 配置值
+ * 2. 每次配置变更（单键或多键事务发布）生成一个新版本，通过一个引用整体替换
+ * 3. 读取方持有同一个快照即可读到一致的多键配置，例如线程池的核心数与最大数不会读到一半新一半旧
+ *
+ * 使用示例：
+ * ConfigSnapshotVO snapshot = dynamicConfigCenterService.getSnapshot();
+ * int core = Integer.parseInt(snapshot.get("corePoolSize"));
+ * int max = Integer.parseInt(snapshot.get("maxPoolSize"));
+ *
+ * @author yang
+ * @Description: 带版本号的不可变配置快照
+ */
+public final class ConfigSnapshotVO {
+
+    /** 系统标识 */
+    private final String system;
+
+    /** 本地单调递增的版本号，从0开始，每次变更加1 */
+    private final long version;
+
+    /** 属性名 -> 配置值，不可修改 */
+    private final Map<String, String> values;
+
+    /** 快照生成时间（毫秒） */
+    private final long timestamp;
+
+    private ConfigSnapshotVO(String system, long version, Map<String, String> values) {
+        this.system = system;
+        this.version = version;
+        this.values = values;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * 创建空快照（版本0）
+     *
+     * @param system 系统标识
+     * @return 空快照
+     */
+    public static ConfigSnapshotVO empty(String system) {
+        return new ConfigSnapshotVO(system, 0L, Collections.emptyMap());
+    }
+
+    /**
+     * 在当前快照上合并变更，生成下一个版本
+     *
+     * @param changes 属性名 -> 新配置值
+     * @return 新快照，当前快照保持不变
+     */
+    public ConfigSnapshotVO next(Map<String, String> changes) {
+        Map<String, String> merged = new HashMap<>(values);
+        merged.putAll(changes);
+        return new ConfigSnapshotVO(system, version + 1, Collections.unmodifiableMap(merged));
+    }
+
+    /**
+     * 获取配置值
+     *
+     * @param attribute 属性名（不含 system 前缀）
+     * @return 配置值；不存在时返回 null
+     */
+    public String get(String attribute) {
+        return values.get(attribute);
+    }
+
+    public String getOrDefault(String attribute, String defaultValue) {
+        return values.getOrDefault(attribute, defaultValue);
+    }
+
+    public boolean contains(String attribute) {
+        return values.containsKey(attribute);
+    }
+
+    public String getSystem() {
+        return system;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigSnapshotVO{system=" + system + ", version=" + version + ", values=" + values + "}";
+    }
+}
@@ -0,0 +1,56 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.model.valobj;
+
+/**
+ * 配置防抖规则值对象（Value Object）
+ *
+ * 配置示例（属性名含 . 时需用 [] 包裹；以 * 结尾表示前缀匹配，精确匹配优先）：
+ * wrench:
+ *   config:
+ *     apply-debounce:
+ *       "[threadPool.*]":
+ *         quiet-millis: 2000
+ *         min-interval-millis: 10000
+ *
+ * @Author: yang
+ * @Description: 单个配置键的静默窗口与最小生效间隔
+ */
+public class DebounceRuleVO {
+
+    /** 静默窗口（单位：毫秒），最后一次变更后该时长内无新变更才生效 */
+    private long quietMillis;
+
+    /** 最小生效间隔（单位：毫秒），两次生效之间至少间隔该时长，用于代价高的配置 */
+    private long minIntervalMillis;
+
+    public DebounceRuleVO() {
+    }
+
+    public DebounceRuleVO(long quietMillis, long minIntervalMillis) {
+        this.quietMillis = quietMillis;
+        this.minIntervalMillis = minIntervalMillis;
+    }
+
+    public long getQuietMillis() {
+        return quietMillis;
+    }
+
+    public void setQuietMillis(long quietMillis) {
+        this.quietMillis = quietMillis;
+    }
+
+    public long getMinIntervalMillis() {
+        return minIntervalMillis;
+    }
+
+    public void setMinIntervalMillis(long minIntervalMillis) {
+        this.minIntervalMillis = minIntervalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "DebounceRuleVO{" +
+                "quietMillis=" + quietMillis +
+                ", minIntervalMillis=" + minIntervalMillis +
+                '}';
+    }
+}
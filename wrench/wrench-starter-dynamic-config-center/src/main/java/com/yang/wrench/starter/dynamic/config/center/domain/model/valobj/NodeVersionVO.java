@@ -0,0 +1,76 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.model.valobj;
+
+/**
+ * 节点配置版本值对象（Value Object）
+ *
+ * 功能说明：
+ * 1. 记录某个节点已应用的配置版本（发布序号）与上报时间
+ * 2. 各节点定期写入配置中心的节点版本表，与配置中心当前版本比较即可列出落后的节点，
+ *    上报时间过旧说明节点已失联
+ *
+ * Redis 后端以 Hash 存储：字段为节点标识，值为 版本:上报时间。
+ *
+ * @author yang
+ * @Description: 节点已应用的配置版本
+ */
+public final class NodeVersionVO {
+
+    /** 节点标识，默认 pid@hostname */
+    private final String node;
+
+    /** 已应用的最大发布序号 */
+    private final long version;
+
+    /** 上报时间（毫秒） */
+    private final long reportTime;
+
+    public NodeVersionVO(String node, long version, long reportTime) {
+        this.node = node;
+        this.version = version;
+        this.reportTime = reportTime;
+    }
+
+    /**
+     * 解析节点版本表中的值
+     *
+     * @param node 节点标识
+     * @param value 版本:上报时间
+     * @return 节点版本；格式不正确时返回 null
+     */
+    public static NodeVersionVO parse(String node, String value) {
+        int index = value == null ? -1 : value.indexOf(':');
+        if (index < 0) {
+            return null;
+        }
+        try {
+            return new NodeVersionVO(node, Long.parseLong(value.substring(0, index)), Long.parseLong(value.substring(index + 1)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 节点版本表中的值：版本:上报时间
+     */
+    public String format() {
+        return version + ":" + reportTime;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getReportTime() {
+        return reportTime;
+    }
+
+    @Override
+    public String toString() {
+        return node + "@" + version;
+    }
+
+}
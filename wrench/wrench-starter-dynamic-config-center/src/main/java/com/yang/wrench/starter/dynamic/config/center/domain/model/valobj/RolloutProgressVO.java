@@ -0,0 +1,99 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.model.valobj;
+
+import java.util.Arrays;
+
+/**
+ * 配置分批生效进度值对象（Value Object）
+ *
+ * 功能说明：
+ * 1. 汇总某个配置键最近一次变更（最大发布序号）在集群内的推进情况：每批已生效的节点数
+ * 2. 每批应生效的节点数由节点版本表中的存活节点按同一批次算法得出，二者对比即可看出推进到第几批、哪一批有节点未生效
+ *
+ * @author yang
+ * @Description: 一次配置变更在各批次的生效节点数
+ */
+public final class RolloutProgressVO {
+
+    /** 属性名（不含 system 前缀） */
+    private final String attribute;
+
+    /** 最近一次变更的发布序号；没有生效记录时为0 */
+    private final long version;
+
+    /** 每批已生效的节点数 */
+    private final int[] appliedByWave;
+
+    /** 每批的存活节点数 */
+    private final int[] nodesByWave;
+
+    public RolloutProgressVO(String attribute, long version, int[] appliedByWave, int[] nodesByWave) {
+        this.attribute = attribute;
+        this.version = version;
+        this.appliedByWave = appliedByWave;
+        this.nodesByWave = nodesByWave;
+    }
+
+    /**
+     * 已生效的节点总数
+     */
+    public int getApplied() {
+        return Arrays.stream(appliedByWave).sum();
+    }
+
+    /**
+     * 存活节点总数
+     */
+    public int getNodes() {
+        return Arrays.stream(nodesByWave).sum();
+    }
+
+    /**
+     * 已有节点生效的最大批次；没有节点生效时为 -1
+     */
+    public int getCurrentWave() {
+        for (int wave = appliedByWave.length - 1; wave >= 0; wave--) {
+            if (appliedByWave[wave] > 0) {
+                return wave;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 每批的存活节点是否都已生效
+     */
+    public boolean isComplete() {
+        for (int wave = 0; wave < nodesByWave.length; wave++) {
+            if (appliedByWave[wave] < nodesByWave[wave]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int[] getAppliedByWave() {
+        return appliedByWave.clone();
+    }
+
+    public int[] getNodesByWave() {
+        return nodesByWave.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "RolloutProgressVO{" +
+                "attribute='" + attribute + '\'' +
+                ", version=" + version +
+                ", appliedByWave=" + Arrays.toString(appliedByWave) +
+                ", nodesByWave=" + Arrays.toString(nodesByWave) +
+                '}';
+    }
+}
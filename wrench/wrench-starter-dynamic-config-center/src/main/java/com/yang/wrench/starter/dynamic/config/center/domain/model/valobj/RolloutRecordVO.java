@@ -0,0 +1,87 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.model.valobj;
+
+/**
+ * 节点分批生效记录值对象（Value Object）
+ *
+ * 功能说明：
+ * 1. 记录某个节点对某个配置键的一次分批生效：变更的发布序号（标识这次变更）、节点所在批次与实际生效时间
+ * 2. 节点生效后写入配置中心的分批进度表，按发布序号汇总即为这次变更在集群内的推进情况
+ *
+ * Redis 后端每个配置键一个 Hash：字段为节点标识，值为 发布序号:批次:生效时间。
+ *
+ * @author yang
+ * @Description: 节点对一次配置变更的分批生效记录
+ */
+public final class RolloutRecordVO {
+
+    /** 节点标识 */
+    private final String node;
+
+    /** 变更的发布序号，同一次变更在各节点相同 */
+    private final long version;
+
+    /** 节点所在批次，从0开始 */
+    private final int wave;
+
+    /** 节点实际生效时间（毫秒） */
+    private final long applyTime;
+
+    public RolloutRecordVO(String node, long version, int wave, long applyTime) {
+        this.node = node;
+        this.version = version;
+        this.wave = wave;
+        this.applyTime = applyTime;
+    }
+
+    /**
+     * 解析分批进度表中的值
+     *
+     * @param node 节点标识
+     * @param value 发布序号:批次:生效时间
+     * @return 生效记录；格式不正确时返回 null
+     */
+    public static RolloutRecordVO parse(String node, String value) {
+        String[] split = value == null ? new String[0] : value.split(":");
+        if (split.length != 3) {
+            return null;
+        }
+        try {
+            return new RolloutRecordVO(node, Long.parseLong(split[0]), Integer.parseInt(split[1]), Long.parseLong(split[2]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 分批进度表中的值：发布序号:批次:生效时间
+     */
+    public String format() {
+        return version + ":" + wave + ":" + applyTime;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getWave() {
+        return wave;
+    }
+
+    public long getApplyTime() {
+        return applyTime;
+    }
+
+    @Override
+    public String toString() {
+        return "RolloutRecordVO{" +
+                "node='" + node + '\'' +
+                ", version=" + version +
+                ", wave=" + wave +
+                ", applyTime=" + applyTime +
+                '}';
+    }
+}
@@ -0,0 +1,88 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.model.valobj;
+
+/**
+ * 配置分批生效规则值对象（Value Object）
+ *
+ * 配置示例（属性名含 . 时需用 [] 包裹；以 * 结尾表示前缀匹配，精确匹配优先）：
+ * wrench:
+ *   config:
+ *     rollout:
+ *       "[threadPool.*]":
+ *         wave-percent: 20            # 每批 20% 的节点，共 5 批
+ *         wave-interval-millis: 60000 # 相邻两批间隔 1 分钟
+ *         jitter-millis: 5000         # 批内各节点再错开 0~5 秒
+ *
+ * 节点所在批次与抖动由 节点标识 + 属性名 的哈希确定，同一节点对同一属性每次都相同，不同属性的首批节点不同。
+ *
+ * @Author: yang
+ * @Description: 单个配置键在集群内错峰、分批生效的方式
+ */
+public class RolloutRuleVO {
+
+    /** 抖动上限（单位：毫秒），各节点在 [0, jitterMillis) 内错开生效；0 表示不抖动 */
+    private long jitterMillis;
+
+    /** 每批节点的百分比（1~100），批数为 100 / wavePercent 向上取整；0 表示不分批 */
+    private int wavePercent;
+
+    /** 相邻两批的生效间隔（单位：毫秒） */
+    private long waveIntervalMillis;
+
+    public RolloutRuleVO() {
+    }
+
+    public RolloutRuleVO(long jitterMillis, int wavePercent, long waveIntervalMillis) {
+        this.jitterMillis = jitterMillis;
+        this.wavePercent = wavePercent;
+        this.waveIntervalMillis = waveIntervalMillis;
+    }
+
+    /**
+     * 批数；不分批时为1
+     */
+    public int getWaves() {
+        return wavePercent <= 0 ? 1 : (100 + wavePercent - 1) / wavePercent;
+    }
+
+    /**
+     * 校验规则，不合法时抛出 IllegalArgumentException
+     */
+    public void validate() {
+        if (jitterMillis < 0 || waveIntervalMillis < 0 || wavePercent < 0 || wavePercent > 100) {
+            throw new IllegalArgumentException("分批生效规则不合法 " + this);
+        }
+    }
+
+    public long getJitterMillis() {
+        return jitterMillis;
+    }
+
+    public void setJitterMillis(long jitterMillis) {
+        this.jitterMillis = jitterMillis;
+    }
+
+    public int getWavePercent() {
+        return wavePercent;
+    }
+
+    public void setWavePercent(int wavePercent) {
+        this.wavePercent = wavePercent;
+    }
+
+    public long getWaveIntervalMillis() {
+        return waveIntervalMillis;
+    }
+
+    public void setWaveIntervalMillis(long waveIntervalMillis) {
+        this.waveIntervalMillis = waveIntervalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "RolloutRuleVO{" +
+                "jitterMillis=" + jitterMillis +
+                ", wavePercent=" + wavePercent +
+                ", waveIntervalMillis=" + waveIntervalMillis +
+                '}';
+    }
+}
@@ -0,0 +1,130 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.service;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeBindingVO;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 配置绑定注册表
+ *
+ * 功能说明：
+ * 1. 维护 配置键 -> 全部 (Bean, 字段) 绑定 的映射，同一个键可被多个Bean、多个字段引用
+ * 2. 配置推送时一次遍历更新该键的所有绑定：先全部完成类型转换，再统一写入，转换失败时不会部分生效
+ *
+ * 绑定在单例Bean后处理或编程绑定时注册，单例销毁时注销；注册与注销远少于推送，因此使用写时复制列表，读取无锁。
+ * 非单例Bean（原型、请求等作用域）不注册绑定，避免每次创建都追加一个永不释放的绑定。
+ * 注销会改变绑定下标，需与 convert/write 在同一把提交锁内串行。
+ *
+ * @Author: yang
+ * @Description: 配置键到Bean字段绑定的注册表
+ */
+public class AttributeBindingRegistry {
+
+    private final Map<String, List<AttributeBindingVO>> bindings = new ConcurrentHashMap<>();
+
+    /**
+     * 注册绑定
+     *
+     * @param binding 配置绑定
+     */
+    public void register(AttributeBindingVO binding) {
+        bindings.compute(binding.getKey(), (key, keyBindings) -> {
+            List<AttributeBindingVO> list = keyBindings == null ? new CopyOnWriteArrayList<>() : keyBindings;
+            list.add(binding);
+            return list;
+        });
+    }
+
+    /**
+     * 注销Bean的全部绑定
+     *
+     * @param bean 目标Bean（已解除AOP代理的原始对象）
+     * @return 注销的绑定数量
+     */
+    public int unregister(Object bean) {
+        int[] removed = new int[1];
+        for (String key : bindings.keySet()) {
+            bindings.computeIfPresent(key, (k, keyBindings) -> {
+                int size = keyBindings.size();
+                keyBindings.removeIf(binding -> binding.getBean() == bean);
+                removed[0] += size - keyBindings.size();
+                return keyBindings.isEmpty() ? null : keyBindings;
+            });
+        }
+        return removed[0];
+    }
+
+    /**
+     * 获取配置键的全部绑定
+     *
+     * @param key 配置键
+     * @return 绑定列表；未注册时返回空列表
+     */
+    public List<AttributeBindingVO> getBindings(String key) {
+        return bindings.getOrDefault(key, Collections.emptyList());
+    }
+
+    /**
+     * 将配置值写入配置键的全部绑定
+     *
+     * @param key 配置键
+     * @param value 配置字符串
+     * @return 更新的绑定数量
+     */
+    public int apply(String key, String value) {
+        // 每个绑定只转换一次，全部转换成功后再写入
+        Object[] converted = convert(key, value);
+        write(key, converted);
+        return converted.length;
+    }
+
+    /**
+     * 按配置键的全部绑定转换配置值，不写入字段
+     * 多键变更时先对所有键完成转换，任一失败则整体放弃
+     *
+     * @param key 配置键
+     * @param value 配置字符串
+     * @return 与 getBindings(key) 顺序一致的转换结果
+     */
+    public Object[] convert(String key, String value) {
+        List<AttributeBindingVO> keyBindings = getBindings(key);
+        Object[] converted = new Object[keyBindings.size()];
+        for (int i = 0; i < converted.length; i++) {
+            converted[i] = keyBindings.get(i).convert(value);
+        }
+        return converted;
+    }
+
+    /**
+     * 将 convert 的结果写入配置键的全部绑定
+     *
+     * @param key 配置键
+     * @param converted 转换结果
+     */
+    public void write(String key, Object[] converted) {
+        List<AttributeBindingVO> keyBindings = getBindings(key);
+        for (int i = 0; i < converted.length; i++) {
+            keyBindings.get(i).apply(converted[i]);
+        }
+    }
+
+    /**
+     * 是否存在该配置键的绑定
+     */
+    public boolean contains(String key) {
+        return bindings.containsKey(key);
+    }
+
+    /**
+     * 已注册的全部配置键
+     */
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(bindings.keySet());
+    }
+
+}
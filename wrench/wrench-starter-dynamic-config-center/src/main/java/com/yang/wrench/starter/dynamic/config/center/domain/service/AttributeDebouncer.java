@@ -0,0 +1,181 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.service;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.DebounceRuleVO;
+import com.yang.wrench.starter.dynamic.config.center.types.common.AttributeRuleMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 按配置键的变更防抖
+ *
+ * 功能说明：
+ * 1. 按属性名匹配防抖规则（精确匹配优先，其次为以 * 结尾的最长前缀），没有规则的属性不防抖
+ * 2. 有规则的变更先暂存，同一属性只保留最新值；静默窗口内无新变更后才交给下游，中间值被丢弃
+ * 3. 规则设置了最小生效间隔时，距上次生效不足该间隔的变更推迟到间隔结束再生效
+ * 4. 绕过防抖直接生效的变更（如多键事务）调用 supersede，丢弃该属性暂存的旧值并记录生效时间
+ *
+ * 暂存的变更在单个调度线程中交给下游，容器关闭时立即交给下游，不丢弃已确定的值。
+ *
+ * @param <T> 暂存的变更
+ * @Author: yang
+ * @Description: 配置变更的静默窗口防抖与最小生效间隔
+ */
+public class AttributeDebouncer<T> {
+
+    private final Logger log = LoggerFactory.getLogger(AttributeDebouncer.class);
+
+    private final AttributeRuleMatcher<DebounceRuleVO> rules;
+    private final Consumer<T> sink;
+    private final ScheduledExecutorService executor;
+    private final Map<String, KeyState<T>> states = new ConcurrentHashMap<>();
+
+    /**
+     * @param threadName 调度线程名
+     * @param rules 属性名（或以 * 结尾的前缀） -> 防抖规则
+     * @param sink 变更确定后的下游
+     */
+    public AttributeDebouncer(String threadName, Map<String, DebounceRuleVO> rules, Consumer<T> sink) {
+        this.sink = sink;
+        this.rules = new AttributeRuleMatcher<>(rules);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 匹配属性的防抖规则
+     *
+     * @param attribute 属性名（不含 system 前缀）
+     * @return 防抖规则；没有规则时返回 null
+     */
+    public DebounceRuleVO getRule(String attribute) {
+        return rules.match(attribute);
+    }
+
+    /**
+     * 提交一次变更
+     *
+     * @param attribute 属性名
+     * @param change 变更
+     * @return 是否已暂存；属性没有防抖规则时返回 false，由调用方直接生效
+     */
+    public boolean offer(String attribute, T change) {
+        DebounceRuleVO rule = getRule(attribute);
+        if (rule == null) {
+            return false;
+        }
+        KeyState<T> state = states.computeIfAbsent(attribute, k -> new KeyState<>());
+        synchronized (state) {
+            long now = System.currentTimeMillis();
+            state.pending = change;
+            long due = Math.max(now + rule.getQuietMillis(), state.lastApplied + rule.getMinIntervalMillis());
+            if (state.future != null) {
+                state.future.cancel(false);
+            }
+            state.future = executor.schedule(() -> fire(attribute), Math.max(0L, due - now), TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    /**
+     * 属性的变更绕过防抖直接生效：丢弃暂存的旧值，记录生效时间
+     *
+     * @param attribute 属性名
+     */
+    public void supersede(String attribute) {
+        KeyState<T> state = states.get(attribute);
+        if (state == null) {
+            if (getRule(attribute) == null) {
+                return;
+            }
+            state = states.computeIfAbsent(attribute, k -> new KeyState<>());
+        }
+        synchronized (state) {
+            state.pending = null;
+            state.lastApplied = System.currentTimeMillis();
+            if (state.future != null) {
+                state.future.cancel(false);
+                state.future = null;
+            }
+        }
+    }
+
+    private void fire(String attribute) {
+        KeyState<T> state = states.get(attribute);
+        T change;
+        synchronized (state) {
+            change = state.pending;
+            state.pending = null;
+            state.future = null;
+            if (change == null) {
+                return;
+            }
+            state.lastApplied = System.currentTimeMillis();
+        }
+        try {
+            sink.accept(change);
+        } catch (Exception e) {
+            log.error("wrench dcc 防抖后生效配置变更失败 attribute: {}", attribute, e);
+        }
+    }
+
+    /**
+     * 暂存尚未生效的属性数量
+     */
+    public int getPendingCount() {
+        int count = 0;
+        for (KeyState<T> state : states.values()) {
+            synchronized (state) {
+                if (state.pending != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 停止调度，暂存的变更立即交给下游
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        List<T> changes = new ArrayList<>();
+        for (KeyState<T> state : states.values()) {
+            synchronized (state) {
+                if (state.pending != null) {
+                    changes.add(state.pending);
+                    state.pending = null;
+                }
+            }
+        }
+        for (T change : changes) {
+            try {
+                sink.accept(change);
+            } catch (Exception e) {
+                log.error("wrench dcc 关闭时生效暂存的配置变更失败", e);
+            }
+        }
+    }
+
+    /**
+     * 单个属性的防抖状态，由自身监视器保护
+     */
+    private static class KeyState<T> {
+        private T pending;
+        private long lastApplied;
+        private ScheduledFuture<?> future;
+    }
+
+}
@@ -0,0 +1,215 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.service;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeListenerVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.ConfigDiffVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 配置变更回调分发器
+ *
+ * 功能说明：
+ * 1. 维护 配置键 -> 全部变更回调 的映射，配置写入后由提交线程登记变更，回调在有界线程池中执行
+ * 2. 同一配置键任一时刻最多一个回调任务在执行或排队，回调按变更顺序串行；
+ *    执行期间或防抖窗口内的后续变更合并为一次，保留最早的旧值与最新的新值，合并后值未变化则不回调
+ * 3. 每个配置键最多占用一个队列位置，线程池满时延迟重试，不丢弃变更也不阻塞提交线程
+ * 4. 只注册单例Bean的 @DCCListener 方法与编程注册的回调，单例销毁时注销
+ *
+ * @Author: yang
+ * @Description: @DCCListener 回调的异步、按键有序分发
+ */
+public class AttributeListenerDispatcher {
+
+    // 线程池拒绝后的重试间隔
+    private static final long REJECTED_RETRY_MILLIS = 100L;
+
+    private final Logger log = LoggerFactory.getLogger(AttributeListenerDispatcher.class);
+
+    private final Map<String, List<AttributeListenerVO>> listeners = new ConcurrentHashMap<>();
+    private final Map<String, KeyState> states = new ConcurrentHashMap<>();
+    private final long debounceMillis;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService timer;
+    private volatile IDynamicConfigCenterApplyRecorder recorder = IDynamicConfigCenterApplyRecorder.NOOP;
+
+    public AttributeListenerDispatcher(int threads, int queueCapacity, long debounceMillis) {
+        this.debounceMillis = debounceMillis;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "wrench-dcc-listener-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wrench-dcc-listener-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 注册回调
+     *
+     * @param listener 回调绑定
+     */
+    public void register(AttributeListenerVO listener) {
+        listeners.compute(listener.getKey(), (key, keyListeners) -> {
+            List<AttributeListenerVO> list = keyListeners == null ? new CopyOnWriteArrayList<>() : keyListeners;
+            list.add(listener);
+            return list;
+        });
+    }
+
+    /**
+     * 注销Bean的全部 @DCCListener 回调，已登记尚未执行的变更不再回调该Bean
+     *
+     * @param bean 目标Bean（已解除AOP代理的原始对象）
+     * @return 注销的回调数量
+     */
+    public int unregister(Object bean) {
+        int[] removed = new int[1];
+        for (String key : listeners.keySet()) {
+            listeners.computeIfPresent(key, (k, keyListeners) -> {
+                int size = keyListeners.size();
+                keyListeners.removeIf(listener -> listener.getBean() == bean);
+                removed[0] += size - keyListeners.size();
+                return keyListeners.isEmpty() ? null : keyListeners;
+            });
+        }
+        return removed[0];
+    }
+
+    /**
+     * 是否存在该配置键的回调
+     */
+    public boolean contains(String key) {
+        return listeners.containsKey(key);
+    }
+
+    /**
+     * 登记一次配置变更，立即返回
+     * 同一配置键的调用方需保证按变更顺序调用（由服务的提交锁保证）
+     *
+     * @param key 配置键
+     * @param oldValue 变更前的配置字符串
+     * @param newValue 变更后的配置字符串
+     */
+    public void dispatch(String key, String oldValue, String newValue) {
+        if (!listeners.containsKey(key)) {
+            return;
+        }
+        KeyState state = states.computeIfAbsent(key, k -> new KeyState());
+        synchronized (state) {
+            if (state.pending) {
+                // 尚未执行的变更与本次合并，保留最早的旧值
+                state.newValue = newValue;
+                return;
+            }
+            state.pending = true;
+            state.oldValue = oldValue;
+            state.newValue = newValue;
+            if (state.running) {
+                // 当前回调结束后再调度，保证同一配置键串行
+                return;
+            }
+        }
+        schedule(key, debounceMillis);
+    }
+
+    private void schedule(String key, long delayMillis) {
+        if (delayMillis > 0) {
+            timer.schedule(() -> submit(key), delayMillis, TimeUnit.MILLISECONDS);
+        } else {
+            submit(key);
+        }
+    }
+
+    private void submit(String key) {
+        try {
+            executor.execute(() -> run(key));
+        } catch (RejectedExecutionException e) {
+            if (executor.isShutdown()) {
+                return;
+            }
+            log.warn("wrench dcc 配置变更回调线程池已满 key: {}，{}ms后重试", key, REJECTED_RETRY_MILLIS);
+            timer.schedule(() -> submit(key), REJECTED_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void run(String key) {
+        KeyState state = states.get(key);
+        String oldValue;
+        String newValue;
+        synchronized (state) {
+            oldValue = state.oldValue;
+            newValue = state.newValue;
+            state.pending = false;
+            state.running = true;
+        }
+        try {
+            if (!Objects.equals(oldValue, newValue)) {
+                // 同一次变更的全部回调共享差异，首次读取时计算
+                ConfigDiffVO diff = ConfigDiffVO.of(oldValue, newValue);
+                for (AttributeListenerVO listener : listeners.getOrDefault(key, Collections.emptyList())) {
+                    long startNanos = System.nanoTime();
+                    try {
+                        listener.invoke(oldValue, newValue, diff);
+                    } catch (Throwable e) {
+                        log.error("wrench dcc 配置变更回调失败 key: {} listener: {} old: {} new: {}", key, listener.getName(), oldValue, newValue, e);
+                    }
+                    recorder.recordListener(System.nanoTime() - startNanos);
+                }
+            }
+        } finally {
+            boolean next;
+            synchronized (state) {
+                state.running = false;
+                next = state.pending;
+            }
+            if (next) {
+                schedule(key, debounceMillis);
+            }
+        }
+    }
+
+    /**
+     * 设置回调耗时记录器
+     */
+    public void setRecorder(IDynamicConfigCenterApplyRecorder recorder) {
+        this.recorder = recorder == null ? IDynamicConfigCenterApplyRecorder.NOOP : recorder;
+    }
+
+    public void shutdown() {
+        timer.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * 单个配置键的回调状态，由自身监视器保护
+     */
+    private static class KeyState {
+        // 是否有尚未执行的变更
+        private boolean pending;
+        // 是否有回调正在执行
+        private boolean running;
+        private String oldValue;
+        private String newValue;
+    }
+
+}
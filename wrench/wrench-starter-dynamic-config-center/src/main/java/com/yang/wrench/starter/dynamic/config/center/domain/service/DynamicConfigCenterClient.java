@@ -0,0 +1,286 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.service;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.IDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.types.common.AttributeValueConverter;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+/**
+ * 动态配置中心客户端
+ *
+ * 功能说明：
+ * 1. 按属性名编程读取配置，适用于运行期才确定的配置键（如按商户拼接的开关），无需 @DCCValue 字段
+ * 2. 读取经过有界的本地缓存：命中时只有一次 ConcurrentHashMap 查询，不访问配置中心
+ * 3. 缓存通过配置提交通知（见 IDynamicConfigCenterCommitListener）保持一致：
+ *    发布订阅、变更流、memory/file 后端的变更写入本地时同步更新已缓存的值；订阅中断恢复时整体清空
+ * 4. 不存在的配置键按 nearCacheNegativeTtlMillis 短暂缓存，避免对不存在的键反复访问配置中心
+ * 5. 统计命中率与失效延迟（发布到本地缓存更新的耗时），见 DynamicConfigCenterClientMetrics
+ *
+ * 缓存按近似LRU（CLOCK）淘汰：读取只设置访问标记，超出容量时由写入线程清除标记并淘汰未被访问的键。
+ *
+ * @Author: yang
+ * @Description: 带本地缓存的配置编程读取入口
+ */
+public class DynamicConfigCenterClient implements IDynamicConfigCenterCommitListener {
+
+    private static final LongConsumer NOOP_RECORDER = millis -> {
+    };
+
+    private final DynamicConfigCenterAutoProperties properties;
+    private final IDynamicConfigCenterBackend backend;
+    private final int maxSize;
+    private final long negativeTtlMillis;
+
+    // 属性名 -> 缓存项
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    // 配置值类型 -> 转换函数
+    private final Map<Class<?>, Function<String, Object>> converters = new ConcurrentHashMap<>();
+
+    // 串行化缓存写入：未命中回填、变更更新与淘汰
+    private final Object writeLock = new Object();
+    // 每次变更或清空递增，未命中回填前比较，避免读取期间发生的变更被旧值覆盖；在 writeLock 内写入
+    private volatile long generation = 0L;
+    // CLOCK 淘汰指针，由 writeLock 保护
+    private Iterator<Map.Entry<String, Entry>> hand;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+    private volatile LongConsumer lagRecorder = NOOP_RECORDER;
+
+    public DynamicConfigCenterClient(DynamicConfigCenterAutoProperties properties, IDynamicConfigCenterBackend backend) {
+        this.properties = properties;
+        this.backend = backend;
+        this.maxSize = Math.max(1, properties.getNearCacheMaxSize());
+        this.negativeTtlMillis = properties.getNearCacheNegativeTtlMillis();
+    }
+
+    /**
+     * 读取配置字符串
+     *
+     * @param attribute 属性名（不含 system 前缀）
+     * @return 配置值；配置键不存在时返回 null
+     */
+    public String get(String attribute) {
+        return get(attribute, String.class);
+    }
+
+    /**
+     * 读取配置并转换为指定类型
+     * 类型转换规则与 @DCCValue 字段一致（见 AttributeValueConverter），转换结果随缓存项复用
+     *
+     * @param attribute 属性名（不含 system 前缀）
+     * @param type 配置值类型
+     * @return 配置值；配置键不存在时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String attribute, Class<T> type) {
+        Entry entry = cache.get(attribute);
+        if (entry != null && !entry.isExpired()) {
+            hitCount.increment();
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            if (entry.type == type || entry.value == null) {
+                return (T) entry.converted;
+            }
+            // 同一配置键以其他类型读取：转换后替换缓存项，期间发生的变更优先
+            Entry converted = new Entry(entry.value, entry.expireAt, type, convert(attribute, entry.value, type));
+            cache.replace(attribute, entry, converted);
+            return (T) converted.converted;
+        }
+        missCount.increment();
+        return (T) load(attribute, type).converted;
+    }
+
+    /**
+     * 读取配置并转换为指定类型，配置键不存在时返回默认值
+     *
+     * @param attribute 属性名（不含 system 前缀）
+     * @param type 配置值类型
+     * @param defaultValue 默认值
+     * @return 配置值
+     */
+    public <T> T get(String attribute, Class<T> type, T defaultValue) {
+        T value = get(attribute, type);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * 从配置中心读取并回填缓存
+     */
+    private Entry load(String attribute, Class<?> type) {
+        long expected = generation;
+        String key = properties.getKey(attribute);
+        String value = backend.read(List.of(key)).get(key);
+        Entry entry = new Entry(value, value == null ? System.currentTimeMillis() + negativeTtlMillis : 0L,
+                type, convert(attribute, value, type));
+        synchronized (writeLock) {
+            // 读取期间有变更提交时不回填，下次读取重新查询
+            if (expected == generation) {
+                cache.put(attribute, entry);
+                evict();
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * 超出容量时淘汰：访问标记已设置的清除标记后跳过，未设置的淘汰，调用方需持有 writeLock
+     */
+    private void evict() {
+        int scanned = 0;
+        while (cache.size() > maxSize && scanned < maxSize * 2 + 1) {
+            if (hand == null || !hand.hasNext()) {
+                hand = cache.entrySet().iterator();
+                if (!hand.hasNext()) {
+                    return;
+                }
+            }
+            Map.Entry<String, Entry> candidate = hand.next();
+            scanned++;
+            if (candidate.getValue().referenced) {
+                candidate.getValue().referenced = false;
+                continue;
+            }
+            hand.remove();
+            evictionCount.increment();
+        }
+    }
+
+    private Object convert(String attribute, String value, Class<?> type) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return converters.computeIfAbsent(type, t -> AttributeValueConverter.of(t, t)).apply(value);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("配置值类型转换失败 attribute: " + attribute + " type: " + type.getName() + " value: " + value + " " + e);
+        }
+    }
+
+    /**
+     * 配置提交：已缓存的键直接更新为提交的值，未缓存的键不做处理
+     * 提交的值已写入配置中心（发布订阅模式下由接收方条件更新后才提交），无需重新查询
+     */
+    @Override
+    public void onCommit(List<AttributeVO> attributeVOList) {
+        long now = System.currentTimeMillis();
+        synchronized (writeLock) {
+            generation++;
+            for (AttributeVO attributeVO : attributeVOList) {
+                Entry entry = cache.get(attributeVO.getAttribute());
+                if (entry != null) {
+                    cache.put(attributeVO.getAttribute(), update(attributeVO.getAttribute(), entry, attributeVO.getValue()));
+                    invalidationCount.increment();
+                }
+            }
+        }
+        for (AttributeVO attributeVO : attributeVOList) {
+            if (attributeVO.getPublishTime() != null) {
+                lagRecorder.accept(Math.max(0L, now - attributeVO.getPublishTime()));
+            }
+        }
+    }
+
+    /**
+     * 整体对齐：期间错过的变更无法逐条得知，清空全部缓存
+     */
+    @Override
+    public void onReconcile() {
+        synchronized (writeLock) {
+            generation++;
+            invalidationCount.add(cache.size());
+            cache.clear();
+            hand = null;
+        }
+    }
+
+    /**
+     * 以新值替换缓存项并按原读取类型转换
+     * 转换失败（如以整数读取，新值不是整数）时只保留字符串，下次以原类型读取时报错
+     */
+    private Entry update(String attribute, Entry entry, String value) {
+        try {
+            return new Entry(value, 0L, entry.type, convert(attribute, value, entry.type));
+        } catch (RuntimeException e) {
+            return new Entry(value, 0L, String.class, value);
+        }
+    }
+
+    /**
+     * 设置失效延迟记录器，参数为发布到本地缓存更新的耗时（毫秒）
+     */
+    public void setLagRecorder(LongConsumer lagRecorder) {
+        this.lagRecorder = lagRecorder == null ? NOOP_RECORDER : lagRecorder;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 命中率；尚无读取时为0
+     */
+    public double getHitRatio() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return total == 0 ? 0D : (double) hits / total;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidationCount.sum();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public String getSystem() {
+        return properties.getSystem();
+    }
+
+    /**
+     * 缓存项：配置字符串与最近一次读取类型的转换结果
+     */
+    private final class Entry {
+
+        // 配置字符串；为 null 表示配置键不存在
+        private final String value;
+        // 不存在的键的过期时间；0表示不过期
+        private final long expireAt;
+        private final Class<?> type;
+        private final Object converted;
+        // CLOCK 访问标记
+        private volatile boolean referenced = true;
+
+        private Entry(String value, long expireAt, Class<?> type, Object converted) {
+            this.value = value;
+            this.expireAt = expireAt;
+            this.type = type;
+            this.converted = converted;
+        }
+
+        private boolean isExpired() {
+            return expireAt != 0L && System.currentTimeMillis() > expireAt;
+        }
+    }
+
+}
@@ -0,0 +1,246 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.service;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.IDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.types.common.ConfigDigest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 配置摘要对齐
+ *
+ * 功能说明：
+ * 1. 发布订阅可能丢失消息，节点按 digestIntervalMillis 定期与配置中心比对摘要（见 ConfigDigest），自行补齐错过的变更
+ * 2. 本地维护 system 下全部配置键的摘要镜像：随配置提交更新，与配置中心的摘要以同一编码计算
+ * 3. 逐级比对：
+ *    - 总摘要一致：本节点没有错过变更，一次读取一个Hash字段即结束
+ *    - 总摘要不一致：读取全部桶摘要，只对不一致的桶读取桶内各配置键的摘要
+ *    - 摘要不同的配置键只读取配置值并提交（见 IDynamicConfigCenterService#refreshAttributeValues）
+ *    对齐开销与变更的配置键数量成正比，而不是全部配置键
+ * 4. 首次比对时镜像中只有本节点加载的配置键，其他配置键只记入镜像，不读取配置值
+ * 5. 分批生效中尚未轮到本节点的配置键不补齐，由分批生效按时应用
+ *
+ * 摘要由存储后端在写入时原子维护；不维护摘要的后端（readDigest 返回 null）不做比对。
+ *
+ * @Author: yang
+ * @Description: 基于分桶摘要的增量配置对齐
+ */
+public class DynamicConfigCenterDigestReconciler implements IDynamicConfigCenterCommitListener, DisposableBean {
+
+    private final Logger log = LoggerFactory.getLogger(DynamicConfigCenterDigestReconciler.class);
+
+    private final DynamicConfigCenterAutoProperties properties;
+    private final IDynamicConfigCenterService dynamicConfigCenterService;
+    private final IDynamicConfigCenterBackend backend;
+    private final long intervalMillis;
+    // 分批生效；为空表示不分批
+    private final DynamicConfigCenterRollout rollout;
+
+    // 桶序号 -> (配置键 -> 摘要)，与桶摘要一起由自身监视器保护
+    private final List<Map<String, Integer>> mirror = new ArrayList<>(ConfigDigest.DIGEST_BUCKETS);
+    private final int[] bucketDigests = new int[ConfigDigest.DIGEST_BUCKETS];
+
+    private final AtomicLong reconcileCount = new AtomicLong();
+    private final AtomicLong repairedCount = new AtomicLong();
+    private ScheduledExecutorService executor;
+
+    public DynamicConfigCenterDigestReconciler(DynamicConfigCenterAutoProperties properties,
+                                               IDynamicConfigCenterService dynamicConfigCenterService,
+                                               IDynamicConfigCenterBackend backend) {
+        this(properties, dynamicConfigCenterService, backend, null);
+    }
+
+    public DynamicConfigCenterDigestReconciler(DynamicConfigCenterAutoProperties properties,
+                                               IDynamicConfigCenterService dynamicConfigCenterService,
+                                               IDynamicConfigCenterBackend backend,
+                                               DynamicConfigCenterRollout rollout) {
+        this.properties = properties;
+        this.rollout = rollout;
+        this.dynamicConfigCenterService = dynamicConfigCenterService;
+        this.backend = backend;
+        this.intervalMillis = properties.getDigestIntervalMillis();
+        for (int i = 0; i < ConfigDigest.DIGEST_BUCKETS; i++) {
+            mirror.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * 开始定期比对；比对间隔不大于0时不比对
+     */
+    public synchronized void start() {
+        if (intervalMillis <= 0 || executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wrench-dcc-digest");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile();
+            } catch (Exception e) {
+                if (!Thread.currentThread().isInterrupted()) {
+                    log.warn("wrench dcc 配置摘要比对失败 {}", e.getMessage());
+                }
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 配置提交：按提交的值更新摘要镜像
+     */
+    @Override
+    public void onCommit(List<AttributeVO> attributeVOList) {
+        for (AttributeVO attributeVO : attributeVOList) {
+            String key = properties.getKey(attributeVO.getAttribute());
+            update(key, backend.digest(key, attributeVO.getValue()));
+        }
+    }
+
+    private synchronized void update(String key, int hash) {
+        int bucket = ConfigDigest.bucket(key);
+        Integer old = mirror.get(bucket).put(key, hash);
+        bucketDigests[bucket] ^= (old == null ? 0 : old) ^ hash;
+    }
+
+    /**
+     * 与配置中心比对一次摘要，补齐摘要不同的配置键
+     *
+     * @return 更新的配置键数量
+     */
+    public int reconcile() {
+        Integer top = backend.readDigest();
+        if (top == null || top == localDigest()) {
+            return 0;
+        }
+        reconcileCount.incrementAndGet();
+
+        int[] remoteBucketDigests = backend.readBucketDigests();
+        List<Integer> staleBuckets = new ArrayList<>();
+        synchronized (this) {
+            for (int i = 0; i < remoteBucketDigests.length; i++) {
+                if (remoteBucketDigests[i] != bucketDigests[i]) {
+                    staleBuckets.add(i);
+                }
+            }
+        }
+        if (staleBuckets.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Integer> remoteEntries = backend.readBucketEntries(staleBuckets);
+        List<String> staleKeys = new ArrayList<>();
+        // 需补齐的配置键在镜像中原有的摘要，补齐失败时恢复
+        Map<String, Integer> previous = new HashMap<>();
+        synchronized (this) {
+            for (Integer bucket : staleBuckets) {
+                Map<String, Integer> local = mirror.get(bucket);
+                Map<String, Integer> remote = new HashMap<>();
+                remoteEntries.forEach((key, hash) -> {
+                    if (ConfigDigest.bucket(key) == bucket) {
+                        remote.put(key, hash);
+                    }
+                });
+                int digest = 0;
+                for (Map.Entry<String, Integer> entry : remote.entrySet()) {
+                    Integer hash = local.get(entry.getKey());
+                    // 已知的配置键摘要变化即为错过的变更；未知的配置键只在本节点已加载时读取
+                    if (hash == null ? isLoaded(entry.getKey()) : !hash.equals(entry.getValue())) {
+                        staleKeys.add(entry.getKey());
+                        previous.put(entry.getKey(), hash);
+                    }
+                    digest ^= entry.getValue();
+                }
+                mirror.set(bucket, remote);
+                bucketDigests[bucket] = digest;
+            }
+        }
+        if (rollout != null) {
+            // 镜像已记为配置中心的摘要，分批生效到期提交时摘要一致
+            staleKeys.removeIf(key -> rollout.isPending(key.substring(properties.getKey("").length())));
+        }
+        if (staleKeys.isEmpty()) {
+            return 0;
+        }
+
+        int repaired;
+        try {
+            repaired = dynamicConfigCenterService.refreshAttributeValues(staleKeys);
+        } catch (RuntimeException e) {
+            // 镜像已记为配置中心的摘要，补齐失败时恢复，下次比对仍能发现这些配置键
+            restore(staleKeys, previous, remoteEntries);
+            throw e;
+        }
+        repairedCount.addAndGet(repaired);
+        if (repaired > 0) {
+            log.info("wrench dcc 配置摘要不一致，补齐错过的变更 buckets: {} keys: {} updated: {}", staleBuckets.size(), staleKeys.size(), repaired);
+        }
+        return repaired;
+    }
+
+    /**
+     * 恢复补齐失败的配置键在镜像中的摘要；期间已随提交更新的配置键保持不变
+     */
+    private synchronized void restore(List<String> staleKeys, Map<String, Integer> previous, Map<String, Integer> remoteEntries) {
+        for (String key : staleKeys) {
+            int bucket = ConfigDigest.bucket(key);
+            Integer current = mirror.get(bucket).get(key);
+            if (current == null || !current.equals(remoteEntries.get(key))) {
+                continue;
+            }
+            Integer old = previous.get(key);
+            if (old == null) {
+                mirror.get(bucket).remove(key);
+            } else {
+                mirror.get(bucket).put(key, old);
+            }
+            bucketDigests[bucket] ^= current ^ (old == null ? 0 : old);
+        }
+    }
+
+    private boolean isLoaded(String key) {
+        return dynamicConfigCenterService.getSnapshot().get(key.substring(properties.getKey("").length())) != null;
+    }
+
+    private synchronized int localDigest() {
+        int top = 0;
+        for (int digest : bucketDigests) {
+            top ^= digest;
+        }
+        return top;
+    }
+
+    /**
+     * 总摘要不一致的比对次数
+     */
+    public long getReconcileCount() {
+        return reconcileCount.get();
+    }
+
+    /**
+     * 经摘要比对补齐的配置键数量
+     */
+    public long getRepairedCount() {
+        return repairedCount.get();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+}
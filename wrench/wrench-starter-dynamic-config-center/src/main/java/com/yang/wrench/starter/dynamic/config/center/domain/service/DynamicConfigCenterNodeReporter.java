@@ -0,0 +1,228 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.service;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.IDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.NodeVersionVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 节点配置版本上报
+ *
+ * 功能说明：
+ * 1. 记录本节点已收敛到的配置版本：连续收到或应用的最大发布序号（低水位），中间缺少任一序号时不再推进，
+ *    错过序号5而收到序号6的节点仍上报4；序号来自提交监听与变更合并器的收取通知，
+ *    合并窗口或防抖中被后续值取代、按序号丢弃的旧变更虽未提交也已收到，不视为缺失
+ * 2. 按 nodeReportIntervalMillis 定期写入配置中心的节点版本表（Redis 为 Hash），同时作为心跳
+ * 3. 启动与整体对齐后，以配置中心当前版本为基线：对齐加载的是最新值，但不会逐条经过带序号的变更；
+ *    缺失的序号在整体对齐（如变更流不连续、订阅中断恢复）之前一直使本节点处于落后状态
+ * 4. 列出落后节点：已应用版本小于配置中心当前版本，或超过3个上报周期未上报（失联）
+ * 5. 容器关闭时从节点版本表中移除本节点；未正常关闭的节点超过30个上报周期未上报时，由存活节点在上报时清理
+ *
+ * @Author: yang
+ * @Description: 各节点已应用配置版本的上报与落后节点查询
+ */
+public class DynamicConfigCenterNodeReporter implements IDynamicConfigCenterCommitListener, DisposableBean {
+
+    // 超过该数量的上报周期未上报视为失联
+    private static final int STALE_INTERVALS = 3;
+    // 超过该数量的上报周期未上报的节点从节点版本表中清理
+    private static final int PRUNE_INTERVALS = 30;
+    // 低水位之后最多暂存的序号数量，超出时丢弃最小的序号（本节点已落后，等待整体对齐）
+    private static final int MAX_AHEAD = 10000;
+
+    private final Logger log = LoggerFactory.getLogger(DynamicConfigCenterNodeReporter.class);
+
+    private final IDynamicConfigCenterBackend backend;
+    private final String node;
+    private final long intervalMillis;
+
+    // 连续收到或应用的最大发布序号（低水位）
+    private long appliedVersion;
+    // 低水位之后已收到的序号，等待缺失的序号补齐
+    private final TreeSet<Long> ahead = new TreeSet<>();
+    // 下次上报前是否以配置中心当前版本为基线
+    private volatile boolean baselinePending = true;
+    // 上次清理失联节点的时间，每 STALE_INTERVALS 个上报周期清理一次
+    private long lastPruneTime;
+    private ScheduledExecutorService executor;
+
+    public DynamicConfigCenterNodeReporter(DynamicConfigCenterAutoProperties properties, IDynamicConfigCenterBackend backend) {
+        this.backend = backend;
+        this.node = properties.getNodeId();
+        this.intervalMillis = properties.getNodeReportIntervalMillis();
+    }
+
+    /**
+     * 开始定期上报；上报间隔不大于0时不上报
+     */
+    public synchronized void start() {
+        if (intervalMillis <= 0 || executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wrench-dcc-node-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 首次上报在启动期批量加载之后
+        executor.scheduleWithFixedDelay(this::report, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onCommit(List<AttributeVO> attributeVOList) {
+        onReceive(attributeVOList);
+    }
+
+    /**
+     * 收到一条变更消息，由变更合并器在合并、防抖与分批之前调用
+     *
+     * @param attributeVOList 消息中的属性；不带序号（外部发布者）的属性忽略
+     */
+    public synchronized void onReceive(List<AttributeVO> attributeVOList) {
+        for (AttributeVO attributeVO : attributeVOList) {
+            Long sequence = attributeVO.getSequence();
+            if (sequence != null && sequence > appliedVersion) {
+                ahead.add(sequence);
+            }
+        }
+        advance();
+    }
+
+    /**
+     * 低水位推进到连续序号的末尾
+     */
+    private void advance() {
+        while (!ahead.isEmpty() && ahead.first() <= appliedVersion + 1) {
+            appliedVersion = Math.max(appliedVersion, ahead.pollFirst());
+        }
+        if (ahead.size() > MAX_AHEAD) {
+            ahead.pollFirst();
+        }
+    }
+
+    /**
+     * 以配置中心当前版本为基线，丢弃基线之前暂存的序号
+     */
+    private synchronized void baseline(long version) {
+        appliedVersion = Math.max(appliedVersion, version);
+        ahead.headSet(appliedVersion, true).clear();
+        advance();
+    }
+
+    @Override
+    public void onReconcile() {
+        baselinePending = true;
+    }
+
+    /**
+     * 上报本节点已应用的版本，失败时下个周期重试
+     */
+    public void report() {
+        try {
+            if (baselinePending) {
+                baselinePending = false;
+                baseline(backend.getVersion());
+            }
+            long now = System.currentTimeMillis();
+            backend.reportNodeVersion(new NodeVersionVO(node, getAppliedVersion(), now));
+            if (now - lastPruneTime >= intervalMillis * STALE_INTERVALS) {
+                lastPruneTime = now;
+                prune();
+            }
+        } catch (Exception e) {
+            baselinePending = true;
+            log.warn("wrench dcc 上报节点配置版本失败 node: {} {}", node, e.getMessage());
+        }
+    }
+
+    /**
+     * 从节点版本表中清理超过30个上报周期未上报的节点（进程被强制终止、未执行销毁的节点）；上报间隔不大于0时不清理
+     *
+     * @return 清理的节点数量
+     */
+    public int prune() {
+        if (intervalMillis <= 0) {
+            return 0;
+        }
+        long pruneBefore = System.currentTimeMillis() - intervalMillis * PRUNE_INTERVALS;
+        int pruned = 0;
+        for (NodeVersionVO nodeVersion : backend.readNodeVersions()) {
+            if (nodeVersion.getReportTime() < pruneBefore && !node.equals(nodeVersion.getNode())) {
+                backend.removeNodeVersion(nodeVersion.getNode());
+                pruned++;
+            }
+        }
+        if (pruned > 0) {
+            log.info("wrench dcc 清理失联节点 count: {}", pruned);
+        }
+        return pruned;
+    }
+
+    /**
+     * 全部已上报的节点版本
+     */
+    public List<NodeVersionVO> getNodeVersions() {
+        return backend.readNodeVersions();
+    }
+
+    /**
+     * 落后或失联的节点：已应用版本小于配置中心当前版本，或超过3个上报周期未上报
+     *
+     * @return 落后的节点版本
+     */
+    public List<NodeVersionVO> getLaggingNodes() {
+        long version = backend.getVersion();
+        long now = System.currentTimeMillis();
+        List<NodeVersionVO> lagging = new ArrayList<>();
+        for (NodeVersionVO nodeVersion : backend.readNodeVersions()) {
+            if (nodeVersion.getVersion() < version || isStale(nodeVersion, intervalMillis, now)) {
+                lagging.add(nodeVersion);
+            }
+        }
+        return lagging;
+    }
+
+    /**
+     * 节点是否失联：超过3个上报周期未上报；上报间隔不大于0时不判断
+     *
+     * @param nodeVersion 节点版本
+     * @param intervalMillis 上报间隔
+     * @param now 当前时间（毫秒）
+     * @return 是否失联
+     */
+    public static boolean isStale(NodeVersionVO nodeVersion, long intervalMillis, long now) {
+        return intervalMillis > 0 && nodeVersion.getReportTime() < now - intervalMillis * STALE_INTERVALS;
+    }
+
+    public synchronized long getAppliedVersion() {
+        return appliedVersion;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        try {
+            backend.removeNodeVersion(node);
+        } catch (Exception e) {
+            log.warn("wrench dcc 移除节点配置版本失败 node: {} {}", node, e.getMessage());
+        }
+    }
+
+}
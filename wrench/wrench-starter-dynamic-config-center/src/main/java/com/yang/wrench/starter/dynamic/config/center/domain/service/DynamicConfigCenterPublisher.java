@@ -0,0 +1,135 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.service;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.IDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.DebounceRuleVO;
+import com.yang.wrench.starter.dynamic.config.center.types.common.StructuredValue;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 动态配置中心发布器
+ *
+ * 功能说明：
+ * 1. 单个配置发布：各节点逐键生效
+ * 2. 事务发布：多个相关配置作为一次变更，各节点整体校验后作为一个快照版本生效
+ * 3. 发布经由存储后端（IDynamicConfigCenterBackend）完成：
+ *    - redis 发布订阅模式：发送 AttributeVO / AttributeBatchVO 消息
+ *    - redis 变更流模式（wrench.config.feed-mode=stream）：Lua脚本原子更新配置键、生成序号并追加变更流消息
+ *    - memory / file：更新存储后直接通知订阅者
+ * 4. 发布时记录发布时间，订阅方据此统计从发布到本地生效的延迟
+ * 5. 结构化配置（路由表、规则集等）以稳定的 JSON 发布，见 publishObject
+ * 6. 按属性配置发布防抖（wrench.config.publish-debounce）：频繁切换的单个配置先暂存，静默窗口后只发布最终值，
+ *    中间值不写Redis、不下发；多键事务发布不防抖，并取代其中属性暂存的旧值
+ *
+ * @Author: yang
+ * @Description: 配置变更消息的发布入口
+ */
+public class DynamicConfigCenterPublisher implements DisposableBean {
+
+    /** 配置已暂存，静默窗口后发布 */
+    public static final long DEFERRED = -1L;
+
+    private final IDynamicConfigCenterBackend backend;
+    // 发布防抖；为空表示没有防抖规则
+    private final AttributeDebouncer<AttributeVO> debouncer;
+
+    public DynamicConfigCenterPublisher(IDynamicConfigCenterBackend backend) {
+        this(backend, Collections.emptyMap());
+    }
+
+    /**
+     * @param backend 配置存储后端
+     * @param debounceRules 属性名（或以 * 结尾的前缀） -> 发布防抖规则
+     */
+    public DynamicConfigCenterPublisher(IDynamicConfigCenterBackend backend, Map<String, DebounceRuleVO> debounceRules) {
+        this.backend = backend;
+        this.debouncer = debounceRules.isEmpty() ? null
+                : new AttributeDebouncer<>("wrench-dcc-publish-debounce", debounceRules, attributeVO -> send(List.of(attributeVO)));
+    }
+
+    /**
+     * 发布单个配置
+     *
+     * @param attribute 属性名（不含 system 前缀）
+     * @param value 配置值
+     * @return 发布订阅模式：收到消息的订阅者数量；其他：变更序号，0表示配置键不存在；DEFERRED 表示已暂存
+     */
+    public long publish(String attribute, String value) {
+        return publish(List.of(new AttributeVO(attribute, value)));
+    }
+
+    /**
+     * 发布结构化配置：以稳定的键顺序序列化为 JSON 后发布
+     * 结构相同的对象发布结果相同，不会触发变更回调；订阅方可经 ConfigDiffVO 获取变化的子路径
+     *
+     * @param attribute 属性名（不含 system 前缀）
+     * @param value 对象、Map 或 List
+     * @return 同 publish(String, String)
+     */
+    public long publishObject(String attribute, Object value) {
+        return publish(attribute, StructuredValue.toJson(value));
+    }
+
+    /**
+     * 事务发布多个配置，订阅方一次性全部生效
+     *
+     * @param attributes 属性名 -> 配置值
+     * @return 发布订阅模式：收到消息的订阅者数量；其他：变更序号，0表示配置键均不存在；单个属性暂存时为 DEFERRED
+     */
+    public long publish(Map<String, String> attributes) {
+        List<AttributeVO> attributeVOList = new ArrayList<>(attributes.size());
+        attributes.forEach((attribute, value) -> attributeVOList.add(new AttributeVO(attribute, value)));
+        return publish(attributeVOList);
+    }
+
+    /**
+     * 事务发布多个配置，订阅方一次性全部生效
+     *
+     * @param attributeVOList 属性值对象列表
+     * @return 发布订阅模式：收到消息的订阅者数量；其他：变更序号，0表示配置键均不存在；单个属性暂存时为 DEFERRED
+     */
+    public long publish(List<AttributeVO> attributeVOList) {
+        if (debouncer != null) {
+            if (attributeVOList.size() == 1 && debouncer.offer(attributeVOList.get(0).getAttribute(), attributeVOList.get(0))) {
+                return DEFERRED;
+            }
+            for (AttributeVO attributeVO : attributeVOList) {
+                debouncer.supersede(attributeVO.getAttribute());
+            }
+        }
+        return send(attributeVOList);
+    }
+
+    private long send(List<AttributeVO> attributeVOList) {
+        long publishTime = System.currentTimeMillis();
+        List<AttributeVO> stamped = new ArrayList<>(attributeVOList.size());
+        for (AttributeVO attributeVO : attributeVOList) {
+            stamped.add(new AttributeVO(attributeVO.getAttribute(), attributeVO.getValue(), attributeVO.getSequence(),
+                    attributeVO.getPublishTime() == null ? publishTime : attributeVO.getPublishTime()));
+        }
+        return backend.publish(stamped);
+    }
+
+    /**
+     * 暂存尚未发布的属性数量
+     */
+    public int getPendingCount() {
+        return debouncer == null ? 0 : debouncer.getPendingCount();
+    }
+
+    /**
+     * 容器关闭时立即发布暂存的配置
+     */
+    @Override
+    public void destroy() {
+        if (debouncer != null) {
+            debouncer.shutdown();
+        }
+    }
+
+}
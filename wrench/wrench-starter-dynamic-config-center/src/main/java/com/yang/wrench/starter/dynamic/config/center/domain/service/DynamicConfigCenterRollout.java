@@ -0,0 +1,307 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.service;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.IDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.NodeVersionVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.RolloutProgressVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.RolloutRecordVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.RolloutRuleVO;
+import com.yang.wrench.starter.dynamic.config.center.types.common.AttributeRuleMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 配置分批生效
+ *
+ * 功能说明：
+ * 1. 按属性名匹配分批生效规则（wrench.config.rollout），没有规则的属性收到即生效
+ * 2. 节点的生效延迟 = 所在批次 × 批间隔 + 抖动，批次与抖动由 节点标识 + 属性名 的哈希确定，无需节点间协调；
+ *    延迟从变更的发布时间起算，各节点收到消息的先后不影响批次间隔
+ * 3. 一条消息内的多个属性整体延迟（取其中最大的延迟），保持多键事务的原子性
+ * 4. 同一属性的新变更取代尚未生效的旧变更；生效后把 发布序号、批次、生效时间 写入该配置键的分批进度表，
+ *    getProgress 汇总各批已生效与存活的节点数
+ * 5. 等待生效期间该属性视为待生效（isPending），摘要对齐不提前补齐，避免后批节点被动提前生效
+ *
+ * 整体对齐直接读取配置中心的最新值，不经过分批；容器关闭时尚未生效的变更立即生效。
+ *
+ * @Author: yang
+ * @Description: 代价高的配置变更在集群内错峰、分批生效
+ */
+public class DynamicConfigCenterRollout implements DisposableBean {
+
+    // 节点在 [0, SLOTS) 内的位置，每 100 个位置为 1%
+    private static final int SLOTS = 10000;
+    private static final long WAVE_SEED = 0L;
+    private static final long JITTER_SEED = 0x9E3779B97F4A7C15L;
+
+    private final Logger log = LoggerFactory.getLogger(DynamicConfigCenterRollout.class);
+
+    private final DynamicConfigCenterAutoProperties properties;
+    private final IDynamicConfigCenterBackend backend;
+    private final AttributeRuleMatcher<RolloutRuleVO> rules;
+    // 没有规则时为空
+    private final ScheduledExecutorService executor;
+
+    // 属性名 -> 持有该属性最新变更的待生效消息，由自身监视器保护
+    private final Map<String, PendingRollout> owners = new HashMap<>();
+    private boolean closed = false;
+
+    /**
+     * @param properties 配置属性
+     * @param backend 配置存储后端，保存分批进度
+     * @param rules 属性名（或以 * 结尾的前缀） -> 分批生效规则
+     */
+    public DynamicConfigCenterRollout(DynamicConfigCenterAutoProperties properties, IDynamicConfigCenterBackend backend,
+                                      Map<String, RolloutRuleVO> rules) {
+        rules.values().forEach(RolloutRuleVO::validate);
+        this.properties = properties;
+        this.backend = backend;
+        this.rules = new AttributeRuleMatcher<>(rules);
+        this.executor = rules.isEmpty() ? null : Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wrench-dcc-rollout");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 节点对属性所在的批次
+     *
+     * @param node 节点标识
+     * @param attribute 属性名
+     * @param rule 分批生效规则
+     * @return 批次，从0开始；不分批时为0
+     */
+    public static int waveOf(String node, String attribute, RolloutRuleVO rule) {
+        if (rule.getWavePercent() <= 0) {
+            return 0;
+        }
+        int slot = (int) Long.remainderUnsigned(mix(node, attribute, WAVE_SEED), SLOTS);
+        return Math.min(slot / (rule.getWavePercent() * (SLOTS / 100)), rule.getWaves() - 1);
+    }
+
+    /**
+     * 节点对属性的生效延迟：批次 × 批间隔 + 抖动
+     *
+     * @param node 节点标识
+     * @param attribute 属性名
+     * @param rule 分批生效规则
+     * @return 从发布时间起算的延迟（单位：毫秒）
+     */
+    public static long delayOf(String node, String attribute, RolloutRuleVO rule) {
+        long delay = waveOf(node, attribute, rule) * rule.getWaveIntervalMillis();
+        if (rule.getJitterMillis() > 0) {
+            delay += Long.remainderUnsigned(mix(node, attribute, JITTER_SEED), rule.getJitterMillis());
+        }
+        return delay;
+    }
+
+    private static long mix(String node, String attribute, long seed) {
+        long h = ((long) node.hashCode() << 32) ^ (attribute.hashCode() & 0xFFFFFFFFL) ^ seed;
+        // MurmurHash3 fmix64
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * 匹配属性的分批生效规则
+     *
+     * @param attribute 属性名（不含 system 前缀）
+     * @return 规则；没有规则时返回 null
+     */
+    public RolloutRuleVO getRule(String attribute) {
+        return rules.match(attribute);
+    }
+
+    /**
+     * 提交一条消息的配置变更
+     *
+     * @param attributeVOList 消息中的属性列表
+     * @param apply 到期后生效变更的方式，参数为未被更新变更取代的属性
+     * @return 是否已按分批规则延迟；消息中没有属性匹配规则（或已关闭）时返回 false，由调用方直接生效
+     */
+    public boolean offer(List<AttributeVO> attributeVOList, Consumer<List<AttributeVO>> apply) {
+        if (executor == null) {
+            return false;
+        }
+        String node = properties.getNodeId();
+        long delay = -1L;
+        long publishTime = 0L;
+        Map<String, Integer> waves = new LinkedHashMap<>();
+        for (AttributeVO attributeVO : attributeVOList) {
+            if (attributeVO.getPublishTime() != null) {
+                publishTime = Math.max(publishTime, attributeVO.getPublishTime());
+            }
+            RolloutRuleVO rule = rules.match(attributeVO.getAttribute());
+            if (rule != null) {
+                delay = Math.max(delay, delayOf(node, attributeVO.getAttribute(), rule));
+                waves.put(attributeVO.getAttribute(), waveOf(node, attributeVO.getAttribute(), rule));
+            }
+        }
+        if (delay < 0) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        // 外部发布者未记录发布时间时从收到消息起算；发布时间晚于本机时间（时钟偏差）时不额外等待
+        long anchor = publishTime > 0 ? Math.min(publishTime, now) : now;
+        PendingRollout pending = new PendingRollout(attributeVOList, apply, waves);
+        synchronized (owners) {
+            if (closed) {
+                return false;
+            }
+            for (AttributeVO attributeVO : attributeVOList) {
+                owners.put(attributeVO.getAttribute(), pending);
+            }
+            executor.schedule(() -> fire(pending), Math.max(0L, anchor + delay - now), TimeUnit.MILLISECONDS);
+        }
+        log.info("wrench dcc 配置变更分批生效 attributes: {} waves: {} delay: {}ms", attributeVOList.size(), waves, delay);
+        return true;
+    }
+
+    /**
+     * 属性是否有尚未生效的变更
+     *
+     * @param attribute 属性名（不含 system 前缀）
+     */
+    public boolean isPending(String attribute) {
+        synchronized (owners) {
+            return owners.containsKey(attribute);
+        }
+    }
+
+    private void fire(PendingRollout pending) {
+        List<AttributeVO> current = new ArrayList<>(pending.attributeVOList.size());
+        synchronized (owners) {
+            for (AttributeVO attributeVO : pending.attributeVOList) {
+                // 已被更新变更取代的属性不再生效
+                if (owners.get(attributeVO.getAttribute()) == pending) {
+                    owners.remove(attributeVO.getAttribute());
+                    current.add(attributeVO);
+                }
+            }
+        }
+        if (current.isEmpty()) {
+            return;
+        }
+        try {
+            pending.apply.accept(current);
+        } catch (Exception e) {
+            log.error("wrench dcc 分批生效配置变更失败 attributes: {}", current.size(), e);
+            return;
+        }
+        record(current, pending.waves);
+    }
+
+    private void record(List<AttributeVO> attributeVOList, Map<String, Integer> waves) {
+        long now = System.currentTimeMillis();
+        for (AttributeVO attributeVO : attributeVOList) {
+            Integer wave = waves.get(attributeVO.getAttribute());
+            if (wave == null) {
+                continue;
+            }
+            long version = attributeVO.getSequence() == null ? 0L : attributeVO.getSequence();
+            try {
+                backend.reportRollout(properties.getKey(attributeVO.getAttribute()),
+                        new RolloutRecordVO(properties.getNodeId(), version, wave, now));
+            } catch (Exception e) {
+                log.warn("wrench dcc 记录分批生效进度失败 attribute: {} {}", attributeVO.getAttribute(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 汇总属性最近一次变更的分批生效进度
+     *
+     * @param attribute 属性名（不含 system 前缀）
+     * @return 各批已生效与存活的节点数（失联节点不计入）；属性没有分批生效规则时返回 null
+     */
+    public RolloutProgressVO getProgress(String attribute) {
+        RolloutRuleVO rule = rules.match(attribute);
+        if (rule == null) {
+            return null;
+        }
+        List<RolloutRecordVO> records = backend.readRollout(properties.getKey(attribute));
+        long version = 0L;
+        for (RolloutRecordVO record : records) {
+            version = Math.max(version, record.getVersion());
+        }
+        int[] appliedByWave = new int[rule.getWaves()];
+        for (RolloutRecordVO record : records) {
+            if (record.getVersion() == version) {
+                appliedByWave[Math.min(record.getWave(), appliedByWave.length - 1)]++;
+            }
+        }
+        int[] nodesByWave = new int[rule.getWaves()];
+        long now = System.currentTimeMillis();
+        for (NodeVersionVO nodeVersion : backend.readNodeVersions()) {
+            if (!DynamicConfigCenterNodeReporter.isStale(nodeVersion, properties.getNodeReportIntervalMillis(), now)) {
+                nodesByWave[waveOf(nodeVersion.getNode(), attribute, rule)]++;
+            }
+        }
+        return new RolloutProgressVO(attribute, version, appliedByWave, nodesByWave);
+    }
+
+    /**
+     * 尚未生效的属性数量
+     */
+    public int getPendingCount() {
+        synchronized (owners) {
+            return owners.size();
+        }
+    }
+
+    /**
+     * 停止调度，尚未生效的变更立即生效
+     */
+    @Override
+    public void destroy() {
+        if (executor == null) {
+            return;
+        }
+        Set<PendingRollout> pendings;
+        synchronized (owners) {
+            closed = true;
+            pendings = new LinkedHashSet<>(owners.values());
+        }
+        executor.shutdownNow();
+        for (PendingRollout pending : pendings) {
+            fire(pending);
+        }
+    }
+
+    /**
+     * 等待生效的一条消息
+     */
+    private static class PendingRollout {
+        private final List<AttributeVO> attributeVOList;
+        private final Consumer<List<AttributeVO>> apply;
+        // 匹配规则的属性名 -> 本节点所在批次
+        private final Map<String, Integer> waves;
+
+        private PendingRollout(List<AttributeVO> attributeVOList, Consumer<List<AttributeVO>> apply, Map<String, Integer> waves) {
+            this.attributeVOList = attributeVOList;
+            this.apply = apply;
+            this.waves = waves;
+        }
+    }
+
+}
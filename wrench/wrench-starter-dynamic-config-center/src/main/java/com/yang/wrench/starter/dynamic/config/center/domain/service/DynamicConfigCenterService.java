@@ -1,20 +1,46 @@
 package com.yang.wrench.starter.dynamic.config.center.domain.service;
 
 import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.IDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeBindingVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeListenerVO;
 import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.ConfigSnapshotVO;
+import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCListener;
 import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCValue;
+import com.yang.wrench.starter.dynamic.config.center.types.cache.ConfigCacheFile;
 import com.yang.wrench.starter.dynamic.config.center.types.common.Constant;
+import com.yang.wrench.starter.dynamic.config.center.types.index.DCCValueIndex;
 import org.apache.commons.lang.StringUtils;
-import org.redisson.api.RBucket;
-import org.redisson.api.RedissonClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.DisposableBean;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * Created with IntelliJ IDEA.
@@ -24,27 +50,152 @@ import java.util.concurrent.ConcurrentHashMap;
  * @Description: 动态配置中心服务实现类
  */
 
-public class DynamicConfigCenterService implements IDynamicConfigCenterService{
+public class DynamicConfigCenterService implements IDynamicConfigCenterService, DisposableBean {
+
+    private static final Field[] EMPTY_FIELDS = new Field[0];
+    private static final Method[] EMPTY_METHODS = new Method[0];
+    // 与配置中心对齐失败后的重试间隔
+    private static final long RECONCILE_RETRY_MILLIS = 5000L;
+    // 本地缓存的合并写入延迟：延迟内的多次提交只写一次文件
+    private static final long CACHE_WRITE_DELAY_MILLIS = 100L;
 
     private final Logger log = LoggerFactory.getLogger(DynamicConfigCenterService.class);
 
     private final DynamicConfigCenterAutoProperties properties;
-    private final RedissonClient redissonClient;
-    private final Map<String, Object> dccBeamGroup = new ConcurrentHashMap<>();
+    // 配置存储后端：redis / memory / file
+    private final IDynamicConfigCenterBackend backend;
+    // 配置键 -> 全部(Bean, 字段)绑定，配置推送时一次遍历更新
+    private final AttributeBindingRegistry bindingRegistry = new AttributeBindingRegistry();
+    // 注册过绑定或回调的Bean（按引用），销毁时据此注销
+    private final Set<Object> boundBeans = Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<>()));
+    // 配置键 -> 变更回调，配置值变化后异步、按键有序回调
+    private final AttributeListenerDispatcher listenerDispatcher;
+    // 配置提交监听器，提交线程中同步回调
+    private final List<IDynamicConfigCenterCommitListener> commitListeners = new CopyOnWriteArrayList<>();
+    // 传播延迟与字段写入耗时记录器
+    private volatile IDynamicConfigCenterApplyRecorder applyRecorder = IDynamicConfigCenterApplyRecorder.NOOP;
+    // 编译期生成的@DCCValue索引；为空表示未启用或类路径上无索引，回退为反射扫描
+    private final DCCValueIndex dccValueIndex;
+
+    // Bean后处理阶段收集的待加载配置键及默认值，容器单例初始化完成后统一批量加载
+    private final Map<String, String> pendingAttributes = new LinkedHashMap<>();
+    // 是否已完成启动期的批量加载；之后创建的Bean（懒加载、原型等）按Bean即时加载
+    private boolean loaded = false;
+
+    // 当前配置快照，读取无锁；每次变更整体替换为新版本
+    private final AtomicReference<ConfigSnapshotVO> snapshot;
+    // 串行化配置写入：字段写入与快照版本保持同一顺序
+    private final Object commitLock = new Object();
+    // 配置键 -> 已应用的最大变更序号（变更流模式），由 commitLock 保护
+    private final Map<String, Long> appliedSequences = new HashMap<>();
+    // 提交代数：每次写入加一，由 commitLock 保护
+    private long commitGeneration = 0L;
+    // 配置键 -> 最后一次写入时的提交代数；锁外读取配置中心后据此跳过读取期间已被更新的键
+    private final Map<String, Long> keyGenerations = new HashMap<>();
+
+    // 本地配置缓存；为空表示未启用，启动期同步从配置中心加载
+    private final ConfigCacheFile cacheFile;
+    // 启动时从本地缓存读取的 属性名 -> 配置值
+    private final Map<String, String> cachedValues;
+    // 尚未与配置中心对齐的 配置键 -> 默认值，由对齐线程异步加载
+    private final Map<String, String> unreconciled = new LinkedHashMap<>();
+    private boolean reconcileScheduled = false;
+    // 全部已注册的 配置键 -> 默认值，用于订阅恢复后整体对齐
+    private final Map<String, String> registeredDefaults = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService reconcileExecutor;
+    // 本地缓存写入线程：提交只登记，由该线程合并写入最新快照，不占用提交锁
+    private final ScheduledExecutorService cacheExecutor;
+    private final AtomicBoolean cacheWriteScheduled = new AtomicBoolean(false);
 
-    public DynamicConfigCenterService(DynamicConfigCenterAutoProperties dynamicConfigCenterAutoProperties, RedissonClient redissonClient) {
+    public DynamicConfigCenterService(DynamicConfigCenterAutoProperties dynamicConfigCenterAutoProperties, IDynamicConfigCenterBackend backend) {
         this.properties = dynamicConfigCenterAutoProperties;
-        this.redissonClient = redissonClient;
+        this.backend = backend;
+        this.dccValueIndex = dynamicConfigCenterAutoProperties.isIndexEnabled()
+                ? DCCValueIndex.load(DynamicConfigCenterService.class.getClassLoader())
+                : null;
+        this.snapshot = new AtomicReference<>(ConfigSnapshotVO.empty(dynamicConfigCenterAutoProperties.getSystem()));
+        this.listenerDispatcher = new AttributeListenerDispatcher(dynamicConfigCenterAutoProperties.getListenerThreads(),
+                dynamicConfigCenterAutoProperties.getListenerQueueCapacity(),
+                dynamicConfigCenterAutoProperties.getListenerDebounceMillis());
+        if (dynamicConfigCenterAutoProperties.isCacheEnabled()) {
+            this.cacheFile = new ConfigCacheFile(Paths.get(dynamicConfigCenterAutoProperties.getCacheDir(),
+                    dynamicConfigCenterAutoProperties.getSystem() + ".dcc"));
+            this.cachedValues = cacheFile.read();
+            this.reconcileExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "wrench-dcc-reconcile");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.cacheExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "wrench-dcc-cache");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.cacheFile = null;
+            this.cachedValues = Collections.emptyMap();
+            this.reconcileExecutor = null;
+            this.cacheExecutor = null;
+        }
     }
 
     /**
      * 代理对象方法 - 处理带有@DCCValue注解的字段
      * 1. 支持AOP代理对象的处理
-     * 2. 从配置中心读取配置值并注入字段
-     * 3. 缓存Bean对象用于后续配置更新
+     * 2. 先注入注解默认值，并收集配置键等待批量加载配置中心的值
+     * 3. 注册 (Bean, 字段) 绑定用于后续配置更新
+     * 4. 注册 @DCCListener 方法为配置变更回调
      */
     @Override
     public Object proxyObject(Object bean) {
+        return proxyObject(bean, true);
+    }
+
+    /**
+     * 注入对象方法 - 非单例Bean
+     * 只注入创建时的配置值，不注册绑定与回调，Bean释放后不残留在注册表中
+     */
+    @Override
+    public Object injectObject(Object bean) {
+        return proxyObject(bean, false);
+    }
+
+    /**
+     * 释放对象方法 - 单例Bean销毁时注销其全部绑定与 @DCCListener 回调
+     * 注销会改变绑定下标，与提交在同一把锁内串行
+     */
+    @Override
+    public void releaseObject(Object bean) {
+        Object targetBeanObject = targetOf(bean);
+        if (!boundBeans.remove(targetBeanObject)) {
+            return;
+        }
+        synchronized (commitLock) {
+            bindingRegistry.unregister(targetBeanObject);
+        }
+        listenerDispatcher.unregister(targetBeanObject);
+    }
+
+    @Override
+    public boolean isBound(Object bean) {
+        return boundBeans.contains(targetOf(bean));
+    }
+
+    /**
+     * 处理AOP代理对象，获取目标对象
+     */
+    private Object targetOf(Object bean) {
+        if (AopUtils.isAopProxy(bean)) {
+            Object target = AopProxyUtils.getSingletonTarget(bean);
+            return target == null ? bean : target;
+        }
+        return bean;
+    }
+
+    /**
+     * @param bind 是否注册绑定：单例Bean注册，非单例Bean只注入当前值
+     */
+    private Object proxyObject(Object bean, boolean bind) {
         Class<?> targetBeanClass = bean.getClass();
         Object targetBeanObject = bean;
         // 处理AOP代理对象，获取目标类
@@ -53,8 +204,31 @@ public class DynamicConfigCenterService implements IDynamicConfigCenterService{
             targetBeanObject = AopProxyUtils.getSingletonTarget(bean);
         }
 
-        // 扫描所有字段，查找@DCCValue注解
-        Field[] fields = targetBeanClass.getDeclaredFields();
+        // 注册@DCCListener回调方法（有索引时只取索引中的方法）
+        for (Method method : resolveMethods(targetBeanClass)) {
+            DCCListener dccListener = method.getAnnotation(DCCListener.class);
+            if (dccListener == null) {
+                continue;
+            }
+            if (StringUtils.isBlank(dccListener.value())) {
+                throw new RuntimeException("DCCListener注解的value属性不能为空 " + method);
+            }
+            if (!bind) {
+                // 非单例Bean不注册回调，否则每个实例都会残留一个回调
+                log.debug("wrench dcc 非单例Bean的DCCListener不生效 {}", method);
+                continue;
+            }
+            listenerDispatcher.register(AttributeListenerVO.of(properties.getKey(dccListener.value().trim()), targetBeanObject, method));
+            boundBeans.add(targetBeanObject);
+        }
+
+        // 扫描所有字段，查找@DCCValue注解（有索引时只取索引中的字段）
+        Field[] fields = resolveFields(targetBeanClass);
+        if (fields.length == 0) {
+            return bean;
+        }
+        Map<String, String> beanAttributes = new LinkedHashMap<>();
+        List<AttributeBindingVO> beanBindings = new ArrayList<>();
         for (Field field : fields) {
             if (!field.isAnnotationPresent(DCCValue.class)) {
                 continue;
@@ -65,80 +239,595 @@ public class DynamicConfigCenterService implements IDynamicConfigCenterService{
                 throw new RuntimeException("DCCValue注解的value属性不能为空");
             }
             // 解析注解值格式：attribute:defaultValue
-            // @DCCValue("user:10") → 分割为["user", "10"]
-            String[] split = value.split(Constant.SYMBOL_COLON);
+            // @DCCValue("user:10") → 分割为["user", "10"]，只按首个冒号分割，默认值可为JSON
+            String[] split = value.split(Constant.SYMBOL_COLON, 2);
             // 生成完整的配置键：system:attribute
             String key = properties.getKey(split[0].trim());
 
             // 获取默认值
             String defaultValue = split.length == 2 ? split[1] : null;
-            String setValue = defaultValue;
-
-            try{
-                if (StringUtils.isBlank(defaultValue)){
-                    throw new RuntimeException("DCCValue注解的value属性不能为空");
-                }
+            if (StringUtils.isBlank(defaultValue)){
+                throw new RuntimeException("获取属性值失败 DCCValue注解的默认值不能为空 " + value);
+            }
 
-                // 从Redis配置中心读取配置
-                RBucket<String> bucket = redissonClient.getBucket(key);
-                if (!bucket.isExists()) {
-                    // 配置不存在，使用默认值并保存到配置中心
-                    bucket.set(defaultValue);
-                } else {
-                    // 配置存在，使用配置中心的值
-                    setValue = bucket.get();
-                }
-                // 反射设置字段值
-                field.setAccessible(true);
-                field.set(targetBeanObject, setValue);
-                field.setAccessible(false);
-            } catch (Exception e) {
-                throw new RuntimeException("获取属性值失败" + e);
+            // 注册绑定（预编译字段写入器），并先注入默认值，保证配置中心的值加载前字段可用
+            AttributeBindingVO binding = AttributeBindingVO.of(key, targetBeanObject, field);
+            if (bind) {
+                bindingRegistry.register(binding);
+                boundBeans.add(targetBeanObject);
             }
+            binding.apply(binding.convert(defaultValue));
+            beanBindings.add(binding);
 
-            // 缓存Bean对象，key为配置键，value为Bean实例
-            dccBeamGroup.put(key, targetBeanObject);
+            // 同一配置键被多个字段引用时只加载一次，以首个默认值为准
+            beanAttributes.putIfAbsent(key, defaultValue);
         }
 
+        if (beanAttributes.isEmpty()) {
+            return bean;
+        }
+        if (bind) {
+            registerAttributes(beanAttributes);
+        } else {
+            injectAttributes(beanAttributes, beanBindings);
+        }
         return bean;
     }
 
     /**
-     * 调整属性值方法 - 响应配置变更
-     * 1. 更新配置中心的值
-     * 2. 更新所有相关Bean的字段值
+     * 以当前快照中的值注入非单例Bean的字段
+     * 快照中尚无的配置键单独一次批量往返加载，之后同一配置键的Bean直接取快照
+     *
+     * @param attributes 配置键 -> 默认值
+     * @param beanBindings 未注册的字段绑定
      */
+    private void injectAttributes(Map<String, String> attributes, List<AttributeBindingVO> beanBindings) {
+        Map<String, String> missing = new LinkedHashMap<>();
+        ConfigSnapshotVO current = snapshot.get();
+        attributes.forEach((key, defaultValue) -> {
+            if (current.get(attributeOf(key)) == null) {
+                missing.put(key, defaultValue);
+            }
+        });
+        if (!missing.isEmpty()) {
+            missing.forEach(registeredDefaults::putIfAbsent);
+            loadAttributeValues(missing);
+        }
+        ConfigSnapshotVO loadedSnapshot = snapshot.get();
+        for (AttributeBindingVO binding : beanBindings) {
+            String value = loadedSnapshot.get(attributeOf(binding.getKey()));
+            if (value != null) {
+                binding.apply(binding.convert(value));
+            }
+        }
+    }
+
     @Override
-    public void adjustAttributeValue(AttributeVO attributeVO) {
-        String key = properties.getKey(attributeVO.getAttribute());
-        String value = attributeVO.getValue();
-        // 更新配置中心的值
-        RBucket<String> bucket = redissonClient.getBucket(key);
-        if (!bucket.isExists()){
+    public <T> void bindAttribute(String attribute, String defaultValue, Class<T> type, Consumer<T> consumer) {
+        if (StringUtils.isBlank(attribute) || StringUtils.isBlank(defaultValue)) {
+            throw new RuntimeException("绑定属性失败 属性名与默认值不能为空 " + attribute);
+        }
+        String key = properties.getKey(attribute.trim());
+        AttributeBindingVO binding = AttributeBindingVO.of(key, type, consumer);
+        bindingRegistry.register(binding);
+        binding.apply(binding.convert(defaultValue));
+
+        Map<String, String> attributes = new LinkedHashMap<>(2);
+        attributes.put(key, defaultValue);
+        registerAttributes(attributes);
+    }
+
+    /**
+     * 登记配置键：启动期收集等待批量加载，启动完成后单独一次批量往返加载
+     *
+     * @param attributes 配置键 -> 默认值
+     */
+    private void registerAttributes(Map<String, String> attributes) {
+        attributes.forEach(registeredDefaults::putIfAbsent);
+
+        synchronized (pendingAttributes) {
+            if (!loaded) {
+                attributes.forEach(pendingAttributes::putIfAbsent);
+                return;
+            }
+        }
+
+        // 启动完成后创建的Bean，单独一次批量往返加载
+        loadAttributeValues(attributes);
+    }
+
+    /**
+     * 获取需要检查@DCCValue注解的字段
+     * 类所在的 jar 或目录有编译期索引时按类名O(1)查询，未被索引的类直接跳过；其余类反射扫描
+     */
+    private Field[] resolveFields(Class<?> targetBeanClass) {
+        if (dccValueIndex == null || !dccValueIndex.covers(targetBeanClass)) {
+            return targetBeanClass.getDeclaredFields();
+        }
+        List<String> fieldNames = dccValueIndex.getFieldNames(targetBeanClass);
+        if (fieldNames.isEmpty()) {
+            return EMPTY_FIELDS;
+        }
+        Field[] fields = new Field[fieldNames.size()];
+        for (int i = 0; i < fields.length; i++) {
+            try {
+                fields[i] = targetBeanClass.getDeclaredField(fieldNames.get(i));
+            } catch (NoSuchFieldException e) {
+                // 索引与类不一致（如增量编译残留），回退为反射扫描
+                log.warn("wrench dcc 索引字段不存在 class: {} field: {}", targetBeanClass.getName(), fieldNames.get(i));
+                return targetBeanClass.getDeclaredFields();
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * 获取需要检查@DCCListener注解的方法
+     * 类所在的 jar 或目录有编译期索引时按类名O(1)查询，未被索引的类直接跳过；其余类反射扫描
+     */
+    private Method[] resolveMethods(Class<?> targetBeanClass) {
+        if (dccValueIndex == null || !dccValueIndex.covers(targetBeanClass)) {
+            return targetBeanClass.getDeclaredMethods();
+        }
+        List<String> methodNames = dccValueIndex.getListenerMethodNames(targetBeanClass);
+        if (methodNames.isEmpty()) {
+            return EMPTY_METHODS;
+        }
+        // 方法可能重载，按名称筛选声明的方法
+        return Arrays.stream(targetBeanClass.getDeclaredMethods())
+                .filter(method -> methodNames.contains(method.getName()))
+                .toArray(Method[]::new);
+    }
+
+    @Override
+    public void addCommitListener(IDynamicConfigCenterCommitListener commitListener) {
+        commitListeners.add(commitListener);
+    }
+
+    @Override
+    public void setApplyRecorder(IDynamicConfigCenterApplyRecorder applyRecorder) {
+        this.applyRecorder = applyRecorder == null ? IDynamicConfigCenterApplyRecorder.NOOP : applyRecorder;
+        listenerDispatcher.setRecorder(applyRecorder);
+    }
+
+    @Override
+    public <T> void addListener(String attribute, Class<T> type, IDynamicConfigCenterListener<T> listener) {
+        listenerDispatcher.register(AttributeListenerVO.of(properties.getKey(attribute), type, listener));
+    }
+
+    @Override
+    public <T> void addDiffListener(String attribute, Class<T> type, IDynamicConfigCenterDiffListener<T> listener) {
+        listenerDispatcher.register(AttributeListenerVO.of(properties.getKey(attribute), type, listener));
+    }
+
+    /**
+     * 批量加载配置 - 容器单例初始化完成后调用
+     * 将Bean后处理阶段收集的所有字段一次性从配置中心加载
+     */
+    @Override
+    public void loadAttributeValues() {
+        Map<String, String> attributes;
+        synchronized (pendingAttributes) {
+            attributes = new LinkedHashMap<>(pendingAttributes);
+            pendingAttributes.clear();
+            loaded = true;
+        }
+        if (attributes.isEmpty()) {
+            return;
+        }
+        loadAttributeValues(attributes);
+    }
+
+    /**
+     * 加载并注入字段值
+     * 1. 未启用本地缓存：同步从配置中心批量加载，失败则抛出异常
+     * 2. 启用本地缓存且全部键均有缓存：立即以缓存值注入，再异步与配置中心对齐，启动不依赖配置中心
+     * 3. 启用本地缓存但有键未缓存：先尝试同步加载，配置中心不可用时以缓存值与默认值启动，异步重试
+     *
+     * @param defaultValues 配置键 -> 默认值
+     */
+    private void loadAttributeValues(Map<String, String> defaultValues) {
+        if (cacheFile == null) {
+            fetchAttributeValues(defaultValues);
+            return;
+        }
+        long generation = currentGeneration();
+
+        Map<String, String> cached = new LinkedHashMap<>(defaultValues.size() * 2);
+        for (String key : defaultValues.keySet()) {
+            String value = cachedValues.get(attributeOf(key));
+            if (value != null) {
+                cached.put(key, value);
+            }
+        }
+        if (cached.size() == defaultValues.size() && commitCached(cached, generation)) {
+            log.info("wrench dcc 使用本地缓存加载配置 keys: {}，异步与配置中心对齐", cached.size());
+            reconcileAsync(defaultValues);
+            return;
+        }
+
+        try {
+            fetchAttributeValues(defaultValues);
+        } catch (Exception e) {
+            log.warn("wrench dcc 从配置中心加载配置失败，使用本地缓存({})与默认值启动，稍后重试", cached.size(), e);
+            if (!cached.isEmpty()) {
+                commitCached(cached, generation);
+            }
+            reconcileAsync(defaultValues);
+        }
+    }
+
+    /**
+     * 注入本地缓存值；缓存值与当前字段类型不兼容（如字段类型已变更）时放弃缓存
+     */
+    private boolean commitCached(Map<String, String> cached, long generation) {
+        try {
+            commit(cached, generation);
+            return true;
+        } catch (Exception e) {
+            log.warn("wrench dcc 本地缓存值无法注入，忽略缓存 {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 与配置中心重新对齐全部已注册的配置键
+     * 启用本地缓存时异步执行，失败自动重试
+     */
+    @Override
+    public void reconcileAttributeValues() {
+        for (IDynamicConfigCenterCommitListener commitListener : commitListeners) {
+            commitListener.onReconcile();
+        }
+        Map<String, String> defaultValues = new LinkedHashMap<>(registeredDefaults);
+        if (defaultValues.isEmpty()) {
+            return;
+        }
+        if (reconcileExecutor == null) {
+            fetchAttributeValues(defaultValues);
             return;
         }
-        bucket.set(value);
+        reconcileAsync(defaultValues);
+    }
+
+    /**
+     * 重新读取指定配置键，只提交值与当前快照不同的键
+     * 只读查询，不回写默认值；配置中心已不存在的键、读取期间已被变更更新的键保持不变
+     */
+    @Override
+    public int refreshAttributeValues(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        // 读取在锁外进行，读取期间已被变更更新的键保留更新后的值
+        long generation = currentGeneration();
+        Map<String, String> values = new LinkedHashMap<>(backend.read(keys));
+        synchronized (commitLock) {
+            ConfigSnapshotVO current = snapshot.get();
+            values.entrySet().removeIf(entry -> entry.getValue().equals(current.get(attributeOf(entry.getKey())))
+                    || keyGenerations.getOrDefault(entry.getKey(), 0L) > generation);
+            if (values.isEmpty()) {
+                return 0;
+            }
+            write(values, convert(values), Collections.emptyMap(), Collections.emptyMap());
+        }
+        return values.size();
+    }
 
-        // 获取使用该配置的Bean对象
-        Object objectBean = dccBeamGroup.get(key);
-        if (objectBean == null){
+    /**
+     * 登记待对齐的配置键，由对齐线程异步从配置中心加载
+     */
+    private void reconcileAsync(Map<String, String> defaultValues) {
+        synchronized (unreconciled) {
+            defaultValues.forEach(unreconciled::putIfAbsent);
+            if (!reconcileScheduled) {
+                reconcileScheduled = true;
+                reconcileExecutor.execute(this::reconcile);
+            }
+        }
+    }
+
+    /**
+     * 与配置中心对齐：批量加载全部待对齐的配置键，失败则延迟重试，直到成功
+     */
+    private void reconcile() {
+        Map<String, String> attributes;
+        synchronized (unreconciled) {
+            attributes = new LinkedHashMap<>(unreconciled);
+        }
+        try {
+            fetchAttributeValues(attributes);
+        } catch (Exception e) {
+            log.warn("wrench dcc 与配置中心对齐配置失败 keys: {}，{}ms后重试 {}", attributes.size(), RECONCILE_RETRY_MILLIS, e.getMessage());
+            reconcileExecutor.schedule(this::reconcile, RECONCILE_RETRY_MILLIS, TimeUnit.MILLISECONDS);
             return;
         }
-        Class<?> objectBeanClass = objectBean.getClass();
+        synchronized (unreconciled) {
+            attributes.keySet().forEach(unreconciled::remove);
+            if (unreconciled.isEmpty()) {
+                reconcileScheduled = false;
+                return;
+            }
+        }
+        reconcileExecutor.execute(this::reconcile);
+    }
 
-        // 处理AOP代理对象
-        if (AopUtils.isAopProxy(objectBean)){
-            objectBeanClass = AopUtils.getTargetClass(objectBean);
+    /**
+     * 从配置中心批量加载并注入字段值
+     * Redis后端在一次管道往返内完成默认值回写与读取
+     *
+     * @param defaultValues 配置键 -> 默认值
+     */
+    private void fetchAttributeValues(Map<String, String> defaultValues) {
+        long startMillis = System.currentTimeMillis();
+
+        // 读取在锁外进行，期间到达的变更可能先提交，记录读取前的提交代数
+        long generation = currentGeneration();
+        Map<String, String> values;
+        try {
+            values = new LinkedHashMap<>(backend.load(defaultValues));
+        } catch (Exception e) {
+            throw new RuntimeException("批量获取属性值失败" + e);
         }
 
+        // 写入该配置键的全部绑定，并作为一个快照版本生效；读取期间已被更新的键保留更新后的值
+        int fieldCount = commit(values, generation);
+
+        log.info("wrench dcc 批量加载配置完成 keys: {} fields: {} cost: {}ms",
+                values.size(), fieldCount, System.currentTimeMillis() - startMillis);
+    }
+
+    /**
+     * 调整属性值方法 - 响应配置变更
+     * 作为只含一个键的事务处理，见 adjustAttributeValues
+     */
+    @Override
+    public void adjustAttributeValue(AttributeVO attributeVO) {
+        adjustAttributeValues(Collections.singletonList(attributeVO));
+    }
+
+    /**
+     * 批量调整属性值方法 - 响应事务发布
+     * 1. 先按字段类型转换全部配置值，任一失败则整体放弃，配置中心与字段均不变
+     * 2. 原子更新配置中心中的键（Redis后端为一次Lua脚本）：全部键都已存在才整体更新，
+     *    否则多键事务抛出异常整体放弃，只含一个不存在的键时忽略；
+     *    带序号的变更已由发布方随序号原子写入配置中心，不再回写，避免晚到的旧变更覆盖新值
+     * 3. 写入全部相关Bean字段，并替换为一个新的快照版本
+     */
+    @Override
+    public void adjustAttributeValues(List<AttributeVO> attributeVOList) {
+        synchronized (commitLock) {
+            Map<String, Long> sequences = new HashMap<>();
+            Map<String, Long> publishTimes = new HashMap<>();
+            Map<String, String> values = accept(attributeVOList, sequences, publishTimes);
+            if (values.isEmpty()) {
+                return;
+            }
+            Map<String, Object[]> converted = convert(values);
+
+            // 更新配置中心中不带序号（外部发布者）的值，全部键都已存在时整体更新
+            Map<String, String> unpersisted = new LinkedHashMap<>(values);
+            unpersisted.keySet().removeAll(sequences.keySet());
+            if (!unpersisted.isEmpty()) {
+                Set<String> updated;
+                try {
+                    updated = backend.setIfExists(unpersisted);
+                } catch (Exception e) {
+                    throw new RuntimeException("更新属性值失败" + e);
+                }
+                if (updated.isEmpty()) {
+                    if (values.size() > 1) {
+                        throw new RuntimeException("事务中有配置键不存在，整体放弃 keys: " + unpersisted.keySet());
+                    }
+                    return;
+                }
+            }
+
+            sequences.keySet().retainAll(values.keySet());
+            write(values, converted, sequences, publishTimes);
+            appliedSequences.putAll(sequences);
+        }
+    }
+
+    /**
+     * 应用属性值方法 - 响应变更流
+     * 变更流的发布方已原子更新配置中心，这里只转换并写入本地字段与快照；序号不大于已应用序号的变更直接丢弃
+     */
+    @Override
+    public void applyAttributeValues(List<AttributeVO> attributeVOList) {
+        synchronized (commitLock) {
+            Map<String, Long> sequences = new HashMap<>();
+            Map<String, Long> publishTimes = new HashMap<>();
+            Map<String, String> values = accept(attributeVOList, sequences, publishTimes);
+            if (values.isEmpty()) {
+                return;
+            }
+            write(values, convert(values), sequences, publishTimes);
+            appliedSequences.putAll(sequences);
+        }
+    }
+
+    /**
+     * 过滤重复或过期的变更，调用方需持有 commitLock
+     *
+     * @param attributeVOList 属性值对象列表
+     * @param sequences 输出：配置键 -> 本次变更的序号
+     * @param publishTimes 输出：配置键 -> 发布时间
+     * @return 配置键 -> 配置值；同一属性以最后一个为准
+     */
+    private Map<String, String> accept(List<AttributeVO> attributeVOList, Map<String, Long> sequences, Map<String, Long> publishTimes) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (AttributeVO attributeVO : attributeVOList) {
+            String key = properties.getKey(attributeVO.getAttribute());
+            Long sequence = attributeVO.getSequence();
+            if (sequence != null) {
+                Long applied = appliedSequences.get(key);
+                if (applied != null && sequence <= applied) {
+                    log.debug("wrench dcc 丢弃过期配置变更 key: {} sequence: {} applied: {}", key, sequence, applied);
+                    continue;
+                }
+                sequences.put(key, sequence);
+            }
+            if (attributeVO.getPublishTime() != null) {
+                publishTimes.put(key, attributeVO.getPublishTime());
+            }
+            values.put(key, attributeVO.getValue());
+        }
+        return values;
+    }
+
+    @Override
+    public ConfigSnapshotVO getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * 当前提交代数，在锁外读取配置中心之前记录
+     */
+    private long currentGeneration() {
+        synchronized (commitLock) {
+            return commitGeneration;
+        }
+    }
+
+    /**
+     * 转换、写入并生成新快照
+     * 值在锁外读取，读取期间（提交代数 generation 之后）已被变更更新的键不再覆盖，避免以旧值覆盖新值
+     *
+     * @param values 配置键 -> 配置值，跳过的键会被移除
+     * @param generation 读取配置中心之前的提交代数
+     * @return 写入的字段数量
+     */
+    private int commit(Map<String, String> values, long generation) {
+        synchronized (commitLock) {
+            values.keySet().removeIf(key -> keyGenerations.getOrDefault(key, 0L) > generation);
+            if (values.isEmpty()) {
+                return 0;
+            }
+            return write(values, convert(values), Collections.emptyMap(), Collections.emptyMap());
+        }
+    }
+
+    /**
+     * 按字段类型转换全部配置值，不写入字段
+     */
+    private Map<String, Object[]> convert(Map<String, String> values) {
+        Map<String, Object[]> converted = new LinkedHashMap<>(values.size() * 2);
         try {
-            // 通过反射更新字段值
-            Field field = objectBeanClass.getDeclaredField(attributeVO.getAttribute());
-            field.setAccessible(true);
-            field.set(objectBean, value);
-            field.setAccessible(false);
-        } catch(Exception e){
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                converted.put(entry.getKey(), bindingRegistry.convert(entry.getKey(), entry.getValue()));
+            }
+        } catch (Exception e) {
             throw new RuntimeException("刷新属性值失败" + e);
         }
+        return converted;
+    }
+
+    /**
+     * 写入全部字段并替换快照，调用方需持有 commitLock
+     *
+     * @param sequences 配置键 -> 变更序号，来自发布时携带
+     * @param publishTimes 配置键 -> 发布时间，来自发布时携带
+     */
+    private int write(Map<String, String> values, Map<String, Object[]> converted,
+                      Map<String, Long> sequences, Map<String, Long> publishTimes) {
+        long generation = ++commitGeneration;
+        for (String key : values.keySet()) {
+            keyGenerations.put(key, generation);
+        }
+        long startNanos = System.nanoTime();
+        int fieldCount = 0;
+        for (Map.Entry<String, Object[]> entry : converted.entrySet()) {
+            bindingRegistry.write(entry.getKey(), entry.getValue());
+            fieldCount += entry.getValue().length;
+        }
+        IDynamicConfigCenterApplyRecorder recorder = applyRecorder;
+        if (fieldCount > 0) {
+            recorder.recordSet(System.nanoTime() - startNanos);
+        }
+
+        Map<String, String> changes = new LinkedHashMap<>(values.size() * 2);
+        values.forEach((key, value) -> changes.put(attributeOf(key), value));
+        ConfigSnapshotVO previous = snapshot.get();
+        ConfigSnapshotVO next = previous.next(changes);
+        snapshot.set(next);
+
+        // 登记变更回调：首次加载（快照中尚无该属性）不回调，值未变化不回调
+        for (Map.Entry<String, String> entry : changes.entrySet()) {
+            String oldValue = previous.get(entry.getKey());
+            if (oldValue != null && !oldValue.equals(entry.getValue())) {
+                listenerDispatcher.dispatch(properties.getKey(entry.getKey()), oldValue, entry.getValue());
+            }
+        }
+
+        // 传播延迟：发布时间到字段与快照生效，同一次发布只记录一次
+        if (!publishTimes.isEmpty()) {
+            long now = System.currentTimeMillis();
+            for (Long publishTime : new HashSet<>(publishTimes.values())) {
+                recorder.recordLag(Math.max(0L, now - publishTime));
+            }
+        }
+
+        // 通知提交监听器：包含未绑定字段的配置键
+        if (!commitListeners.isEmpty()) {
+            List<AttributeVO> committed = new ArrayList<>(values.size());
+            values.forEach((key, value) -> committed.add(new AttributeVO(attributeOf(key), value, sequences.get(key), publishTimes.get(key))));
+            for (IDynamicConfigCenterCommitListener commitListener : commitListeners) {
+                try {
+                    commitListener.onCommit(committed);
+                } catch (Exception e) {
+                    log.error("wrench dcc 配置提交回调失败 attributes: {}", committed.size(), e);
+                }
+            }
+        }
+
+        // 持久化为本地缓存：只登记，由缓存线程合并写入
+        if (cacheFile != null && cacheWriteScheduled.compareAndSet(false, true)) {
+            try {
+                cacheExecutor.schedule(this::writeCache, CACHE_WRITE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // 已关闭，由 destroy 写出最后的快照
+            }
+        }
+        return fieldCount;
+    }
+
+    /**
+     * 将最新快照写入本地缓存，保留尚未被本进程加载的缓存键
+     * 先清除登记再读取快照，写入期间的新提交会再登记一次，不会丢失
+     */
+    private void writeCache() {
+        cacheWriteScheduled.set(false);
+        ConfigSnapshotVO current = snapshot.get();
+        Map<String, String> cacheValues = new LinkedHashMap<>(cachedValues);
+        cacheValues.putAll(current.getValues());
+        cacheFile.write(cacheValues, current.getVersion());
+    }
+
+    /**
+     * 配置键 -> 属性名（去掉 system 前缀）
+     */
+    private String attributeOf(String key) {
+        return key.substring(properties.getKey("").length());
+    }
+
+    @Override
+    public void destroy() {
+        listenerDispatcher.shutdown();
+        if (reconcileExecutor != null) {
+            reconcileExecutor.shutdownNow();
+        }
+        if (cacheExecutor != null) {
+            // 已登记的延迟写入在关闭后仍会执行，等待其完成；关闭后才提交的变更在这里写出
+            cacheExecutor.shutdown();
+            try {
+                cacheExecutor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (cacheWriteScheduled.get()) {
+                writeCache();
+            }
+        }
     }
-}
\ No newline at end of file
+}
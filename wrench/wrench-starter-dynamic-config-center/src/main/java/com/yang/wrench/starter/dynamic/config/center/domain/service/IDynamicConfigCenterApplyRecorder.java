@@ -0,0 +1,46 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.service;
+
+/**
+ * 配置应用耗时记录器
+ *
+ * 功能说明：
+ * 1. 配置中心服务在配置生效的各阶段回调，由指标组件（见 DynamicConfigCenterApplyMetrics）写入直方图
+ * 2. 传播延迟：发布时间到本节点生效的耗时，发布方与本节点的时钟偏差会计入其中
+ * 3. 字段写入耗时：一次提交内全部 @DCCValue 字段与绑定回调的写入耗时
+ * 4. 回调耗时：单个 @DCCListener 回调的执行耗时
+ *
+ * 回调在提交线程或回调线程中同步执行，实现应快速返回。
+ *
+ * @Author: yang
+ * @Description: 配置应用各阶段耗时的记录扩展点
+ */
+public interface IDynamicConfigCenterApplyRecorder {
+
+    IDynamicConfigCenterApplyRecorder NOOP = new IDynamicConfigCenterApplyRecorder() {
+    };
+
+    /**
+     * 记录传播延迟
+     *
+     * @param millis 发布到本节点生效的耗时（毫秒）
+     */
+    default void recordLag(long millis) {
+    }
+
+    /**
+     * 记录字段写入耗时
+     *
+     * @param nanos 一次提交的字段写入耗时（纳秒）
+     */
+    default void recordSet(long nanos) {
+    }
+
+    /**
+     * 记录回调耗时
+     *
+     * @param nanos 单个回调的执行耗时（纳秒）
+     */
+    default void recordListener(long nanos) {
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.service;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+
+import java.util.List;
+
+/**
+ * 配置提交监听器
+ *
+ * 功能说明：
+ * 1. 每次配置写入本地（加载、推送、变更流）并生成新快照后，在提交线程中同步回调
+ * 2. 包含本次提交的全部属性，不区分是否有 @DCCValue 绑定，供本地缓存（如 DynamicConfigCenterClient）失效使用
+ *
+ * 回调持有提交锁，应快速返回，不能再调用配置中心服务的写入方法。
+ *
+ * @Author: yang
+ * @Description: 配置提交的同步通知
+ */
+public interface IDynamicConfigCenterCommitListener {
+
+    /**
+     * 配置已提交
+     *
+     * @param attributeVOList 本次提交的属性（属性名不含 system 前缀）；来自发布时携带变更序号与发布时间，来自加载时为 null
+     */
+    void onCommit(List<AttributeVO> attributeVOList);
+
+    /**
+     * 开始与配置中心整体对齐
+     * 订阅中断恢复等情况下，期间错过的变更不会逐条回调
+     */
+    default void onReconcile() {
+    }
+
+}
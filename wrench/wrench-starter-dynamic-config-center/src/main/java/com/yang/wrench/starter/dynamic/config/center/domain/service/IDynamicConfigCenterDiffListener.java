@@ -0,0 +1,25 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.service;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.ConfigDiffVO;
+
+/**
+ * 带结构化差异的配置变更回调
+ * 通过 IDynamicConfigCenterService#addDiffListener 以编程方式注册，语义与末尾带 ConfigDiffVO 参数的 @DCCListener 方法一致
+ *
+ * @param <T> 配置值类型
+ * @Author: yang
+ * @Description: 配置值变化时以旧值、新值与变化的子路径回调
+ */
+@FunctionalInterface
+public interface IDynamicConfigCenterDiffListener<T> {
+
+    /**
+     * 配置变更
+     *
+     * @param oldValue 变更前的值
+     * @param newValue 变更后的值
+     * @param diff 变化的子路径
+     */
+    void onChange(T oldValue, T newValue, ConfigDiffVO diff);
+
+}
@@ -0,0 +1,22 @@
+package com.yang.wrench.starter.dynamic.config.center.domain.service;
+
+/**
+ * 配置变更回调
+ * 通过 IDynamicConfigCenterService#addListener 以编程方式注册，语义与 @DCCListener 方法一致
+ *
+ * @param <T> 配置值类型
+ * @Author: yang
+ * @Description: 配置值变化时以旧值、新值回调
+ */
+@FunctionalInterface
+public interface IDynamicConfigCenterListener<T> {
+
+    /**
+     * 配置变更
+     *
+     * @param oldValue 变更前的值
+     * @param newValue 变更后的值
+     */
+    void onChange(T oldValue, T newValue);
+
+}
@@ -1,6 +1,11 @@
 package com.yang.wrench.starter.dynamic.config.center.domain.service;
 
 import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.ConfigSnapshotVO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 动态配置中心服务接口
@@ -13,6 +18,8 @@ import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.Attribu
  * 核心功能：
  * - Bean代理：对Spring Bean进行包装，使其具备动态配置能力
  * - 配置调整：接收配置变更通知并更新对应的Bean字段值
+ * - 配置快照：提供带版本号的不可变配置视图，多键变更整体生效
+ * - 变更回调：@DCCListener 方法或 addListener 注册的回调在配置值变化时异步执行
  *
  * @Author: yang
  * @Date: 2025/09/20/15:20
@@ -29,12 +36,60 @@ public interface IDynamicConfigCenterService {
      *
      * 工作原理：
      * 1. 扫描Bean中所有带有@DCCValue注解的字段
-     * 2. 根据注解配置从配置中心获取初始值
+     * 2. 先注入注解默认值，并收集字段等待批量加载（见 loadAttributeValues）
      * 3. 创建代理对象，拦截字段访问和配置更新
-     * 4. 注册配置变更监听器
+     * 4. 注册带有@DCCListener注解的方法为配置变更回调
      */
     Object proxyObject(Object bean);
 
+    /**
+     * 注入对象方法
+     * 用于非单例Bean（原型、请求等作用域）：以创建时的配置值注入 @DCCValue 字段，不注册绑定，之后的变更不再写入该Bean；@DCCListener 方法不生效。
+     * 需要随配置变更更新的值应放在单例Bean中，或通过 bindAttribute / IDynamicConfigCenterClient 读取。
+     *
+     * @param bean 非单例Bean
+     * @return 原Bean
+     */
+    Object injectObject(Object bean);
+
+    /**
+     * 释放对象方法
+     * 单例Bean销毁时注销 proxyObject 为其注册的全部绑定与回调
+     *
+     * @param bean 即将销毁的Bean
+     */
+    void releaseObject(Object bean);
+
+    /**
+     * 是否为该Bean注册过绑定或回调，用于判断销毁时是否需要释放
+     */
+    boolean isBound(Object bean);
+
+    /**
+     * 批量加载配置方法
+     * 在容器单例初始化完成后调用，将 proxyObject 收集到的全部配置键通过一次管道往返从配置中心加载：
+     * 不存在的键以 SET NX 回写默认值，再读取最终值注入字段。
+     * 启用本地配置缓存时，已缓存的键先以缓存值注入，再异步与配置中心对齐，配置中心不可用不影响启动。
+     * 调用之后再被代理的Bean（懒加载单例等）在 proxyObject 中即时加载。
+     */
+    void loadAttributeValues();
+
+    /**
+     * 重新对齐配置方法
+     * 从配置中心重新加载全部已注册的配置键，用于订阅中断恢复后补齐期间错过的变更。
+     * 启用本地配置缓存时异步执行，失败自动重试。
+     */
+    void reconcileAttributeValues();
+
+    /**
+     * 重新读取指定配置键
+     * 只读查询配置中心，值与当前快照不同的键作为一次提交生效，用于摘要比对发现的个别过期配置
+     *
+     * @param keys 配置键（含 system 前缀）
+     * @return 实际更新的配置键数量
+     */
+    int refreshAttributeValues(Collection<String> keys);
+
     /**
      * 调整属性值方法
      * 处理配置变更消息，更新对应的Bean字段值
@@ -47,4 +102,77 @@ public interface IDynamicConfigCenterService {
      */
     void adjustAttributeValue(AttributeVO attributeVO);
 
-}
\ No newline at end of file
+    /**
+     * 批量调整属性值方法
+     * 处理事务发布的多个配置变更：全部转换成功后一次性写入，并作为一个快照版本生效
+     *
+     * @param attributeVOList 属性值对象列表
+     */
+    void adjustAttributeValues(List<AttributeVO> attributeVOList);
+
+    /**
+     * 应用属性值方法
+     * 处理变更流中的配置变更：发布方已原子更新配置中心，只更新本地字段与快照；
+     * 带序号的变更按属性丢弃重复或过期的消息
+     *
+     * @param attributeVOList 属性值对象列表
+     */
+    void applyAttributeValues(List<AttributeVO> attributeVOList);
+
+    /**
+     * 获取当前配置快照
+     * 无锁读取；同一快照内的多个配置属于同一版本，不会读到只生效一部分的变更
+     *
+     * @return 当前system的配置快照
+     */
+    ConfigSnapshotVO getSnapshot();
+
+    /**
+     * 注册配置变更回调
+     * 配置值相对当前生效值发生变化时，在回调线程池中以旧值、新值调用；同一配置键的回调串行执行
+     *
+     * @param attribute 属性名（不含 system 前缀）
+     * @param type 配置值类型
+     * @param listener 回调
+     */
+    <T> void addListener(String attribute, Class<T> type, IDynamicConfigCenterListener<T> listener);
+
+    /**
+     * 注册带结构化差异的配置变更回调
+     * 语义与 addListener 一致，额外以本次变更的子路径差异回调，用于只处理变化部分的大型结构化配置
+     *
+     * @param attribute 属性名（不含 system 前缀）
+     * @param type 配置值类型
+     * @param listener 差异回调
+     */
+    <T> void addDiffListener(String attribute, Class<T> type, IDynamicConfigCenterDiffListener<T> listener);
+
+    /**
+     * 编程方式绑定配置
+     * 与 @DCCValue 字段等价：先以默认值调用回调，随容器启动批量加载（启动后调用则即时加载），之后每次变更同步回调。
+     * 适用于配置键在运行期才确定的组件（如按名称注册的动态线程池）
+     *
+     * @param attribute 属性名（不含 system 前缀）
+     * @param defaultValue 默认值
+     * @param type 配置值类型
+     * @param consumer 写入回调，在配置提交线程中调用，应快速返回
+     */
+    <T> void bindAttribute(String attribute, String defaultValue, Class<T> type, Consumer<T> consumer);
+
+    /**
+     * 注册配置提交监听器
+     * 每次配置写入本地并生成新快照后在提交线程中同步回调，包含没有字段绑定的配置键
+     *
+     * @param commitListener 提交监听器
+     */
+    void addCommitListener(IDynamicConfigCenterCommitListener commitListener);
+
+    /**
+     * 设置配置应用耗时记录器
+     * 记录传播延迟、字段写入耗时与 @DCCListener 回调耗时，见 IDynamicConfigCenterApplyRecorder
+     *
+     * @param applyRecorder 记录器；为 null 时不记录
+     */
+    void setApplyRecorder(IDynamicConfigCenterApplyRecorder applyRecorder);
+
+}
@@ -0,0 +1,29 @@
+package com.yang.wrench.starter.dynamic.config.center.listener;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.IDynamicConfigCenterBackendListener;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeBatchVO;
+import org.redisson.api.listener.MessageListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class DynamicConfigCenterAdjustBatchListener implements MessageListener<AttributeBatchVO> {
+
+    private final Logger log = LoggerFactory.getLogger(DynamicConfigCenterAdjustBatchListener.class);
+
+    private final IDynamicConfigCenterBackendListener listener;
+
+    public DynamicConfigCenterAdjustBatchListener(IDynamicConfigCenterBackendListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void onMessage(CharSequence charSequence, AttributeBatchVO attributeBatchVO) {
+        try {
+            log.info("wrench dcc config batch attributes:{}", attributeBatchVO.getAttributes().size());
+            listener.onChange(attributeBatchVO.getAttributes(), false);
+        } catch (Exception e) {
+            log.error("wrench dcc config batch attributes:{}", attributeBatchVO.getAttributes().size(), e);
+        }
+    }
+
+}
@@ -0,0 +1,241 @@
+package com.yang.wrench.starter.dynamic.config.center.listener;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.IDynamicConfigCenterBackendListener;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.DebounceRuleVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.AttributeDebouncer;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterNodeReporter;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterRollout;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.IDynamicConfigCenterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 配置变更合并器
+ *
+ * 功能说明：
+ * 1. 单个配置消息与事务发布消息都先进入合并窗口，窗口内同一属性只保留最后一个值
+ * 2. 窗口结束后一次性调用 adjustAttributeValues：一次类型转换、一次Redis原子批次、一个快照版本
+ * 3. 合并后的变更整体失败（如某个值无法转换、某条消息中有不存在的配置键）时，退回按原消息逐条应用，
+ *    避免一条坏消息拖累其他变更；每条消息仍整体生效或整体放弃，不会只应用其中一部分属性
+ * 4. 作为存储后端的订阅方：后端已持久化的变更（变更流、内存、文件后端）直接应用到本地，不再回写配置中心
+ * 5. 按属性配置生效防抖（wrench.config.apply-debounce）：频繁切换的单个配置先暂存，静默窗口后只应用最终值，
+ *    可设置最小生效间隔，避免线程池调整等代价高的下游重建反复执行；多键事务消息不防抖，并取代其中属性暂存的旧值
+ * 6. 按属性配置分批生效（wrench.config.rollout）：防抖后的变更交给 DynamicConfigCenterRollout，
+ *    按本节点所在批次与抖动延迟生效，集群内错峰执行
+ * 7. 收到的每条消息先通知节点版本上报（DynamicConfigCenterNodeReporter），按序号判断本节点是否错过了变更
+ *
+ * 整体对齐与摘要对齐直接读取配置中心的最新值，不经过防抖与分批。
+ *
+ * 批量发布（如一次下发几百个配置）时，节点不再逐条访问Redis、逐条写字段。
+ * 合并窗口为0时不合并，收到消息立即应用。
+ *
+ * @Author: yang
+ * @Description: 配置变更消息的窗口合并与批量应用
+ */
+public class DynamicConfigCenterAdjustCoalescer implements IDynamicConfigCenterBackendListener, DisposableBean {
+
+    private final Logger log = LoggerFactory.getLogger(DynamicConfigCenterAdjustCoalescer.class);
+
+    private final IDynamicConfigCenterService dynamicConfigCenterService;
+    private final long windowMillis;
+    private final ScheduledExecutorService executor;
+    // 生效防抖；为空表示没有防抖规则
+    private final AttributeDebouncer<DebouncedChange> debouncer;
+    // 分批生效；为空表示不分批
+    private final DynamicConfigCenterRollout rollout;
+    // 节点版本上报；为空表示不上报
+    private volatile DynamicConfigCenterNodeReporter nodeReporter;
+
+    // 窗口内收到的消息，每条消息保持原有的属性列表
+    private final List<List<AttributeVO>> pending = new ArrayList<>();
+    private boolean scheduled = false;
+
+    public DynamicConfigCenterAdjustCoalescer(IDynamicConfigCenterService dynamicConfigCenterService, long windowMillis) {
+        this(dynamicConfigCenterService, windowMillis, Collections.emptyMap());
+    }
+
+    /**
+     * @param dynamicConfigCenterService 配置中心服务
+     * @param windowMillis 合并窗口
+     * @param debounceRules 属性名（或以 * 结尾的前缀） -> 生效防抖规则
+     */
+    public DynamicConfigCenterAdjustCoalescer(IDynamicConfigCenterService dynamicConfigCenterService, long windowMillis,
+                                              Map<String, DebounceRuleVO> debounceRules) {
+        this(dynamicConfigCenterService, windowMillis, debounceRules, null);
+    }
+
+    /**
+     * @param dynamicConfigCenterService 配置中心服务
+     * @param windowMillis 合并窗口
+     * @param debounceRules 属性名（或以 * 结尾的前缀） -> 生效防抖规则
+     * @param rollout 分批生效，可为空
+     */
+    public DynamicConfigCenterAdjustCoalescer(IDynamicConfigCenterService dynamicConfigCenterService, long windowMillis,
+                                              Map<String, DebounceRuleVO> debounceRules, DynamicConfigCenterRollout rollout) {
+        this.dynamicConfigCenterService = dynamicConfigCenterService;
+        this.rollout = rollout;
+        this.debouncer = debounceRules.isEmpty() ? null
+                : new AttributeDebouncer<>("wrench-dcc-apply-debounce", debounceRules, change -> route(List.of(change.attributeVO), change.persisted));
+        this.windowMillis = windowMillis;
+        this.executor = windowMillis > 0 ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wrench-dcc-coalesce");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    @Override
+    public void onChange(List<AttributeVO> attributeVOList, boolean persisted) {
+        DynamicConfigCenterNodeReporter reporter = nodeReporter;
+        if (reporter != null) {
+            reporter.onReceive(attributeVOList);
+        }
+        if (debouncer != null) {
+            if (attributeVOList.size() == 1
+                    && debouncer.offer(attributeVOList.get(0).getAttribute(), new DebouncedChange(attributeVOList.get(0), persisted))) {
+                return;
+            }
+            for (AttributeVO attributeVO : attributeVOList) {
+                debouncer.supersede(attributeVO.getAttribute());
+            }
+        }
+        route(attributeVOList, persisted);
+    }
+
+    private void route(List<AttributeVO> attributeVOList, boolean persisted) {
+        if (rollout != null && rollout.offer(attributeVOList, current -> deliver(current, persisted))) {
+            return;
+        }
+        deliver(attributeVOList, persisted);
+    }
+
+    private void deliver(List<AttributeVO> attributeVOList, boolean persisted) {
+        if (!persisted) {
+            submit(attributeVOList);
+            return;
+        }
+        try {
+            dynamicConfigCenterService.applyAttributeValues(attributeVOList);
+        } catch (Exception e) {
+            // 一条消息整体生效或整体放弃（如某个值无法转换），不只应用其中一部分属性
+            log.error("wrench dcc 应用配置变更失败，整体放弃 attributes: {}", attributeVOList.size(), e);
+        }
+    }
+
+    @Override
+    public void onResync() {
+        dynamicConfigCenterService.reconcileAttributeValues();
+    }
+
+    /**
+     * 提交一条消息的配置变更
+     *
+     * @param attributeVOList 消息中的属性列表
+     */
+    public void submit(List<AttributeVO> attributeVOList) {
+        if (executor == null) {
+            dynamicConfigCenterService.adjustAttributeValues(attributeVOList);
+            return;
+        }
+        synchronized (pending) {
+            pending.add(attributeVOList);
+            if (!scheduled) {
+                scheduled = true;
+                executor.schedule(this::drain, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * 应用窗口内的全部变更
+     */
+    private void drain() {
+        List<List<AttributeVO>> messages;
+        synchronized (pending) {
+            messages = new ArrayList<>(pending);
+            pending.clear();
+            scheduled = false;
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        // 同一属性只保留最后一个值，顺序按最后一次出现的位置
+        Map<String, AttributeVO> latest = new LinkedHashMap<>();
+        int total = 0;
+        for (List<AttributeVO> message : messages) {
+            for (AttributeVO attributeVO : message) {
+                latest.remove(attributeVO.getAttribute());
+                latest.put(attributeVO.getAttribute(), attributeVO);
+                total++;
+            }
+        }
+
+        try {
+            dynamicConfigCenterService.adjustAttributeValues(new ArrayList<>(latest.values()));
+            log.info("wrench dcc 合并应用配置变更 messages: {} attributes: {} applied: {}", messages.size(), total, latest.size());
+        } catch (Exception e) {
+            log.warn("wrench dcc 合并应用配置变更失败，按消息逐条应用 messages: {} {}", messages.size(), e.getMessage());
+            for (List<AttributeVO> message : messages) {
+                try {
+                    dynamicConfigCenterService.adjustAttributeValues(message);
+                } catch (Exception ex) {
+                    log.error("wrench dcc 应用配置变更失败 attributes: {}", message.size(), ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * 设置节点版本上报，收到的消息按序号登记
+     *
+     * @param nodeReporter 节点版本上报；为 null 时不登记
+     */
+    public void setNodeReporter(DynamicConfigCenterNodeReporter nodeReporter) {
+        this.nodeReporter = nodeReporter;
+    }
+
+    /**
+     * 暂存尚未应用的属性数量
+     */
+    public int getPendingCount() {
+        return debouncer == null ? 0 : debouncer.getPendingCount();
+    }
+
+    @Override
+    public void destroy() {
+        if (debouncer != null) {
+            debouncer.shutdown();
+        }
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        drain();
+    }
+
+    /**
+     * 暂存的单个配置变更
+     */
+    private static class DebouncedChange {
+        private final AttributeVO attributeVO;
+        private final boolean persisted;
+
+        private DebouncedChange(AttributeVO attributeVO, boolean persisted) {
+            this.attributeVO = attributeVO;
+            this.persisted = persisted;
+        }
+    }
+
+}
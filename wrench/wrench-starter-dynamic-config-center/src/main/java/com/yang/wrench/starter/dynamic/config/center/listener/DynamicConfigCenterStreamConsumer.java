@@ -0,0 +1,198 @@
+package com.yang.wrench.starter.dynamic.config.center.listener;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.IDynamicConfigCenterBackendListener;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.types.common.Constant;
+import org.redisson.api.RBucket;
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.api.stream.StreamReadArgs;
+import org.redisson.client.codec.StringCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 配置变更流消费者
+ *
+ * 功能说明：
+ * 1. 变更流模式下由独立线程阻塞读取 Redis Stream（XREAD BLOCK），记录最后应用的消息ID
+ * 2. 断线或Redis故障恢复后从最后应用的消息ID继续读取，增量补齐断线期间的变更，无需整体重新加载
+ * 3. 每次读取的一批消息中同一属性只保留最后一个值，一次性交给订阅方；重复或过期的消息由服务按序号丢弃
+ * 4. 每次读取都按序号检查连续性：读到的首条消息序号大于最后应用的序号 + 1，说明中间的消息已被裁剪（断线时间过长），
+ *    放弃这一批并退化为整体对齐；最后应用的消息本身被裁剪但后续消息连续时照常增量消费
+ *
+ * @Author: yang
+ * @Description: Redis Streams 配置变更流的增量消费
+ */
+public class DynamicConfigCenterStreamConsumer implements DisposableBean {
+
+    private static final int READ_COUNT = 100;
+    private static final Duration READ_TIMEOUT = Duration.ofSeconds(5);
+    private static final long RETRY_MILLIS = 5000L;
+    // 空变更流的起始位置（StreamMessageId.MIN 为 XRANGE 专用的 "-"，不能用于 XREAD）
+    private static final StreamMessageId ZERO = new StreamMessageId(0, 0);
+
+    private final Logger log = LoggerFactory.getLogger(DynamicConfigCenterStreamConsumer.class);
+
+    private final IDynamicConfigCenterBackendListener listener;
+    private final RStream<String, String> stream;
+    private final RBucket<String> sequence;
+    private final Thread thread;
+
+    // 最后应用的消息ID；为空表示尚未取得起始位置（启动时Redis不可用）
+    private volatile StreamMessageId lastId;
+    // 最后应用的序号，与 lastId 一同推进
+    private volatile long lastSequence;
+    private volatile boolean running = true;
+
+    public DynamicConfigCenterStreamConsumer(IDynamicConfigCenterBackendListener listener,
+                                             RedissonClient redissonClient, String system) {
+        this.listener = listener;
+        this.stream = redissonClient.getStream(Constant.getStream(system), StringCodec.INSTANCE);
+        this.sequence = redissonClient.getBucket(Constant.getSequence(system), StringCodec.INSTANCE);
+        this.thread = new Thread(this::run, "wrench-dcc-stream");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * 记录起始位置并启动消费线程
+     * 在配置批量加载之前调用，加载期间产生的变更会被补读，按序号去重后结果一致
+     */
+    public void start() {
+        try {
+            locate();
+        } catch (Exception e) {
+            log.warn("wrench dcc 获取变更流起始位置失败，连接恢复后整体对齐 {}", e.getMessage());
+        }
+        thread.start();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (lastId == null) {
+                    // 启动时Redis不可用：取得当前位置后整体对齐一次，之后增量消费
+                    locate();
+                    listener.onResync();
+                }
+
+                Map<StreamMessageId, Map<String, String>> messages = stream.read(StreamReadArgs.greaterThan(lastId)
+                        .count(READ_COUNT)
+                        .timeout(READ_TIMEOUT));
+                if (messages == null || messages.isEmpty()) {
+                    continue;
+                }
+                apply(messages);
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("wrench dcc 读取配置变更流失败，{}ms后从 {} 继续 {}", RETRY_MILLIS, lastId, e.getMessage());
+                try {
+                    Thread.sleep(RETRY_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 应用一批消息：同一属性只保留最后一个值，成功后推进最后应用的消息ID与序号；
+     * 这一批与最后应用的序号不连续时放弃这一批，整体对齐
+     */
+    private void apply(Map<StreamMessageId, Map<String, String>> messages) {
+        Map<String, AttributeVO> latest = new HashMap<>();
+        StreamMessageId maxId = lastId;
+        long minSequence = Long.MAX_VALUE;
+        long maxSequence = lastSequence;
+        for (Map.Entry<StreamMessageId, Map<String, String>> message : messages.entrySet()) {
+            Map<String, String> fields = message.getValue();
+            Long sequence = Long.valueOf(fields.get(Constant.STREAM_FIELD_SEQUENCE));
+            minSequence = Math.min(minSequence, sequence);
+            maxSequence = Math.max(maxSequence, sequence);
+            // 旧版本发布脚本写入的消息没有发布时间
+            String publishTime = fields.get(Constant.STREAM_FIELD_PUBLISH_TIME);
+            for (Map.Entry<String, String> field : fields.entrySet()) {
+                if (Constant.STREAM_FIELD_SEQUENCE.equals(field.getKey()) || Constant.STREAM_FIELD_PUBLISH_TIME.equals(field.getKey())) {
+                    continue;
+                }
+                AttributeVO current = latest.get(field.getKey());
+                if (current == null || current.getSequence() < sequence) {
+                    latest.put(field.getKey(), new AttributeVO(field.getKey(), field.getValue(), sequence,
+                            publishTime == null ? null : Long.valueOf(publishTime)));
+                }
+            }
+            if (compare(message.getKey(), maxId) > 0) {
+                maxId = message.getKey();
+            }
+        }
+
+        if (minSequence > lastSequence + 1) {
+            // 配置中心的当前值已包含这一批变更，整体对齐后从这一批之后继续
+            log.warn("wrench dcc 配置变更流不连续 lastSequence: {} firstSequence: {}，整体对齐", lastSequence, minSequence);
+            listener.onResync();
+            lastId = maxId;
+            lastSequence = maxSequence;
+            return;
+        }
+
+        List<AttributeVO> attributeVOList = new ArrayList<>(latest.values());
+        try {
+            // 变更流的发布方已原子更新配置中心，订阅方只需应用到本地
+            listener.onChange(attributeVOList, true);
+        } catch (Exception e) {
+            log.error("wrench dcc 应用配置变更流失败 attributes: {}", attributeVOList.size(), e);
+        }
+        lastId = maxId;
+        lastSequence = maxSequence;
+        log.info("wrench dcc 应用配置变更流 messages: {} attributes: {} lastId: {} lastSequence: {}",
+                messages.size(), attributeVOList.size(), lastId, lastSequence);
+    }
+
+    /**
+     * 取得起始位置：变更流最后一条消息的ID与序号；变更流为空时序号取配置中心当前序号
+     * 先读序号再读变更流，两次读取之间发布的消息以消息自身的序号为准
+     */
+    private void locate() {
+        String current = sequence.get();
+        Map<StreamMessageId, Map<String, String>> last = stream.rangeReversed(1, StreamMessageId.MAX, StreamMessageId.MIN);
+        if (last.isEmpty()) {
+            lastSequence = current == null ? 0L : Long.parseLong(current);
+            lastId = ZERO;
+            return;
+        }
+        Map.Entry<StreamMessageId, Map<String, String>> message = last.entrySet().iterator().next();
+        lastSequence = Long.parseLong(message.getValue().get(Constant.STREAM_FIELD_SEQUENCE));
+        lastId = message.getKey();
+    }
+
+    private static int compare(StreamMessageId a, StreamMessageId b) {
+        int result = Long.compare(a.getId0(), b.getId0());
+        return result != 0 ? result : Long.compare(a.getId1(), b.getId1());
+    }
+
+    public StreamMessageId getLastId() {
+        return lastId;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        thread.interrupt();
+    }
+
+}
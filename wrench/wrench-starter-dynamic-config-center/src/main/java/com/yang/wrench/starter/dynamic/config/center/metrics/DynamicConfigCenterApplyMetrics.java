@@ -0,0 +1,86 @@
+package com.yang.wrench.starter.dynamic.config.center.metrics;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterNodeReporter;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.IDynamicConfigCenterApplyRecorder;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.IDynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.config.center.types.common.Constant;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 配置传播与应用指标
+ *
+ * 以 system 标签区分，发布：
+ * - wrench.dcc.apply.lag：从发布到本节点字段与快照生效的耗时（直方图），配置收敛 SLO 以此为准
+ * - wrench.dcc.apply.set：一次提交内字段写入的耗时（直方图）
+ * - wrench.dcc.listener.duration：单个 @DCCListener 回调的耗时（直方图）
+ * - wrench.dcc.node.applied.version：本节点已应用的配置版本
+ *
+ * @Author: yang
+ * @Description: 配置传播延迟与应用耗时的 Micrometer 指标
+ */
+public class DynamicConfigCenterApplyMetrics implements SmartInitializingSingleton {
+
+    private final IDynamicConfigCenterService dynamicConfigCenterService;
+    private final DynamicConfigCenterNodeReporter dynamicConfigCenterNodeReporter;
+    private final String system;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    public DynamicConfigCenterApplyMetrics(IDynamicConfigCenterService dynamicConfigCenterService,
+                                           DynamicConfigCenterNodeReporter dynamicConfigCenterNodeReporter,
+                                           String system,
+                                           ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.dynamicConfigCenterService = dynamicConfigCenterService;
+        this.dynamicConfigCenterNodeReporter = dynamicConfigCenterNodeReporter;
+        this.system = system;
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry == null) {
+            return;
+        }
+        Tags tags = Tags.of(Constant.METRIC_TAG_SYSTEM, system);
+        Timer lag = timer(meterRegistry, Constant.METRIC_PREFIX + ".apply.lag", "从发布到本节点生效的耗时", tags);
+        Timer set = timer(meterRegistry, Constant.METRIC_PREFIX + ".apply.set", "一次提交内字段写入的耗时", tags);
+        Timer listener = timer(meterRegistry, Constant.METRIC_PREFIX + ".listener.duration", "单个配置变更回调的耗时", tags);
+        Gauge.builder(Constant.METRIC_PREFIX + ".node.applied.version", dynamicConfigCenterNodeReporter,
+                        DynamicConfigCenterNodeReporter::getAppliedVersion)
+                .tags(tags)
+                .register(meterRegistry);
+
+        dynamicConfigCenterService.setApplyRecorder(new IDynamicConfigCenterApplyRecorder() {
+            @Override
+            public void recordLag(long millis) {
+                lag.record(millis, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public void recordSet(long nanos) {
+                set.record(nanos, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void recordListener(long nanos) {
+                listener.record(nanos, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String name, String description, Tags tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+}
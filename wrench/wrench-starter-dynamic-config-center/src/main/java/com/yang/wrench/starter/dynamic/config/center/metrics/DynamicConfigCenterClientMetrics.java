@@ -0,0 +1,62 @@
+package com.yang.wrench.starter.dynamic.config.center.metrics;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterClient;
+import com.yang.wrench.starter.dynamic.config.center.types.common.Constant;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 配置客户端本地缓存指标
+ *
+ * 以 system 标签区分，发布：
+ * - wrench.dcc.client.hits / misses / evictions / invalidations：命中、未命中、淘汰、变更更新次数（计数器）
+ * - wrench.dcc.client.size / hit.ratio：缓存键数量、累计命中率
+ * - wrench.dcc.client.invalidation.lag：从发布到本地缓存更新的耗时（直方图）
+ *
+ * @Author: yang
+ * @Description: 配置客户端的 Micrometer 指标
+ */
+public class DynamicConfigCenterClientMetrics implements SmartInitializingSingleton {
+
+    private static final String PREFIX = Constant.METRIC_PREFIX + ".client";
+
+    private final DynamicConfigCenterClient dynamicConfigCenterClient;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    public DynamicConfigCenterClientMetrics(DynamicConfigCenterClient dynamicConfigCenterClient,
+                                            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.dynamicConfigCenterClient = dynamicConfigCenterClient;
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry == null) {
+            return;
+        }
+        DynamicConfigCenterClient client = dynamicConfigCenterClient;
+        Tags tags = Tags.of(Constant.METRIC_TAG_SYSTEM, client.getSystem());
+        FunctionCounter.builder(PREFIX + ".hits", client, DynamicConfigCenterClient::getHitCount).tags(tags).register(meterRegistry);
+        FunctionCounter.builder(PREFIX + ".misses", client, DynamicConfigCenterClient::getMissCount).tags(tags).register(meterRegistry);
+        FunctionCounter.builder(PREFIX + ".evictions", client, DynamicConfigCenterClient::getEvictionCount).tags(tags).register(meterRegistry);
+        FunctionCounter.builder(PREFIX + ".invalidations", client, DynamicConfigCenterClient::getInvalidationCount).tags(tags).register(meterRegistry);
+        Gauge.builder(PREFIX + ".size", client, DynamicConfigCenterClient::size).tags(tags).register(meterRegistry);
+        Gauge.builder(PREFIX + ".hit.ratio", client, DynamicConfigCenterClient::getHitRatio).tags(tags).register(meterRegistry);
+
+        Timer lag = Timer.builder(PREFIX + ".invalidation.lag")
+                .description("从发布到本地缓存更新的耗时")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        client.setLagRecorder(millis -> lag.record(millis, TimeUnit.MILLISECONDS));
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.yang.wrench.starter.dynamic.config.center.types.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * DCCListener 注解（Dynamic Config Center Listener）
+ *
+ * 功能说明：
+ * 1. 标记配置变更回调方法，配置值发生变化时以 旧值、新值 回调，用于重建连接池、调整缓存容量等需要主动处理的场景
+ * 2. 回调在独立的有界线程池中执行，不占用接收配置消息的 Redisson/Netty 线程，慢回调不会阻塞配置推送
+ * 3. 同一配置键的回调严格按变更顺序串行执行；回调执行期间或防抖窗口内的多次变更合并为一次（保留最早的旧值与最新的新值）
+ *
+ * 示例：
+ * @DCCListener("poolSize")
+ * public void onPoolSizeChange(int oldValue, int newValue) { ... }
+ *
+ * @DCCListener("limit")
+ * public void onLimitChange(RateLimit newValue) { ... }
+ *
+ * @DCCListener("routes")
+ * public void onRoutesChange(RouteTable newValue, ConfigDiffVO diff) { ... diff.isChanged("routes") ... }
+ *
+ * 方法参数：
+ * - 一个参数：新值
+ * - 两个参数：旧值、新值，两者类型相同
+ * - 以上参数末尾追加 ConfigDiffVO，或只有 ConfigDiffVO：本次变更的结构化差异（变化的子路径），用于大型配置的增量处理
+ * 参数类型与 @DCCValue 字段支持的类型一致（见 AttributeValueConverter）。
+ *
+ * 启动时的首次加载不触发回调，只有配置值相对当前生效值发生变化时才回调。
+ *
+ * @Author: yang
+ * @Description: 动态配置中心变更回调注解，用于标记配置变更时需要执行的方法
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD})
+@Documented
+public @interface DCCListener {
+
+    /**
+     * 属性名（不含 system 前缀），与 @DCCValue 的 attribute 部分一致
+     *
+     * @return 属性名
+     */
+    String value();
+}
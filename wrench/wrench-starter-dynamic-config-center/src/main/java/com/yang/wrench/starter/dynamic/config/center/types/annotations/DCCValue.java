@@ -16,11 +16,16 @@ import java.lang.annotation.*;
  * - 多环境统一管理的配置项
  *
  * 示例：
- * @DCCValue("user-service:database.timeout")
- * private int databaseTimeout;
+ * @DCCValue("databaseTimeout:3000")
+ * private volatile int databaseTimeout;
  *
- * @DCCValue("feature.flag.enabled")
- * private boolean featureEnabled;
+ * @DCCValue("featureEnabled:open")
+ * private volatile boolean featureEnabled;
+ *
+ * 字段类型：
+ * 支持 String、int、long、double、boolean、Duration、枚举、List 以及JSON映射的POJO，
+ * 配置值在加载或推送时只转换一次并以 volatile 语义写入（见 AttributeValueConverter），
+ * 建议字段声明为 volatile，热点路径直接读取字段即可，无需再解析字符串。
  *
  * @Author: yang
  * @Date: 2025/09/20/15:10
@@ -0,0 +1,168 @@
+package com.yang.wrench.starter.dynamic.config.center.types.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * 本地配置缓存文件
+ *
+ * 功能说明：
+ * 1. 按 system 保存最近一次已知的全部配置（属性名 -> 配置值），启动时直接用于填充字段，不依赖Redis
+ * 2. 通过内存映射读写；写入先落临时文件再原子替换，进程中途退出不会留下半个文件
+ * 3. 文件带CRC32校验，内容损坏或格式不符时视为无缓存
+ *
+ * 文件格式（大端）：
+ * magic(int) | version(long) | payloadLength(int) | crc32(long) | payload
+ * payload：count(int) 后接 count 个 [keyLength(int) key(UTF-8) valueLength(int) value(UTF-8)]
+ *
+ * @Author: yang
+ * @Description: 动态配置中心本地持久化缓存
+ */
+public class ConfigCacheFile {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigCacheFile.class);
+
+    // "DCC1"
+    private static final int MAGIC = 0x44434331;
+    private static final int HEADER_LENGTH = 4 + 8 + 4 + 8;
+
+    private final Path path;
+
+    public ConfigCacheFile(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * 读取缓存
+     *
+     * @return 属性名 -> 配置值；文件不存在、损坏或读取失败时返回空Map
+     */
+    public Map<String, String> read() {
+        if (!Files.isRegularFile(path)) {
+            return Collections.emptyMap();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_LENGTH) {
+                log.warn("wrench dcc 本地配置缓存长度不足，忽略 path: {}", path);
+                return Collections.emptyMap();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC) {
+                log.warn("wrench dcc 本地配置缓存格式不符，忽略 path: {}", path);
+                return Collections.emptyMap();
+            }
+            long version = buffer.getLong();
+            int payloadLength = buffer.getInt();
+            long checksum = buffer.getLong();
+            if (payloadLength < 0 || payloadLength != size - HEADER_LENGTH) {
+                log.warn("wrench dcc 本地配置缓存长度不符，忽略 path: {}", path);
+                return Collections.emptyMap();
+            }
+
+            ByteBuffer payload = buffer.slice();
+            CRC32 crc32 = new CRC32();
+            crc32.update(payload.duplicate());
+            if (crc32.getValue() != checksum) {
+                log.warn("wrench dcc 本地配置缓存校验失败，忽略 path: {}", path);
+                return Collections.emptyMap();
+            }
+
+            int count = payload.getInt();
+            Map<String, String> values = new LinkedHashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                values.put(readString(payload), readString(payload));
+            }
+            log.info("wrench dcc 已加载本地配置缓存 path: {} version: {} keys: {}", path, version, values.size());
+            return values;
+        } catch (IOException | RuntimeException e) {
+            log.warn("wrench dcc 读取本地配置缓存失败，忽略 path: {}", path, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * 写入缓存
+     * 写入失败只记录日志，不影响配置生效
+     *
+     * @param values 属性名 -> 配置值
+     * @param version 配置快照版本，仅用于排查
+     */
+    public void write(Map<String, String> values, long version) {
+        try {
+            byte[] payload = encode(values);
+            CRC32 crc32 = new CRC32();
+            crc32.update(payload);
+
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_LENGTH + payload.length);
+                buffer.putInt(MAGIC);
+                buffer.putLong(version);
+                buffer.putInt(payload.length);
+                buffer.putLong(crc32.getValue());
+                buffer.put(payload);
+                buffer.force();
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            log.warn("wrench dcc 写入本地配置缓存失败 path: {}", path, e);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    private static byte[] encode(Map<String, String> values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + values.size() * 32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        int count = 0;
+        for (String value : values.values()) {
+            if (value != null) {
+                count++;
+            }
+        }
+        out.writeInt(count);
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,217 @@
+package com.yang.wrench.starter.dynamic.config.center.types.codec;
+
+import com.alibaba.fastjson.JSON;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeBatchVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+import org.redisson.codec.JsonJacksonCodec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 动态配置中心紧凑编解码器
+ *
+ * 功能说明：
+ * 1. 配置值（RBucket）以原始 UTF-8 字符串存储，不再包裹为 JSON 字符串
+ * 2. 配置变更消息（RTopic）以长度前缀的二进制格式编码，不再携带 Jackson 类型信息：
+ *    - 头部：0xFE + 类型（0x01 AttributeVO，0x02 AttributeBatchVO）
+ *    - AttributeVO：属性名、配置值（变长长度+1，0表示null，后接UTF-8字节）、标志位（bit0 序号，bit1 发布时间）、按标志位写入的 long
+ *    - AttributeBatchVO：变长数量，后接各 AttributeVO（不含头部）
+ * 3. 兼容读取 JsonJacksonCodec 写入的旧格式：
+ *    - 以 {"@class" 开头的内容按 Jackson 类型化 JSON 解码（旧版本发布者的消息）
+ *    - 以双引号包裹的合法 JSON 字符串按 JSON 解码（旧版本写入的配置值）
+ *
+ * 0xFE 不会出现在 UTF-8 编码中，与字符串不会混淆；本身满足上述旧格式特征的配置值，写入时按 JSON 字符串编码，读取结果保持不变。
+ *
+ * @Author: yang
+ * @Description: 配置值与配置变更消息的紧凑编解码
+ */
+public class DynamicConfigCenterCodec extends BaseCodec {
+
+    public static final DynamicConfigCenterCodec INSTANCE = new DynamicConfigCenterCodec();
+
+    private static final byte MAGIC = (byte) 0xFE;
+    private static final byte TYPE_ATTRIBUTE = 0x01;
+    private static final byte TYPE_BATCH = 0x02;
+    private static final int FLAG_SEQUENCE = 1;
+    private static final int FLAG_PUBLISH_TIME = 1 << 1;
+    private static final String LEGACY_OBJECT_PREFIX = "{\"@class\"";
+
+    private final Encoder encoder = this::encode;
+    private final Decoder<Object> decoder = this::decode;
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+
+    private ByteBuf encode(Object in) throws IOException {
+        if (in instanceof String) {
+            String value = (String) in;
+            if (isQuotedJson(value) || value.startsWith(LEGACY_OBJECT_PREFIX)) {
+                // 与旧格式特征相同的值按 JSON 字符串写入，读取时还原
+                value = JSON.toJSONString(value);
+            }
+            ByteBuf out = ByteBufAllocator.DEFAULT.buffer(value.length());
+            out.writeCharSequence(value, StandardCharsets.UTF_8);
+            return out;
+        }
+        if (in instanceof AttributeVO) {
+            ByteBuf out = ByteBufAllocator.DEFAULT.buffer();
+            out.writeByte(MAGIC).writeByte(TYPE_ATTRIBUTE);
+            writeAttribute(out, (AttributeVO) in);
+            return out;
+        }
+        if (in instanceof AttributeBatchVO) {
+            List<AttributeVO> attributes = ((AttributeBatchVO) in).getAttributes();
+            ByteBuf out = ByteBufAllocator.DEFAULT.buffer();
+            out.writeByte(MAGIC).writeByte(TYPE_BATCH);
+            writeVarInt(out, attributes.size());
+            for (AttributeVO attributeVO : attributes) {
+                writeAttribute(out, attributeVO);
+            }
+            return out;
+        }
+        throw new IOException("不支持的配置消息类型 " + (in == null ? null : in.getClass().getName()));
+    }
+
+    private Object decode(ByteBuf buf, State state) throws IOException {
+        if (buf.readableBytes() >= 2 && buf.getByte(buf.readerIndex()) == MAGIC) {
+            buf.skipBytes(1);
+            byte type = buf.readByte();
+            if (type == TYPE_ATTRIBUTE) {
+                return readAttribute(buf);
+            }
+            if (type == TYPE_BATCH) {
+                int size = readVarInt(buf);
+                List<AttributeVO> attributes = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    attributes.add(readAttribute(buf));
+                }
+                return new AttributeBatchVO(attributes);
+            }
+            throw new IOException("未知的配置消息类型 " + type);
+        }
+
+        String value = buf.toString(StandardCharsets.UTF_8);
+        if (value.startsWith(LEGACY_OBJECT_PREFIX)) {
+            // 旧版本发布者以 JsonJacksonCodec 发送的 AttributeVO / AttributeBatchVO
+            return JsonJacksonCodec.INSTANCE.getValueDecoder().decode(buf, state);
+        }
+        buf.skipBytes(buf.readableBytes());
+        if (isQuotedJson(value)) {
+            try {
+                return JSON.parseObject(value, String.class);
+            } catch (RuntimeException e) {
+                // 非法转义等无法按 JSON 解码的内容，保持原样
+                return value;
+            }
+        }
+        return value;
+    }
+
+    private static void writeAttribute(ByteBuf out, AttributeVO attributeVO) {
+        writeString(out, attributeVO.getAttribute());
+        writeString(out, attributeVO.getValue());
+        int flags = (attributeVO.getSequence() == null ? 0 : FLAG_SEQUENCE)
+                | (attributeVO.getPublishTime() == null ? 0 : FLAG_PUBLISH_TIME);
+        out.writeByte(flags);
+        if (attributeVO.getSequence() != null) {
+            out.writeLong(attributeVO.getSequence());
+        }
+        if (attributeVO.getPublishTime() != null) {
+            out.writeLong(attributeVO.getPublishTime());
+        }
+    }
+
+    private static AttributeVO readAttribute(ByteBuf buf) {
+        String attribute = readString(buf);
+        String value = readString(buf);
+        int flags = buf.readByte();
+        Long sequence = (flags & FLAG_SEQUENCE) != 0 ? buf.readLong() : null;
+        Long publishTime = (flags & FLAG_PUBLISH_TIME) != 0 ? buf.readLong() : null;
+        return new AttributeVO(attribute, value, sequence, publishTime);
+    }
+
+    private static void writeString(ByteBuf out, String value) {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuf buf) {
+        int length = readVarInt(buf);
+        if (length == 0) {
+            return null;
+        }
+        String value = buf.toString(buf.readerIndex(), length - 1, StandardCharsets.UTF_8);
+        buf.skipBytes(length - 1);
+        return value;
+    }
+
+    private static void writeVarInt(ByteBuf out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(ByteBuf buf) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buf.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("变长整数格式错误");
+    }
+
+    /**
+     * 是否为双引号包裹的单个 JSON 字符串：首尾为双引号，中间没有未转义的双引号
+     */
+    private static boolean isQuotedJson(String value) {
+        int last = value.length() - 1;
+        if (last < 1 || value.charAt(0) != '"' || value.charAt(last) != '"') {
+            return false;
+        }
+        for (int i = 1; i < last; i++) {
+            char c = value.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return false;
+            }
+        }
+        // 末尾的双引号不能是被转义的
+        return !escapedAt(value, last);
+    }
+
+    private static boolean escapedAt(String value, int index) {
+        int backslashes = 0;
+        for (int i = index - 1; i >= 0 && value.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return (backslashes & 1) == 1;
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.yang.wrench.starter.dynamic.config.center.types.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按属性名匹配的规则表
+ *
+ * 规则键为属性名（不含 system 前缀），以 * 结尾表示前缀匹配；精确匹配优先，其次为最长前缀。
+ * 属性名含 . 时在 yml 中需用 [] 包裹，如 "[threadPool.*]"。
+ *
+ * @param <R> 规则
+ * @Author: yang
+ * @Description: 属性名的精确与前缀规则匹配
+ */
+public class AttributeRuleMatcher<R> {
+
+    private static final String WILDCARD = "*";
+
+    private final Map<String, R> exactRules = new LinkedHashMap<>();
+    private final Map<String, R> prefixRules = new LinkedHashMap<>();
+
+    /**
+     * @param rules 属性名（或以 * 结尾的前缀） -> 规则
+     */
+    public AttributeRuleMatcher(Map<String, R> rules) {
+        rules.forEach((attribute, rule) -> {
+            if (attribute.endsWith(WILDCARD)) {
+                prefixRules.put(attribute.substring(0, attribute.length() - WILDCARD.length()), rule);
+            } else {
+                exactRules.put(attribute, rule);
+            }
+        });
+    }
+
+    /**
+     * 匹配属性的规则
+     *
+     * @param attribute 属性名（不含 system 前缀）
+     * @return 规则；没有规则时返回 null
+     */
+    public R match(String attribute) {
+        R rule = exactRules.get(attribute);
+        if (rule != null) {
+            return rule;
+        }
+        String matched = null;
+        for (Map.Entry<String, R> entry : prefixRules.entrySet()) {
+            if (attribute.startsWith(entry.getKey()) && (matched == null || entry.getKey().length() > matched.length())) {
+                matched = entry.getKey();
+                rule = entry.getValue();
+            }
+        }
+        return rule;
+    }
+
+    public boolean isEmpty() {
+        return exactRules.isEmpty() && prefixRules.isEmpty();
+    }
+
+}
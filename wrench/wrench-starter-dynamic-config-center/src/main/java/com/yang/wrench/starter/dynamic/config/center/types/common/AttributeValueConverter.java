@@ -0,0 +1,253 @@
+package com.yang.wrench.starter.dynamic.config.center.types.common;
+
+import com.alibaba.fastjson.JSON;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 配置值类型转换器
+ *
+ * 功能说明：
+ * 1. 配置中心统一以字符串存储配置值，按 @DCCValue 字段类型预先生成转换函数
+ * 2. 配置加载或推送时只转换一次，业务读取字段即为目标类型，热点路径不再解析字符串
+ * 3. 结构化类型的转换函数按目标类型共享；不可变的解析结果（Map 树、简单元素类型的 List）记住最近两个版本，
+ *    同一版本被多个字段、@DCCListener 回调（新值与旧值）读取时只解析一次；
+ *    POJO（及 POJO 元素的 List、POJO 值的 Map）可被读取方修改，每次转换都重新反序列化，字段与回调之间互不影响
+ *
+ * 支持的字段类型：
+ * - String
+ * - int/Integer、long/Long、double/Double
+ * - boolean/Boolean：true/false、open/close、on/off、yes/no、1/0
+ * - Duration：ISO-8601（PT5S）或简写（500ms、5s、1m）
+ * - 枚举：按名称匹配，忽略大小写
+ * - List&lt;T&gt;：JSON数组，或逗号分隔的元素（元素类型为上述简单类型）
+ * - Map / Map&lt;String, Object&gt;：JSON 或 YAML 对象，解析为不可变的树（见 StructuredValue）
+ * - 其他类型：按JSON反序列化为POJO；不是JSON对象或数组时按YAML解析后反序列化
+ *
+ * @Author: yang
+ * @Description: 配置值从字符串到字段类型的转换
+ */
+public class AttributeValueConverter {
+
+    // 目标类型 -> 共享的结构化类型转换函数；不可变的类型带解析结果缓存
+    private static final Map<Type, Function<String, Object>> STRUCTURED_CONVERTERS = new ConcurrentHashMap<>();
+
+    private AttributeValueConverter() {
+    }
+
+    /**
+     * 按字段类型生成转换函数
+     *
+     * @param field 目标字段
+     * @return 字符串到字段类型的转换函数
+     */
+    public static Function<String, Object> of(Field field) {
+        return of(field.getType(), field.getGenericType());
+    }
+
+    /**
+     * 按类型生成转换函数
+     *
+     * @param type 目标类型
+     * @param genericType 目标泛型类型，用于解析 List 元素类型与POJO泛型
+     * @return 字符串到目标类型的转换函数
+     */
+    public static Function<String, Object> of(Class<?> type, Type genericType) {
+        Function<String, Object> simple = simple(type);
+        if (simple != null) {
+            return simple;
+        }
+        return STRUCTURED_CONVERTERS.computeIfAbsent(genericType,
+                t -> isImmutable(type, genericType) ? new ParsedValueMemo(structured(type, genericType)) : structured(type, genericType));
+    }
+
+    /**
+     * 解析结果是否不可变，可在读取方之间共享：Map 树，或元素为简单类型的不可修改 List
+     */
+    private static boolean isImmutable(Class<?> type, Type genericType) {
+        if (Map.class.equals(type)) {
+            return isObjectValued(genericType);
+        }
+        if (!List.class.equals(type)) {
+            return false;
+        }
+        if (!(genericType instanceof ParameterizedType)) {
+            return true;
+        }
+        Type argument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+        return argument instanceof Class && simple((Class<?>) argument) != null && !Object.class.equals(argument);
+    }
+
+    private static Function<String, Object> structured(Class<?> type, Type genericType) {
+        if (List.class.equals(type)) {
+            return list(genericType);
+        }
+        if (Map.class.equals(type) && isObjectValued(genericType)) {
+            return StructuredValue::parseTree;
+        }
+        return value -> {
+            if (value == null) {
+                return null;
+            }
+            if (StructuredValue.isJson(value)) {
+                return JSON.parseObject(value, genericType);
+            }
+            Object tree;
+            try {
+                tree = StructuredValue.parse(value);
+            } catch (RuntimeException e) {
+                tree = null;
+            }
+            if (tree instanceof Map || tree instanceof List) {
+                return JSON.parseObject(StructuredValue.toJson(tree), genericType);
+            }
+            return JSON.parseObject(value, genericType);
+        };
+    }
+
+    /**
+     * Map 的值类型是否为 Object（含未声明泛型）
+     */
+    private static boolean isObjectValued(Type genericType) {
+        if (!(genericType instanceof ParameterizedType)) {
+            return true;
+        }
+        Type[] arguments = ((ParameterizedType) genericType).getActualTypeArguments();
+        return Object.class.equals(arguments[1]) || arguments[1] instanceof WildcardType;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<String, Object> simple(Class<?> type) {
+        if (String.class.equals(type) || Object.class.equals(type)) {
+            return value -> value;
+        }
+        if (int.class.equals(type) || Integer.class.equals(type)) {
+            return value -> Integer.valueOf(value.trim());
+        }
+        if (long.class.equals(type) || Long.class.equals(type)) {
+            return value -> Long.valueOf(value.trim());
+        }
+        if (double.class.equals(type) || Double.class.equals(type)) {
+            return value -> Double.valueOf(value.trim());
+        }
+        if (boolean.class.equals(type) || Boolean.class.equals(type)) {
+            return AttributeValueConverter::parseBoolean;
+        }
+        if (Duration.class.equals(type)) {
+            return value -> DurationStyle.detectAndParse(value.trim());
+        }
+        if (type.isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) type;
+            return value -> parseEnum(enumType, value);
+        }
+        return null;
+    }
+
+    private static Function<String, Object> list(Type genericType) {
+        Class<?> elementType = String.class;
+        if (genericType instanceof ParameterizedType) {
+            Type argument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+            if (argument instanceof Class) {
+                elementType = (Class<?>) argument;
+            }
+        }
+        Class<?> finalElementType = elementType;
+        Function<String, Object> element = simple(elementType);
+        return value -> {
+            if (value == null) {
+                return null;
+            }
+            String trimmed = value.trim();
+            if (trimmed.startsWith("[")) {
+                return Collections.unmodifiableList(JSON.parseArray(trimmed, finalElementType));
+            }
+            if (element == null) {
+                throw new IllegalArgumentException("List元素类型不支持逗号分隔格式 " + finalElementType.getName());
+            }
+            List<Object> list = new ArrayList<>();
+            for (String item : trimmed.split(",")) {
+                if (!item.isBlank()) {
+                    list.add(element.apply(item.trim()));
+                }
+            }
+            return Collections.unmodifiableList(list);
+        };
+    }
+
+    /**
+     * 记住最近两个版本解析结果的转换函数，只用于不可变的解析结果
+     * 配置值一旦生效即不可变，按字符串内容命中；并发读写时最多重复解析，不会返回其他版本的结果
+     */
+    private static class ParsedValueMemo implements Function<String, Object> {
+
+        private final Function<String, Object> delegate;
+        private volatile Object[] latest;
+        private volatile Object[] previous;
+
+        private ParsedValueMemo(Function<String, Object> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object apply(String value) {
+            if (value == null) {
+                return delegate.apply(null);
+            }
+            Object[] entry = latest;
+            if (entry != null && value.equals(entry[0])) {
+                return entry[1];
+            }
+            entry = previous;
+            if (entry != null && value.equals(entry[0])) {
+                return entry[1];
+            }
+            Object parsed = delegate.apply(value);
+            previous = latest;
+            latest = new Object[]{value, parsed};
+            return parsed;
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true":
+            case "open":
+            case "on":
+            case "yes":
+            case "1":
+                return Boolean.TRUE;
+            case "false":
+            case "close":
+            case "off":
+            case "no":
+            case "0":
+                return Boolean.FALSE;
+            default:
+                throw new IllegalArgumentException("无法转换为boolean " + value);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parseEnum(Class<? extends Enum> enumType, String value) {
+        String name = value.trim();
+        for (Enum constant : enumType.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(name)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("无法转换为枚举 " + enumType.getName() + " " + value);
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.yang.wrench.starter.dynamic.config.center.types.common;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 配置摘要计算
+ *
+ * 功能说明：
+ * 1. 每个配置键的摘要：SHA-1(配置键 + '\n' + 存储的配置值) 的前 4 个字节（有符号 32 位整数）
+ * 2. 配置键按 String#hashCode 分到 DIGEST_BUCKETS 个桶，桶摘要为桶内全部配置键摘要的异或，总摘要为全部桶摘要的异或
+ *
+ * 异或与顺序无关、可增量更新：单个配置键变化时，桶摘要与总摘要各异或一次 旧摘要^新摘要 即可。
+ * Redis 后端的 Lua 脚本以 redis.sha1hex 计算同一摘要，两端结果一致。
+ *
+ * @Author: yang
+ * @Description: 配置键摘要与分桶
+ */
+public class ConfigDigest {
+
+    // 桶数量
+    public static final int DIGEST_BUCKETS = 64;
+
+    private ConfigDigest() {
+    }
+
+    /**
+     * 配置键所在的桶
+     *
+     * @param key 配置键
+     * @return 桶序号，0 ~ DIGEST_BUCKETS-1
+     */
+    public static int bucket(String key) {
+        return Math.floorMod(key.hashCode(), DIGEST_BUCKETS);
+    }
+
+    /**
+     * 配置键的摘要
+     *
+     * @param key 配置键
+     * @param storedValue 存储的配置值（经存储后端编码后的字符串）
+     * @return 摘要
+     */
+    public static int hash(String key, String storedValue) {
+        MessageDigest sha1;
+        try {
+            sha1 = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        sha1.update(key.getBytes(StandardCharsets.UTF_8));
+        sha1.update((byte) '\n');
+        byte[] bytes = sha1.digest(storedValue.getBytes(StandardCharsets.UTF_8));
+        return (bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8 | (bytes[3] & 0xFF);
+    }
+
+}
@@ -13,8 +13,61 @@ public class Constant {
     public static final String DYNAMIC_CONFIG_CENTER_REDIS_TOPIC = "DYNAMIC_CONFIG_CENTER_REDIS_TOPIC";
     public static final String SYMBOL_COLON = ":";
     public static final String LINE = "_";
+    public static final String DYNAMIC_CONFIG_CENTER_REDIS_STREAM = "DYNAMIC_CONFIG_CENTER_REDIS_STREAM";
+    public static final String DYNAMIC_CONFIG_CENTER_REDIS_SEQUENCE = "DYNAMIC_CONFIG_CENTER_REDIS_SEQUENCE";
+    public static final String DYNAMIC_CONFIG_CENTER_REDIS_NODES = "DYNAMIC_CONFIG_CENTER_REDIS_NODES";
+    public static final String DYNAMIC_CONFIG_CENTER_REDIS_DIGEST = "DYNAMIC_CONFIG_CENTER_REDIS_DIGEST";
+    public static final String DYNAMIC_CONFIG_CENTER_REDIS_ROLLOUT = "DYNAMIC_CONFIG_CENTER_REDIS_ROLLOUT";
+    // 分批生效进度表的保留时长：最后一次写入 7 天后过期
+    public static final long ROLLOUT_RECORD_TTL_MILLIS = 7L * 24 * 3600 * 1000;
+    // 摘要表中的总摘要字段，其余字段为 桶序号 -> 桶摘要
+    public static final String DIGEST_FIELD_TOP = "@";
+    // 变更流消息中的序号字段，其余字段为 属性名 -> 配置值
+    public static final String STREAM_FIELD_SEQUENCE = "@seq";
+    // 变更流消息中的发布时间字段（毫秒时间戳）
+    public static final String STREAM_FIELD_PUBLISH_TIME = "@ts";
+    public static final String FEED_MODE_TOPIC = "topic";
+    public static final String FEED_MODE_STREAM = "stream";
+    public static final String CODEC_COMPACT = "compact";
+    public static final String CODEC_JSON = "json";
+    public static final String BACKEND_REDIS = "redis";
+    public static final String BACKEND_MEMORY = "memory";
+    public static final String BACKEND_FILE = "file";
+    public static final String REGISTER_MODE_DEDICATED = "dedicated";
+    public static final String REGISTER_MODE_SHARED = "shared";
+    public static final String REGISTER_TOPOLOGY_SINGLE = "single";
+    public static final String REGISTER_TOPOLOGY_MASTER_SLAVE = "master-slave";
+    public static final String REGISTER_TOPOLOGY_SENTINEL = "sentinel";
+    public static final String REGISTER_TOPOLOGY_CLUSTER = "cluster";
+    public static final String WRENCH_REDISSON_CLIENT = "WrenchRedissonClient";
+    public static final String METRIC_PREFIX = "wrench.dcc";
+    public static final String METRIC_TAG_SYSTEM = "system";
     public static String getTopic(String application){
         return DYNAMIC_CONFIG_CENTER_REDIS_TOPIC + SYMBOL_COLON + application;
     }
 
+    public static String getStream(String application){
+        return DYNAMIC_CONFIG_CENTER_REDIS_STREAM + SYMBOL_COLON + application;
+    }
+
+    public static String getSequence(String application){
+        return DYNAMIC_CONFIG_CENTER_REDIS_SEQUENCE + SYMBOL_COLON + application;
+    }
+
+    public static String getNodes(String application){
+        return DYNAMIC_CONFIG_CENTER_REDIS_NODES + SYMBOL_COLON + application;
+    }
+
+    public static String getDigest(String application){
+        return DYNAMIC_CONFIG_CENTER_REDIS_DIGEST + SYMBOL_COLON + application;
+    }
+
+    public static String getDigestBucket(String application, int bucket){
+        return getDigest(application) + SYMBOL_COLON + bucket;
+    }
+
+    public static String getRollout(String key){
+        return DYNAMIC_CONFIG_CENTER_REDIS_ROLLOUT + SYMBOL_COLON + key;
+    }
+
 }
@@ -0,0 +1,123 @@
+package com.yang.wrench.starter.dynamic.config.center.types.common;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.parser.Feature;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 结构化配置值
+ *
+ * 功能说明：
+ * 1. 以 { 或 [ 开头的配置值按 JSON 解析，其余按 YAML 解析
+ * 2. 解析结果为不可变的树：对象为 Map（保持键顺序），数组为 List，叶子为字符串、数字、布尔或 null，可在读取方之间共享
+ * 3. 以稳定的键顺序序列化对象，结构相同的值序列化结果相同，不会产生无意义的变更
+ *
+ * @Author: yang
+ * @Description: JSON/YAML 配置值与不可变树的转换
+ */
+public class StructuredValue {
+
+    private StructuredValue() {
+    }
+
+    /**
+     * 是否按 JSON 解析
+     */
+    public static boolean isJson(String value) {
+        String trimmed = value.trim();
+        return trimmed.startsWith("{") || trimmed.startsWith("[");
+    }
+
+    /**
+     * 解析为不可变的树
+     *
+     * @param value JSON 或 YAML 配置值
+     * @return Map、List 或叶子值
+     */
+    public static Object parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (isJson(value)) {
+            return freeze(JSON.parse(value, Feature.OrderedField));
+        }
+        return freeze(new Yaml(new SafeConstructor(new LoaderOptions())).load(value));
+    }
+
+    /**
+     * 解析为对象或数组，其他内容抛出异常
+     */
+    public static Object parseTree(String value) {
+        Object tree = parse(value);
+        if (!(tree instanceof Map) && !(tree instanceof List)) {
+            throw new IllegalArgumentException("配置值不是JSON/YAML对象或数组 " + abbreviate(value));
+        }
+        return tree;
+    }
+
+    /**
+     * 以稳定的键顺序序列化为 JSON
+     *
+     * @param value 对象、Map 或 List
+     * @return JSON 字符串
+     */
+    public static String toJson(Object value) {
+        return JSON.toJSONString(sorted(JSON.toJSON(value)));
+    }
+
+    /**
+     * 递归复制为不可变的 Map / List
+     */
+    @SuppressWarnings("unchecked")
+    private static Object freeze(Object node) {
+        if (node instanceof Map) {
+            Map<Object, Object> source = (Map<Object, Object>) node;
+            Map<String, Object> copy = new LinkedHashMap<>(source.size() * 2);
+            source.forEach((key, child) -> copy.put(String.valueOf(key), freeze(child)));
+            return Collections.unmodifiableMap(copy);
+        }
+        if (node instanceof List) {
+            List<Object> source = (List<Object>) node;
+            List<Object> copy = new ArrayList<>(source.size());
+            for (Object child : source) {
+                copy.add(freeze(child));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        return node;
+    }
+
+    /**
+     * 递归复制为按键排序的 Map
+     */
+    @SuppressWarnings("unchecked")
+    private static Object sorted(Object node) {
+        if (node instanceof Map) {
+            Map<String, Object> copy = new TreeMap<>();
+            ((Map<Object, Object>) node).forEach((key, child) -> copy.put(String.valueOf(key), sorted(child)));
+            return copy;
+        }
+        if (node instanceof List) {
+            List<Object> copy = new ArrayList<>(((List<Object>) node).size());
+            for (Object child : (List<Object>) node) {
+                copy.add(sorted(child));
+            }
+            return copy;
+        }
+        return node;
+    }
+
+    static String abbreviate(String value) {
+        return value.length() <= 64 ? value : value.substring(0, 64) + "...(" + value.length() + ")";
+    }
+
+}
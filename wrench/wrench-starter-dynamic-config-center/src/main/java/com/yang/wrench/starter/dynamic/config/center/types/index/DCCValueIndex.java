@@ -0,0 +1,166 @@
+package com.yang.wrench.starter.dynamic.config.center.types.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DCCValue 编译期索引
+ *
+ * 功能说明：
+ * 1. 合并类路径上所有 META-INF/wrench/dcc-value.index 与 dcc-listener.index（各模块编译时由 DCCValueIndexProcessor 生成）
+ * 2. 记录每个索引文件所在的类路径根（jar 或目录），只有同一根下的类才以索引为准
+ * 3. 提供按类名的O(1)查询：索引覆盖的类未被列出时不含 @DCCValue 字段与 @DCCListener 方法，无需反射扫描
+ *
+ * 类路径根下没有索引文件（如 Gradle 未声明 annotationProcessor、Maven 配置了 annotationProcessorPaths 未包含本处理器、
+ * devtools 重启类加载器加载的目录）时，该根下的类不受其他 jar 自带索引的影响，由调用方回退为反射扫描。
+ *
+ * @Author: yang
+ * @Description: @DCCValue 字段索引，避免对每个Bean做反射扫描
+ */
+public class DCCValueIndex {
+
+    public static final String INDEX_LOCATION = "META-INF/wrench/dcc-value.index";
+    public static final String LISTENER_INDEX_LOCATION = "META-INF/wrench/dcc-listener.index";
+
+    private static final Logger log = LoggerFactory.getLogger(DCCValueIndex.class);
+
+    // 类的二进制名 -> 标注 @DCCValue 的字段名
+    private final Map<String, List<String>> index;
+    // 类的二进制名 -> 标注 @DCCListener 的方法名
+    private final Map<String, List<String>> listenerIndex;
+    // 含有索引文件的类路径根，如 file:/app/classes/、jar:file:/app/lib/a.jar!/
+    private final Set<String> roots;
+    // 类是否位于含有索引文件的类路径根下
+    private final ClassValue<Boolean> covered = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> clazz) {
+            String root = rootOf(clazz);
+            return root != null && roots.contains(root);
+        }
+    };
+
+    private DCCValueIndex(Map<String, List<String>> index, Map<String, List<String>> listenerIndex, Set<String> roots) {
+        this.index = index;
+        this.listenerIndex = listenerIndex;
+        this.roots = roots;
+    }
+
+    /**
+     * 从类路径加载索引
+     *
+     * @param classLoader 类加载器
+     * @return 索引；类路径上没有任何索引文件时返回 null
+     */
+    public static DCCValueIndex load(ClassLoader classLoader) {
+        Map<String, List<String>> index = new HashMap<>();
+        Map<String, List<String>> listenerIndex = new HashMap<>();
+        Set<String> roots = new HashSet<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(INDEX_LOCATION);
+            while (resources.hasMoreElements()) {
+                URL url = resources.nextElement();
+                roots.add(rootOf(url, INDEX_LOCATION));
+                read(url, index);
+            }
+            Enumeration<URL> listenerResources = classLoader.getResources(LISTENER_INDEX_LOCATION);
+            while (listenerResources.hasMoreElements()) {
+                URL url = listenerResources.nextElement();
+                roots.add(rootOf(url, LISTENER_INDEX_LOCATION));
+                read(url, listenerIndex);
+            }
+        } catch (IOException e) {
+            log.warn("wrench dcc 读取DCCValue索引失败，回退为反射扫描", e);
+            return null;
+        }
+        if (roots.isEmpty()) {
+            return null;
+        }
+        log.info("wrench dcc 已加载DCCValue编译期索引，类路径根: {} 索引类数: {} 回调类数: {}", roots.size(), index.size(), listenerIndex.size());
+        return new DCCValueIndex(index, listenerIndex, roots);
+    }
+
+    /**
+     * 资源所在的类路径根：去掉资源URL末尾的资源路径
+     */
+    private static String rootOf(URL url, String location) {
+        String external = url.toExternalForm();
+        return external.endsWith(location) ? external.substring(0, external.length() - location.length()) : external;
+    }
+
+    /**
+     * 类所在的类路径根，与索引文件按同一方式由资源URL得出；动态生成的类（无类文件）返回 null
+     */
+    private static String rootOf(Class<?> clazz) {
+        ClassLoader classLoader = clazz.getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+        String location = clazz.getName().replace('.', '/') + ".class";
+        URL url = classLoader.getResource(location);
+        return url == null ? null : rootOf(url, location);
+    }
+
+    private static void read(URL url, Map<String, List<String>> index) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf('=');
+                if (separator <= 0) {
+                    continue;
+                }
+                List<String> fields = index.computeIfAbsent(line.substring(0, separator).trim(), k -> new ArrayList<>());
+                for (String field : line.substring(separator + 1).split(",")) {
+                    if (!field.isBlank() && !fields.contains(field.trim())) {
+                        fields.add(field.trim());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 类是否由索引覆盖：类所在的 jar 或目录中有索引文件，即该类经过注解处理器编译
+     * 未覆盖的类应回退为反射扫描
+     *
+     * @param clazz 目标类
+     * @return 是否以索引为准
+     */
+    public boolean covers(Class<?> clazz) {
+        return covered.get(clazz);
+    }
+
+    /**
+     * 查询类中标注 @DCCValue 的字段名
+     *
+     * @param clazz 目标类（仅包含该类自身声明的字段）
+     * @return 字段名列表；未被索引时返回空列表
+     */
+    public List<String> getFieldNames(Class<?> clazz) {
+        return index.getOrDefault(clazz.getName(), Collections.emptyList());
+    }
+
+    /**
+     * 查询类中标注 @DCCListener 的方法名
+     *
+     * @param clazz 目标类（仅包含该类自身声明的方法）
+     * @return 方法名列表；未被索引时返回空列表
+     */
+    public List<String> getListenerMethodNames(Class<?> clazz) {
+        return listenerIndex.getOrDefault(clazz.getName(), Collections.emptyList());
+    }
+
+}
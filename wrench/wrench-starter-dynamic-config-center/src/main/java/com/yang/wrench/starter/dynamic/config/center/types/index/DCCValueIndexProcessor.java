@@ -0,0 +1,151 @@
+package com.yang.wrench.starter.dynamic.config.center.types.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * DCCValue 编译期索引注解处理器
+ *
+ * 功能说明：
+ * 1. 编译期收集所有标注 @DCCValue 的字段与 @DCCListener 的方法，按声明类分组
+ * 2. 在编译输出中生成索引文件 META-INF/wrench/dcc-value.index 与 META-INF/wrench/dcc-listener.index
+ *    （格式：类的二进制名=字段1,字段2 / 类的二进制名=方法1,方法2）
+ * 3. 运行期由 DCCValueIndex 读取，Bean后处理时按类名O(1)判断是否需要反射，跳过大量框架Bean的字段扫描
+ * 4. 增量编译只处理部分源文件：写出前合并编译输出中已有的索引，保留本次未参与编译且仍存在的类，
+ *    本次编译过的类以本次结果为准（注解被删除的类随之移出索引）
+ *
+ * 引入动态配置中心 Starter 后，javac 通过 META-INF/services 自动发现本处理器，无需额外配置。
+ *
+ * @Author: yang
+ * @Description: @DCCValue 字段编译期索引生成器
+ */
+@SupportedAnnotationTypes("*")
+public class DCCValueIndexProcessor extends AbstractProcessor {
+
+    static final String DCC_VALUE_ANNOTATION = "com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCValue";
+    static final String DCC_LISTENER_ANNOTATION = "com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCListener";
+
+    // 类的二进制名 -> 字段名集合，跨多轮处理累积，最后一轮统一写出
+    private final Map<String, Set<String>> index = new TreeMap<>();
+    // 类的二进制名 -> 回调方法名集合
+    private final Map<String, Set<String>> listenerIndex = new TreeMap<>();
+    // 本次编译处理过的类（含内部类）的二进制名，合并已有索引时以本次结果为准
+    private final Set<String> processedTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            collectTypes(element);
+        }
+        for (TypeElement annotation : annotations) {
+            if (!DCC_VALUE_ANNOTATION.contentEquals(annotation.getQualifiedName()) && !DCC_LISTENER_ANNOTATION.contentEquals(annotation.getQualifiedName())) {
+                continue;
+            }
+            boolean listener = DCC_LISTENER_ANNOTATION.contentEquals(annotation.getQualifiedName());
+            ElementKind kind = listener ? ElementKind.METHOD : ElementKind.FIELD;
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != kind) {
+                    continue;
+                }
+                TypeElement declaringType = (TypeElement) element.getEnclosingElement();
+                String className = processingEnv.getElementUtils().getBinaryName(declaringType).toString();
+                (listener ? listenerIndex : index).computeIfAbsent(className, k -> new TreeSet<>()).add(element.getSimpleName().toString());
+            }
+        }
+
+        if (roundEnv.processingOver()) {
+            boolean indexPresent = mergeExisting(index, DCCValueIndex.INDEX_LOCATION);
+            boolean listenerIndexPresent = mergeExisting(listenerIndex, DCCValueIndex.LISTENER_INDEX_LOCATION);
+            if (indexPresent || !index.isEmpty() || !listenerIndex.isEmpty()) {
+                // 只有回调方法时也写出字段索引，运行期以字段索引是否存在判断是否启用索引
+                writeIndex(index, DCCValueIndex.INDEX_LOCATION);
+            }
+            if (listenerIndexPresent || !listenerIndex.isEmpty()) {
+                writeIndex(listenerIndex, DCCValueIndex.LISTENER_INDEX_LOCATION);
+            }
+        }
+        return false;
+    }
+
+    private void collectTypes(Element element) {
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+        processedTypes.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+        for (Element enclosed : element.getEnclosedElements()) {
+            collectTypes(enclosed);
+        }
+    }
+
+    /**
+     * 合并编译输出中已有的索引：保留本次未参与编译、且在编译类路径上仍存在的类
+     *
+     * @return 编译输出中是否已有该索引文件
+     */
+    private boolean mergeExisting(Map<String, Set<String>> index, String location) {
+        String content;
+        try {
+            FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", location);
+            content = file.getCharContent(true).toString();
+        } catch (IOException | IllegalArgumentException e) {
+            // 首次编译或全量编译（输出目录已清理）时索引文件不存在
+            return false;
+        }
+        for (String line : content.split("\n")) {
+            int separator = line.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            String className = line.substring(0, separator).trim();
+            if (processedTypes.contains(className) || index.containsKey(className)
+                    || processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) == null) {
+                continue;
+            }
+            Set<String> members = new TreeSet<>();
+            for (String member : line.substring(separator + 1).split(",")) {
+                if (!member.isBlank()) {
+                    members.add(member.trim());
+                }
+            }
+            index.put(className, members);
+        }
+        return true;
+    }
+
+    private void writeIndex(Map<String, Set<String>> index, String location) {
+        StringBuilder content = new StringBuilder();
+        for (Map.Entry<String, Set<String>> entry : index.entrySet()) {
+            content.append(entry.getKey()).append('=').append(String.join(",", entry.getValue())).append('\n');
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", location);
+            try (OutputStream out = file.openOutputStream()) {
+                out.write(content.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "写入DCCValue索引失败 " + location + " " + e);
+        }
+    }
+
+}
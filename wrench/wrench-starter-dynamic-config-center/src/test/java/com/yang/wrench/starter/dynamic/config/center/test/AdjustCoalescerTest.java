@@ -0,0 +1,117 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.config.center.listener.DynamicConfigCenterAdjustCoalescer;
+import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCValue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 配置变更合并测试
+ *
+ * 合并器的窗口足够长，消息全部进入同一个窗口，由 destroy 立即应用。
+ *
+ * @author yang
+ */
+public class AdjustCoalescerTest {
+
+    private static final long WINDOW_MILLIS = 60_000L;
+
+    private final DynamicConfigCenterTestNode node = new DynamicConfigCenterTestNode();
+    private final DynamicConfigCenterService service = node.service;
+    private final DynamicConfigCenterAdjustCoalescer coalescer = new DynamicConfigCenterAdjustCoalescer(service, WINDOW_MILLIS);
+    private final Target target = new Target();
+
+    @Before
+    public void init() {
+        service.proxyObject(target);
+        service.loadAttributeValues();
+    }
+
+    @After
+    public void destroy() {
+        coalescer.destroy();
+        node.close();
+    }
+
+    @Test
+    public void test_merge() {
+        long version = service.getSnapshot().getVersion();
+        // 发布订阅模式收到的消息由合并器按条件更新配置中心
+        coalescer.onChange(List.of(new AttributeVO("limit", "20")), false);
+        coalescer.onChange(List.of(new AttributeVO("limit", "30"), new AttributeVO("switch", "close")), false);
+        coalescer.onChange(List.of(new AttributeVO("limit", "40")), false);
+        Assert.assertEquals(10, target.limit);
+
+        // 同一属性只保留最后一个值，一次应用为一个快照版本
+        coalescer.destroy();
+        Assert.assertEquals(40, target.limit);
+        Assert.assertFalse(target.switchValue);
+        Assert.assertEquals(version + 1, service.getSnapshot().getVersion());
+        Assert.assertEquals("40", node.backend.getValues().get("s:limit"));
+        Assert.assertEquals("close", node.backend.getValues().get("s:switch"));
+    }
+
+    @Test
+    public void test_bad_value_fallback() {
+        long version = service.getSnapshot().getVersion();
+        coalescer.onChange(List.of(new AttributeVO("limit", "20")), false);
+        coalescer.onChange(List.of(new AttributeVO("name", "b")), false);
+        coalescer.onChange(List.of(new AttributeVO("limit", "abc"), new AttributeVO("switch", "close")), false);
+        coalescer.destroy();
+
+        // 合并后整体失败，按消息逐条应用：含坏值的消息整体放弃，其中合法的 switch 也不生效
+        Assert.assertEquals(20, target.limit);
+        Assert.assertEquals("b", target.name);
+        Assert.assertTrue(target.switchValue);
+        Assert.assertEquals(version + 2, service.getSnapshot().getVersion());
+        Assert.assertEquals("20", node.backend.getValues().get("s:limit"));
+        Assert.assertEquals("open", node.backend.getValues().get("s:switch"));
+    }
+
+    @Test
+    public void test_missing_key_fallback() {
+        coalescer.onChange(List.of(new AttributeVO("limit", "20")), false);
+        coalescer.onChange(List.of(new AttributeVO("switch", "close"), new AttributeVO("unknown", "1")), false);
+        coalescer.destroy();
+
+        // 含不存在配置键的消息整体放弃，不拖累同一窗口内的其他消息
+        Assert.assertEquals(20, target.limit);
+        Assert.assertTrue(target.switchValue);
+        Assert.assertEquals("open", node.backend.getValues().get("s:switch"));
+        Assert.assertNull(node.backend.getValues().get("s:unknown"));
+    }
+
+    @Test
+    public void test_persisted_bad_value() {
+        // 已持久化的变更（内存后端发布）中有坏值时，本地整体放弃，不只应用其中一部分属性
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("switch", "close");
+        attributes.put("limit", "abc");
+        Assert.assertEquals(1L, node.publisher.publish(attributes));
+        Assert.assertEquals(10, target.limit);
+        Assert.assertTrue(target.switchValue);
+        Assert.assertEquals("open", service.getSnapshot().get("switch"));
+    }
+
+    public static class Target {
+
+        @DCCValue("limit:10")
+        private volatile int limit;
+
+        @DCCValue("switch:open")
+        private volatile boolean switchValue;
+
+        @DCCValue("name:a")
+        private volatile String name;
+
+    }
+
+}
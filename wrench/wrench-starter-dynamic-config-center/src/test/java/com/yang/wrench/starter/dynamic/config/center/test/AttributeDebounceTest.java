@@ -0,0 +1,129 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.MemoryDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.DebounceRuleVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterPublisher;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.config.center.listener.DynamicConfigCenterAdjustCoalescer;
+import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCValue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 配置变更防抖测试
+ *
+ * @author yang
+ */
+public class AttributeDebounceTest {
+
+    private DynamicConfigCenterTestNode node;
+    private DynamicConfigCenterService service;
+    private DynamicConfigCenterAdjustCoalescer coalescer;
+    private DynamicConfigCenterPublisher publisher;
+    private MemoryDynamicConfigCenterBackend backend;
+    private final List<String> commits = new CopyOnWriteArrayList<>();
+
+    private void init(Map<String, DebounceRuleVO> applyDebounce, Map<String, DebounceRuleVO> publishDebounce) {
+        DynamicConfigCenterAutoProperties properties = DynamicConfigCenterTestNode.properties();
+        properties.setApplyDebounce(applyDebounce);
+        properties.setPublishDebounce(publishDebounce);
+        node = new DynamicConfigCenterTestNode(properties);
+        service = node.service;
+        coalescer = node.coalescer;
+        publisher = node.publisher;
+        backend = node.backend;
+        service.addCommitListener(attributeVOList -> {
+            for (AttributeVO attributeVO : attributeVOList) {
+                commits.add(attributeVO.getAttribute() + "=" + attributeVO.getValue());
+            }
+        });
+    }
+
+    @After
+    public void destroy() {
+        node.close();
+    }
+
+    @Test
+    public void test_apply_debounce() throws Exception {
+        init(Map.of("switch", new DebounceRuleVO(200, 0), "pool.*", new DebounceRuleVO(0, 400)), Map.of());
+        Target target = new Target();
+        service.proxyObject(target);
+        service.loadAttributeValues();
+        commits.clear();
+
+        // 静默窗口内的多次切换只应用最终值
+        for (String value : new String[]{"close", "open", "close", "open", "close"}) {
+            publisher.publish("switch", value);
+            Thread.sleep(20);
+        }
+        Assert.assertEquals("open", target.switchValue);
+        Assert.assertEquals(1, coalescer.getPendingCount());
+        Thread.sleep(400);
+        Assert.assertEquals("close", target.switchValue);
+        Assert.assertEquals(List.of("switch=close"), commits);
+
+        // 最小生效间隔：首次立即生效，间隔内的后续变更推迟到间隔结束
+        commits.clear();
+        publisher.publish("pool.size", "20");
+        Thread.sleep(100);
+        Assert.assertEquals(20, target.poolSize);
+        publisher.publish("pool.size", "30");
+        publisher.publish("pool.size", "40");
+        Thread.sleep(100);
+        Assert.assertEquals(20, target.poolSize);
+        Thread.sleep(400);
+        Assert.assertEquals(40, target.poolSize);
+        Assert.assertEquals(List.of("pool.size=20", "pool.size=40"), commits);
+
+        // 多键事务不防抖，并取代暂存的旧值
+        publisher.publish("switch", "open");
+        publisher.publish(Map.of("switch", "close", "pool.size", "50"));
+        Assert.assertEquals("close", target.switchValue);
+        Assert.assertEquals(50, target.poolSize);
+        Thread.sleep(400);
+        Assert.assertEquals("close", target.switchValue);
+    }
+
+    @Test
+    public void test_publish_debounce() throws Exception {
+        init(Map.of(), Map.of("switch", new DebounceRuleVO(200, 0)));
+        Target target = new Target();
+        service.proxyObject(target);
+        service.loadAttributeValues();
+
+        Assert.assertEquals(DynamicConfigCenterPublisher.DEFERRED, publisher.publish("switch", "close"));
+        Assert.assertEquals(DynamicConfigCenterPublisher.DEFERRED, publisher.publish("switch", "half"));
+        // 暂存期间不写入配置中心
+        Assert.assertEquals("open", backend.read(List.of("s:switch")).get("s:switch"));
+        Assert.assertEquals(1, publisher.getPendingCount());
+        Thread.sleep(400);
+        Assert.assertEquals("half", backend.read(List.of("s:switch")).get("s:switch"));
+        Assert.assertEquals("half", target.switchValue);
+
+        // 没有规则的属性立即发布；关闭时发布暂存的值
+        Assert.assertNotEquals(DynamicConfigCenterPublisher.DEFERRED, publisher.publish("pool.size", "30"));
+        Assert.assertEquals(30, target.poolSize);
+        publisher.publish("switch", "open");
+        publisher.destroy();
+        Assert.assertEquals("open", target.switchValue);
+    }
+
+    public static class Target {
+
+        @DCCValue("switch:open")
+        private volatile String switchValue;
+
+        @DCCValue("pool.size:10")
+        private volatile int poolSize;
+
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeBindingVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.AttributeBindingRegistry;
+import com.yang.wrench.starter.dynamic.config.center.types.common.AttributeValueConverter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 配置值类型转换测试
+ *
+ * @author yang
+ */
+public class AttributeValueConverterTest {
+
+    private volatile int timeout;
+    private volatile boolean enabled;
+    private volatile Duration interval;
+    private volatile TimeUnit unit;
+    private volatile List<Long> whitelist;
+    private volatile Limit limit;
+    private volatile Limit fallbackLimit;
+    private volatile List<Long> blacklist;
+
+    @Test
+    public void test_convert() throws Exception {
+        Assert.assertEquals(3000, convert("timeout", " 3000 "));
+        Assert.assertEquals(true, convert("enabled", "open"));
+        Assert.assertEquals(false, convert("enabled", "close"));
+        Assert.assertEquals(Duration.ofMillis(500), convert("interval", "500ms"));
+        Assert.assertEquals(Duration.ofSeconds(5), convert("interval", "PT5S"));
+        Assert.assertEquals(TimeUnit.SECONDS, convert("unit", "seconds"));
+        Assert.assertEquals(Arrays.asList(1L, 2L, 3L), convert("whitelist", "1, 2,3"));
+        Assert.assertEquals(Arrays.asList(1L, 2L), convert("whitelist", "[1,2]"));
+
+        Limit converted = (Limit) convert("limit", "{\"permitsPerSecond\":10.5,\"blacklistCount\":3}");
+        Assert.assertEquals(10.5, converted.getPermitsPerSecond(), 0);
+        Assert.assertEquals(3, converted.getBlacklistCount());
+    }
+
+    @Test
+    public void test_structured_sharing() throws Exception {
+        // POJO 每次转换各自反序列化：一个字段（或回调中的旧值）被修改不影响其他字段
+        String value = "{\"permitsPerSecond\":10.5,\"blacklistCount\":3}";
+        Limit converted = (Limit) convert("limit", value);
+        Limit fallback = (Limit) convert("fallbackLimit", value);
+        Assert.assertNotSame(converted, fallback);
+        converted.setBlacklistCount(100);
+        Assert.assertEquals(3, fallback.getBlacklistCount());
+        Assert.assertEquals(3, ((Limit) convert("limit", value)).getBlacklistCount());
+
+        // 不可修改的简单元素 List 同一版本只解析一次，在字段之间共享
+        Object whitelistValue = convert("whitelist", "[1,2]");
+        Assert.assertSame(whitelistValue, convert("blacklist", "[1,2]"));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> ((List<Long>) whitelistValue).add(3L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_convert_invalid_boolean() throws Exception {
+        convert("enabled", "maybe");
+    }
+
+    @Test
+    public void test_registry_apply() throws Exception {
+        AttributeBindingRegistry registry = new AttributeBindingRegistry();
+        registry.register(AttributeBindingVO.of("s:timeout", this, AttributeValueConverterTest.class.getDeclaredField("timeout")));
+        registry.register(AttributeBindingVO.of("s:timeout", this, AttributeValueConverterTest.class.getDeclaredField("interval")));
+
+        Assert.assertEquals(2, registry.apply("s:timeout", "1000"));
+        Assert.assertEquals(1000, timeout);
+        Assert.assertEquals(Duration.ofMillis(1000), interval);
+
+        // 任一绑定转换失败时，全部绑定保持原值
+        try {
+            registry.apply("s:timeout", "1s");
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertEquals(1000, timeout);
+            Assert.assertEquals(Duration.ofMillis(1000), interval);
+        }
+    }
+
+    private Object convert(String fieldName, String value) throws Exception {
+        return AttributeValueConverter.of(AttributeValueConverterTest.class.getDeclaredField(fieldName)).apply(value);
+    }
+
+    public static class Limit {
+
+        private double permitsPerSecond;
+        private int blacklistCount;
+
+        public double getPermitsPerSecond() {
+            return permitsPerSecond;
+        }
+
+        public void setPermitsPerSecond(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        public int getBlacklistCount() {
+            return blacklistCount;
+        }
+
+        public void setBlacklistCount(int blacklistCount) {
+            this.blacklistCount = blacklistCount;
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoConfig;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.IDynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCListener;
+import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCValue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按Bean作用域绑定测试
+ *
+ * @author yang
+ */
+public class BeanScopeBindingTest {
+
+    private final DynamicConfigCenterTestNode node = new DynamicConfigCenterTestNode();
+    private final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+
+    @After
+    public void destroy() {
+        context.close();
+        node.close();
+    }
+
+    @Test
+    public void test_singleton_and_prototype() {
+        context.registerBean(IDynamicConfigCenterService.class, () -> node.service);
+        context.register(DynamicConfigCenterAutoConfig.class);
+        context.registerBean("singletonTarget", Target.class);
+        context.registerBean("prototypeTarget", Target.class, bd -> bd.setScope(BeanDefinition.SCOPE_PROTOTYPE));
+        context.refresh();
+
+        Target singleton = context.getBean("singletonTarget", Target.class);
+        Assert.assertTrue(node.service.isBound(singleton));
+        node.publisher.publish("poolSize", "20");
+        Assert.assertEquals(20, singleton.poolSize);
+
+        // 原型Bean注入创建时的值，不注册绑定
+        Target prototype = null;
+        for (int i = 0; i < 1000; i++) {
+            prototype = context.getBean("prototypeTarget", Target.class);
+            Assert.assertEquals(20, prototype.poolSize);
+            Assert.assertFalse(node.service.isBound(prototype));
+        }
+        node.publisher.publish("poolSize", "30");
+        Assert.assertEquals(30, singleton.poolSize);
+        Assert.assertEquals(20, prototype.poolSize);
+        Assert.assertEquals(30, context.getBean("prototypeTarget", Target.class).poolSize);
+
+        // 单例销毁后注销绑定
+        context.getDefaultListableBeanFactory().destroySingleton("singletonTarget");
+        Assert.assertFalse(node.service.isBound(singleton));
+        node.publisher.publish("poolSize", "40");
+        Assert.assertEquals(30, singleton.poolSize);
+    }
+
+    @Test
+    public void test_listener_scope() throws Exception {
+        context.registerBean(IDynamicConfigCenterService.class, () -> node.service);
+        context.register(DynamicConfigCenterAutoConfig.class);
+        context.registerBean("singletonTarget", Target.class);
+        context.registerBean("singletonListener", ListenerTarget.class);
+        context.registerBean("prototypeListener", ListenerTarget.class, bd -> bd.setScope(BeanDefinition.SCOPE_PROTOTYPE));
+        context.refresh();
+
+        ListenerTarget singleton = context.getBean("singletonListener", ListenerTarget.class);
+        ListenerTarget prototype = context.getBean("prototypeListener", ListenerTarget.class);
+        Assert.assertFalse(node.service.isBound(prototype));
+        node.publisher.publish("poolSize", "20");
+        Assert.assertTrue(singleton.latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(List.of(20), singleton.changes);
+
+        // 原型Bean的回调不注册；单例销毁后不再回调
+        context.getDefaultListableBeanFactory().destroySingleton("singletonListener");
+        Assert.assertFalse(node.service.isBound(singleton));
+        node.publisher.publish("poolSize", "30");
+        Thread.sleep(200);
+        Assert.assertEquals(List.of(20), singleton.changes);
+        Assert.assertTrue(prototype.changes.isEmpty());
+    }
+
+    public static class ListenerTarget {
+
+        private final List<Integer> changes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        @DCCListener("poolSize")
+        private void onPoolSizeChange(int newValue) {
+            changes.add(newValue);
+            latch.countDown();
+        }
+
+    }
+
+    public static class Target {
+
+        @DCCValue("poolSize:10")
+        private volatile int poolSize;
+
+    }
+
+}
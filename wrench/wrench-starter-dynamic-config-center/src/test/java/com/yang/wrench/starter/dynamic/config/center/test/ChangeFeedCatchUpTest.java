@@ -0,0 +1,125 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.IDynamicConfigCenterBackendListener;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterNodeReporter;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.config.center.listener.DynamicConfigCenterAdjustCoalescer;
+import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCValue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 带序号的变更补读测试
+ *
+ * 内存后端发布的变更带单调序号，记录下来作为变更流；离线节点恢复后按变更流补读，
+ * 与变更流消费者从最后应用的消息ID继续读取时一样，重读到的重复消息与乱序到达的旧消息按序号丢弃。
+ *
+ * @author yang
+ */
+public class ChangeFeedCatchUpTest {
+
+    private final DynamicConfigCenterTestNode node = new DynamicConfigCenterTestNode(DynamicConfigCenterTestNode.properties("a"));
+    private final List<AttributeVO> feed = new CopyOnWriteArrayList<>();
+    private final List<DynamicConfigCenterService> offlineServices = new ArrayList<>();
+
+    @After
+    public void destroy() {
+        offlineServices.forEach(DynamicConfigCenterService::destroy);
+        node.close();
+    }
+
+    @Test
+    public void test_sequence_catch_up() {
+        Target target = new Target();
+        node.service.proxyObject(target);
+        node.service.loadAttributeValues();
+        // 节点 b 启动后离线，未订阅变更
+        Target offlineTarget = new Target();
+        DynamicConfigCenterService offline = offlineService("b", offlineTarget);
+        DynamicConfigCenterNodeReporter reporter = new DynamicConfigCenterNodeReporter(DynamicConfigCenterTestNode.properties("b"), node.backend);
+        offline.addCommitListener(reporter);
+        record();
+
+        Assert.assertEquals(1L, node.publisher.publish("limit", "20"));
+        Assert.assertEquals(2L, node.publisher.publish("switch", "close"));
+        Assert.assertEquals(3L, node.publisher.publish("limit", "30"));
+        Assert.assertEquals(3, feed.size());
+        Assert.assertEquals(30, target.limit);
+        Assert.assertEquals(10, offlineTarget.limit);
+
+        // 按变更流补读；第二次读取与第一次重叠，重复的序号2被丢弃
+        long version = offline.getSnapshot().getVersion();
+        offline.applyAttributeValues(feed.subList(0, 2));
+        offline.applyAttributeValues(feed.subList(1, 3));
+        Assert.assertEquals(30, offlineTarget.limit);
+        Assert.assertFalse(offlineTarget.switchValue);
+        Assert.assertEquals(version + 2, offline.getSnapshot().getVersion());
+        Assert.assertEquals(3L, reporter.getAppliedVersion());
+
+        // 乱序到达的旧变更与重复的最新变更不再生效，也不生成新版本
+        offline.applyAttributeValues(feed.subList(0, 1));
+        offline.applyAttributeValues(feed.subList(2, 3));
+        Assert.assertEquals(30, offlineTarget.limit);
+        Assert.assertEquals("30", offline.getSnapshot().get("limit"));
+        Assert.assertEquals(version + 2, offline.getSnapshot().getVersion());
+    }
+
+    @Test
+    public void test_resync() {
+        Target target = new Target();
+        node.service.proxyObject(target);
+        node.service.loadAttributeValues();
+        Target offlineTarget = new Target();
+        DynamicConfigCenterService offline = offlineService("b", offlineTarget);
+
+        node.publisher.publish("limit", "20");
+        node.publisher.publish("switch", "close");
+
+        // 变更流已裁剪、无法增量补读时整体对齐，直接读取配置中心的最新值
+        new DynamicConfigCenterAdjustCoalescer(offline, 0).onResync();
+        Assert.assertEquals(20, offlineTarget.limit);
+        Assert.assertFalse(offlineTarget.switchValue);
+        Assert.assertEquals("close", offline.getSnapshot().get("switch"));
+    }
+
+    private DynamicConfigCenterService offlineService(String nodeId, Target target) {
+        DynamicConfigCenterService service = new DynamicConfigCenterService(DynamicConfigCenterTestNode.properties(nodeId), node.backend);
+        offlineServices.add(service);
+        service.proxyObject(target);
+        service.loadAttributeValues();
+        return service;
+    }
+
+    /**
+     * 记录内存后端推送的带序号变更
+     */
+    private void record() {
+        node.backend.subscribe(new IDynamicConfigCenterBackendListener() {
+            @Override
+            public void onChange(List<AttributeVO> attributeVOList, boolean persisted) {
+                feed.addAll(attributeVOList);
+            }
+
+            @Override
+            public void onResync() {
+            }
+        });
+    }
+
+    public static class Target {
+
+        @DCCValue("limit:10")
+        private volatile int limit;
+
+        @DCCValue("switch:open")
+        private volatile boolean switchValue;
+
+    }
+
+}
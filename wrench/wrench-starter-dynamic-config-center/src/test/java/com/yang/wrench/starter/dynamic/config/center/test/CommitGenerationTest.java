@@ -0,0 +1,98 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.MemoryDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCValue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 锁外读取配置中心与变更并发提交测试
+ *
+ * @author yang
+ */
+public class CommitGenerationTest {
+
+    private final DynamicConfigCenterAutoProperties properties = DynamicConfigCenterTestNode.properties();
+    private final RacingBackend backend = new RacingBackend(properties);
+    private final DynamicConfigCenterTestNode node = new DynamicConfigCenterTestNode(properties, backend);
+    private final Target target = new Target();
+
+    @After
+    public void destroy() {
+        node.close();
+    }
+
+    @Test
+    public void test_load_does_not_overwrite_newer_change() {
+        node.service.proxyObject(target);
+        node.service.loadAttributeValues();
+        Assert.assertEquals(10, target.limit);
+
+        // 批量加载读到旧值后、提交前，变更已先提交
+        backend.afterRead = () -> node.publisher.publish("limit", "20");
+        node.service.reconcileAttributeValues();
+        Assert.assertEquals(20, target.limit);
+        Assert.assertEquals("20", node.service.getSnapshot().get("limit"));
+    }
+
+    @Test
+    public void test_refresh_does_not_overwrite_newer_change() {
+        node.service.proxyObject(target);
+        node.service.loadAttributeValues();
+
+        // 错过了变更 20，摘要比对后重新读取到 20，提交前新的变更 30 已先提交
+        backend.setIfExists(Map.of("s:limit", "20"));
+        backend.afterRead = () -> node.publisher.publish("limit", "30");
+        Assert.assertEquals(0, node.service.refreshAttributeValues(List.of("s:limit")));
+        Assert.assertEquals(30, target.limit);
+        Assert.assertEquals("30", node.service.getSnapshot().get("limit"));
+    }
+
+    /**
+     * 读取配置后、返回前执行指定操作的存储后端，模拟读取与提交之间到达的变更
+     */
+    private static class RacingBackend extends MemoryDynamicConfigCenterBackend {
+
+        private volatile Runnable afterRead;
+
+        private RacingBackend(DynamicConfigCenterAutoProperties properties) {
+            super(properties);
+        }
+
+        @Override
+        public Map<String, String> load(Map<String, String> defaultValues) {
+            Map<String, String> values = super.load(defaultValues);
+            race();
+            return values;
+        }
+
+        @Override
+        public Map<String, String> read(Collection<String> keys) {
+            Map<String, String> values = super.read(keys);
+            race();
+            return values;
+        }
+
+        private void race() {
+            Runnable runnable = afterRead;
+            afterRead = null;
+            if (runnable != null) {
+                runnable.run();
+            }
+        }
+    }
+
+    public static class Target {
+
+        @DCCValue("limit:10")
+        private volatile int limit;
+
+    }
+
+}
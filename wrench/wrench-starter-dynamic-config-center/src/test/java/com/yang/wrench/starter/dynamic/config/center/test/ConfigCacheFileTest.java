@@ -0,0 +1,84 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.types.cache.ConfigCacheFile;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 本地配置缓存文件测试
+ *
+ * @author yang
+ */
+public class ConfigCacheFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void test_write_read() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("dcc/s.dcc");
+        ConfigCacheFile cacheFile = new ConfigCacheFile(path);
+        Assert.assertTrue(cacheFile.read().isEmpty());
+
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("rateLimiterSwitch", "open");
+        values.put("limit", "{\"permitsPerSecond\":10}");
+        values.put("名称", "值");
+        cacheFile.write(values, 3L);
+
+        Assert.assertEquals(values, new ConfigCacheFile(path).read());
+    }
+
+    @Test
+    public void test_corrupted() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("s.dcc");
+        ConfigCacheFile cacheFile = new ConfigCacheFile(path);
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("rateLimiterSwitch", "open");
+        cacheFile.write(values, 1L);
+
+        // 篡改最后一个字节，校验失败视为无缓存
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(file.length() - 1);
+            file.write('x');
+        }
+        Assert.assertTrue(cacheFile.read().isEmpty());
+    }
+
+    @Test
+    public void test_write_behind() throws Exception {
+        DynamicConfigCenterAutoProperties properties = DynamicConfigCenterTestNode.properties();
+        Assert.assertFalse(properties.isCacheEnabled());
+        properties.setCacheEnabled(true);
+        properties.setCacheDir(folder.getRoot().getPath());
+        Path path = folder.getRoot().toPath().resolve("s.dcc");
+
+        DynamicConfigCenterTestNode node = new DynamicConfigCenterTestNode(properties);
+        node.service.bindAttribute("limit", "1", Integer.class, value -> {
+        });
+        node.service.loadAttributeValues();
+        // 提交不同步写文件，由缓存线程合并写入最新快照
+        for (int i = 2; i <= 100; i++) {
+            node.publisher.publish("limit", String.valueOf(i));
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"100".equals(new ConfigCacheFile(path).read().get("limit")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Assert.assertEquals("100", new ConfigCacheFile(path).read().get("limit"));
+
+        // 关闭时写出尚未落盘的最后一次提交
+        node.publisher.publish("limit", "101");
+        node.close();
+        Assert.assertEquals("101", new ConfigCacheFile(path).read().get("limit"));
+    }
+
+}
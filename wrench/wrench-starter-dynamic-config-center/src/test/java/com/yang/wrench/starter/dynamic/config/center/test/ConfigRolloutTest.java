@@ -0,0 +1,160 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.MemoryDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.NodeVersionVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.RolloutProgressVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.RolloutRuleVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterPublisher;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterRollout;
+import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCValue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 配置分批生效测试
+ *
+ * @author yang
+ */
+public class ConfigRolloutTest {
+
+    private static final int NODES = 16;
+    private static final long WAVE_INTERVAL_MILLIS = 500;
+
+    private final Map<String, RolloutRuleVO> rules = Map.of("pool.*", new RolloutRuleVO(0, 50, WAVE_INTERVAL_MILLIS));
+    private final List<Node> nodes = new ArrayList<>();
+
+    @After
+    public void destroy() {
+        for (Node node : nodes) {
+            node.close();
+        }
+    }
+
+    @Test
+    public void test_wave_assignment() {
+        RolloutRuleVO rule = new RolloutRuleVO(1000, 25, 60000);
+        Assert.assertEquals(4, rule.getWaves());
+        Assert.assertEquals(1, new RolloutRuleVO(1000, 0, 0).getWaves());
+        Assert.assertEquals(3, new RolloutRuleVO(0, 40, 0).getWaves());
+
+        int[] counts = new int[rule.getWaves()];
+        for (int i = 0; i < 4000; i++) {
+            String node = "10.0.0." + i + "@host";
+            int wave = DynamicConfigCenterRollout.waveOf(node, "pool.size", rule);
+            counts[wave]++;
+            // 同一节点对同一属性的批次与抖动固定
+            Assert.assertEquals(wave, DynamicConfigCenterRollout.waveOf(node, "pool.size", rule));
+            long delay = DynamicConfigCenterRollout.delayOf(node, "pool.size", rule);
+            Assert.assertEquals(delay, DynamicConfigCenterRollout.delayOf(node, "pool.size", rule));
+            Assert.assertTrue(delay >= wave * 60000L && delay < wave * 60000L + 1000);
+        }
+        for (int count : counts) {
+            Assert.assertTrue("批次分布不均 " + count, count > 800 && count < 1200);
+        }
+
+        // 不同属性的首批节点不同
+        int same = 0;
+        for (int i = 0; i < 400; i++) {
+            String node = "node-" + i;
+            if (DynamicConfigCenterRollout.waveOf(node, "pool.size", rule) == DynamicConfigCenterRollout.waveOf(node, "cache.ttl", rule)) {
+                same++;
+            }
+        }
+        Assert.assertTrue(same < 200);
+    }
+
+    @Test
+    public void test_staged_rollout() throws Exception {
+        MemoryDynamicConfigCenterBackend backend = new MemoryDynamicConfigCenterBackend(properties("publisher"));
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new Node(properties("node-" + i), backend));
+            backend.reportNodeVersion(new NodeVersionVO("node-" + i, 0, System.currentTimeMillis()));
+        }
+        // 失联节点不计入各批存活节点数
+        backend.reportNodeVersion(new NodeVersionVO("node-stale", 0, System.currentTimeMillis() - 3600_000));
+        DynamicConfigCenterPublisher publisher = new DynamicConfigCenterPublisher(backend, Map.of());
+        RolloutRuleVO rule = rules.get("pool.*");
+
+        // 没有规则的属性在全部节点立即生效
+        publisher.publish("switch", "close");
+        for (Node node : nodes) {
+            Assert.assertEquals("close", node.target.switchValue);
+        }
+
+        publisher.publish("pool.size", "30");
+        Thread.sleep(WAVE_INTERVAL_MILLIS / 2);
+        int[] expected = new int[rule.getWaves()];
+        for (Node node : nodes) {
+            int wave = DynamicConfigCenterRollout.waveOf(node.properties.getNodeId(), "pool.size", rule);
+            expected[wave]++;
+            Assert.assertEquals(wave == 0 ? 30 : 10, node.target.poolSize);
+            Assert.assertEquals(wave != 0, node.rollout.isPending("pool.size"));
+        }
+        RolloutProgressVO progress = nodes.get(0).rollout.getProgress("pool.size");
+        Assert.assertArrayEquals(expected, progress.getNodesByWave());
+        Assert.assertArrayEquals(new int[]{expected[0], 0}, progress.getAppliedByWave());
+        Assert.assertEquals(0, progress.getCurrentWave());
+        Assert.assertFalse(progress.isComplete());
+        Assert.assertNull(nodes.get(0).rollout.getProgress("switch"));
+
+        // 后批节点等待期间的新变更取代旧变更，旧变更到期后不再生效
+        publisher.publish("pool.size", "40");
+        Thread.sleep(WAVE_INTERVAL_MILLIS * 7 / 10);
+        for (Node node : nodes) {
+            int wave = DynamicConfigCenterRollout.waveOf(node.properties.getNodeId(), "pool.size", rule);
+            Assert.assertEquals(wave == 0 ? 40 : 10, node.target.poolSize);
+        }
+        Thread.sleep(WAVE_INTERVAL_MILLIS * 8 / 10);
+        for (Node node : nodes) {
+            Assert.assertEquals(40, node.target.poolSize);
+        }
+        progress = nodes.get(0).rollout.getProgress("pool.size");
+        Assert.assertEquals(NODES, progress.getApplied());
+        Assert.assertEquals(1, progress.getCurrentWave());
+        Assert.assertTrue(progress.isComplete());
+
+        // 关闭时尚未生效的变更立即生效
+        publisher.publish("pool.size", "50");
+        Thread.sleep(WAVE_INTERVAL_MILLIS / 5);
+        for (Node node : nodes) {
+            node.rollout.destroy();
+            Assert.assertEquals(50, node.target.poolSize);
+        }
+    }
+
+    private DynamicConfigCenterAutoProperties properties(String nodeId) {
+        DynamicConfigCenterAutoProperties properties = DynamicConfigCenterTestNode.properties(nodeId);
+        properties.setRollout(rules);
+        return properties;
+    }
+
+    /**
+     * 共享同一存储后端的一个节点
+     */
+    private static class Node extends DynamicConfigCenterTestNode {
+        private final Target target = new Target();
+
+        private Node(DynamicConfigCenterAutoProperties properties, MemoryDynamicConfigCenterBackend backend) {
+            super(properties, backend);
+            service.proxyObject(target);
+            service.loadAttributeValues();
+        }
+    }
+
+    public static class Target {
+
+        @DCCValue("switch:open")
+        private volatile String switchValue;
+
+        @DCCValue("pool.size:10")
+        private volatile int poolSize;
+
+    }
+
+}
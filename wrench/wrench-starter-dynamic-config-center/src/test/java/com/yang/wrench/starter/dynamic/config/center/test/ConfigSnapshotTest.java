@@ -0,0 +1,110 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.ConfigSnapshotVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCValue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 配置快照与事务发布测试
+ *
+ * @author yang
+ */
+public class ConfigSnapshotTest {
+
+    private final DynamicConfigCenterTestNode node = new DynamicConfigCenterTestNode();
+    private final DynamicConfigCenterService service = node.service;
+    private final Target target = new Target();
+
+    @After
+    public void destroy() {
+        node.close();
+    }
+
+    @Test
+    public void test_snapshot_swap() {
+        service.proxyObject(target);
+        service.loadAttributeValues();
+        ConfigSnapshotVO loaded = service.getSnapshot();
+        Assert.assertEquals("s", loaded.getSystem());
+        Assert.assertEquals("4", loaded.get("pool.core"));
+        Assert.assertEquals("8", loaded.get("pool.max"));
+
+        // 事务发布的多个属性作为一个版本生效，已取得的旧快照不受影响
+        Assert.assertEquals(1L, node.publisher.publish(pool(16, 32)));
+        ConfigSnapshotVO published = service.getSnapshot();
+        Assert.assertEquals(loaded.getVersion() + 1, published.getVersion());
+        Assert.assertEquals("16", published.get("pool.core"));
+        Assert.assertEquals("32", published.get("pool.max"));
+        Assert.assertEquals("4", loaded.get("pool.core"));
+        Assert.assertEquals("8", loaded.get("pool.max"));
+        Assert.assertEquals(16, target.core);
+        Assert.assertEquals(32, target.max);
+        Assert.assertThrows(UnsupportedOperationException.class, () -> published.getValues().put("pool.core", "1"));
+
+        // 没有更新任何属性时不生成新版本
+        Assert.assertEquals(0L, node.publisher.publish("unknown", "1"));
+        Assert.assertSame(published, service.getSnapshot());
+    }
+
+    @Test
+    public void test_consistent_view() throws Exception {
+        service.proxyObject(target);
+        service.loadAttributeValues();
+
+        // 发布方始终成对更新 core 与 max = 2 * core，读取方从同一个快照中读到的值始终成对
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger reads = new AtomicInteger();
+        AtomicReference<String> broken = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                ConfigSnapshotVO snapshot = service.getSnapshot();
+                int core = Integer.parseInt(snapshot.get("pool.core"));
+                int max = Integer.parseInt(snapshot.get("pool.max"));
+                if (max != core * 2) {
+                    broken.compareAndSet(null, snapshot.toString());
+                }
+                reads.incrementAndGet();
+            }
+        });
+        reader.start();
+        long version = service.getSnapshot().getVersion();
+        for (int i = 1; i <= 500; i++) {
+            node.publisher.publish(pool(i, i * 2));
+        }
+        running.set(false);
+        reader.join();
+
+        Assert.assertNull(broken.get());
+        Assert.assertTrue(reads.get() > 0);
+        Assert.assertEquals(version + 500, service.getSnapshot().getVersion());
+        Assert.assertEquals("500", service.getSnapshot().get("pool.core"));
+        Assert.assertEquals("1000", service.getSnapshot().get("pool.max"));
+    }
+
+    private static Map<String, String> pool(int core, int max) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("pool.core", String.valueOf(core));
+        attributes.put("pool.max", String.valueOf(max));
+        return attributes;
+    }
+
+    public static class Target {
+
+        @DCCValue("pool.core:4")
+        private volatile int core;
+
+        @DCCValue("pool.max:8")
+        private volatile int max;
+
+    }
+
+}
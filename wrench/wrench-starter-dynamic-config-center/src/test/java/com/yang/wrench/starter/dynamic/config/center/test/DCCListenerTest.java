@@ -0,0 +1,97 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterPublisher;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCListener;
+import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCValue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 配置变更回调测试
+ *
+ * @author yang
+ */
+public class DCCListenerTest {
+
+    private final DynamicConfigCenterTestNode node = new DynamicConfigCenterTestNode();
+    private final DynamicConfigCenterService service = node.service;
+    private final DynamicConfigCenterPublisher publisher = node.publisher;
+
+    @After
+    public void destroy() {
+        node.close();
+    }
+
+    @Test
+    public void test_listener() throws Exception {
+        Target target = new Target();
+        service.proxyObject(target);
+        service.loadAttributeValues();
+        // 首次加载不回调
+        Assert.assertTrue(target.changes.isEmpty());
+
+        publisher.publish("poolSize", "20");
+        Assert.assertTrue(target.latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals("10->20", target.changes.get(0));
+        Assert.assertTrue(target.thread.startsWith("wrench-dcc-listener-"));
+        Assert.assertNotEquals(Thread.currentThread().getName(), target.thread);
+    }
+
+    @Test
+    public void test_ordered_and_merged() throws Exception {
+        Target target = new Target();
+        service.proxyObject(target);
+        service.loadAttributeValues();
+
+        List<String> changes = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        service.addListener("poolSize", Integer.class, (oldValue, newValue) -> {
+            changes.add(oldValue + "->" + newValue);
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // 第一次回调阻塞期间的后续变更合并为一次
+        publisher.publish("poolSize", "11");
+        Thread.sleep(200);
+        publisher.publish("poolSize", "12");
+        publisher.publish("poolSize", "13");
+        release.countDown();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (changes.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(200);
+        Assert.assertEquals(List.of("10->11", "11->13"), changes);
+    }
+
+    public static class Target {
+
+        @DCCValue("poolSize:10")
+        private volatile int poolSize;
+
+        private final List<String> changes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile String thread;
+
+        @DCCListener("poolSize")
+        private void onPoolSizeChange(int oldValue, int newValue) {
+            thread = Thread.currentThread().getName();
+            changes.add(oldValue + "->" + newValue);
+            latch.countDown();
+        }
+
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.types.index.DCCValueIndex;
+import com.yang.wrench.starter.dynamic.config.center.types.index.DCCValueIndexProcessor;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * DCCValue 编译期索引增量编译测试
+ *
+ * @author yang
+ */
+public class DCCValueIndexProcessorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void test_incremental_compile() throws Exception {
+        Path src = folder.newFolder("src").toPath();
+        Path out = folder.newFolder("classes").toPath();
+        Path a = source(src, "A", "@DCCValue(\"a:1\") String a;");
+        Path b = source(src, "B", "@DCCValue(\"b:1\") String b;");
+        compile(out, a, b);
+        Assert.assertEquals("demo.A=a\ndemo.B=b\n", index(out));
+
+        // 只重新编译 B：保留 A 的索引，B 以本次结果为准
+        source(src, "B", "@DCCValue(\"b:1\") String b; @DCCValue(\"c:1\") String c;");
+        compile(out, b);
+        Assert.assertEquals("demo.A=a\ndemo.B=b,c\n", index(out));
+
+        // 只重新编译 A，注解已删除：A 移出索引
+        source(src, "A", "String a;");
+        compile(out, a);
+        Assert.assertEquals("demo.B=b,c\n", index(out));
+    }
+
+    @Test
+    public void test_root_without_index() throws Exception {
+        Path src = folder.newFolder("mixed").toPath();
+        Path indexed = folder.newFolder("indexed").toPath();
+        Path plain = folder.newFolder("plain").toPath();
+        compile(indexed, source(src, "A", "@DCCValue(\"a:1\") String a;"));
+        // B 所在的目录未经注解处理器编译，没有索引
+        compile(plain, false, source(src, "B", "@DCCValue(\"b:1\") String b;"));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{indexed.toUri().toURL(), plain.toUri().toURL()},
+                getClass().getClassLoader())) {
+            DCCValueIndex index = DCCValueIndex.load(classLoader);
+            Class<?> a = classLoader.loadClass("demo.A");
+            Class<?> b = classLoader.loadClass("demo.B");
+            Assert.assertTrue(index.covers(a));
+            Assert.assertEquals(List.of("a"), index.getFieldNames(a));
+            // 其他目录的索引不覆盖 B，由调用方反射扫描
+            Assert.assertFalse(index.covers(b));
+            Assert.assertFalse(index.covers(String.class));
+        }
+    }
+
+    private Path source(Path src, String name, String body) throws Exception {
+        Path file = src.resolve(name + ".java");
+        Files.writeString(file, "package demo;\n"
+                + "import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCValue;\n"
+                + "public class " + name + " { " + body + " }\n");
+        return file;
+    }
+
+    private void compile(Path out, Path... sources) throws Exception {
+        compile(out, true, sources);
+    }
+
+    private void compile(Path out, boolean process, Path... sources) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            String classpath = out + File.pathSeparator + System.getProperty("java.class.path");
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    process ? List.of("-d", out.toString(), "-classpath", classpath)
+                            : List.of("-d", out.toString(), "-classpath", classpath, "-proc:none"),
+                    null, fileManager.getJavaFileObjects(sources));
+            if (process) {
+                task.setProcessors(List.of(new DCCValueIndexProcessor()));
+            }
+            Assert.assertTrue(task.call());
+        }
+    }
+
+    private String index(Path out) throws Exception {
+        return Files.readString(out.resolve(DCCValueIndex.INDEX_LOCATION));
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.MemoryDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterClient;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterPublisher;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 配置客户端本地缓存测试
+ *
+ * @author yang
+ */
+public class DynamicConfigCenterClientTest {
+
+    private DynamicConfigCenterTestNode node;
+    private MemoryDynamicConfigCenterBackend backend;
+    private DynamicConfigCenterPublisher publisher;
+    private DynamicConfigCenterClient client;
+
+    @Before
+    public void init() {
+        DynamicConfigCenterAutoProperties properties = DynamicConfigCenterTestNode.properties();
+        properties.setNearCacheMaxSize(2);
+        node = new DynamicConfigCenterTestNode(properties);
+        backend = node.backend;
+        publisher = node.publisher;
+        client = new DynamicConfigCenterClient(properties, backend);
+        node.service.addCommitListener(client);
+    }
+
+    @After
+    public void destroy() {
+        node.close();
+    }
+
+    @Test
+    public void test_get_update() {
+        // 动态配置键由其他节点创建
+        backend.load(Map.of("s:merchant.1001.switch", "open", "s:merchant.1002.limit", "10"));
+
+        Assert.assertEquals(Boolean.TRUE, client.get("merchant.1001.switch", Boolean.class));
+        Assert.assertEquals(Boolean.TRUE, client.get("merchant.1001.switch", Boolean.class));
+        Assert.assertEquals(1L, client.getMissCount());
+        Assert.assertEquals(1L, client.getHitCount());
+
+        List<Long> lags = new ArrayList<>();
+        client.setLagRecorder(lags::add);
+        Assert.assertEquals(1L, publisher.publish("merchant.1001.switch", "close"));
+        Assert.assertEquals(Boolean.FALSE, client.get("merchant.1001.switch", Boolean.class));
+        Assert.assertEquals(1L, client.getMissCount());
+        Assert.assertEquals(1, lags.size());
+
+        // 以其他类型读取同一配置键
+        Assert.assertEquals("close", client.get("merchant.1001.switch"));
+        Assert.assertEquals(Integer.valueOf(10), client.get("merchant.1002.limit", Integer.class));
+    }
+
+    @Test
+    public void test_absent_evict() {
+        Assert.assertNull(client.get("merchant.1003.switch", Boolean.class));
+        Assert.assertEquals(Boolean.FALSE, client.get("merchant.1003.switch", Boolean.class, Boolean.FALSE));
+        Assert.assertEquals(1L, client.getMissCount());
+
+        backend.load(Map.of("s:a", "1", "s:b", "2", "s:c", "3"));
+        client.get("a");
+        client.get("b");
+        client.get("c");
+        Assert.assertTrue(client.size() <= 2);
+        Assert.assertTrue(client.getEvictionCount() >= 2);
+
+        node.service.reconcileAttributeValues();
+        Assert.assertEquals(0, client.size());
+    }
+
+}
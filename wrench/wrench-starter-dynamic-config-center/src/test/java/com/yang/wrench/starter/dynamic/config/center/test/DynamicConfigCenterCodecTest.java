@@ -0,0 +1,71 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeBatchVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.types.codec.DynamicConfigCenterCodec;
+import io.netty.buffer.ByteBuf;
+import org.junit.Assert;
+import org.junit.Test;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.JsonJacksonCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 紧凑编解码测试
+ *
+ * @author yang
+ */
+public class DynamicConfigCenterCodecTest {
+
+    private final Codec codec = DynamicConfigCenterCodec.INSTANCE;
+
+    @Test
+    public void test_value() throws Exception {
+        ByteBuf buf = codec.getValueEncoder().encode("{\"permitsPerSecond\":10}");
+        Assert.assertEquals("{\"permitsPerSecond\":10}", buf.toString(StandardCharsets.UTF_8));
+        Assert.assertEquals("{\"permitsPerSecond\":10}", codec.getValueDecoder().decode(buf, null));
+        buf.release();
+
+        for (String value : new String[]{"open", "", "名称", "\"quoted\"", "\"a\" and \"b\"", "{\"@class\":\"x\"}", "\"\\\""}) {
+            Assert.assertEquals(value, roundTrip(codec, codec, value));
+        }
+
+        // 旧版本以 JsonJacksonCodec 写入的配置值
+        Assert.assertEquals("open", roundTrip(JsonJacksonCodec.INSTANCE, codec, "open"));
+        Assert.assertEquals("{\"permitsPerSecond\":10}", roundTrip(JsonJacksonCodec.INSTANCE, codec, "{\"permitsPerSecond\":10}"));
+    }
+
+    @Test
+    public void test_message() throws Exception {
+        AttributeVO attributeVO = (AttributeVO) roundTrip(codec, codec, new AttributeVO("limit", "10", 3L, 1700000000000L));
+        Assert.assertEquals("limit", attributeVO.getAttribute());
+        Assert.assertEquals("10", attributeVO.getValue());
+        Assert.assertEquals(Long.valueOf(3L), attributeVO.getSequence());
+        Assert.assertEquals(Long.valueOf(1700000000000L), attributeVO.getPublishTime());
+
+        AttributeBatchVO batch = (AttributeBatchVO) roundTrip(codec, codec,
+                new AttributeBatchVO(List.of(new AttributeVO("a", "1"), new AttributeVO("b", null))));
+        Assert.assertEquals(2, batch.getAttributes().size());
+        Assert.assertNull(batch.getAttributes().get(0).getSequence());
+        Assert.assertNull(batch.getAttributes().get(1).getValue());
+
+        // 旧版本发布者的消息
+        AttributeVO legacy = (AttributeVO) roundTrip(JsonJacksonCodec.INSTANCE, codec, new AttributeVO("limit", "20"));
+        Assert.assertEquals("20", legacy.getValue());
+        AttributeBatchVO legacyBatch = (AttributeBatchVO) roundTrip(JsonJacksonCodec.INSTANCE, codec,
+                new AttributeBatchVO(List.of(new AttributeVO("a", "1"), new AttributeVO("b", "2"))));
+        Assert.assertEquals("2", legacyBatch.getAttributes().get(1).getValue());
+    }
+
+    private static Object roundTrip(Codec writer, Codec reader, Object value) throws Exception {
+        ByteBuf buf = writer.getValueEncoder().encode(value);
+        try {
+            return reader.getValueDecoder().decode(buf, null);
+        } finally {
+            buf.release();
+        }
+    }
+
+}
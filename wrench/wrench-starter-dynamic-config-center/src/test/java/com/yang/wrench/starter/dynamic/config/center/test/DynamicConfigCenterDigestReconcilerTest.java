@@ -0,0 +1,110 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.MemoryDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterDigestReconciler;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 配置摘要对齐测试
+ *
+ * @author yang
+ */
+public class DynamicConfigCenterDigestReconcilerTest {
+
+    private final DynamicConfigCenterTestNode node = new DynamicConfigCenterTestNode();
+
+    @After
+    public void destroy() {
+        node.close();
+    }
+
+    @Test
+    public void test_reconcile() {
+        MemoryDynamicConfigCenterBackend backend = node.backend;
+        DynamicConfigCenterService service = node.service;
+        DynamicConfigCenterDigestReconciler reconciler = new DynamicConfigCenterDigestReconciler(node.properties, service, backend);
+        service.addCommitListener(reconciler);
+
+        // 其他服务写入的配置键，本节点未加载
+        backend.load(Map.of("s:other.1", "a", "s:other.2", "b"));
+        List<String> values = new ArrayList<>();
+        service.bindAttribute("limit", "1", String.class, values::add);
+        service.loadAttributeValues();
+
+        // 首次比对只把未加载的配置键记入镜像
+        Assert.assertEquals(0, reconciler.reconcile());
+        Assert.assertEquals(0, reconciler.reconcile());
+        Assert.assertEquals(1L, reconciler.getReconcileCount());
+
+        // 正常发布的变更随提交更新镜像，摘要一致
+        node.publisher.publish("limit", "2");
+        Assert.assertEquals(0, reconciler.reconcile());
+        Assert.assertEquals(1L, reconciler.getReconcileCount());
+
+        // 丢失的变更：配置中心已更新，本节点未收到通知；已知的未绑定配置键与正常通知一样提交
+        backend.setIfExists(Map.of("s:limit", "3", "s:other.1", "c"));
+        Assert.assertEquals(2, reconciler.reconcile());
+        Assert.assertEquals("3", values.get(values.size() - 1));
+        Assert.assertEquals("3", service.getSnapshot().get("limit"));
+        Assert.assertEquals("c", service.getSnapshot().get("other.1"));
+        Assert.assertNull(service.getSnapshot().get("other.2"));
+        Assert.assertEquals(0, reconciler.reconcile());
+        Assert.assertEquals(2L, reconciler.getRepairedCount());
+    }
+
+    @Test
+    public void test_refresh_failed() {
+        FailingBackend backend = new FailingBackend(node.properties);
+        DynamicConfigCenterTestNode failingNode = new DynamicConfigCenterTestNode(node.properties, backend);
+        try {
+            DynamicConfigCenterService service = failingNode.service;
+            DynamicConfigCenterDigestReconciler reconciler = new DynamicConfigCenterDigestReconciler(node.properties, service, backend);
+            service.addCommitListener(reconciler);
+            service.bindAttribute("limit", "1", String.class, value -> {
+            });
+            service.loadAttributeValues();
+            Assert.assertEquals(0, reconciler.reconcile());
+
+            // 补齐时读取配置失败：镜像恢复为补齐前的状态，下次比对仍能发现丢失的变更
+            backend.setIfExists(Map.of("s:limit", "3"));
+            backend.failRead = true;
+            Assert.assertThrows(RuntimeException.class, reconciler::reconcile);
+            backend.failRead = false;
+            Assert.assertEquals(1, reconciler.reconcile());
+            Assert.assertEquals("3", service.getSnapshot().get("limit"));
+            Assert.assertEquals(0, reconciler.reconcile());
+        } finally {
+            failingNode.close();
+        }
+    }
+
+    /**
+     * 可按需读取失败的存储后端
+     */
+    private static class FailingBackend extends MemoryDynamicConfigCenterBackend {
+
+        private volatile boolean failRead;
+
+        private FailingBackend(DynamicConfigCenterAutoProperties properties) {
+            super(properties);
+        }
+
+        @Override
+        public Map<String, String> read(Collection<String> keys) {
+            if (failRead) {
+                throw new RuntimeException("读取配置失败");
+            }
+            return super.read(keys);
+        }
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.IDynamicConfigCenterBackendListener;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.MemoryDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.NodeVersionVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterNodeReporter;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.IDynamicConfigCenterApplyRecorder;
+import com.yang.wrench.starter.dynamic.config.center.listener.DynamicConfigCenterAdjustCoalescer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 配置传播延迟与节点版本上报测试
+ *
+ * @author yang
+ */
+public class DynamicConfigCenterNodeReporterTest {
+
+    @Test
+    public void test_report_lagging() {
+        DynamicConfigCenterTestNode node = new DynamicConfigCenterTestNode(DynamicConfigCenterTestNode.properties("a"));
+        MemoryDynamicConfigCenterBackend backend = node.backend;
+        DynamicConfigCenterService service = node.service;
+        DynamicConfigCenterNodeReporter reporterA = new DynamicConfigCenterNodeReporter(node.properties, backend);
+        service.addCommitListener(reporterA);
+        // 节点 b 未订阅变更
+        DynamicConfigCenterNodeReporter reporterB = new DynamicConfigCenterNodeReporter(DynamicConfigCenterTestNode.properties("b"), backend);
+
+        List<Long> lags = new ArrayList<>();
+        AtomicInteger sets = new AtomicInteger();
+        service.setApplyRecorder(new IDynamicConfigCenterApplyRecorder() {
+            @Override
+            public void recordLag(long millis) {
+                lags.add(millis);
+            }
+
+            @Override
+            public void recordSet(long nanos) {
+                sets.incrementAndGet();
+            }
+        });
+        List<String> values = new ArrayList<>();
+        service.bindAttribute("limit", "1", String.class, values::add);
+        service.loadAttributeValues();
+        reporterA.report();
+        reporterB.report();
+        Assert.assertTrue(reporterA.getLaggingNodes().isEmpty());
+
+        Assert.assertEquals(1L, node.publisher.publish("limit", "2"));
+        Assert.assertEquals("2", values.get(values.size() - 1));
+        Assert.assertEquals(1, lags.size());
+        Assert.assertEquals(2, sets.get());
+        Assert.assertEquals(1L, reporterA.getAppliedVersion());
+
+        reporterA.report();
+        reporterB.report();
+        List<NodeVersionVO> lagging = reporterA.getLaggingNodes();
+        Assert.assertEquals(1, lagging.size());
+        Assert.assertEquals("b", lagging.get(0).getNode());
+        Assert.assertEquals(0L, lagging.get(0).getVersion());
+
+        // 整体对齐后以配置中心当前版本为基线
+        reporterB.onReconcile();
+        reporterB.report();
+        Assert.assertTrue(reporterA.getLaggingNodes().isEmpty());
+        Assert.assertEquals(2, reporterA.getNodeVersions().size());
+        node.close();
+    }
+
+    @Test
+    public void test_missed_sequence() {
+        DynamicConfigCenterTestNode node = new DynamicConfigCenterTestNode(DynamicConfigCenterTestNode.properties("a"));
+        node.service.bindAttribute("limit", "1", String.class, value -> {
+        });
+        node.service.loadAttributeValues();
+        // 节点 b 不订阅变更，测试按需投递记录下来的消息
+        DynamicConfigCenterService service = new DynamicConfigCenterService(DynamicConfigCenterTestNode.properties("b"), node.backend);
+        List<String> values = new ArrayList<>();
+        service.bindAttribute("limit", "1", String.class, values::add);
+        service.loadAttributeValues();
+        DynamicConfigCenterAdjustCoalescer coalescer = new DynamicConfigCenterAdjustCoalescer(service, 0);
+        DynamicConfigCenterNodeReporter reporter = new DynamicConfigCenterNodeReporter(DynamicConfigCenterTestNode.properties("b"), node.backend);
+        service.addCommitListener(reporter);
+        coalescer.setNodeReporter(reporter);
+        reporter.report();
+        List<AttributeVO> feed = new ArrayList<>();
+        node.backend.subscribe(new IDynamicConfigCenterBackendListener() {
+            @Override
+            public void onChange(List<AttributeVO> attributeVOList, boolean persisted) {
+                feed.addAll(attributeVOList);
+            }
+
+            @Override
+            public void onResync() {
+            }
+        });
+
+        node.publisher.publish("limit", "2");
+        node.publisher.publish("limit", "3");
+        node.publisher.publish("limit", "4");
+
+        // 错过序号1：已应用序号2、3，上报的版本停在缺口之前，仍列为落后
+        coalescer.onChange(feed.subList(1, 3), true);
+        Assert.assertEquals("4", values.get(values.size() - 1));
+        Assert.assertEquals(0L, reporter.getAppliedVersion());
+        reporter.report();
+        Assert.assertEquals(List.of("b"), nodes(reporter.getLaggingNodes()));
+
+        // 晚到的序号1按序号丢弃，不再生效，但补齐了缺口
+        coalescer.onChange(feed.subList(0, 1), true);
+        Assert.assertEquals("4", values.get(values.size() - 1));
+        Assert.assertEquals(3L, reporter.getAppliedVersion());
+
+        // 再次错过序号4，整体对齐后以配置中心当前版本为基线
+        node.publisher.publish("limit", "5");
+        node.publisher.publish("limit", "6");
+        coalescer.onChange(feed.subList(4, 5), true);
+        Assert.assertEquals(3L, reporter.getAppliedVersion());
+        coalescer.onResync();
+        reporter.report();
+        Assert.assertEquals(5L, reporter.getAppliedVersion());
+        Assert.assertTrue(nodes(reporter.getLaggingNodes()).isEmpty());
+        service.destroy();
+        node.close();
+    }
+
+    @Test
+    public void test_prune_stale_nodes() {
+        DynamicConfigCenterAutoProperties properties = DynamicConfigCenterTestNode.properties("a");
+        properties.setNodeReportIntervalMillis(1000);
+        MemoryDynamicConfigCenterBackend backend = new MemoryDynamicConfigCenterBackend(properties);
+        DynamicConfigCenterNodeReporter reporter = new DynamicConfigCenterNodeReporter(properties, backend);
+        long now = System.currentTimeMillis();
+        // 节点 b 失联但未到清理时间，节点 c 被强制终止、未移除自己的上报
+        backend.reportNodeVersion(new NodeVersionVO("b", 0, now - 5000));
+        backend.reportNodeVersion(new NodeVersionVO("c", 0, now - 60000));
+
+        reporter.report();
+        Assert.assertEquals(List.of("a", "b"), nodes(reporter.getNodeVersions()));
+        Assert.assertEquals(List.of("b"), nodes(reporter.getLaggingNodes()));
+        Assert.assertEquals(0, reporter.prune());
+    }
+
+    private static List<String> nodes(List<NodeVersionVO> nodeVersions) {
+        List<String> nodes = new ArrayList<>();
+        for (NodeVersionVO nodeVersion : nodeVersions) {
+            nodes.add(nodeVersion.getNode());
+        }
+        nodes.sort(null);
+        return nodes;
+    }
+
+}
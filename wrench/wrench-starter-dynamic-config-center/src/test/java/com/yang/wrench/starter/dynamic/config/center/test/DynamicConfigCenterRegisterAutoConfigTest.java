@@ -0,0 +1,67 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterRegisterAutoConfig;
+import com.yang.wrench.starter.dynamic.config.center.types.common.Constant;
+import org.junit.Assert;
+import org.junit.Test;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.spring.starter.RedissonAutoConfigurationV2;
+import org.springframework.boot.LazyInitializationBeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.Optional;
+
+/**
+ * 共享模式Redisson客户端选择测试
+ *
+ * @author yang
+ */
+public class DynamicConfigCenterRegisterAutoConfigTest {
+
+    // 延迟初始化：只创建测试取用的Bean，客户端延迟连接
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withInitializer(context -> context.addBeanFactoryPostProcessor(new LazyInitializationBeanFactoryPostProcessor()))
+            .withPropertyValues(
+                    "wrench.config.system=s",
+                    "wrench.config.register.mode=" + Constant.REGISTER_MODE_SHARED,
+                    "spring.redis.redisson.config=singleServerConfig:\n  address: redis://127.0.0.1:6379\nlazyInitialization: true\n");
+
+    @Test
+    public void test_shared_application_client() {
+        // 应用的客户端由 redisson-spring-boot-starter 创建，配置中心直接复用，不再创建最小客户端
+        runner.withConfiguration(AutoConfigurations.of(DynamicConfigCenterRegisterAutoConfig.class, RedissonAutoConfigurationV2.class))
+                .run(context -> {
+                    Assert.assertFalse(context.containsBean(Constant.WRENCH_REDISSON_CLIENT));
+                    Assert.assertArrayEquals(new String[]{"redisson"}, context.getBeanNamesForType(RedissonClient.class));
+                    Assert.assertNotNull(context.getBean("dynamicConfigCenterRedisTopic", RTopic.class));
+                });
+    }
+
+    @Test
+    public void test_shared_fallback_client() {
+        // 没有应用的客户端时创建最小客户端，它不作为 RedissonClient 的自动注入候选
+        runner.withConfiguration(AutoConfigurations.of(DynamicConfigCenterRegisterAutoConfig.class))
+                .withBean(ClientHolder.class)
+                .run(context -> {
+                    Assert.assertTrue(context.containsBean(Constant.WRENCH_REDISSON_CLIENT));
+                    Assert.assertFalse(context.getBean(ClientHolder.class).client.isPresent());
+                    Assert.assertNotNull(context.getBean("dynamicConfigCenterRedisTopic", RTopic.class));
+                });
+    }
+
+    /**
+     * 按类型注入 RedissonClient 的应用Bean
+     */
+    static class ClientHolder {
+
+        private final Optional<RedissonClient> client;
+
+        ClientHolder(Optional<RedissonClient> client) {
+            this.client = client;
+        }
+
+    }
+
+}
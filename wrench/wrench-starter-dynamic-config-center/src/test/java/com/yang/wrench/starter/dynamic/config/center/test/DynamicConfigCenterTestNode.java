@@ -0,0 +1,76 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.MemoryDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterPublisher;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterRollout;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.config.center.listener.DynamicConfigCenterAdjustCoalescer;
+
+/**
+ * 测试用的配置中心节点
+ *
+ * 按自动配置的方式组装一个节点：进程内存储后端、配置中心服务、分批生效、变更合并器（合并窗口为0，收到即应用）与发布器，
+ * 防抖与分批规则取自配置属性。多个节点可共享同一个存储后端，模拟集群。
+ *
+ * @author yang
+ */
+public class DynamicConfigCenterTestNode implements AutoCloseable {
+
+    public final DynamicConfigCenterAutoProperties properties;
+    public final MemoryDynamicConfigCenterBackend backend;
+    public final DynamicConfigCenterService service;
+    public final DynamicConfigCenterRollout rollout;
+    public final DynamicConfigCenterAdjustCoalescer coalescer;
+    public final DynamicConfigCenterPublisher publisher;
+
+    public DynamicConfigCenterTestNode() {
+        this(properties());
+    }
+
+    public DynamicConfigCenterTestNode(DynamicConfigCenterAutoProperties properties) {
+        this(properties, new MemoryDynamicConfigCenterBackend(properties));
+    }
+
+    /**
+     * @param properties 节点的配置属性
+     * @param backend 存储后端，可由多个节点共享
+     */
+    public DynamicConfigCenterTestNode(DynamicConfigCenterAutoProperties properties, MemoryDynamicConfigCenterBackend backend) {
+        this.properties = properties;
+        this.backend = backend;
+        this.service = new DynamicConfigCenterService(properties, backend);
+        this.rollout = new DynamicConfigCenterRollout(properties, backend, properties.getRollout());
+        this.coalescer = new DynamicConfigCenterAdjustCoalescer(service, 0, properties.getApplyDebounce(), rollout);
+        backend.subscribe(coalescer);
+        this.publisher = new DynamicConfigCenterPublisher(backend, properties.getPublishDebounce());
+    }
+
+    /**
+     * 测试用的配置属性：system 为 s，关闭编译期索引
+     */
+    public static DynamicConfigCenterAutoProperties properties() {
+        DynamicConfigCenterAutoProperties properties = new DynamicConfigCenterAutoProperties();
+        properties.setSystem("s");
+        properties.setIndexEnabled(false);
+        return properties;
+    }
+
+    /**
+     * 指定节点标识的测试配置属性
+     */
+    public static DynamicConfigCenterAutoProperties properties(String nodeId) {
+        DynamicConfigCenterAutoProperties properties = properties();
+        properties.setNodeId(nodeId);
+        return properties;
+    }
+
+    @Override
+    public void close() {
+        publisher.destroy();
+        coalescer.destroy();
+        rollout.destroy();
+        service.destroy();
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.MemoryDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterPublisher;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCValue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 进程内存储后端测试
+ *
+ * @author yang
+ */
+public class MemoryDynamicConfigCenterBackendTest {
+
+    private final DynamicConfigCenterTestNode node = new DynamicConfigCenterTestNode();
+    private final MemoryDynamicConfigCenterBackend backend = node.backend;
+    private final DynamicConfigCenterService service = node.service;
+    private final DynamicConfigCenterPublisher publisher = node.publisher;
+
+    @After
+    public void destroy() {
+        node.close();
+    }
+
+    @Test
+    public void test_load_publish() {
+        Target target = new Target();
+        service.proxyObject(target);
+        service.loadAttributeValues();
+        Assert.assertEquals(10, target.limit);
+        Assert.assertEquals("10", backend.getValues().get("s:limit"));
+
+        Assert.assertEquals(1L, publisher.publish("limit", "20"));
+        Assert.assertEquals(20, target.limit);
+        Assert.assertEquals("20", service.getSnapshot().get("limit"));
+
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("limit", "30");
+        attributes.put("rateLimiterSwitch", "close");
+        Assert.assertEquals(2L, publisher.publish(attributes));
+        Assert.assertEquals(30, target.limit);
+        Assert.assertFalse(target.rateLimiterSwitch);
+        Assert.assertEquals(2L, backend.getVersion());
+
+        // 未注册的配置键不存在，不生成版本
+        Assert.assertEquals(0L, publisher.publish("unknown", "1"));
+        Assert.assertEquals(2L, backend.getVersion());
+    }
+
+    @Test
+    public void test_publish_all_or_nothing() {
+        Target target = new Target();
+        service.proxyObject(target);
+        service.loadAttributeValues();
+
+        // 事务中有不存在的配置键时整体放弃，已存在的键也不更新
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("limit", "20");
+        attributes.put("unknown", "1");
+        Assert.assertEquals(0L, publisher.publish(attributes));
+        Assert.assertTrue(backend.setIfExists(Map.of("s:limit", "20", "s:unknown", "1")).isEmpty());
+        Assert.assertEquals("10", backend.getValues().get("s:limit"));
+        Assert.assertNull(backend.getValues().get("s:unknown"));
+        Assert.assertEquals(10, target.limit);
+        Assert.assertEquals(0L, backend.getVersion());
+
+        // 订阅方收到同样的事务时整体放弃，不写入字段
+        Assert.assertThrows(RuntimeException.class, () -> service.adjustAttributeValues(List.of(
+                new AttributeVO("limit", "20"), new AttributeVO("unknown", "1"))));
+        Assert.assertEquals(10, target.limit);
+        Assert.assertEquals("10", service.getSnapshot().get("limit"));
+    }
+
+    public static class Target {
+
+        @DCCValue("limit:10")
+        private volatile int limit;
+
+        @DCCValue("rateLimiterSwitch:open")
+        private volatile boolean rateLimiterSwitch;
+
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.RedisDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterDigestReconciler;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.config.center.listener.DynamicConfigCenterAdjustCoalescer;
+import com.yang.wrench.starter.dynamic.config.center.listener.DynamicConfigCenterAdjustListener;
+import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCValue;
+import com.yang.wrench.starter.dynamic.config.center.types.common.Constant;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.codec.JsonJacksonCodec;
+import org.redisson.config.Config;
+import org.redisson.config.ReadMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Redis 存储后端测试，需要本地 Redis（127.0.0.1:6379），不可用时跳过；副本读取的用例另需 127.0.0.1:6380
+ *
+ * @author yang
+ */
+public class RedisDynamicConfigCenterBackendTest {
+
+    private static final String REPLICA_ADDRESS = "redis://127.0.0.1:6380";
+
+    private static RedissonClient redissonClient;
+
+    private final String system = "wrench-test-" + UUID.randomUUID();
+    private final List<DynamicConfigCenterService> services = new ArrayList<>();
+
+    @BeforeClass
+    public static void connect() {
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:6379").setConnectionMinimumIdleSize(1).setConnectionPoolSize(4);
+        try {
+            redissonClient = Redisson.create(config);
+        } catch (Exception e) {
+            Assume.assumeNoException("本地 Redis 不可用", e);
+        }
+    }
+
+    @AfterClass
+    public static void disconnect() {
+        if (redissonClient != null) {
+            redissonClient.shutdown();
+        }
+    }
+
+    @After
+    public void destroy() {
+        services.forEach(DynamicConfigCenterService::destroy);
+        redissonClient.getKeys().deleteByPattern("*" + system + "*");
+    }
+
+    @Test
+    public void test_late_message_does_not_write_back() {
+        DynamicConfigCenterAutoProperties properties = properties();
+        RedisDynamicConfigCenterBackend backend = backend(properties);
+        Target healthyTarget = new Target();
+        DynamicConfigCenterService healthy = service(properties, backend, healthyTarget);
+        Target slowTarget = new Target();
+        DynamicConfigCenterService slow = service(properties, backend, slowTarget);
+        DynamicConfigCenterDigestReconciler healthyReconciler = reconciler(properties, healthy, backend);
+        DynamicConfigCenterDigestReconciler slowReconciler = reconciler(properties, slow, backend);
+
+        // 发布订阅模式的发布返回订阅者数量，序号取配置中心当前版本
+        backend.publish(List.of(new AttributeVO("limit", "20")));
+        long first = backend.getVersion();
+        backend.publish(List.of(new AttributeVO("limit", "30")));
+        long second = backend.getVersion();
+        Assert.assertEquals(first + 1, second);
+        Assert.assertEquals("30", backend.read(List.of(key("limit"))).get(key("limit")));
+
+        // 健康节点按序收到两条变更；慢节点在新变更写入配置中心之后才收到旧变更，随后丢失了新变更
+        DynamicConfigCenterAdjustListener healthyListener = new DynamicConfigCenterAdjustListener(new DynamicConfigCenterAdjustCoalescer(healthy, 0));
+        healthyListener.onMessage(Constant.getTopic(system), new AttributeVO("limit", "20", first));
+        healthyListener.onMessage(Constant.getTopic(system), new AttributeVO("limit", "30", second));
+        new DynamicConfigCenterAdjustListener(new DynamicConfigCenterAdjustCoalescer(slow, 0))
+                .onMessage(Constant.getTopic(system), new AttributeVO("limit", "20", first));
+        Assert.assertEquals(30, healthyTarget.limit);
+        Assert.assertEquals(20, slowTarget.limit);
+
+        // 旧变更不回写配置中心：摘要对齐修复慢节点，健康节点不被改回旧值
+        Assert.assertEquals("30", backend.read(List.of(key("limit"))).get(key("limit")));
+        Assert.assertEquals(0, healthyReconciler.reconcile());
+        Assert.assertEquals(1, slowReconciler.reconcile());
+        Assert.assertEquals(30, slowTarget.limit);
+        Assert.assertEquals(30, healthyTarget.limit);
+    }
+
+    @Test
+    public void test_topic_publish_all_or_nothing() {
+        DynamicConfigCenterAutoProperties properties = properties();
+        RedisDynamicConfigCenterBackend backend = backend(properties);
+        service(properties, backend, new Target());
+
+        Assert.assertEquals(0L, backend.publish(List.of(new AttributeVO("limit", "20"), new AttributeVO("unknown", "1"))));
+        Assert.assertEquals("10", backend.read(List.of(key("limit"))).get(key("limit")));
+        Assert.assertEquals(0L, backend.getVersion());
+    }
+
+    private DynamicConfigCenterAutoProperties properties() {
+        DynamicConfigCenterAutoProperties properties = DynamicConfigCenterTestNode.properties();
+        properties.setSystem(system);
+        return properties;
+    }
+
+    private RedisDynamicConfigCenterBackend backend(DynamicConfigCenterAutoProperties properties) {
+        return new RedisDynamicConfigCenterBackend(properties, redissonClient,
+                redissonClient.getTopic(Constant.getTopic(system), JsonJacksonCodec.INSTANCE));
+    }
+
+    /**
+     * 未订阅的节点，测试直接投递消息
+     */
+    private DynamicConfigCenterService service(DynamicConfigCenterAutoProperties properties, RedisDynamicConfigCenterBackend backend, Target target) {
+        DynamicConfigCenterService service = new DynamicConfigCenterService(properties, backend);
+        services.add(service);
+        service.proxyObject(target);
+        service.loadAttributeValues();
+        return service;
+    }
+
+    /**
+     * 摘要对齐器，以节点当前已提交的配置为镜像
+     */
+    private DynamicConfigCenterDigestReconciler reconciler(DynamicConfigCenterAutoProperties properties,
+                                                           DynamicConfigCenterService service, RedisDynamicConfigCenterBackend backend) {
+        DynamicConfigCenterDigestReconciler reconciler = new DynamicConfigCenterDigestReconciler(properties, service, backend);
+        service.addCommitListener(reconciler);
+        service.reconcileAttributeValues();
+        Assert.assertEquals(0, reconciler.reconcile());
+        return reconciler;
+    }
+
+    @Test
+    public void test_lagging_replica() {
+        // 127.0.0.1:6380 上的独立 Redis 充当落后的副本，不可用时跳过
+        Config standaloneConfig = new Config();
+        standaloneConfig.useSingleServer().setAddress(REPLICA_ADDRESS).setConnectionMinimumIdleSize(1).setConnectionPoolSize(2);
+        RedissonClient standalone = client(standaloneConfig);
+        Config config = new Config();
+        config.useMasterSlaveServers().setMasterAddress("redis://127.0.0.1:6379").addSlaveAddress(REPLICA_ADDRESS)
+                .setReadMode(ReadMode.SLAVE).setMasterConnectionMinimumIdleSize(1).setSlaveConnectionMinimumIdleSize(1);
+        RedissonClient replicated = client(config);
+        try {
+            DynamicConfigCenterAutoProperties properties = properties();
+            RedisDynamicConfigCenterBackend primary = backend(properties);
+            service(properties, primary, new Target());
+            primary.publish(List.of(new AttributeVO("limit", "30")));
+            // 副本停在发布之前：值为默认值，摘要登记齐全
+            service(properties, new RedisDynamicConfigCenterBackend(properties, standalone,
+                    standalone.getTopic(Constant.getTopic(system), JsonJacksonCodec.INSTANCE)), new Target());
+
+            // 副本总摘要与主节点不同，批量加载改由主节点执行，不采用副本上的旧值
+            RedisDynamicConfigCenterBackend backend = new RedisDynamicConfigCenterBackend(properties, replicated,
+                    replicated.getTopic(Constant.getTopic(system), JsonJacksonCodec.INSTANCE), true);
+            Target target = new Target();
+            service(properties, backend, target);
+            Assert.assertEquals(30, target.limit);
+
+            // 摘要对齐与按键读取以主节点为准
+            Assert.assertEquals(primary.readDigest(), backend.readDigest());
+            Assert.assertArrayEquals(primary.readBucketDigests(), backend.readBucketDigests());
+            Assert.assertEquals("30", backend.read(List.of(key("limit"))).get(key("limit")));
+        } finally {
+            standalone.getKeys().deleteByPattern("*" + system + "*");
+            standalone.shutdown();
+            replicated.shutdown();
+        }
+    }
+
+    private static RedissonClient client(Config config) {
+        try {
+            return Redisson.create(config);
+        } catch (Exception e) {
+            Assume.assumeNoException("副本 Redis 不可用", e);
+            return null;
+        }
+    }
+
+    private String key(String attribute) {
+        return system + Constant.SYMBOL_COLON + attribute;
+    }
+
+    public static class Target {
+
+        @DCCValue("limit:10")
+        private volatile int limit;
+
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterRedissonConfigFactory;
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterRegisterAutoConfigProperties;
+import com.yang.wrench.starter.dynamic.config.center.types.common.Constant;
+import org.junit.Assert;
+import org.junit.Test;
+import org.redisson.config.ClusterServersConfig;
+import org.redisson.config.Config;
+import org.redisson.config.MasterSlaveServersConfig;
+import org.redisson.config.ReadMode;
+import org.redisson.config.SentinelServersConfig;
+import org.redisson.config.SingleServerConfig;
+import org.redisson.config.SubscriptionMode;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 配置中心Redis拓扑测试
+ *
+ * @author yang
+ */
+public class RedisTopologyConfigTest {
+
+    private static DynamicConfigCenterRegisterAutoConfigProperties properties(String topology, String... nodes) {
+        DynamicConfigCenterRegisterAutoConfigProperties properties = new DynamicConfigCenterRegisterAutoConfigProperties();
+        properties.setTopology(topology);
+        properties.setHost("127.0.0.1");
+        properties.setPort(6379);
+        properties.setNodes(List.of(nodes));
+        return properties;
+    }
+
+    @Test
+    public void test_topologies() {
+        SingleServerConfig single = (SingleServerConfig) DynamicConfigCenterRedissonConfigFactory.useServers(new Config(),
+                properties(Constant.REGISTER_TOPOLOGY_SINGLE), 64, 10, 0);
+        Assert.assertEquals("redis://127.0.0.1:6379", single.getAddress());
+        Assert.assertEquals(64, single.getConnectionPoolSize());
+        Assert.assertFalse(properties(Constant.REGISTER_TOPOLOGY_SINGLE).isReplicaRead());
+
+        // 主从：主节点为 host:port，读取与订阅走副本
+        DynamicConfigCenterRegisterAutoConfigProperties masterSlaveProperties = properties(Constant.REGISTER_TOPOLOGY_MASTER_SLAVE,
+                "127.0.0.1:6380", "rediss://10.0.0.2:6380");
+        MasterSlaveServersConfig masterSlave = (MasterSlaveServersConfig) DynamicConfigCenterRedissonConfigFactory.useServers(new Config(),
+                masterSlaveProperties, 64, 10, 0);
+        Assert.assertEquals("redis://127.0.0.1:6379", masterSlave.getMasterAddress());
+        Assert.assertEquals(Set.of("redis://127.0.0.1:6380", "rediss://10.0.0.2:6380"), masterSlave.getSlaveAddresses());
+        Assert.assertEquals(ReadMode.SLAVE, masterSlave.getReadMode());
+        Assert.assertEquals(SubscriptionMode.SLAVE, masterSlave.getSubscriptionMode());
+        Assert.assertEquals(64, masterSlave.getSlaveConnectionPoolSize());
+        Assert.assertTrue(masterSlaveProperties.isReplicaRead());
+
+        // 哨兵：单个哨兵（本地替身环境）不校验哨兵列表
+        DynamicConfigCenterRegisterAutoConfigProperties sentinelProperties = properties(Constant.REGISTER_TOPOLOGY_SENTINEL, "127.0.0.1:26379");
+        sentinelProperties.setMasterName("mymaster");
+        sentinelProperties.setReadMode(ReadMode.MASTER);
+        SentinelServersConfig sentinel = (SentinelServersConfig) DynamicConfigCenterRedissonConfigFactory.useServers(new Config(),
+                sentinelProperties, 4, 1, 1);
+        Assert.assertEquals("mymaster", sentinel.getMasterName());
+        Assert.assertEquals(List.of("redis://127.0.0.1:26379"), sentinel.getSentinelAddresses());
+        Assert.assertFalse(sentinel.isCheckSentinelsList());
+        Assert.assertEquals(1, sentinel.getSubscriptionConnectionPoolSize());
+        Assert.assertFalse(sentinelProperties.isReplicaRead());
+
+        ClusterServersConfig cluster = (ClusterServersConfig) DynamicConfigCenterRedissonConfigFactory.useServers(new Config(),
+                properties(Constant.REGISTER_TOPOLOGY_CLUSTER, "127.0.0.1:7000", "127.0.0.1:7001"), 64, 10, 0);
+        Assert.assertEquals(List.of("redis://127.0.0.1:7000", "redis://127.0.0.1:7001"), cluster.getNodeAddresses());
+        Assert.assertEquals(ReadMode.SLAVE, cluster.getReadMode());
+    }
+
+    @Test
+    public void test_invalid_topologies() {
+        assertInvalid(properties(Constant.REGISTER_TOPOLOGY_SENTINEL, "127.0.0.1:26379"));
+        assertInvalid(properties(Constant.REGISTER_TOPOLOGY_CLUSTER));
+        assertInvalid(properties("replicated"));
+
+        // 集群拓扑要求 system 含非空哈希标签
+        DynamicConfigCenterRedissonConfigFactory.checkClusterSlot("{user-service}");
+        DynamicConfigCenterRedissonConfigFactory.checkClusterSlot("prod-{user-service}");
+        for (String system : new String[]{"user-service", "{}user-service", "user-service}{", null}) {
+            try {
+                DynamicConfigCenterRedissonConfigFactory.checkClusterSlot(system);
+                Assert.fail(system);
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+
+    private static void assertInvalid(DynamicConfigCenterRegisterAutoConfigProperties properties) {
+        try {
+            DynamicConfigCenterRedissonConfigFactory.useServers(new Config(), properties, 64, 10, 0);
+            Assert.fail(properties.getTopology());
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.IDynamicConfigCenterBackendListener;
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.AttributeVO;
+import com.yang.wrench.starter.dynamic.config.center.listener.DynamicConfigCenterStreamConsumer;
+import com.yang.wrench.starter.dynamic.config.center.types.common.Constant;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.api.stream.StreamTrimArgs;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 配置变更流消费者测试，需要本地 Redis（127.0.0.1:6379），不可用时跳过
+ *
+ * 测试直接向变更流追加带序号的消息，模拟发布脚本与断线期间的裁剪。
+ *
+ * @author yang
+ */
+public class StreamConsumerTest {
+
+    private static final String RESYNC = "resync";
+
+    private static RedissonClient redissonClient;
+
+    private final String system = "wrench-test-" + UUID.randomUUID();
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+    private final List<DynamicConfigCenterStreamConsumer> consumers = new ArrayList<>();
+    private RStream<String, String> stream;
+
+    @BeforeClass
+    public static void connect() {
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:6379").setConnectionMinimumIdleSize(1).setConnectionPoolSize(4);
+        try {
+            redissonClient = Redisson.create(config);
+        } catch (Exception e) {
+            Assume.assumeNoException("本地 Redis 不可用", e);
+        }
+    }
+
+    @AfterClass
+    public static void disconnect() {
+        if (redissonClient != null) {
+            redissonClient.shutdown();
+        }
+    }
+
+    @After
+    public void destroy() {
+        consumers.forEach(DynamicConfigCenterStreamConsumer::destroy);
+        redissonClient.getKeys().deleteByPattern("*" + system + "*");
+    }
+
+    @Test
+    public void test_empty_start_gap() throws Exception {
+        stream = redissonClient.getStream(Constant.getStream(system), StringCodec.INSTANCE);
+        DynamicConfigCenterStreamConsumer consumer = consumer();
+        Assert.assertEquals(0L, consumer.getLastSequence());
+
+        // 启动时变更流为空，序号1、2在读取前已被裁剪，首条读到的序号3不连续
+        add(3, "limit", "30");
+        Assert.assertEquals(RESYNC, next());
+        add(4, "limit", "40");
+        Assert.assertEquals("limit=40@4", next());
+        Assert.assertNull(events.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void test_empty_stream_with_sequence() throws Exception {
+        // 变更流为空但配置中心已有序号，以当前序号为起点，后续消息连续
+        stream = redissonClient.getStream(Constant.getStream(system), StringCodec.INSTANCE);
+        redissonClient.getBucket(Constant.getSequence(system), StringCodec.INSTANCE).set("5");
+        DynamicConfigCenterStreamConsumer consumer = consumer();
+        Assert.assertEquals(5L, consumer.getLastSequence());
+
+        add(6, "limit", "60");
+        Assert.assertEquals("limit=60@6", next());
+        Assert.assertNull(events.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void test_last_id_trimmed() throws Exception {
+        stream = redissonClient.getStream(Constant.getStream(system), StringCodec.INSTANCE);
+        add(1, "limit", "10");
+        DynamicConfigCenterStreamConsumer consumer = consumer();
+        Assert.assertEquals(1L, consumer.getLastSequence());
+
+        // 最后应用的消息本身被裁剪，但后续消息连续，照常增量消费而不整体对齐
+        stream.trim(StreamTrimArgs.maxLen(0).noLimit());
+        add(2, "limit", "20");
+        Assert.assertEquals("limit=20@2", next());
+        add(3, "switch", "close");
+        Assert.assertEquals("switch=close@3", next());
+        Assert.assertNull(events.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void test_gap() throws Exception {
+        stream = redissonClient.getStream(Constant.getStream(system), StringCodec.INSTANCE);
+        consumer();
+        add(1, "limit", "10");
+        Assert.assertEquals("limit=10@1", next());
+
+        // 序号2丢失：放弃这一批并整体对齐，之后从这一批之后继续
+        add(3, "limit", "30");
+        Assert.assertEquals(RESYNC, next());
+        add(4, "limit", "40");
+        Assert.assertEquals("limit=40@4", next());
+        Assert.assertNull(events.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    private DynamicConfigCenterStreamConsumer consumer() {
+        DynamicConfigCenterStreamConsumer consumer = new DynamicConfigCenterStreamConsumer(new IDynamicConfigCenterBackendListener() {
+            @Override
+            public void onChange(List<AttributeVO> attributeVOList, boolean persisted) {
+                attributeVOList.forEach(attributeVO ->
+                        events.add(attributeVO.getAttribute() + "=" + attributeVO.getValue() + "@" + attributeVO.getSequence()));
+            }
+
+            @Override
+            public void onResync() {
+                events.add(RESYNC);
+            }
+        }, redissonClient, system);
+        consumers.add(consumer);
+        consumer.start();
+        return consumer;
+    }
+
+    private void add(long sequence, String attribute, String value) {
+        stream.add(StreamAddArgs.entries(Map.of(Constant.STREAM_FIELD_SEQUENCE, String.valueOf(sequence), attribute, value)));
+    }
+
+    private String next() throws InterruptedException {
+        String event = events.poll(10, TimeUnit.SECONDS);
+        Assert.assertNotNull(event);
+        return event;
+    }
+
+}
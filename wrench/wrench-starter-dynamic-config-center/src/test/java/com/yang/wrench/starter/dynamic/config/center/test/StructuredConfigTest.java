@@ -0,0 +1,180 @@
+package com.yang.wrench.starter.dynamic.config.center.test;
+
+import com.yang.wrench.starter.dynamic.config.center.domain.model.valobj.ConfigDiffVO;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterPublisher;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCListener;
+import com.yang.wrench.starter.dynamic.config.center.types.annotations.DCCValue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 结构化配置值测试
+ *
+ * @author yang
+ */
+public class StructuredConfigTest {
+
+    private static final String ROUTES = "{\"version\":1,\"routes\":[{\"path\":\"/a\",\"target\":\"x\"},{\"path\":\"/b\",\"target\":\"y\"}],\"timeout\":100}";
+
+    private final DynamicConfigCenterTestNode node = new DynamicConfigCenterTestNode();
+    private final DynamicConfigCenterService service = node.service;
+    private final DynamicConfigCenterPublisher publisher = node.publisher;
+
+    @After
+    public void destroy() {
+        node.close();
+    }
+
+    @Test
+    public void test_diff() {
+        ConfigDiffVO diff = ConfigDiffVO.of(ROUTES,
+                "{\"version\":2,\"routes\":[{\"path\":\"/a\",\"target\":\"z\"},{\"path\":\"/b\",\"target\":\"y\"},{\"path\":\"/c\"}],\"extra\":true}");
+        Assert.assertEquals(ConfigDiffVO.ChangeType.MODIFIED, diff.getChanges().get("version"));
+        Assert.assertEquals(ConfigDiffVO.ChangeType.MODIFIED, diff.getChanges().get("routes[0].target"));
+        Assert.assertEquals(ConfigDiffVO.ChangeType.ADDED, diff.getChanges().get("routes[2]"));
+        Assert.assertEquals(ConfigDiffVO.ChangeType.REMOVED, diff.getChanges().get("timeout"));
+        Assert.assertEquals(ConfigDiffVO.ChangeType.ADDED, diff.getChanges().get("extra"));
+        Assert.assertEquals(5, diff.getChanges().size());
+
+        Assert.assertTrue(diff.isChanged("routes"));
+        Assert.assertTrue(diff.isChanged("routes[0]"));
+        Assert.assertTrue(diff.isChanged("routes[2].path"));
+        Assert.assertFalse(diff.isChanged("routes[1]"));
+        Assert.assertFalse(diff.isChanged("route"));
+        Assert.assertTrue(diff.isChanged(""));
+
+        // JSON 与 YAML 表示的相同结构没有差异
+        Assert.assertTrue(ConfigDiffVO.of("{\"a\":{\"b\":[1,2]}}", "a:\n  b:\n    - 1\n    - 2\n").isEmpty());
+        // 非结构化配置值只有根路径变化
+        Assert.assertEquals(Map.of("", ConfigDiffVO.ChangeType.MODIFIED), ConfigDiffVO.of("open", "close").getChanges());
+    }
+
+    @Test
+    public void test_parse_once_and_diff_listener() throws Exception {
+        Target target = new Target();
+        Target another = new Target();
+        service.proxyObject(target);
+        service.proxyObject(another);
+        service.loadAttributeValues();
+
+        // 不可变的 Map 树同一版本只解析一次，读取方共享；POJO 每个字段各自反序列化，修改互不影响
+        Assert.assertEquals(2, target.routeTable.getRoutes().size());
+        Assert.assertNotSame(target.routeTable, another.routeTable);
+        another.routeTable.setTimeout(1);
+        Assert.assertEquals(100, target.routeTable.getTimeout());
+        Assert.assertSame(target.settings, another.settings);
+        Assert.assertEquals("b", ((Map<?, ?>) target.settings.get("a")).get("x"));
+        try {
+            target.settings.put("k", "v");
+            Assert.fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+
+        Map<String, Object> table = new LinkedHashMap<>();
+        table.put("version", 1);
+        table.put("timeout", 100);
+        table.put("routes", List.of(Map.of("path", "/a", "target", "x"), Map.of("target", "w", "path", "/b")));
+        publisher.publishObject("routeTable", table);
+
+        List<String> changed = target.diffs.poll(5, TimeUnit.SECONDS);
+        Assert.assertEquals(List.of("routes[1].target"), changed);
+        Assert.assertNotSame(target.routeTable, target.listenerValue);
+        Assert.assertEquals("w", target.listenerValue.getRoutes().get(1).getTarget());
+        Assert.assertEquals("w", target.routeTable.getRoutes().get(1).getTarget());
+
+        // 结构相同、键顺序不同的发布不产生变更
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("routes", table.get("routes"));
+        reordered.put("timeout", 100);
+        reordered.put("version", 1);
+        publisher.publishObject("routeTable", reordered);
+
+        // YAML 配置值
+        publisher.publish("settings", "a:\n  x: c\nlist: [1, 2]\n");
+        Assert.assertEquals("c", ((Map<?, ?>) target.settings.get("a")).get("x"));
+        Assert.assertEquals(List.of(1, 2), target.settings.get("list"));
+        Assert.assertNull(target.diffs.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    public static class Target {
+
+        @DCCValue("routeTable:" + ROUTES)
+        private volatile RouteTable routeTable;
+
+        @DCCValue("settings:{\"a\":{\"x\":\"b\"}}")
+        private volatile Map<String, Object> settings;
+
+        private final BlockingQueue<List<String>> diffs = new ArrayBlockingQueue<>(4);
+        private volatile RouteTable listenerValue;
+
+        @DCCListener("routeTable")
+        private void onRouteTableChange(RouteTable newValue, ConfigDiffVO diff) {
+            listenerValue = newValue;
+            diffs.offer(List.copyOf(diff.getChangedPaths()));
+        }
+
+    }
+
+    public static class RouteTable {
+
+        private int version;
+        private int timeout;
+        private List<Route> routes;
+
+        public int getVersion() {
+            return version;
+        }
+
+        public void setVersion(int version) {
+            this.version = version;
+        }
+
+        public int getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(int timeout) {
+            this.timeout = timeout;
+        }
+
+        public List<Route> getRoutes() {
+            return routes;
+        }
+
+        public void setRoutes(List<Route> routes) {
+            this.routes = routes;
+        }
+    }
+
+    public static class Route {
+
+        private String path;
+        private String target;
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public void setTarget(String target) {
+            this.target = target;
+        }
+    }
+
+}
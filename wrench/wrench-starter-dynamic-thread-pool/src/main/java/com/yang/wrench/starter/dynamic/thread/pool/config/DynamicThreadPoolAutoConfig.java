@@ -0,0 +1,44 @@
+package com.yang.wrench.starter.dynamic.thread.pool.config;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterRegisterAutoConfig;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.IDynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.thread.pool.domain.service.DynamicThreadPoolRegistry;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 动态线程池自动配置类
+ *
+ * 功能说明：
+ * 1. 创建动态线程池注册表，线程池参数绑定到动态配置中心
+ * 2. 注册 wrench.thread-pool.executors 中声明的线程池，业务通过 DynamicThreadPoolRegistry#get 获取，
+ *    或在自己的配置类中调用 register 创建线程池Bean
+ *
+ * @Author: yang
+ * @Description: 动态线程池自动配置类
+ */
+@Configuration
+@AutoConfigureAfter(DynamicConfigCenterRegisterAutoConfig.class)
+@EnableConfigurationProperties(DynamicThreadPoolAutoProperties.class)
+@ConditionalOnProperty(prefix = "wrench.thread-pool", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DynamicThreadPoolAutoConfig {
+
+    /**
+     * 创建动态线程池注册表Bean，并注册配置文件中声明的线程池
+     *
+     * @param properties 动态线程池配置属性
+     * @param dynamicConfigCenterService 动态配置中心服务
+     * @return 动态线程池注册表
+     */
+    @Bean
+    public DynamicThreadPoolRegistry dynamicThreadPoolRegistry(DynamicThreadPoolAutoProperties properties,
+                                                               IDynamicConfigCenterService dynamicConfigCenterService) {
+        DynamicThreadPoolRegistry registry = new DynamicThreadPoolRegistry(dynamicConfigCenterService);
+        properties.getExecutors().forEach(registry::register);
+        return registry;
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.yang.wrench.starter.dynamic.thread.pool.config;
+
+import com.yang.wrench.starter.dynamic.thread.pool.domain.model.valobj.ThreadPoolConfigVO;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 动态线程池配置属性
+ *
+ * 配置示例：
+ * wrench:
+ *   thread-pool:
+ *     executors:
+ *       orderPool:
+ *         core-pool-size: 20
+ *         maximum-pool-size: 50
+ *         keep-alive-seconds: 60
+ *         queue-capacity: 5000
+ *         policy: CallerRunsPolicy
+ *
+ * 这里的参数是默认值，生效参数以动态配置中心的 threadPool.{名称} 为准。
+ *
+ * @Author: yang
+ * @Description: 动态线程池配置属性
+ */
+@ConfigurationProperties(prefix = "wrench.thread-pool", ignoreInvalidFields = true)
+public class DynamicThreadPoolAutoProperties {
+
+    /** 是否启用动态线程池 */
+    private boolean enabled = true;
+
+    /** 线程池名称 -> 默认参数，启动时自动注册 */
+    private Map<String, ThreadPoolConfigVO> executors = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, ThreadPoolConfigVO> getExecutors() {
+        return executors;
+    }
+
+    public void setExecutors(Map<String, ThreadPoolConfigVO> executors) {
+        this.executors = executors;
+    }
+}
@@ -0,0 +1,32 @@
+package com.yang.wrench.starter.dynamic.thread.pool.config;
+
+import com.yang.wrench.starter.dynamic.thread.pool.domain.service.DynamicThreadPoolRegistry;
+import com.yang.wrench.starter.dynamic.thread.pool.metrics.DynamicThreadPoolMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 动态线程池指标自动配置类
+ * 类路径上存在 Micrometer 时启用，容器中有 MeterRegistry（如引入 actuator）时发布线程池指标
+ *
+ * @Author: yang
+ * @Description: 动态线程池指标自动配置类
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@AutoConfigureAfter(DynamicThreadPoolAutoConfig.class)
+public class DynamicThreadPoolMetricsAutoConfig {
+
+    @Bean
+    @ConditionalOnBean(DynamicThreadPoolRegistry.class)
+    public DynamicThreadPoolMetrics dynamicThreadPoolMetrics(DynamicThreadPoolRegistry dynamicThreadPoolRegistry,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DynamicThreadPoolMetrics(dynamicThreadPoolRegistry, meterRegistry);
+    }
+
+}
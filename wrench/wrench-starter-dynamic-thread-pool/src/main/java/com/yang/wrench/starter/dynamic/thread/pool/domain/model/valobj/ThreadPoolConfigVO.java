@@ -0,0 +1,114 @@
+package com.yang.wrench.starter.dynamic.thread.pool.domain.model.valobj;
+
+/**
+ * 线程池参数值对象（Value Object）
+ *
+ * 以JSON形式存储在动态配置中心（属性名：threadPool.{线程池名称}），例如：
+ * {"corePoolSize":20,"maximumPoolSize":50,"keepAliveSeconds":60,"queueCapacity":5000,"policy":"CallerRunsPolicy"}
+ *
+ * 拒绝策略：
+ * - AbortPolicy：丢弃任务并抛出RejectedExecutionException异常
+ * - DiscardPolicy：直接丢弃任务，但是不会抛出异常
+ * - DiscardOldestPolicy：将最早进入队列的任务删除，之后再尝试加入队列
+ * - CallerRunsPolicy：如果任务添加线程池失败，那么提交任务的线程自己执行该任务
+ *
+ * @Author: yang
+ * @Description: 动态线程池的可调整参数
+ */
+public class ThreadPoolConfigVO {
+
+    /** 核心线程数 */
+    private int corePoolSize = 20;
+
+    /** 最大线程数 */
+    private int maximumPoolSize = 50;
+
+    /** 空闲线程存活时间（单位：秒） */
+    private long keepAliveSeconds = 60;
+
+    /** 队列容量 */
+    private int queueCapacity = 5000;
+
+    /** 拒绝策略 */
+    private String policy = "AbortPolicy";
+
+    public ThreadPoolConfigVO() {
+    }
+
+    public ThreadPoolConfigVO(int corePoolSize, int maximumPoolSize, long keepAliveSeconds, int queueCapacity, String policy) {
+        this.corePoolSize = corePoolSize;
+        this.maximumPoolSize = maximumPoolSize;
+        this.keepAliveSeconds = keepAliveSeconds;
+        this.queueCapacity = queueCapacity;
+        this.policy = policy;
+    }
+
+    /**
+     * 校验参数，非法时抛出异常，线程池保持原参数
+     */
+    public void validate() {
+        if (corePoolSize < 0 || maximumPoolSize <= 0 || maximumPoolSize < corePoolSize) {
+            throw new IllegalArgumentException("线程池线程数非法 corePoolSize: " + corePoolSize + " maximumPoolSize: " + maximumPoolSize);
+        }
+        if (keepAliveSeconds < 0) {
+            throw new IllegalArgumentException("线程池存活时间非法 keepAliveSeconds: " + keepAliveSeconds);
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("线程池队列容量非法 queueCapacity: " + queueCapacity);
+        }
+        if (policy == null || policy.isBlank()) {
+            throw new IllegalArgumentException("线程池拒绝策略不能为空");
+        }
+    }
+
+    public int getCorePoolSize() {
+        return corePoolSize;
+    }
+
+    public void setCorePoolSize(int corePoolSize) {
+        this.corePoolSize = corePoolSize;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public long getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    public void setKeepAliveSeconds(long keepAliveSeconds) {
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public String getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(String policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadPoolConfigVO{" +
+                "corePoolSize=" + corePoolSize +
+                ", maximumPoolSize=" + maximumPoolSize +
+                ", keepAliveSeconds=" + keepAliveSeconds +
+                ", queueCapacity=" + queueCapacity +
+                ", policy='" + policy + '\'' +
+                '}';
+    }
+}
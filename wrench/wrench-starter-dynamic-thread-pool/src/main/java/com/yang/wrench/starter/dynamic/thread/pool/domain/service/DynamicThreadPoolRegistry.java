@@ -0,0 +1,99 @@
+package com.yang.wrench.starter.dynamic.thread.pool.domain.service;
+
+import com.alibaba.fastjson.JSON;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.IDynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.thread.pool.domain.model.valobj.ThreadPoolConfigVO;
+import com.yang.wrench.starter.dynamic.thread.pool.executor.DynamicThreadPoolExecutor;
+import com.yang.wrench.starter.dynamic.thread.pool.types.common.Constant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 动态线程池注册表
+ *
+ * 功能说明：
+ * 1. 按名称注册动态线程池，参数以JSON存储在动态配置中心（属性名：threadPool.{名称}），注册时的参数作为默认值
+ * 2. 配置中心的参数随配置批量加载生效，之后每次变更即时调整线程池，无需重启
+ * 3. 参数非法时记录错误日志，线程池保持原参数
+ *
+ * 调整示例：publisher.publish("threadPool.orderPool", "{\"corePoolSize\":40,\"maximumPoolSize\":80,...}")
+ *
+ * @Author: yang
+ * @Description: 命名动态线程池的注册与配置绑定
+ */
+public class DynamicThreadPoolRegistry implements DisposableBean {
+
+    private final Logger log = LoggerFactory.getLogger(DynamicThreadPoolRegistry.class);
+
+    private final IDynamicConfigCenterService dynamicConfigCenterService;
+    private final Map<String, DynamicThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+    private final List<Consumer<DynamicThreadPoolExecutor>> registerListeners = new CopyOnWriteArrayList<>();
+
+    public DynamicThreadPoolRegistry(IDynamicConfigCenterService dynamicConfigCenterService) {
+        this.dynamicConfigCenterService = dynamicConfigCenterService;
+    }
+
+    /**
+     * 注册动态线程池
+     *
+     * @param name 线程池名称，同时作为线程名前缀
+     * @param defaults 默认参数，配置中心没有该线程池的参数时写入
+     * @return 动态线程池
+     */
+    public DynamicThreadPoolExecutor register(String name, ThreadPoolConfigVO defaults) {
+        defaults.validate();
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(name, defaults);
+        if (executors.putIfAbsent(name, executor) != null) {
+            executor.shutdown();
+            throw new IllegalStateException("动态线程池已存在 " + name);
+        }
+        dynamicConfigCenterService.bindAttribute(Constant.getAttribute(name), JSON.toJSONString(defaults),
+                ThreadPoolConfigVO.class, config -> update(executor, config));
+        for (Consumer<DynamicThreadPoolExecutor> listener : registerListeners) {
+            listener.accept(executor);
+        }
+        log.info("wrench 动态线程池注册完成 name: {} config: {}", name, defaults);
+        return executor;
+    }
+
+    private void update(DynamicThreadPoolExecutor executor, ThreadPoolConfigVO config) {
+        try {
+            executor.update(config);
+        } catch (Exception e) {
+            log.error("wrench 动态线程池参数非法，保持原参数 name: {} config: {}", executor.getName(), config, e);
+        }
+    }
+
+    /**
+     * 订阅线程池注册，已注册的线程池立即回放
+     *
+     * @param listener 注册回调
+     */
+    public void addRegisterListener(Consumer<DynamicThreadPoolExecutor> listener) {
+        registerListeners.add(listener);
+        executors.values().forEach(listener);
+    }
+
+    public DynamicThreadPoolExecutor get(String name) {
+        return executors.get(name);
+    }
+
+    public Collection<DynamicThreadPoolExecutor> getExecutors() {
+        return Collections.unmodifiableCollection(executors.values());
+    }
+
+    @Override
+    public void destroy() {
+        executors.values().forEach(DynamicThreadPoolExecutor::shutdown);
+    }
+
+}
@@ -0,0 +1,197 @@
+package com.yang.wrench.starter.dynamic.thread.pool.executor;
+
+import com.yang.wrench.starter.dynamic.thread.pool.domain.model.valobj.ThreadPoolConfigVO;
+import com.yang.wrench.starter.dynamic.thread.pool.types.common.RejectPolicies;
+import com.yang.wrench.starter.dynamic.thread.pool.types.queue.ResizableCapacityLinkedBlockingQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * 动态线程池
+ *
+ * 功能说明：
+ * 1. 核心线程数、最大线程数、空闲存活时间、队列容量、拒绝策略均可在运行期调整（见 update）
+ * 2. 工作队列为 ResizableCapacityLinkedBlockingQueue，调整容量不需要重建线程池
+ * 3. 统计拒绝次数，并记录每个任务从提交到开始执行的排队时间，供指标采集
+ *
+ * 提交的任务会被包装以记录提交时间，因此 remove(Runnable) 对原始任务不生效。
+ *
+ * @Author: yang
+ * @Description: 参数可热更新的 ThreadPoolExecutor
+ */
+public class DynamicThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private static final LongConsumer NOOP_RECORDER = nanos -> {
+    };
+
+    private final Logger log = LoggerFactory.getLogger(DynamicThreadPoolExecutor.class);
+
+    private final String name;
+    private final ResizableCapacityLinkedBlockingQueue<Runnable> queue;
+    private final LongAdder rejectCount = new LongAdder();
+    private volatile String policy;
+    // 排队时间记录器（单位：纳秒），指标采集启用时设置
+    private volatile LongConsumer waitTimeRecorder = NOOP_RECORDER;
+
+    public DynamicThreadPoolExecutor(String name, ThreadPoolConfigVO config) {
+        this(name, config, new ResizableCapacityLinkedBlockingQueue<>(config.getQueueCapacity()));
+    }
+
+    private DynamicThreadPoolExecutor(String name, ThreadPoolConfigVO config, ResizableCapacityLinkedBlockingQueue<Runnable> queue) {
+        super(config.getCorePoolSize(), config.getMaximumPoolSize(), config.getKeepAliveSeconds(), TimeUnit.SECONDS,
+                queue, new NamedThreadFactory(name));
+        this.name = name;
+        this.queue = queue;
+        this.policy = config.getPolicy();
+        super.setRejectedExecutionHandler(new CountingRejectedExecutionHandler(RejectPolicies.of(config.getPolicy())));
+    }
+
+    /**
+     * 运行期调整线程池参数
+     * 按新旧线程数的大小关系决定 核心线程数 与 最大线程数 的设置顺序，避免中间状态违反 core <= max
+     *
+     * @param config 新参数
+     */
+    public synchronized void update(ThreadPoolConfigVO config) {
+        config.validate();
+        if (config.getCorePoolSize() == getCorePoolSize()
+                && config.getMaximumPoolSize() == getMaximumPoolSize()
+                && config.getKeepAliveSeconds() == getKeepAliveTime(TimeUnit.SECONDS)
+                && config.getQueueCapacity() == queue.getCapacity()
+                && config.getPolicy().equals(policy)) {
+            return;
+        }
+        RejectedExecutionHandler handler = config.getPolicy().equals(policy) ? null : RejectPolicies.of(config.getPolicy());
+
+        if (config.getMaximumPoolSize() >= getCorePoolSize()) {
+            setMaximumPoolSize(config.getMaximumPoolSize());
+            setCorePoolSize(config.getCorePoolSize());
+        } else {
+            setCorePoolSize(config.getCorePoolSize());
+            setMaximumPoolSize(config.getMaximumPoolSize());
+        }
+        setKeepAliveTime(config.getKeepAliveSeconds(), TimeUnit.SECONDS);
+        queue.setCapacity(config.getQueueCapacity());
+        if (handler != null) {
+            super.setRejectedExecutionHandler(new CountingRejectedExecutionHandler(handler));
+            policy = config.getPolicy();
+        }
+        log.info("wrench 动态线程池参数调整 name: {} config: {}", name, config);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        // DiscardOldestPolicy 会重新提交已包装的任务
+        super.execute(command instanceof TimedRunnable ? command : new TimedRunnable(command));
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        if (r instanceof TimedRunnable) {
+            waitTimeRecorder.accept(System.nanoTime() - ((TimedRunnable) r).submitNanos);
+        }
+        super.beforeExecute(t, r);
+    }
+
+    @Override
+    public void setRejectedExecutionHandler(RejectedExecutionHandler handler) {
+        super.setRejectedExecutionHandler(handler instanceof CountingRejectedExecutionHandler
+                ? handler : new CountingRejectedExecutionHandler(handler));
+    }
+
+    public void setWaitTimeRecorder(LongConsumer waitTimeRecorder) {
+        this.waitTimeRecorder = waitTimeRecorder == null ? NOOP_RECORDER : waitTimeRecorder;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPolicy() {
+        return policy;
+    }
+
+    public long getRejectCount() {
+        return rejectCount.sum();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return queue.getCapacity();
+    }
+
+    public int getQueueRemainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    /**
+     * 记录提交时间的任务包装
+     */
+    private static class TimedRunnable implements Runnable {
+
+        private final Runnable task;
+        private final long submitNanos = System.nanoTime();
+
+        private TimedRunnable(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    /**
+     * 统计拒绝次数后交给实际的拒绝策略
+     */
+    private class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+        private final RejectedExecutionHandler delegate;
+
+        private CountingRejectedExecutionHandler(RejectedExecutionHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            rejectCount.increment();
+            delegate.rejectedExecution(r, executor);
+        }
+    }
+
+    /**
+     * 线程命名：{线程池名称}-{序号}
+     */
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private NamedThreadFactory(String name) {
+            this.prefix = name + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(false);
+            return thread;
+        }
+    }
+
+}
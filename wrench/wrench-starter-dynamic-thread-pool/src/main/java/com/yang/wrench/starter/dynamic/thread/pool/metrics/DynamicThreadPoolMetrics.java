@@ -0,0 +1,82 @@
+package com.yang.wrench.starter.dynamic.thread.pool.metrics;
+
+import com.yang.wrench.starter.dynamic.thread.pool.domain.service.DynamicThreadPoolRegistry;
+import com.yang.wrench.starter.dynamic.thread.pool.executor.DynamicThreadPoolExecutor;
+import com.yang.wrench.starter.dynamic.thread.pool.types.common.Constant;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 动态线程池指标
+ *
+ * 每个线程池以 name 标签区分，发布：
+ * - wrench.thread.pool.queue.size / queue.capacity / queue.remaining：队列长度、容量、剩余容量
+ * - wrench.thread.pool.active / pool.size / core.size / max.size：活跃线程数、当前线程数、核心与最大线程数
+ * - wrench.thread.pool.completed / rejected：已完成任务数、拒绝次数（计数器）
+ * - wrench.thread.pool.wait：任务从提交到开始执行的排队时间（直方图）
+ *
+ * 容器单例初始化完成后绑定，之后注册的线程池即时绑定。
+ *
+ * @Author: yang
+ * @Description: 动态线程池的 Micrometer 指标
+ */
+public class DynamicThreadPoolMetrics implements SmartInitializingSingleton {
+
+    private final DynamicThreadPoolRegistry dynamicThreadPoolRegistry;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private MeterRegistry meterRegistry;
+
+    public DynamicThreadPoolMetrics(DynamicThreadPoolRegistry dynamicThreadPoolRegistry,
+                                    ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.dynamicThreadPoolRegistry = dynamicThreadPoolRegistry;
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry == null) {
+            return;
+        }
+        dynamicThreadPoolRegistry.addRegisterListener(this::bind);
+    }
+
+    private void bind(DynamicThreadPoolExecutor executor) {
+        Tags tags = Tags.of(Constant.METRIC_TAG_NAME, executor.getName());
+        gauge("queue.size", executor, tags, DynamicThreadPoolExecutor::getQueueSize);
+        gauge("queue.capacity", executor, tags, DynamicThreadPoolExecutor::getQueueCapacity);
+        gauge("queue.remaining", executor, tags, DynamicThreadPoolExecutor::getQueueRemainingCapacity);
+        gauge("active", executor, tags, DynamicThreadPoolExecutor::getActiveCount);
+        gauge("pool.size", executor, tags, DynamicThreadPoolExecutor::getPoolSize);
+        gauge("core.size", executor, tags, DynamicThreadPoolExecutor::getCorePoolSize);
+        gauge("max.size", executor, tags, DynamicThreadPoolExecutor::getMaximumPoolSize);
+        FunctionCounter.builder(Constant.METRIC_PREFIX + ".completed", executor, DynamicThreadPoolExecutor::getCompletedTaskCount)
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder(Constant.METRIC_PREFIX + ".rejected", executor, DynamicThreadPoolExecutor::getRejectCount)
+                .tags(tags)
+                .register(meterRegistry);
+
+        Timer wait = Timer.builder(Constant.METRIC_PREFIX + ".wait")
+                .description("任务从提交到开始执行的排队时间")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        executor.setWaitTimeRecorder(nanos -> wait.record(nanos, TimeUnit.NANOSECONDS));
+    }
+
+    private void gauge(String name, DynamicThreadPoolExecutor executor, Tags tags, ToDoubleFunction<DynamicThreadPoolExecutor> value) {
+        Gauge.builder(Constant.METRIC_PREFIX + "." + name, executor, value)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.yang.wrench.starter.dynamic.thread.pool.types.common;
+
+/**
+ * @Author: yang
+ * @Description: 动态线程池常量
+ */
+public class Constant {
+
+    // 线程池参数在动态配置中心的属性名前缀
+    public static final String ATTRIBUTE_PREFIX = "threadPool.";
+    // 线程池指标名前缀
+    public static final String METRIC_PREFIX = "wrench.thread.pool";
+    public static final String METRIC_TAG_NAME = "name";
+
+    public static String getAttribute(String name) {
+        return ATTRIBUTE_PREFIX + name;
+    }
+
+}
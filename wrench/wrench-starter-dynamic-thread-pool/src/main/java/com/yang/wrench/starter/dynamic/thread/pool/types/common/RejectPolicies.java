@@ -0,0 +1,43 @@
+package com.yang.wrench.starter.dynamic.thread.pool.types.common;
+
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 拒绝策略
+ *
+ * @Author: yang
+ * @Description: 按名称创建 ThreadPoolExecutor 内置的拒绝策略
+ */
+public class RejectPolicies {
+
+    private RejectPolicies() {
+    }
+
+    /**
+     * 按名称创建拒绝策略，忽略大小写，可省略 Policy 后缀
+     *
+     * @param policy AbortPolicy、DiscardPolicy、DiscardOldestPolicy、CallerRunsPolicy
+     * @return 拒绝策略
+     */
+    public static RejectedExecutionHandler of(String policy) {
+        String name = policy == null ? "abort" : policy.trim().toLowerCase(Locale.ROOT);
+        if (name.endsWith("policy")) {
+            name = name.substring(0, name.length() - "policy".length());
+        }
+        switch (name) {
+            case "abort":
+                return new ThreadPoolExecutor.AbortPolicy();
+            case "discard":
+                return new ThreadPoolExecutor.DiscardPolicy();
+            case "discardoldest":
+                return new ThreadPoolExecutor.DiscardOldestPolicy();
+            case "callerruns":
+                return new ThreadPoolExecutor.CallerRunsPolicy();
+            default:
+                throw new IllegalArgumentException("不支持的拒绝策略 " + policy);
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.yang.wrench.starter.dynamic.thread.pool.test;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.MemoryDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterPublisher;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.config.center.listener.DynamicConfigCenterAdjustCoalescer;
+import com.yang.wrench.starter.dynamic.thread.pool.domain.model.valobj.ThreadPoolConfigVO;
+import com.yang.wrench.starter.dynamic.thread.pool.domain.service.DynamicThreadPoolRegistry;
+import com.yang.wrench.starter.dynamic.thread.pool.executor.DynamicThreadPoolExecutor;
+import com.yang.wrench.starter.dynamic.thread.pool.types.queue.ResizableCapacityLinkedBlockingQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 动态线程池测试
+ *
+ * @author yang
+ */
+public class DynamicThreadPoolTest {
+
+    @Test
+    public void test_queue_resize() throws Exception {
+        ResizableCapacityLinkedBlockingQueue<Integer> queue = new ResizableCapacityLinkedBlockingQueue<>(2);
+        Assert.assertTrue(queue.offer(1));
+        Assert.assertTrue(queue.offer(2));
+        Assert.assertFalse(queue.offer(3));
+
+        // 调大容量唤醒阻塞的入队线程
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put(3);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Thread.sleep(100);
+        Assert.assertEquals(2, queue.size());
+        queue.setCapacity(4);
+        producer.join(1000);
+        Assert.assertEquals(3, queue.size());
+
+        // 调小容量不丢弃已入队元素，降到新容量以下前拒绝入队
+        queue.setCapacity(1);
+        Assert.assertFalse(queue.offer(4));
+        Assert.assertEquals(Integer.valueOf(1), queue.take());
+        Assert.assertEquals(Integer.valueOf(2), queue.poll(10, TimeUnit.MILLISECONDS));
+        Assert.assertFalse(queue.offer(4));
+        Assert.assertEquals(Integer.valueOf(3), queue.poll());
+        Assert.assertTrue(queue.offer(4));
+        Assert.assertEquals(0, queue.remainingCapacity());
+    }
+
+    @Test
+    public void test_update_and_reject() throws Exception {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor("test-pool",
+                new ThreadPoolConfigVO(1, 1, 60, 1, "AbortPolicy"));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> await(release));
+            executor.execute(() -> await(release));
+            try {
+                executor.execute(() -> await(release));
+                Assert.fail();
+            } catch (RejectedExecutionException expected) {
+                Assert.assertEquals(1, executor.getRejectCount());
+            }
+
+            // 扩大队列后可继续提交
+            executor.update(new ThreadPoolConfigVO(2, 4, 30, 10, "CallerRunsPolicy"));
+            executor.execute(() -> await(release));
+            Assert.assertEquals(2, executor.getCorePoolSize());
+            Assert.assertEquals(4, executor.getMaximumPoolSize());
+            Assert.assertEquals(10, executor.getQueueCapacity());
+            Assert.assertEquals("CallerRunsPolicy", executor.getPolicy());
+
+            // 缩小到小于当前核心线程数
+            executor.update(new ThreadPoolConfigVO(1, 1, 30, 10, "CallerRunsPolicy"));
+            Assert.assertEquals(1, executor.getCorePoolSize());
+            Assert.assertEquals(1, executor.getMaximumPoolSize());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_registry_bind_config() {
+        DynamicConfigCenterAutoProperties properties = new DynamicConfigCenterAutoProperties();
+        properties.setSystem("s");
+        properties.setIndexEnabled(false);
+        properties.setCacheEnabled(false);
+        MemoryDynamicConfigCenterBackend backend = new MemoryDynamicConfigCenterBackend(properties);
+        DynamicConfigCenterService service = new DynamicConfigCenterService(properties, backend);
+        backend.subscribe(new DynamicConfigCenterAdjustCoalescer(service, 0));
+        DynamicConfigCenterPublisher publisher = new DynamicConfigCenterPublisher(backend);
+
+        DynamicThreadPoolRegistry registry = new DynamicThreadPoolRegistry(service);
+        DynamicThreadPoolExecutor executor = registry.register("orderPool", new ThreadPoolConfigVO(2, 4, 60, 100, "AbortPolicy"));
+        service.loadAttributeValues();
+        try {
+            publisher.publish("threadPool.orderPool",
+                    "{\"corePoolSize\":8,\"maximumPoolSize\":16,\"keepAliveSeconds\":30,\"queueCapacity\":500,\"policy\":\"CallerRunsPolicy\"}");
+            Assert.assertEquals(8, executor.getCorePoolSize());
+            Assert.assertEquals(16, executor.getMaximumPoolSize());
+            Assert.assertEquals(500, executor.getQueueCapacity());
+
+            // 非法参数保持原参数
+            publisher.publish("threadPool.orderPool",
+                    "{\"corePoolSize\":8,\"maximumPoolSize\":4,\"keepAliveSeconds\":30,\"queueCapacity\":500,\"policy\":\"CallerRunsPolicy\"}");
+            Assert.assertEquals(16, executor.getMaximumPoolSize());
+        } finally {
+            registry.destroy();
+            service.destroy();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.yang.wrench.starter.feature.flag.config;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterRegisterAutoConfig;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.IDynamicConfigCenterService;
+import com.yang.wrench.starter.feature.flag.domain.service.FeatureFlagRegistry;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 功能开关自动配置类
+ *
+ * 功能说明：
+ * 1. 创建功能开关注册表，开关规则绑定到动态配置中心
+ * 2. 注册 wrench.feature-flag.flags 中声明的开关，业务通过 FeatureFlagRegistry#isEnabled 判定，
+ *    或调用 register 后持有返回的 FeatureFlag
+ *
+ * @Author: yang
+ * @Description: 功能开关自动配置类
+ */
+@Configuration
+@AutoConfigureAfter(DynamicConfigCenterRegisterAutoConfig.class)
+@EnableConfigurationProperties(FeatureFlagAutoProperties.class)
+@ConditionalOnProperty(prefix = "wrench.feature-flag", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FeatureFlagAutoConfig {
+
+    /**
+     * 创建功能开关注册表Bean，并注册配置文件中声明的开关
+     *
+     * @param properties 功能开关配置属性
+     * @param dynamicConfigCenterService 动态配置中心服务
+     * @return 功能开关注册表
+     */
+    @Bean
+    public FeatureFlagRegistry featureFlagRegistry(FeatureFlagAutoProperties properties,
+                                                   IDynamicConfigCenterService dynamicConfigCenterService) {
+        FeatureFlagRegistry registry = new FeatureFlagRegistry(dynamicConfigCenterService);
+        properties.getFlags().forEach(registry::register);
+        return registry;
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.yang.wrench.starter.feature.flag.config;
+
+import com.yang.wrench.starter.feature.flag.domain.model.valobj.FeatureFlagRuleVO;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 功能开关配置属性
+ *
+ * 配置示例：
+ * wrench:
+ *   feature-flag:
+ *     flags:
+ *       newCheckout:
+ *         enabled: true
+ *         percentage: 10
+ *         allow-list: 10001,10002
+ *
+ * 这里的规则是默认值，生效规则以动态配置中心的 featureFlag.{名称} 为准。
+ *
+ * @Author: yang
+ * @Description: 功能开关配置属性
+ */
+@ConfigurationProperties(prefix = "wrench.feature-flag", ignoreInvalidFields = true)
+public class FeatureFlagAutoProperties {
+
+    /** 是否启用功能开关 */
+    private boolean enabled = true;
+
+    /** 开关名称 -> 默认规则，启动时自动注册 */
+    private Map<String, FeatureFlagRuleVO> flags = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, FeatureFlagRuleVO> getFlags() {
+        return flags;
+    }
+
+    public void setFlags(Map<String, FeatureFlagRuleVO> flags) {
+        this.flags = flags;
+    }
+}
@@ -0,0 +1,95 @@
+package com.yang.wrench.starter.feature.flag.domain.model.valobj;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 功能开关规则值对象（Value Object）
+ *
+ * 以JSON形式存储在动态配置中心（属性名：featureFlag.{开关名称}），例如：
+ * {"enabled":true,"percentage":12.5,"allowList":["10001","10002","yang"]}
+ *
+ * 判定顺序：
+ * - enabled 为 false：全部关闭
+ * - 用户在白名单 allowList 中：开启
+ * - 用户分桶（murmur3(userId) 落入 0~9999 的桶）小于 percentage * 100：开启
+ *
+ * 分桶种子默认取开关名称，同一开关调大百分比时已开启的用户保持开启；修改 salt 会重新打散用户。
+ *
+ * @Author: yang
+ * @Description: 百分比灰度与白名单的开关规则
+ */
+public class FeatureFlagRuleVO {
+
+    /** 总开关 */
+    private boolean enabled;
+
+    /** 灰度百分比，0~100，精确到0.01 */
+    private double percentage;
+
+    /** 白名单用户ID */
+    private List<String> allowList = new ArrayList<>();
+
+    /** 分桶种子，为空时取开关名称 */
+    private String salt;
+
+    public FeatureFlagRuleVO() {
+    }
+
+    public FeatureFlagRuleVO(boolean enabled, double percentage, List<String> allowList) {
+        this.enabled = enabled;
+        this.percentage = percentage;
+        this.allowList = allowList;
+    }
+
+    /**
+     * 校验规则，非法时抛出异常，开关保持原规则
+     */
+    public void validate() {
+        if (!(percentage >= 0 && percentage <= 100)) {
+            throw new IllegalArgumentException("开关灰度百分比非法 percentage: " + percentage);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getPercentage() {
+        return percentage;
+    }
+
+    public void setPercentage(double percentage) {
+        this.percentage = percentage;
+    }
+
+    public List<String> getAllowList() {
+        return allowList;
+    }
+
+    public void setAllowList(List<String> allowList) {
+        this.allowList = allowList;
+    }
+
+    public String getSalt() {
+        return salt;
+    }
+
+    public void setSalt(String salt) {
+        this.salt = salt;
+    }
+
+    @Override
+    public String toString() {
+        return "FeatureFlagRuleVO{" +
+                "enabled=" + enabled +
+                ", percentage=" + percentage +
+                ", allowList=" + (allowList == null ? 0 : allowList.size()) +
+                ", salt='" + salt + '\'' +
+                '}';
+    }
+}
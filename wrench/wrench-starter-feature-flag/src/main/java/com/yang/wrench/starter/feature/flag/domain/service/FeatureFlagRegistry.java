@@ -0,0 +1,93 @@
+package com.yang.wrench.starter.feature.flag.domain.service;
+
+import com.alibaba.fastjson.JSON;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.IDynamicConfigCenterService;
+import com.yang.wrench.starter.feature.flag.domain.model.valobj.FeatureFlagRuleVO;
+import com.yang.wrench.starter.feature.flag.evaluator.FeatureFlag;
+import com.yang.wrench.starter.feature.flag.types.common.Constant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 功能开关注册表
+ *
+ * 功能说明：
+ * 1. 按名称注册功能开关，规则以JSON存储在动态配置中心（属性名：featureFlag.{名称}），注册时的规则作为默认值
+ * 2. 配置中心的规则随配置批量加载生效，之后每次变更编译为新的判定器并原子替换，无需重启
+ * 3. 规则非法时记录错误日志，开关保持原规则
+ * 4. 未注册的开关判定为关闭
+ *
+ * 调整示例：publisher.publish("featureFlag.newCheckout", "{\"enabled\":true,\"percentage\":10,\"allowList\":[\"10001\"]}")
+ *
+ * @Author: yang
+ * @Description: 命名功能开关的注册、配置绑定与判定
+ */
+public class FeatureFlagRegistry {
+
+    private final Logger log = LoggerFactory.getLogger(FeatureFlagRegistry.class);
+
+    private final IDynamicConfigCenterService dynamicConfigCenterService;
+    private final Map<String, FeatureFlag> flags = new ConcurrentHashMap<>();
+
+    public FeatureFlagRegistry(IDynamicConfigCenterService dynamicConfigCenterService) {
+        this.dynamicConfigCenterService = dynamicConfigCenterService;
+    }
+
+    /**
+     * 注册功能开关
+     *
+     * @param name 开关名称
+     * @param defaults 默认规则，配置中心没有该开关的规则时写入
+     * @return 功能开关
+     */
+    public FeatureFlag register(String name, FeatureFlagRuleVO defaults) {
+        defaults.validate();
+        FeatureFlag flag = new FeatureFlag(name);
+        if (flags.putIfAbsent(name, flag) != null) {
+            throw new IllegalStateException("功能开关已存在 " + name);
+        }
+        dynamicConfigCenterService.bindAttribute(Constant.getAttribute(name), JSON.toJSONString(defaults),
+                FeatureFlagRuleVO.class, rule -> update(flag, rule));
+        log.info("wrench 功能开关注册完成 name: {} rule: {}", name, defaults);
+        return flag;
+    }
+
+    private void update(FeatureFlag flag, FeatureFlagRuleVO rule) {
+        try {
+            flag.update(rule);
+        } catch (Exception e) {
+            log.error("wrench 功能开关规则非法，保持原规则 name: {} rule: {}", flag.getName(), rule, e);
+        }
+    }
+
+    /**
+     * 判定开关对用户是否开启，未注册的开关为关闭
+     *
+     * @param name 开关名称
+     * @param userId 用户ID
+     * @return 是否开启
+     */
+    public boolean isEnabled(String name, long userId) {
+        FeatureFlag flag = flags.get(name);
+        return flag != null && flag.isEnabled(userId);
+    }
+
+    public boolean isEnabled(String name, String userId) {
+        FeatureFlag flag = flags.get(name);
+        return flag != null && flag.isEnabled(userId);
+    }
+
+    public FeatureFlag get(String name) {
+        return flags.get(name);
+    }
+
+    public Collection<FeatureFlag> getFlags() {
+        return Collections.unmodifiableCollection(flags.values());
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.yang.wrench.starter.feature.flag.evaluator;
+
+import com.yang.wrench.starter.feature.flag.domain.model.valobj.FeatureFlagRuleVO;
+
+/**
+ * 功能开关
+ *
+ * 功能说明：
+ * 1. 持有当前生效的判定器，规则变更时编译出新的判定器后以一次 volatile 写整体替换
+ * 2. 判定线程只读取一次判定器引用，不会看到新旧规则混合的中间状态，判定路径无锁
+ * 3. 业务可持有本对象，跳过注册表按名称查找
+ *
+ * @Author: yang
+ * @Description: 可热替换判定器的命名功能开关
+ */
+public class FeatureFlag {
+
+    private final String name;
+    private volatile FeatureFlagEvaluator evaluator = FeatureFlagEvaluator.DISABLED;
+    private volatile FeatureFlagRuleVO rule;
+
+    public FeatureFlag(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 编译并替换规则，规则非法时抛出异常，保持原规则
+     *
+     * @param rule 开关规则
+     */
+    public void update(FeatureFlagRuleVO rule) {
+        FeatureFlagEvaluator compiled = FeatureFlagEvaluator.compile(name, rule);
+        this.rule = rule;
+        this.evaluator = compiled;
+    }
+
+    public boolean isEnabled(long userId) {
+        return evaluator.isEnabled(userId);
+    }
+
+    public boolean isEnabled(String userId) {
+        return evaluator.isEnabled(userId);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public FeatureFlagEvaluator getEvaluator() {
+        return evaluator;
+    }
+
+    public FeatureFlagRuleVO getRule() {
+        return rule;
+    }
+
+}
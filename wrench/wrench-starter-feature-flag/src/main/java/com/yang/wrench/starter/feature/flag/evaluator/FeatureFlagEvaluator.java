@@ -0,0 +1,128 @@
+package com.yang.wrench.starter.feature.flag.evaluator;
+
+import com.yang.wrench.starter.feature.flag.domain.model.valobj.FeatureFlagRuleVO;
+import com.yang.wrench.starter.feature.flag.types.common.Constant;
+import com.yang.wrench.starter.feature.flag.types.common.Murmur3;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 功能开关判定器
+ *
+ * 功能说明：
+ * 1. 由开关规则编译而来，创建后不可变，规则变更时整体替换（见 FeatureFlag）
+ * 2. 灰度百分比预先换算为桶阈值，判定时只做一次 murmur3 与一次比较
+ * 3. 白名单预先排序为 long[]（数字用户ID）与 String[]，判定时二分查找
+ * 4. 判定只读取基本类型字段与数组，不分配对象
+ *
+ * 数字用户ID与字符串用户ID的分桶结果不同，同一开关应始终以同一类型的用户ID判定。
+ *
+ * @Author: yang
+ * @Description: 开关规则编译后的不可变判定器
+ */
+public final class FeatureFlagEvaluator {
+
+    /** 关闭的判定器 */
+    public static final FeatureFlagEvaluator DISABLED = new FeatureFlagEvaluator(false, 0, 0, new long[0], new String[0]);
+
+    private final boolean enabled;
+    // 分桶小于该阈值的用户开启：0 全部关闭，BUCKETS 全部开启
+    private final int threshold;
+    private final int seed;
+    private final long[] allowIds;
+    private final String[] allowNames;
+
+    private FeatureFlagEvaluator(boolean enabled, int threshold, int seed, long[] allowIds, String[] allowNames) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.seed = seed;
+        this.allowIds = allowIds;
+        this.allowNames = allowNames;
+    }
+
+    /**
+     * 编译开关规则
+     *
+     * @param name 开关名称，规则未指定 salt 时作为分桶种子
+     * @param rule 开关规则
+     * @return 判定器
+     */
+    public static FeatureFlagEvaluator compile(String name, FeatureFlagRuleVO rule) {
+        rule.validate();
+        String salt = rule.getSalt() == null || rule.getSalt().isEmpty() ? name : rule.getSalt();
+        int threshold = (int) Math.round(rule.getPercentage() * Constant.BUCKETS / 100);
+
+        List<String> allowList = rule.getAllowList() == null ? List.of() : rule.getAllowList();
+        String[] allowNames = allowList.stream()
+                .filter(user -> user != null && !user.isBlank())
+                .map(String::trim)
+                .distinct()
+                .sorted()
+                .toArray(String[]::new);
+        long[] allowIds = Arrays.stream(allowNames)
+                .filter(FeatureFlagEvaluator::isLong)
+                .mapToLong(Long::parseLong)
+                .distinct()
+                .sorted()
+                .toArray();
+        return new FeatureFlagEvaluator(rule.isEnabled(), threshold, Murmur3.hash(salt, 0), allowIds, allowNames);
+    }
+
+    public boolean isEnabled(long userId) {
+        if (!enabled) {
+            return false;
+        }
+        if (allowIds.length > 0 && Arrays.binarySearch(allowIds, userId) >= 0) {
+            return true;
+        }
+        return threshold > 0 && bucket(Murmur3.hash(userId, seed)) < threshold;
+    }
+
+    public boolean isEnabled(String userId) {
+        if (!enabled || userId == null) {
+            return false;
+        }
+        if (allowNames.length > 0 && Arrays.binarySearch(allowNames, userId) >= 0) {
+            return true;
+        }
+        return threshold > 0 && bucket(Murmur3.hash(userId, seed)) < threshold;
+    }
+
+    /**
+     * 用户所在的桶，0 ~ BUCKETS-1
+     */
+    public int bucket(long userId) {
+        return bucket(Murmur3.hash(userId, seed));
+    }
+
+    public int bucket(String userId) {
+        return bucket(Murmur3.hash(userId, seed));
+    }
+
+    private static int bucket(int hash) {
+        return Integer.remainderUnsigned(hash, Constant.BUCKETS);
+    }
+
+    private static boolean isLong(String value) {
+        try {
+            Long.parseLong(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public int getAllowListSize() {
+        return allowNames.length;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.yang.wrench.starter.feature.flag.types.common;
+
+/**
+ * @Author: yang
+ * @Description: 功能开关常量
+ */
+public class Constant {
+
+    // 开关规则在动态配置中心的属性名前缀
+    public static final String ATTRIBUTE_PREFIX = "featureFlag.";
+    // 灰度分桶数量，百分比精确到 0.01%
+    public static final int BUCKETS = 10000;
+
+    public static String getAttribute(String name) {
+        return ATTRIBUTE_PREFIX + name;
+    }
+
+}
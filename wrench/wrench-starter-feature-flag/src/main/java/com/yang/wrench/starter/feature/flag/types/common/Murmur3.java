@@ -0,0 +1,64 @@
+package com.yang.wrench.starter.feature.flag.types.common;
+
+/**
+ * MurmurHash3 x86_32
+ *
+ * 功能说明：
+ * 1. long 按小端序8字节计算，与 Guava Hashing.murmur3_32_fixed().hashLong 结果一致
+ * 2. 字符串按 UTF-16 字符逐个计算（不编码为字节），与 Guava hashUnencodedChars 结果一致
+ * 3. 全部计算在基本类型上完成，不分配对象
+ *
+ * @Author: yang
+ * @Description: 用户分桶使用的 murmur3 哈希
+ */
+public final class Murmur3 {
+
+    private static final int C1 = 0xcc9e2d51;
+    private static final int C2 = 0x1b873593;
+
+    private Murmur3() {
+    }
+
+    public static int hash(long value, int seed) {
+        int h1 = mixH1(seed, mixK1((int) value));
+        h1 = mixH1(h1, mixK1((int) (value >>> 32)));
+        return fmix(h1, Long.BYTES);
+    }
+
+    public static int hash(CharSequence value, int seed) {
+        int h1 = seed;
+        int length = value.length();
+        for (int i = 1; i < length; i += 2) {
+            int k1 = value.charAt(i - 1) | (value.charAt(i) << 16);
+            h1 = mixH1(h1, mixK1(k1));
+        }
+        if ((length & 1) == 1) {
+            h1 ^= mixK1(value.charAt(length - 1));
+        }
+        return fmix(h1, Character.BYTES * length);
+    }
+
+    private static int mixK1(int k1) {
+        k1 *= C1;
+        k1 = Integer.rotateLeft(k1, 15);
+        k1 *= C2;
+        return k1;
+    }
+
+    private static int mixH1(int h1, int k1) {
+        h1 ^= k1;
+        h1 = Integer.rotateLeft(h1, 13);
+        return h1 * 5 + 0xe6546b64;
+    }
+
+    private static int fmix(int h1, int length) {
+        h1 ^= length;
+        h1 ^= h1 >>> 16;
+        h1 *= 0x85ebca6b;
+        h1 ^= h1 >>> 13;
+        h1 *= 0xc2b2ae35;
+        h1 ^= h1 >>> 16;
+        return h1;
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.yang.wrench.starter.feature.flag.test;
+
+import com.yang.wrench.starter.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import com.yang.wrench.starter.dynamic.config.center.domain.backend.MemoryDynamicConfigCenterBackend;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterPublisher;
+import com.yang.wrench.starter.dynamic.config.center.domain.service.DynamicConfigCenterService;
+import com.yang.wrench.starter.dynamic.config.center.listener.DynamicConfigCenterAdjustCoalescer;
+import com.yang.wrench.starter.feature.flag.domain.model.valobj.FeatureFlagRuleVO;
+import com.yang.wrench.starter.feature.flag.domain.service.FeatureFlagRegistry;
+import com.yang.wrench.starter.feature.flag.evaluator.FeatureFlag;
+import com.yang.wrench.starter.feature.flag.evaluator.FeatureFlagEvaluator;
+import com.yang.wrench.starter.feature.flag.types.common.Murmur3;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * 功能开关测试
+ *
+ * @author yang
+ */
+public class FeatureFlagTest {
+
+    @Test
+    public void test_murmur3() {
+        // 与 Guava Hashing.murmur3_32_fixed(7) 的结果一致
+        Assert.assertEquals(-1248612099, Murmur3.hash(0L, 7));
+        Assert.assertEquals(1588153452, Murmur3.hash(42L, 7));
+        Assert.assertEquals(-3931473, Murmur3.hash(-1L, 7));
+        Assert.assertEquals(-1569585114, Murmur3.hash(123456789012L, 7));
+        Assert.assertEquals(415870660, Murmur3.hash("", 7));
+        Assert.assertEquals(-1911403394, Murmur3.hash("a", 7));
+        Assert.assertEquals(-665270930, Murmur3.hash("abc", 7));
+        Assert.assertEquals(1956287598, Murmur3.hash("yang", 7));
+        Assert.assertEquals(-2101293266, Murmur3.hash("名称", 7));
+    }
+
+    @Test
+    public void test_evaluator() {
+        FeatureFlagEvaluator off = FeatureFlagEvaluator.compile("f", new FeatureFlagRuleVO(false, 100, List.of("1")));
+        Assert.assertFalse(off.isEnabled(1L));
+
+        FeatureFlagEvaluator allowOnly = FeatureFlagEvaluator.compile("f", new FeatureFlagRuleVO(true, 0, List.of("30", " 10 ", "yang", "20")));
+        Assert.assertTrue(allowOnly.isEnabled(10L));
+        Assert.assertTrue(allowOnly.isEnabled(30L));
+        Assert.assertTrue(allowOnly.isEnabled("yang"));
+        Assert.assertTrue(allowOnly.isEnabled("20"));
+        Assert.assertFalse(allowOnly.isEnabled(11L));
+        Assert.assertFalse(allowOnly.isEnabled("other"));
+        Assert.assertFalse(allowOnly.isEnabled((String) null));
+
+        FeatureFlagEvaluator all = FeatureFlagEvaluator.compile("f", new FeatureFlagRuleVO(true, 100, List.of()));
+        Assert.assertTrue(all.isEnabled(Long.MIN_VALUE));
+
+        // 百分比灰度：命中比例接近设定值，调大百分比时已开启的用户保持开启
+        FeatureFlagEvaluator ten = FeatureFlagEvaluator.compile("f", new FeatureFlagRuleVO(true, 10, List.of()));
+        FeatureFlagEvaluator thirty = FeatureFlagEvaluator.compile("f", new FeatureFlagRuleVO(true, 30, List.of()));
+        int tenCount = 0;
+        int thirtyCount = 0;
+        for (long userId = 0; userId < 100000; userId++) {
+            boolean inTen = ten.isEnabled(userId);
+            if (inTen) {
+                tenCount++;
+                Assert.assertTrue(thirty.isEnabled(userId));
+            }
+            if (thirty.isEnabled(userId)) {
+                thirtyCount++;
+            }
+        }
+        Assert.assertEquals(10000, tenCount, 600);
+        Assert.assertEquals(30000, thirtyCount, 900);
+
+        // 不同开关名称分桶互相独立
+        FeatureFlagEvaluator other = FeatureFlagEvaluator.compile("g", new FeatureFlagRuleVO(true, 10, List.of()));
+        int both = 0;
+        for (long userId = 0; userId < 100000; userId++) {
+            if (ten.isEnabled(userId) && other.isEnabled(userId)) {
+                both++;
+            }
+        }
+        Assert.assertEquals(1000, both, 200);
+
+        try {
+            FeatureFlagEvaluator.compile("f", new FeatureFlagRuleVO(true, 101, List.of()));
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void test_registry_bind_config() {
+        DynamicConfigCenterAutoProperties properties = new DynamicConfigCenterAutoProperties();
+        properties.setSystem("s");
+        properties.setIndexEnabled(false);
+        properties.setCacheEnabled(false);
+        MemoryDynamicConfigCenterBackend backend = new MemoryDynamicConfigCenterBackend(properties);
+        DynamicConfigCenterService service = new DynamicConfigCenterService(properties, backend);
+        backend.subscribe(new DynamicConfigCenterAdjustCoalescer(service, 0));
+        DynamicConfigCenterPublisher publisher = new DynamicConfigCenterPublisher(backend);
+
+        FeatureFlagRegistry registry = new FeatureFlagRegistry(service);
+        FeatureFlag flag = registry.register("newCheckout", new FeatureFlagRuleVO(true, 0, List.of("10001")));
+        service.loadAttributeValues();
+        try {
+            Assert.assertTrue(registry.isEnabled("newCheckout", 10001L));
+            Assert.assertFalse(registry.isEnabled("newCheckout", 10002L));
+            Assert.assertFalse(registry.isEnabled("unknown", 10001L));
+
+            publisher.publish("featureFlag.newCheckout", "{\"enabled\":true,\"percentage\":100,\"allowList\":[]}");
+            Assert.assertTrue(flag.isEnabled(10002L));
+            Assert.assertEquals(10000, flag.getEvaluator().getThreshold());
+
+            // 非法规则保持原规则
+            publisher.publish("featureFlag.newCheckout", "{\"enabled\":true,\"percentage\":120}");
+            Assert.assertEquals(10000, flag.getEvaluator().getThreshold());
+
+            publisher.publish("featureFlag.newCheckout", "{\"enabled\":false,\"percentage\":100}");
+            Assert.assertFalse(flag.isEnabled(10002L));
+        } finally {
+            service.destroy();
+        }
+    }
+
+}
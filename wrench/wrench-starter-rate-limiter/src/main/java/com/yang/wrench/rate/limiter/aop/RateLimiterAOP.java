@@ -32,9 +32,9 @@ public class RateLimiterAOP {
     // 日志记录器
     private final Logger log = LoggerFactory.getLogger(RateLimiterAOP.class);
 
-    // 动态配置中心开关：从配置中心获取限流开关状态
+    // 动态配置中心开关：从配置中心获取限流开关状态（open/close 在推送时转换为boolean）
     @DCCValue("rateLimiterSwitch:open")
-    private String rateLimiterSwitch;
+    private volatile boolean rateLimiterSwitch;
 
     // 个人限频记录缓存：使用Guava Cache，1秒过期
     // key: 限流标识(如用户ID), value: RateLimiter实例
@@ -66,7 +66,7 @@ public class RateLimiterAOP {
     @Around("aopPoint() && @annotation(rateLimiterAccessInterceptor)")
     public Object doRouter(ProceedingJoinPoint jp, RateLimiterAccessInterceptor rateLimiterAccessInterceptor) throws Throwable {
         // 0. 检查限流开关，如果关闭则直接放行
-        if (StringUtils.isBlank(rateLimiterSwitch) || "close".equals(rateLimiterSwitch)) {
+        if (!rateLimiterSwitch) {
             return jp.proceed();
         }
 
@@ -62,14 +62,15 @@ public class TaskJobAutoConfig {
 
     /**
      * 创建任务作业服务实例
+     * @param properties 任务调度配置属性
      * @param WrenchTaskScheduler 任务调度器实例
      * @param taskDataProviders 任务数据提供者列表（Spring会自动注入所有ITaskDataProvider实现）
      * @return 配置好的任务作业服务实例
      */
     @Bean
-    public ITaskJobService taskJobService(TaskScheduler WrenchTaskScheduler, List<ITaskDataProvider> taskDataProviders) {
-        // 实例化任务服务并初始化调度
-        TaskJobService taskJobService = new TaskJobService(WrenchTaskScheduler, taskDataProviders);
+    public ITaskJobService taskJobService(TaskJobAutoProperties properties, TaskScheduler WrenchTaskScheduler, List<ITaskDataProvider> taskDataProviders) {
+        // 实例化任务服务并初始化调度，支持增量查询的数据提供者按全量对齐间隔全量查询
+        TaskJobService taskJobService = new TaskJobService(WrenchTaskScheduler, taskDataProviders, properties.getFullRefreshInterval());
         // 初始化所有任务
         taskJobService.initializeTasks();
 
@@ -32,6 +32,9 @@ public class TaskJobAutoProperties {
     /** 任务刷新间隔（毫秒），默认值为60000毫秒（1分钟） */
     private long refreshInterval = 60000;
 
+    /** 全量对齐间隔（毫秒），支持增量查询的数据提供者只在此间隔到期时全量查询，默认值为600000毫秒（10分钟）；0 表示每次刷新都全量查询 */
+    private long fullRefreshInterval = 600000;
+
     /** 清理无效任务的cron表达式，默认值为"0 0/10 * * * ?"（每10分钟执行一次） */
     private String cleanInvalidTasksCron = "0 0/10 * * * ?";
 
@@ -131,6 +134,22 @@ public class TaskJobAutoProperties {
         this.refreshInterval = refreshInterval;
     }
 
+    /**
+     * 获取全量对齐间隔（毫秒）
+     * @return 全量对齐间隔
+     */
+    public long getFullRefreshInterval() {
+        return fullRefreshInterval;
+    }
+
+    /**
+     * 设置全量对齐间隔（毫秒）
+     * @param fullRefreshInterval 全量对齐间隔
+     */
+    public void setFullRefreshInterval(long fullRefreshInterval) {
+        this.fullRefreshInterval = fullRefreshInterval;
+    }
+
     /**
      * 获取清理无效任务的cron表达式
      * @return cron表达式
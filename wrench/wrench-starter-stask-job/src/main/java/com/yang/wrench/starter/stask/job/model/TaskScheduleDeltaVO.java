@@ -0,0 +1,45 @@
+package com.yang.wrench.starter.stask.job.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 任务调度增量变更
+ * 数据提供者自某个版本（或时间戳）之后变更的任务：新增/修改的任务与已删除（或失效）的任务ID
+ *
+ * Created with IntelliJ IDEA.
+ * @Author: yang
+ * @Description: 任务调度增量变更
+ */
+@Data
+public class TaskScheduleDeltaVO {
+
+    /** 新增或修改的有效任务 */
+    private List<TaskScheduleVO> upserts = new ArrayList<>();
+
+    /** 已删除或失效的任务ID */
+    private List<Long> deletedIds = new ArrayList<>();
+
+    /** 本次变更对应的版本（或时间戳），下一次增量查询以此为起点 */
+    private long version;
+
+    public TaskScheduleDeltaVO() {
+    }
+
+    public TaskScheduleDeltaVO(List<TaskScheduleVO> upserts, List<Long> deletedIds, long version) {
+        this.upserts = upserts;
+        this.deletedIds = deletedIds;
+        this.version = version;
+    }
+
+    /**
+     * 只携带当前版本、没有变更的增量，用于全量查询前记录起点
+     * @param version 当前版本
+     * @return 空增量
+     */
+    public static TaskScheduleDeltaVO empty(long version) {
+        return new TaskScheduleDeltaVO(new ArrayList<>(), new ArrayList<>(), version);
+    }
+}
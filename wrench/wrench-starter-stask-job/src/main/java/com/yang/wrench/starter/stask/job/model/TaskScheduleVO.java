@@ -52,6 +52,25 @@ public class TaskScheduleVO {
         this.taskExecutor = () -> () -> task.accept(id, taskParam);
     }
 
+    /**
+     * 任务配置指纹：Cron表达式、任务参数与描述的64位哈希（FNV-1a）
+     * 刷新时据此识别配置变更的任务，只重新调度指纹变化的任务
+     * @return 配置指纹
+     */
+    public long fingerprint() {
+        long hash = 0xcbf29ce484222325L;
+        for (String field : new String[]{cornExpression, taskParam, description}) {
+            if (field != null) {
+                for (int i = 0; i < field.length(); i++) {
+                    hash = (hash ^ field.charAt(i)) * 0x100000001b3L;
+                }
+            }
+            // 字段分隔，区分 null 与空字符串
+            hash = (hash ^ (field == null ? 0x1F : 0x1E)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
     /**
      * 重写toString方法，排除taskExecutor字段（避免日志输出过于复杂）
      * @return 格式化后的字符串表示
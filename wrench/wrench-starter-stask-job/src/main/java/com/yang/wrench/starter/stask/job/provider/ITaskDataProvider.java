@@ -1,5 +1,6 @@
 package com.yang.wrench.starter.stask.job.provider;
 
+import com.yang.wrench.starter.stask.job.model.TaskScheduleDeltaVO;
 import com.yang.wrench.starter.stask.job.model.TaskScheduleVO;
 
 import java.util.List;
@@ -19,4 +20,15 @@ public interface ITaskDataProvider {
 
     // 查询所有无效的任务
     List<Long> queryAllInvalidTaskScheduleIds();
+
+    /**
+     * 增量查询（可选）：自 sinceVersion 之后变更的任务，如按版本号或更新时间查询
+     * 实现后定时刷新只应用增量，全量查询仅在全量对齐（wrench.task.job.full-refresh-interval）时执行
+     *
+     * @param sinceVersion 上次增量返回的版本；为 null 时只需返回当前版本（不含变更），全量查询前以此记录起点
+     * @return 增量变更；返回 null 表示不支持增量查询，每次刷新都全量查询
+     */
+    default TaskScheduleDeltaVO queryTaskScheduleDelta(Long sinceVersion) {
+        return null;
+    }
 }
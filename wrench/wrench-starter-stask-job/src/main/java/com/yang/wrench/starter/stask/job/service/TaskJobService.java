@@ -1,5 +1,6 @@
 package com.yang.wrench.starter.stask.job.service;
 
+import com.yang.wrench.starter.stask.job.model.TaskScheduleDeltaVO;
 import com.yang.wrench.starter.stask.job.model.TaskScheduleVO;
 import com.yang.wrench.starter.stask.job.provider.ITaskDataProvider;
 import org.slf4j.Logger;
@@ -9,8 +10,11 @@ import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.support.CronTrigger;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 
@@ -18,6 +22,15 @@ import java.util.concurrent.ScheduledFuture;
  * 任务调度服务实现类
  * 负责管理定时任务的调度、执行和生命周期管理
  *
+ * 刷新方式：
+ * 1. 全量对齐：查询全部数据提供者的有效任务，调度新任务并移除已不存在的任务；启动时与每 fullRefreshInterval 执行一次
+ * 2. 增量刷新：支持增量查询（ITaskDataProvider#queryTaskScheduleDelta）的数据提供者只查询上次版本之后的变更，
+ *    新增/修改的任务重新调度，删除的任务取消；不支持增量查询的数据提供者仍全量查询，只移除它此前提供、本次不再提供的任务
+ * 增量查询失败或返回 null 时，该数据提供者退回全量查询。
+ *
+ * 两种刷新都按任务配置指纹（TaskScheduleVO#fingerprint：Cron表达式、任务参数、描述）比对已调度的任务：
+ * 指纹变化的任务取消后重新调度，指纹不变的任务保留原有的调度，不需要修改任务ID来生效新配置。
+ *
  * Created with IntelliJ IDEA.
  * @Author: yang
  * @Date: 2025/09/22/20:13
@@ -40,6 +53,21 @@ public class TaskJobService implements ITaskJobService, DisposableBean {
      */
     private final Map<Long, ScheduledFuture<?>> scheduledTasks = new ConcurrentHashMap<>();
 
+    // 任务ID -> 调度时的任务配置指纹，只对 scheduledTasks 中的任务有意义
+    private final Map<Long, Long> taskFingerprints = new ConcurrentHashMap<>();
+
+    // 全量对齐间隔（毫秒），不大于0时每次刷新都全量查询
+    private final long fullRefreshInterval;
+
+    // 数据提供者 -> 增量查询的起始版本；不支持增量查询的数据提供者不在其中。以下状态只在刷新（同步方法）中访问
+    private final Map<ITaskDataProvider, Long> deltaVersions = new HashMap<>();
+
+    // 数据提供者 -> 它提供的任务ID，增量刷新时用于移除全量查询的数据提供者不再提供的任务
+    private final Map<ITaskDataProvider, Set<Long>> providerTaskIds = new HashMap<>();
+
+    // 上次全量对齐的时间
+    private long lastFullRefreshTime = 0L;
+
     /**
      * 构造函数，初始化任务调度服务和数据提供者
      * @param taskScheduler Spring任务调度器
@@ -47,8 +75,21 @@ public class TaskJobService implements ITaskJobService, DisposableBean {
      */
     public TaskJobService(TaskScheduler taskScheduler,
                           List<ITaskDataProvider> taskDataProviders) {
+        this(taskScheduler, taskDataProviders, 0L);
+    }
+
+    /**
+     * 构造函数，初始化任务调度服务和数据提供者
+     * @param taskScheduler Spring任务调度器
+     * @param taskDataProviders 任务数据提供者列表
+     * @param fullRefreshInterval 全量对齐间隔（毫秒），不大于0时每次刷新都全量查询
+     */
+    public TaskJobService(TaskScheduler taskScheduler,
+                          List<ITaskDataProvider> taskDataProviders,
+                          long fullRefreshInterval) {
         this.taskScheduler = taskScheduler;
         this.taskDataProviders = taskDataProviders;
+        this.fullRefreshInterval = fullRefreshInterval;
     }
 
     /**
@@ -56,23 +97,11 @@ public class TaskJobService implements ITaskJobService, DisposableBean {
      * 从所有数据提供者获取有效任务配置并进行调度
      */
     @Override
-    public void initializeTasks() {
+    public synchronized void initializeTasks() {
         log.info("开始初始化任务调度配置");
         try {
-            // 聚合所有数据提供者的任务调度配置
-            List<TaskScheduleVO> allTaskSchedules = new ArrayList<>();
-            for (ITaskDataProvider provider : taskDataProviders) {
-                List<TaskScheduleVO> taskSchedules = provider.queryAllValidTaskSchedule();
-                if (taskSchedules != null) {
-                    allTaskSchedules.addAll(taskSchedules);
-                }
-            }
-
-            // 处理每个任务调度配置
-            for (TaskScheduleVO task : allTaskSchedules) {
-                // 创建并调度新任务
-                scheduleTask(task);
-            }
+            // 聚合所有数据提供者的任务调度配置并调度
+            refreshAll();
 
             log.info("任务调度配置初始化完成，已加载任务数: {}", scheduledTasks.size());
         } catch (Exception e) {
@@ -124,6 +153,7 @@ public class TaskJobService implements ITaskJobService, DisposableBean {
             }
 
             ScheduledFuture<?> future = scheduledTasks.remove(taskId);
+            taskFingerprints.remove(taskId);
             if (future != null) {
                 // 取消任务执行
                 future.cancel(true);
@@ -155,8 +185,9 @@ public class TaskJobService implements ITaskJobService, DisposableBean {
                     new CronTrigger(task.getCornExpression()) // Cron表达式触发器
             );
 
-            // 将任务添加到管理映射中
+            // 将任务添加到管理映射中，记录调度时的配置指纹
             scheduledTasks.put(task.getId(), future);
+            taskFingerprints.put(task.getId(), task.fingerprint());
 
             log.info("任务调度成功（函数式），ID: {}", task.getId());
         } catch (Exception e) {
@@ -164,6 +195,26 @@ public class TaskJobService implements ITaskJobService, DisposableBean {
         }
     }
 
+    /**
+     * 调度新任务，或重新调度配置指纹变化的任务；指纹不变的任务保留原有的调度
+     * @param task 任务调度配置信息
+     */
+    private void upsertTask(TaskScheduleVO task) {
+        ScheduledFuture<?> future = scheduledTasks.get(task.getId());
+        if (future != null) {
+            long fingerprint = task.fingerprint();
+            Long scheduled = taskFingerprints.get(task.getId());
+            if (scheduled != null && scheduled == fingerprint) {
+                return;
+            }
+            // 配置已变更：取消旧的调度，不中断正在执行的任务
+            scheduledTasks.remove(task.getId());
+            future.cancel(false);
+            log.info("任务配置已变更，重新调度，ID: {}, Cron表达式: {}", task.getId(), task.getCornExpression());
+        }
+        scheduleTask(task);
+    }
+
     /**
      * 使用函数式编程方式执行任务
      * 从TaskScheduleVO中获取任务执行器并执行
@@ -185,54 +236,139 @@ public class TaskJobService implements ITaskJobService, DisposableBean {
 
     /**
      * 刷新任务调度配置
-     * 动态更新任务列表，添加新任务，移除不再存在的任务
+     * 动态更新任务列表，添加新任务，重新调度配置变更的任务，移除不再存在的任务；全量对齐间隔内只应用增量变更
      */
     @Override
-    public void refreshTask() {
-        log.info("开始刷新任务调度配置（动态更新）");
+    public synchronized void refreshTask() {
+        boolean fullRefresh = fullRefreshInterval <= 0 || deltaVersions.isEmpty()
+                || System.currentTimeMillis() - lastFullRefreshTime >= fullRefreshInterval;
+        log.info("开始刷新任务调度配置（{}）", fullRefresh ? "全量对齐" : "增量刷新");
         try {
-            // 聚合所有数据提供者的任务调度配置
-            List<TaskScheduleVO> allTaskSchedules = new ArrayList<>();
-            for (ITaskDataProvider provider : taskDataProviders) {
-                List<TaskScheduleVO> taskSchedules = provider.queryAllValidTaskSchedule();
-                if (taskSchedules != null) {
-                    allTaskSchedules.addAll(taskSchedules);
-                }
+            if (fullRefresh) {
+                refreshAll();
+            } else {
+                refreshDelta();
             }
 
-            // 记录当前配置中的任务ID
-            Map<Long, Boolean> currentTaskIds = new ConcurrentHashMap<>();
+            log.info("任务调度配置刷新完成，当前活跃任务数: {}", scheduledTasks.size());
+        } catch (Exception e) {
+            log.error("刷新任务调度配置时发生错误", e);
+        }
+    }
+
+    /**
+     * 全量对齐
+     * 查询全部数据提供者的有效任务，调度新任务，移除已不存在的任务，并记录各数据提供者增量查询的起点
+     */
+    private void refreshAll() {
+        // 记录当前配置中的任务ID
+        Set<Long> currentTaskIds = new HashSet<>();
+        for (ITaskDataProvider provider : taskDataProviders) {
+            currentTaskIds.addAll(refreshProvider(provider));
+        }
 
-            // 处理每个任务调度配置
-            for (TaskScheduleVO task : allTaskSchedules) {
-                Long taskId = task.getId();
-                currentTaskIds.put(taskId, true);
+        // 移除已不存在的任务
+        for (Long taskId : new ArrayList<>(scheduledTasks.keySet())) {
+            if (!currentTaskIds.contains(taskId)) {
+                cancelTask(taskId, "已移除任务");
+            }
+        }
+        lastFullRefreshTime = System.currentTimeMillis();
+    }
 
-                // 如果任务已经存在，则跳过
-                if (scheduledTasks.containsKey(taskId)) {
-                    continue;
+    /**
+     * 增量刷新
+     * 支持增量查询的数据提供者只应用上次版本之后的变更，其余数据提供者全量查询
+     */
+    private void refreshDelta() {
+        for (ITaskDataProvider provider : taskDataProviders) {
+            Long since = deltaVersions.get(provider);
+            TaskScheduleDeltaVO delta = null;
+            if (since != null) {
+                try {
+                    delta = provider.queryTaskScheduleDelta(since);
+                } catch (Exception e) {
+                    log.warn("增量查询任务失败，退回全量查询，数据提供者: {}", provider.getClass().getName(), e);
                 }
-
-                // 创建并调度新任务
-                scheduleTask(task);
             }
 
-            // 移除已不存在的任务
-            scheduledTasks.keySet().removeIf(taskId -> {
-                if (!currentTaskIds.containsKey(taskId)) {
-                    ScheduledFuture<?> future = scheduledTasks.remove(taskId);
-                    if (future != null) {
-                        future.cancel(true);
-                        log.info("已移除任务，ID: {}", taskId);
+            if (delta == null) {
+                // 不支持增量查询：移除它此前提供、本次不再提供的任务
+                Set<Long> previous = providerTaskIds.getOrDefault(provider, new HashSet<>());
+                Set<Long> current = refreshProvider(provider);
+                for (Long taskId : previous) {
+                    if (!current.contains(taskId)) {
+                        cancelTask(taskId, "已移除任务");
                     }
-                    return true;
                 }
-                return false;
-            });
+                continue;
+            }
 
-            log.info("任务调度配置刷新完成，当前活跃任务数: {}", scheduledTasks.size());
+            Set<Long> taskIds = providerTaskIds.computeIfAbsent(provider, key -> new HashSet<>());
+            List<Long> deletedIds = delta.getDeletedIds() != null ? delta.getDeletedIds() : new ArrayList<>();
+            List<TaskScheduleVO> upserts = delta.getUpserts() != null ? delta.getUpserts() : new ArrayList<>();
+            for (Long taskId : deletedIds) {
+                taskIds.remove(taskId);
+                cancelTask(taskId, "已移除任务（增量）");
+            }
+            for (TaskScheduleVO task : upserts) {
+                taskIds.add(task.getId());
+                upsertTask(task);
+            }
+            deltaVersions.put(provider, delta.getVersion());
+
+            if (!upserts.isEmpty() || !deletedIds.isEmpty()) {
+                log.info("增量刷新任务，数据提供者: {}, 新增/修改: {}, 删除: {}, 版本: {} -> {}", provider.getClass().getName(),
+                        upserts.size(), deletedIds.size(), since, delta.getVersion());
+            }
+        }
+    }
+
+    /**
+     * 全量查询单个数据提供者的有效任务，调度新任务并重新调度配置变更的任务
+     * 支持增量查询时先记录当前版本，全量查询期间的变更在下一次增量刷新中重新应用
+     * @param provider 数据提供者
+     * @return 数据提供者当前提供的任务ID
+     */
+    private Set<Long> refreshProvider(ITaskDataProvider provider) {
+        TaskScheduleDeltaVO baseline = null;
+        try {
+            baseline = provider.queryTaskScheduleDelta(null);
         } catch (Exception e) {
-            log.error("刷新任务调度配置时发生错误", e);
+            log.warn("查询任务版本失败，数据提供者本轮不做增量刷新: {}", provider.getClass().getName(), e);
+        }
+
+        Set<Long> taskIds = new HashSet<>();
+        List<TaskScheduleVO> taskSchedules = provider.queryAllValidTaskSchedule();
+        if (taskSchedules != null) {
+            for (TaskScheduleVO task : taskSchedules) {
+                taskIds.add(task.getId());
+
+                // 创建新任务；已存在的任务只在配置指纹变化时重新调度
+                upsertTask(task);
+            }
+        }
+
+        providerTaskIds.put(provider, taskIds);
+        if (baseline != null) {
+            deltaVersions.put(provider, baseline.getVersion());
+        } else {
+            deltaVersions.remove(provider);
+        }
+        return taskIds;
+    }
+
+    /**
+     * 取消并移除任务
+     * @param taskId 任务ID
+     * @param message 日志说明
+     */
+    private void cancelTask(Long taskId, String message) {
+        ScheduledFuture<?> future = scheduledTasks.remove(taskId);
+        taskFingerprints.remove(taskId);
+        if (future != null) {
+            future.cancel(true);
+            log.info("{}，ID: {}", message, taskId);
         }
     }
 
@@ -263,6 +399,7 @@ public class TaskJobService implements ITaskJobService, DisposableBean {
             // 从调度器中移除这些任务
             for (Long taskId : allInvalidTaskIds) {
                 ScheduledFuture<?> future = scheduledTasks.remove(taskId);
+                taskFingerprints.remove(taskId);
                 if (future != null) {
                     future.cancel(true);
                     log.info("已移除无效任务，ID: {}", taskId);
@@ -289,6 +426,7 @@ public class TaskJobService implements ITaskJobService, DisposableBean {
             }
         });
         scheduledTasks.clear();
+        taskFingerprints.clear();
         log.info("所有任务已停止");
     }
 
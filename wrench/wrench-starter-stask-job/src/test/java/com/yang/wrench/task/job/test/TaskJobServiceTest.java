@@ -0,0 +1,222 @@
+package com.yang.wrench.task.job.test;
+
+import com.yang.wrench.starter.stask.job.model.TaskScheduleDeltaVO;
+import com.yang.wrench.starter.stask.job.model.TaskScheduleVO;
+import com.yang.wrench.starter.stask.job.provider.ITaskDataProvider;
+import com.yang.wrench.starter.stask.job.service.TaskJobService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 任务增量刷新测试
+ * @author yang
+ */
+public class TaskJobServiceTest {
+
+    private ThreadPoolTaskScheduler scheduler;
+    private TaskJobService taskJobService;
+    // 调度次数
+    private final AtomicInteger schedules = new AtomicInteger();
+
+    @Before
+    public void init() {
+        scheduler = new ThreadPoolTaskScheduler() {
+            @Override
+            public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+                schedules.incrementAndGet();
+                return super.schedule(task, trigger);
+            }
+        };
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("test-task-scheduler-");
+        scheduler.initialize();
+    }
+
+    @After
+    public void destroy() throws Exception {
+        taskJobService.destroy();
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void test_delta_refresh() {
+        DeltaTaskDataProvider deltaProvider = new DeltaTaskDataProvider();
+        FullTaskDataProvider fullProvider = new FullTaskDataProvider();
+        for (long id = 1; id <= 100; id++) {
+            deltaProvider.put(task(id));
+        }
+        fullProvider.tasks.add(task(1001L));
+        taskJobService = new TaskJobService(scheduler, List.of(deltaProvider, fullProvider), 60000);
+
+        taskJobService.initializeTasks();
+        Assert.assertEquals(101, taskJobService.getActiveTaskCount());
+        Assert.assertEquals(1, deltaProvider.fullQueries);
+
+        // 增量刷新只查询变更，不再全量查询；不支持增量的数据提供者仍全量查询
+        deltaProvider.put(task(101L));
+        deltaProvider.remove(1L);
+        deltaProvider.remove(2L);
+        fullProvider.tasks.clear();
+        taskJobService.refreshTask();
+        Assert.assertEquals(1, deltaProvider.fullQueries);
+        Assert.assertEquals(2, fullProvider.fullQueries);
+        Assert.assertEquals(99, taskJobService.getActiveTaskCount());
+
+        // 没有变更时不调度、不移除任务
+        taskJobService.refreshTask();
+        Assert.assertEquals(1, deltaProvider.fullQueries);
+        Assert.assertEquals(99, taskJobService.getActiveTaskCount());
+        Assert.assertEquals(2, deltaProvider.deltaQueries);
+    }
+
+    @Test
+    public void test_full_resync() {
+        DeltaTaskDataProvider deltaProvider = new DeltaTaskDataProvider();
+        deltaProvider.put(task(1L));
+        deltaProvider.put(task(2L));
+        // 全量对齐间隔为0：每次刷新都全量查询，与不支持增量查询时相同
+        taskJobService = new TaskJobService(scheduler, List.of(deltaProvider), 0);
+        taskJobService.initializeTasks();
+
+        // 未经增量记录的删除（如直接改库）由全量对齐兜底
+        deltaProvider.tasks.remove(2L);
+        taskJobService.refreshTask();
+        Assert.assertEquals(2, deltaProvider.fullQueries);
+        Assert.assertEquals(0, deltaProvider.deltaQueries);
+        Assert.assertEquals(1, taskJobService.getActiveTaskCount());
+    }
+
+    @Test
+    public void test_reschedule_changed_task() {
+        FullTaskDataProvider fullProvider = new FullTaskDataProvider();
+        for (long id = 1; id <= 3; id++) {
+            fullProvider.tasks.add(task(id));
+        }
+        DeltaTaskDataProvider deltaProvider = new DeltaTaskDataProvider();
+        deltaProvider.put(task(101L));
+        taskJobService = new TaskJobService(scheduler, List.of(fullProvider, deltaProvider), 60000);
+        taskJobService.initializeTasks();
+        Assert.assertEquals(4, schedules.get());
+
+        // 配置未变的任务保留原有的调度
+        fullProvider.tasks.set(0, task(1L));
+        taskJobService.refreshTask();
+        Assert.assertEquals(4, schedules.get());
+
+        // Cron表达式或参数变化的任务重新调度，其余不变
+        fullProvider.tasks.get(1).setCornExpression("0 0 0 1 2 ?");
+        fullProvider.tasks.get(2).setTaskParam("{\"batch\":200}");
+        taskJobService.refreshTask();
+        Assert.assertEquals(6, schedules.get());
+        Assert.assertEquals(4, taskJobService.getActiveTaskCount());
+
+        // 增量中的修改同样按指纹比对
+        deltaProvider.put(task(101L));
+        taskJobService.refreshTask();
+        Assert.assertEquals(6, schedules.get());
+        TaskScheduleVO changed = task(101L);
+        changed.setDescription("task-101-v2");
+        deltaProvider.put(changed);
+        taskJobService.refreshTask();
+        Assert.assertEquals(7, schedules.get());
+        Assert.assertEquals(4, taskJobService.getActiveTaskCount());
+
+        Assert.assertEquals(task(1L).fingerprint(), task(1L).fingerprint());
+        Assert.assertNotEquals(task(1L).fingerprint(), task(2L).fingerprint());
+    }
+
+    private static TaskScheduleVO task(long id) {
+        TaskScheduleVO task = new TaskScheduleVO();
+        task.setId(id);
+        task.setDescription("task-" + id);
+        task.setCornExpression("0 0 0 1 1 ?");
+        task.setTask(() -> {
+        });
+        return task;
+    }
+
+    /**
+     * 按版本号记录变更的数据提供者
+     */
+    private static class DeltaTaskDataProvider implements ITaskDataProvider {
+
+        private final Map<Long, TaskScheduleVO> tasks = new LinkedHashMap<>();
+        // 任务ID -> 最后一次变更（含删除）的版本
+        private final Map<Long, Long> versions = new LinkedHashMap<>();
+        private long version = 0L;
+        private int fullQueries = 0;
+        private int deltaQueries = 0;
+
+        private void put(TaskScheduleVO task) {
+            tasks.put(task.getId(), task);
+            versions.put(task.getId(), ++version);
+        }
+
+        private void remove(Long taskId) {
+            tasks.remove(taskId);
+            versions.put(taskId, ++version);
+        }
+
+        @Override
+        public List<TaskScheduleVO> queryAllValidTaskSchedule() {
+            fullQueries++;
+            return new ArrayList<>(tasks.values());
+        }
+
+        @Override
+        public List<Long> queryAllInvalidTaskScheduleIds() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public TaskScheduleDeltaVO queryTaskScheduleDelta(Long sinceVersion) {
+            if (sinceVersion == null) {
+                return TaskScheduleDeltaVO.empty(version);
+            }
+            deltaQueries++;
+            TaskScheduleDeltaVO delta = TaskScheduleDeltaVO.empty(version);
+            versions.forEach((taskId, changed) -> {
+                if (changed > sinceVersion) {
+                    if (tasks.containsKey(taskId)) {
+                        delta.getUpserts().add(tasks.get(taskId));
+                    } else {
+                        delta.getDeletedIds().add(taskId);
+                    }
+                }
+            });
+            return delta;
+        }
+    }
+
+    /**
+     * 只支持全量查询的数据提供者
+     */
+    private static class FullTaskDataProvider implements ITaskDataProvider {
+
+        private final List<TaskScheduleVO> tasks = new ArrayList<>();
+        private int fullQueries = 0;
+
+        @Override
+        public List<TaskScheduleVO> queryAllValidTaskSchedule() {
+            fullQueries++;
+            return new ArrayList<>(tasks);
+        }
+
+        @Override
+        public List<Long> queryAllInvalidTaskScheduleIds() {
+            return new ArrayList<>();
+        }
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.yang.wrench.config;
 
+import com.yang.wrench.starter.dynamic.thread.pool.domain.model.valobj.ThreadPoolConfigVO;
+import com.yang.wrench.starter.dynamic.thread.pool.domain.service.DynamicThreadPoolRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -7,29 +9,27 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 
-import java.util.concurrent.*;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Slf4j
 @EnableAsync
 @Configuration
-//@EnableConfigurationProperties(ThreadPoolConfigProperties.class)
+@EnableConfigurationProperties(ThreadPoolConfigProperties.class)
 public class ThreadPoolConfig {
 
+    /**
+     * 动态线程池：配置文件中的参数为默认值，运行期通过动态配置中心 threadPool.threadPoolExecutor 调整
+     */
     @Bean
     @ConditionalOnMissingBean(ThreadPoolExecutor.class)
-    public ThreadPoolExecutor threadPoolExecutor(/* ThreadPoolConfigProperties properties */) throws ClassNotFoundException, InstantiationException, IllegalAccessException {
-        // 实例化策略
-        RejectedExecutionHandler handler = new ThreadPoolExecutor.CallerRunsPolicy();
-        
-        // 创建线程池
-        return new ThreadPoolExecutor(
-                20,  // corePoolSize
-                50,  // maxPoolSize
-                5000L,  // keepAliveTime
-                TimeUnit.SECONDS,
-                new LinkedBlockingQueue<>(5000),  // blockQueueSize
-                Executors.defaultThreadFactory(),
-                handler);
+    public ThreadPoolExecutor threadPoolExecutor(ThreadPoolConfigProperties properties,
+                                                 DynamicThreadPoolRegistry dynamicThreadPoolRegistry) {
+        return dynamicThreadPoolRegistry.register("threadPoolExecutor", new ThreadPoolConfigVO(
+                properties.getCorePoolSize(),
+                properties.getMaxPoolSize(),
+                properties.getKeepAliveTime(),
+                properties.getBlockQueueSize(),
+                properties.getPolicy()));
     }
 
 }